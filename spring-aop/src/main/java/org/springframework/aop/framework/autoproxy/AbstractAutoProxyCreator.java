@@ -48,6 +48,8 @@ import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.SmartInstantiationAwareBeanPostProcessor;
 import org.springframework.core.SmartClassLoader;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
@@ -474,6 +476,24 @@ public abstract class AbstractAutoProxyCreator extends ProxyProcessorSupport
 	private Object buildProxy(Class<?> beanClass, @Nullable String beanName,
 			@Nullable Object[] specificInterceptors, TargetSource targetSource, boolean classOnly) {
 
+		ApplicationStartup applicationStartup = (this.beanFactory instanceof ConfigurableBeanFactory cbf ?
+				cbf.getApplicationStartup() : ApplicationStartup.DEFAULT);
+		StartupStep proxyCreation = applicationStartup.start("spring.aop.proxy.create")
+				.tag("beanClass", beanClass::getName);
+		if (beanName != null) {
+			proxyCreation.tag("beanName", beanName);
+		}
+		try {
+			return doBuildProxy(beanClass, beanName, specificInterceptors, targetSource, classOnly);
+		}
+		finally {
+			proxyCreation.end();
+		}
+	}
+
+	private Object doBuildProxy(Class<?> beanClass, @Nullable String beanName,
+			@Nullable Object[] specificInterceptors, TargetSource targetSource, boolean classOnly) {
+
 		if (this.beanFactory instanceof ConfigurableListableBeanFactory clbf) {
 			AutoProxyUtils.exposeTargetClass(clbf, beanName, beanClass);
 		}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -31,6 +31,7 @@ import org.springframework.beans.propertyeditors.StringTrimmerEditor;
  * Benchmark for {@link AbstractPropertyAccessor} use on beans.
  *
  * @author Brian Clozel
+ * @author agent
  */
 @BenchmarkMode(Mode.Throughput)
 public class AbstractPropertyAccessorBenchmark {
@@ -74,12 +75,88 @@ public class AbstractPropertyAccessorBenchmark {
 
 	}
 
+	@State(Scope.Benchmark)
+	public static class NestedPathState {
+
+		@Param({"DirectFieldAccessor", "BeanWrapper"})
+		public String accessor;
+
+		public NestedBean target;
+
+		public AbstractPropertyAccessor propertyAccessor;
+
+		public int counter;
+
+		@Setup
+		public void setup() {
+			this.target = new NestedBean();
+			this.target.setChild(new NestedBean());
+			this.target.getChild().setChild(new NestedBean());
+			this.target.getChild().getChild().setChild(new NestedBean());
+			if (this.accessor.equals("DirectFieldAccessor")) {
+				this.propertyAccessor = new DirectFieldAccessor(this.target);
+			}
+			else {
+				this.propertyAccessor = new BeanWrapperImpl(this.target);
+			}
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class ManyPropertiesState {
+
+		@Param({"DirectFieldAccessor", "BeanWrapper"})
+		public String accessor;
+
+		public String[] propertyNames;
+
+		public ManyPropertiesBean target;
+
+		public AbstractPropertyAccessor propertyAccessor;
+
+		public int counter;
+
+		@Setup
+		public void setup() {
+			this.propertyNames = new String[ManyPropertiesBean.PROPERTY_COUNT];
+			for (int i = 0; i < this.propertyNames.length; i++) {
+				this.propertyNames[i] = "value" + i;
+			}
+			this.target = new ManyPropertiesBean();
+			if (this.accessor.equals("DirectFieldAccessor")) {
+				this.propertyAccessor = new DirectFieldAccessor(this.target);
+			}
+			else {
+				this.propertyAccessor = new BeanWrapperImpl(this.target);
+			}
+		}
+	}
+
 	@Benchmark
 	public PrimitiveArrayBean setPropertyValue(BenchmarkState state) {
 		state.propertyAccessor.setPropertyValue("array", state.input);
 		return state.target;
 	}
 
+	@Benchmark
+	public Object getNestedPropertyValue(NestedPathState state) {
+		return state.propertyAccessor.getPropertyValue("child.child.child.value");
+	}
+
+	@Benchmark
+	public NestedBean setNestedPropertyValue(NestedPathState state) {
+		state.propertyAccessor.setPropertyValue("child.child.child.value", state.counter++);
+		return state.target;
+	}
+
+	@Benchmark
+	public ManyPropertiesBean setAndGetManyPropertyValues(ManyPropertiesState state) {
+		String propertyName = state.propertyNames[state.counter++ % state.propertyNames.length];
+		state.propertyAccessor.setPropertyValue(propertyName, state.counter);
+		state.propertyAccessor.getPropertyValue(propertyName);
+		return state.target;
+	}
+
 	@SuppressWarnings("unused")
 	private static class PrimitiveArrayBean {
 
@@ -94,4 +171,194 @@ public class AbstractPropertyAccessorBenchmark {
 		}
 	}
 
+	@SuppressWarnings("unused")
+	private static class NestedBean {
+
+		private NestedBean child;
+
+		private int value;
+
+		public NestedBean getChild() {
+			return this.child;
+		}
+
+		public void setChild(NestedBean child) {
+			this.child = child;
+		}
+
+		public int getValue() {
+			return this.value;
+		}
+
+		public void setValue(int value) {
+			this.value = value;
+		}
+	}
+
+	@SuppressWarnings("unused")
+	private static class ManyPropertiesBean {
+
+		static final int PROPERTY_COUNT = 16;
+
+		private long value0;
+
+		private long value1;
+
+		private long value2;
+
+		private long value3;
+
+		private long value4;
+
+		private long value5;
+
+		private long value6;
+
+		private long value7;
+
+		private long value8;
+
+		private long value9;
+
+		private long value10;
+
+		private long value11;
+
+		private long value12;
+
+		private long value13;
+
+		private long value14;
+
+		private long value15;
+
+		public long getValue0() {
+			return this.value0;
+		}
+
+		public void setValue0(long value0) {
+			this.value0 = value0;
+		}
+
+		public long getValue1() {
+			return this.value1;
+		}
+
+		public void setValue1(long value1) {
+			this.value1 = value1;
+		}
+
+		public long getValue2() {
+			return this.value2;
+		}
+
+		public void setValue2(long value2) {
+			this.value2 = value2;
+		}
+
+		public long getValue3() {
+			return this.value3;
+		}
+
+		public void setValue3(long value3) {
+			this.value3 = value3;
+		}
+
+		public long getValue4() {
+			return this.value4;
+		}
+
+		public void setValue4(long value4) {
+			this.value4 = value4;
+		}
+
+		public long getValue5() {
+			return this.value5;
+		}
+
+		public void setValue5(long value5) {
+			this.value5 = value5;
+		}
+
+		public long getValue6() {
+			return this.value6;
+		}
+
+		public void setValue6(long value6) {
+			this.value6 = value6;
+		}
+
+		public long getValue7() {
+			return this.value7;
+		}
+
+		public void setValue7(long value7) {
+			this.value7 = value7;
+		}
+
+		public long getValue8() {
+			return this.value8;
+		}
+
+		public void setValue8(long value8) {
+			this.value8 = value8;
+		}
+
+		public long getValue9() {
+			return this.value9;
+		}
+
+		public void setValue9(long value9) {
+			this.value9 = value9;
+		}
+
+		public long getValue10() {
+			return this.value10;
+		}
+
+		public void setValue10(long value10) {
+			this.value10 = value10;
+		}
+
+		public long getValue11() {
+			return this.value11;
+		}
+
+		public void setValue11(long value11) {
+			this.value11 = value11;
+		}
+
+		public long getValue12() {
+			return this.value12;
+		}
+
+		public void setValue12(long value12) {
+			this.value12 = value12;
+		}
+
+		public long getValue13() {
+			return this.value13;
+		}
+
+		public void setValue13(long value13) {
+			this.value13 = value13;
+		}
+
+		public long getValue14() {
+			return this.value14;
+		}
+
+		public void setValue14(long value14) {
+			this.value14 = value14;
+		}
+
+		public long getValue15() {
+			return this.value15;
+		}
+
+		public void setValue15(long value15) {
+			this.value15 = value15;
+		}
+	}
+
 }
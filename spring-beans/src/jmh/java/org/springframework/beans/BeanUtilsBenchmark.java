@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package org.springframework.beans;
 
 import java.lang.reflect.Constructor;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.openjdk.jmh.annotations.Benchmark;
@@ -35,10 +36,13 @@ public class BeanUtilsBenchmark {
 	private Constructor<TestClass1> noArgConstructor;
 	private Constructor<TestClass2> constructor;
 
+	private SourceBean source;
+
 	@Setup
 	public void setUp() throws NoSuchMethodException {
 		this.noArgConstructor = TestClass1.class.getDeclaredConstructor();
 		this.constructor = TestClass2.class.getDeclaredConstructor(int.class, String.class);
+		this.source = new SourceBean();
 	}
 
 	@Benchmark
@@ -51,6 +55,27 @@ public class BeanUtilsBenchmark {
 		return BeanUtils.instantiateClass(this.constructor, 1, "str");
 	}
 
+	@Benchmark
+	public Object copyPropertiesSameType() {
+		SourceBean target = new SourceBean();
+		BeanUtils.copyProperties(this.source, target);
+		return target;
+	}
+
+	@Benchmark
+	public Object copyPropertiesDifferentType() {
+		TargetBean target = new TargetBean();
+		BeanUtils.copyProperties(this.source, target);
+		return target;
+	}
+
+	@Benchmark
+	public Object copyPropertiesWithIgnore() {
+		TargetBean target = new TargetBean();
+		BeanUtils.copyProperties(this.source, target, "id", "tags");
+		return target;
+	}
+
 	static class TestClass1 {
 	}
 
@@ -65,4 +90,110 @@ public class BeanUtilsBenchmark {
 		}
 	}
 
+	@SuppressWarnings("unused")
+	public static class SourceBean {
+		private Long id = 42L;
+		private String name = "name";
+		private String email = "email";
+		private int age = 30;
+		private boolean active = true;
+		private double score = 4.2;
+		private List<String> tags = List.of("a", "b");
+
+		public Long getId() {
+			return this.id;
+		}
+
+		public void setId(Long id) {
+			this.id = id;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public String getEmail() {
+			return this.email;
+		}
+
+		public void setEmail(String email) {
+			this.email = email;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+
+		public void setAge(int age) {
+			this.age = age;
+		}
+
+		public boolean isActive() {
+			return this.active;
+		}
+
+		public void setActive(boolean active) {
+			this.active = active;
+		}
+
+		public double getScore() {
+			return this.score;
+		}
+
+		public void setScore(double score) {
+			this.score = score;
+		}
+
+		public List<String> getTags() {
+			return this.tags;
+		}
+
+		public void setTags(List<String> tags) {
+			this.tags = tags;
+		}
+	}
+
+	@SuppressWarnings("unused")
+	public static class TargetBean {
+		private Long id;
+		private String name;
+		private String email;
+		private Integer age;
+		private boolean active;
+		private double score;
+		private List<String> tags;
+
+		public void setId(Long id) {
+			this.id = id;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public void setEmail(String email) {
+			this.email = email;
+		}
+
+		public void setAge(Integer age) {
+			this.age = age;
+		}
+
+		public void setActive(boolean active) {
+			this.active = active;
+		}
+
+		public void setScore(double score) {
+			this.score = score;
+		}
+
+		public void setTags(List<String> tags) {
+			this.tags = tags;
+		}
+	}
+
 }
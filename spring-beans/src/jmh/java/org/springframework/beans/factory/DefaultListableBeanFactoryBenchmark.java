@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -30,6 +30,7 @@ import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.beans.testfixture.beans.LifecycleBean;
 import org.springframework.beans.testfixture.beans.TestBean;
+import org.springframework.core.ResolvableType;
 
 /**
  * Benchmark for retrieving various bean types from the {@link DefaultListableBeanFactory}.
@@ -133,10 +134,66 @@ public class DefaultListableBeanFactoryBenchmark {
 		return state.beanFactory.getBean(B.class);
 	}
 
+	@State(Scope.Benchmark)
+	public static class TypeLookupManyBeansState extends Shared {
+
+		@Param({"frozen", "unfrozen"})
+		public String mode;
+
+		public ResolvableType stringRepositoryType;
+
+		@Setup
+		public void setup() {
+			this.beanFactory = new DefaultListableBeanFactory();
+			for (int i = 0; i < 20000; i++) {
+				Class<?> beanClass = switch (i % 4) {
+					case 0 -> A.class;
+					case 1 -> TestBean.class;
+					case 2 -> IntegerRepository.class;
+					default -> LifecycleBean.class;
+				};
+				this.beanFactory.registerBeanDefinition("bean" + i, new RootBeanDefinition(beanClass));
+			}
+			this.beanFactory.registerBeanDefinition("stringRepository", new RootBeanDefinition(StringRepository.class));
+			this.beanFactory.registerBeanDefinition("b", new RootBeanDefinition(B.class));
+			if (this.mode.equals("frozen")) {
+				this.beanFactory.freezeConfiguration();
+			}
+			this.stringRepositoryType = ResolvableType.forClassWithGenerics(Repository.class, String.class);
+		}
+	}
+
+	@Benchmark
+	public String[] beanNamesForTypeManyBeans(TypeLookupManyBeansState state) {
+		return state.beanFactory.getBeanNamesForType(B.class);
+	}
+
+	@Benchmark
+	public String[] beanNamesForGenericTypeManyBeans(TypeLookupManyBeansState state) {
+		return state.beanFactory.getBeanNamesForType(state.stringRepositoryType);
+	}
+
+	@Benchmark
+	public String[] beanNamesForTypeAfterRegistrationManyBeans(TypeLookupManyBeansState state) {
+		state.beanFactory.registerBeanDefinition("dynamic", new RootBeanDefinition(A.class));
+		String[] beanNames = state.beanFactory.getBeanNamesForType(B.class);
+		state.beanFactory.removeBeanDefinition("dynamic");
+		return beanNames;
+	}
+
 	static class A {
 	}
 
 	static class B {
 	}
 
+	interface Repository<T> {
+	}
+
+	static class StringRepository implements Repository<String> {
+	}
+
+	static class IntegerRepository implements Repository<Integer> {
+	}
+
 }
@@ -23,7 +23,6 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.lang.reflect.Type;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -43,12 +42,12 @@ import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.KotlinDetector;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.ParameterNameDiscoverer;
-import org.springframework.core.ResolvableType;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ObjectUtils;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
@@ -720,6 +719,10 @@ public abstract class BeanUtils {
 	 * <tr><td>{@code List<Integer>}</td><td>{@code List<Long>}</td><td>no</td></tr>
 	 * <tr><td>{@code List<Integer>}</td><td>{@code List<Number>}</td><td>no</td></tr>
 	 * </table>
+	 * <p>As of Spring Framework 6.2, the matching of source and target properties
+	 * is cached per combination of source class, target class and ignored properties,
+	 * with frequently copied properties being accessed through generated accessors
+	 * instead of reflection.
 	 * @param source the source bean
 	 * @param target the target bean
 	 * @throws BeansException if the copying failed
@@ -800,55 +803,11 @@ public abstract class BeanUtils {
 			}
 			actualEditable = editable;
 		}
-		PropertyDescriptor[] targetPds = getPropertyDescriptors(actualEditable);
-		Set<String> ignoredProps = (ignoreProperties != null ? new HashSet<>(Arrays.asList(ignoreProperties)) : null);
-		CachedIntrospectionResults sourceResults = (actualEditable != source.getClass() ?
-				CachedIntrospectionResults.forClass(source.getClass()) : null);
-
-		for (PropertyDescriptor targetPd : targetPds) {
-			Method writeMethod = targetPd.getWriteMethod();
-			if (writeMethod != null && (ignoredProps == null || !ignoredProps.contains(targetPd.getName()))) {
-				PropertyDescriptor sourcePd = (sourceResults != null ?
-						sourceResults.getPropertyDescriptor(targetPd.getName()) : targetPd);
-				if (sourcePd != null) {
-					Method readMethod = sourcePd.getReadMethod();
-					if (readMethod != null) {
-						if (isAssignable(writeMethod, readMethod, sourcePd, targetPd)) {
-							try {
-								ReflectionUtils.makeAccessible(readMethod);
-								Object value = readMethod.invoke(source);
-								ReflectionUtils.makeAccessible(writeMethod);
-								writeMethod.invoke(target, value);
-							}
-							catch (Throwable ex) {
-								throw new FatalBeanException(
-										"Could not copy property '" + targetPd.getName() + "' from source to target", ex);
-							}
-						}
-					}
-				}
-			}
-		}
-	}
-
-	private static boolean isAssignable(Method writeMethod, Method readMethod,
-			PropertyDescriptor sourcePd, PropertyDescriptor targetPd) {
-
-		Type paramType = writeMethod.getGenericParameterTypes()[0];
-		if (paramType instanceof Class<?> clazz) {
-			return ClassUtils.isAssignable(clazz, readMethod.getReturnType());
-		}
-		else if (paramType.equals(readMethod.getGenericReturnType())) {
-			return true;
-		}
-		else {
-			ResolvableType sourceType = ((GenericTypeAwarePropertyDescriptor) sourcePd).getReadMethodType();
-			ResolvableType targetType = ((GenericTypeAwarePropertyDescriptor) targetPd).getWriteMethodType();
-			// Ignore generic types in assignable check if either ResolvableType has unresolvable generics.
-			return (sourceType.hasUnresolvableGenerics() || targetType.hasUnresolvableGenerics() ?
-					ClassUtils.isAssignable(writeMethod.getParameterTypes()[0], readMethod.getReturnType()) :
-					targetType.isAssignableFrom(sourceType));
-		}
+		Set<String> ignoredProps = (!ObjectUtils.isEmpty(ignoreProperties) ?
+				new HashSet<>(Arrays.asList(ignoreProperties)) : null);
+		CachedIntrospectionResults.forClass(actualEditable)
+				.getCopyPlan(source.getClass(), ignoredProps)
+				.copy(source, target);
 	}
 
 
@@ -25,7 +25,6 @@ import org.springframework.core.MethodParameter;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.lang.Nullable;
-import org.springframework.util.Assert;
 import org.springframework.util.ReflectionUtils;
 
 /**
@@ -269,17 +268,12 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 		@Override
 		@Nullable
 		public Object getValue() throws Exception {
-			Method readMethod = this.pd.getReadMethod();
-			Assert.state(readMethod != null, "No read method available");
-			ReflectionUtils.makeAccessible(readMethod);
-			return readMethod.invoke(getWrappedInstance(), (Object[]) null);
+			return this.pd.getReadMethodInvoker().invokeRead(getWrappedInstance());
 		}
 
 		@Override
 		public void setValue(@Nullable Object value) throws Exception {
-			Method writeMethod = this.pd.getWriteMethodForActualAccess();
-			ReflectionUtils.makeAccessible(writeMethod);
-			writeMethod.invoke(getWrappedInstance(), value);
+			this.pd.getWriteMethodInvokerForActualAccess().invokeWrite(getWrappedInstance(), value);
 		}
 
 		@Override
@@ -232,6 +232,10 @@ public final class CachedIntrospectionResults {
 	/** PropertyDescriptor objects keyed by property name String. */
 	private final Map<String, PropertyDescriptor> propertyDescriptors;
 
+	/** PropertyCopyPlan objects for copying from specific source classes, softly held. */
+	private final ConcurrentMap<PropertyCopyPlan.Key, PropertyCopyPlan> copyPlanCache =
+			new ConcurrentReferenceHashMap<>(16);
+
 
 	/**
 	 * Create a new CachedIntrospectionResults instance for the given class.
@@ -392,6 +396,26 @@ public final class CachedIntrospectionResults {
 		return this.propertyDescriptors.values().toArray(PropertyDescriptorUtils.EMPTY_PROPERTY_DESCRIPTOR_ARRAY);
 	}
 
+	/**
+	 * Return a plan for copying the matching properties of the given source class
+	 * into this bean class, creating and caching it if necessary.
+	 * @param sourceClass the class of the source bean
+	 * @param ignoredProperties the names of the properties to ignore, if any
+	 * @since 6.2
+	 */
+	PropertyCopyPlan getCopyPlan(Class<?> sourceClass, @Nullable Set<String> ignoredProperties) {
+		PropertyCopyPlan.Key key = new PropertyCopyPlan.Key(sourceClass, ignoredProperties);
+		PropertyCopyPlan copyPlan = this.copyPlanCache.get(key);
+		if (copyPlan == null) {
+			copyPlan = PropertyCopyPlan.create(sourceClass, this, ignoredProperties);
+			PropertyCopyPlan existing = this.copyPlanCache.putIfAbsent(key, copyPlan);
+			if (existing != null) {
+				copyPlan = existing;
+			}
+		}
+		return copyPlan;
+	}
+
 	private PropertyDescriptor buildGenericTypeAwarePropertyDescriptor(Class<?> beanClass, PropertyDescriptor pd) {
 		try {
 			return new GenericTypeAwarePropertyDescriptor(beanClass, pd.getName(), pd.getReadMethod(),
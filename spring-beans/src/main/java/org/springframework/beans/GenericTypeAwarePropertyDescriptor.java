@@ -53,6 +53,12 @@ final class GenericTypeAwarePropertyDescriptor extends PropertyDescriptor {
 	@Nullable
 	private final Method writeMethod;
 
+	@Nullable
+	private final PropertyMethodInvoker readMethodInvoker;
+
+	@Nullable
+	private final PropertyMethodInvoker writeMethodInvoker;
+
 	@Nullable
 	private Set<Method> ambiguousWriteMethods;
 
@@ -98,6 +104,8 @@ final class GenericTypeAwarePropertyDescriptor extends PropertyDescriptor {
 		}
 		this.readMethod = readMethodToUse;
 		this.writeMethod = writeMethodToUse;
+		this.readMethodInvoker = (readMethodToUse != null ? new PropertyMethodInvoker(readMethodToUse) : null);
+		this.writeMethodInvoker = (writeMethodToUse != null ? new PropertyMethodInvoker(writeMethodToUse) : null);
 
 		if (this.writeMethod != null) {
 			if (this.readMethod == null) {
@@ -158,6 +166,27 @@ final class GenericTypeAwarePropertyDescriptor extends PropertyDescriptor {
 		return this.writeMethod;
 	}
 
+	/**
+	 * Return the invoker for the read method, for actual property access.
+	 * @since 6.2
+	 * @see #getReadMethod()
+	 */
+	public PropertyMethodInvoker getReadMethodInvoker() {
+		Assert.state(this.readMethodInvoker != null, "No read method available");
+		return this.readMethodInvoker;
+	}
+
+	/**
+	 * Return the invoker for the write method, for actual property access.
+	 * @since 6.2
+	 * @see #getWriteMethodForActualAccess()
+	 */
+	public PropertyMethodInvoker getWriteMethodInvokerForActualAccess() {
+		getWriteMethodForActualAccess();
+		Assert.state(this.writeMethodInvoker != null, "No write method available");
+		return this.writeMethodInvoker;
+	}
+
 	@Nullable
 	public Method getWriteMethodFallback(@Nullable Class<?> valueType) {
 		if (this.ambiguousWriteMethods != null) {
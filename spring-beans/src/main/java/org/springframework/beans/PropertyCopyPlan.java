@@ -0,0 +1,144 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Precomputed plan for copying bean properties from a specific source class
+ * into a specific target class, as used by
+ * {@link BeanUtils#copyProperties(Object, Object)}.
+ *
+ * <p>Matching source and target properties and checking their generic
+ * assignability only happens once per combination of source class, target
+ * class and ignored properties. Each copy operation then simply goes through
+ * the {@link PropertyMethodInvoker read and write method invokers} of the
+ * matching properties, which switch to direct accessors for frequent copying.
+ *
+ * <p>Plans are cached per target class in {@link CachedIntrospectionResults}.
+ *
+ * @author agent
+ * @since 6.2
+ * @see CachedIntrospectionResults#getCopyPlan(Class, Set)
+ */
+final class PropertyCopyPlan {
+
+	private final PropertyCopy[] propertyCopies;
+
+
+	private PropertyCopyPlan(List<PropertyCopy> propertyCopies) {
+		this.propertyCopies = propertyCopies.toArray(new PropertyCopy[0]);
+	}
+
+
+	/**
+	 * Copy the matching property values of the given source bean into the given target bean.
+	 * @param source the source bean (an instance of the plan's source class)
+	 * @param target the target bean (an instance of the plan's target class)
+	 * @throws FatalBeanException if a property could not be copied
+	 */
+	void copy(Object source, Object target) throws BeansException {
+		for (PropertyCopy propertyCopy : this.propertyCopies) {
+			try {
+				Object value = propertyCopy.readMethodInvoker().invokeRead(source);
+				propertyCopy.writeMethodInvoker().invokeWrite(target, value);
+			}
+			catch (Throwable ex) {
+				throw new FatalBeanException(
+						"Could not copy property '" + propertyCopy.name() + "' from source to target", ex);
+			}
+		}
+	}
+
+
+	/**
+	 * Create a copy plan for the given source class and target introspection results.
+	 * @param sourceClass the class of the source bean
+	 * @param targetResults the introspection results for the target class
+	 * (or the "editable" class to restrict property setting to)
+	 * @param ignoredProperties the names of the properties to ignore, if any
+	 */
+	static PropertyCopyPlan create(Class<?> sourceClass, CachedIntrospectionResults targetResults,
+			@Nullable Set<String> ignoredProperties) {
+
+		CachedIntrospectionResults sourceResults = (targetResults.getBeanClass() != sourceClass ?
+				CachedIntrospectionResults.forClass(sourceClass) : null);
+		List<PropertyCopy> propertyCopies = new ArrayList<>();
+
+		for (PropertyDescriptor targetPd : targetResults.getPropertyDescriptors()) {
+			Method writeMethod = targetPd.getWriteMethod();
+			if (writeMethod != null && (ignoredProperties == null || !ignoredProperties.contains(targetPd.getName()))) {
+				PropertyDescriptor sourcePd = (sourceResults != null ?
+						sourceResults.getPropertyDescriptor(targetPd.getName()) : targetPd);
+				if (sourcePd != null) {
+					Method readMethod = sourcePd.getReadMethod();
+					if (readMethod != null && isAssignable(writeMethod, readMethod, sourcePd, targetPd)) {
+						propertyCopies.add(new PropertyCopy(targetPd.getName(),
+								((GenericTypeAwarePropertyDescriptor) sourcePd).getReadMethodInvoker(),
+								((GenericTypeAwarePropertyDescriptor) targetPd).getWriteMethodInvokerForActualAccess()));
+					}
+				}
+			}
+		}
+		return new PropertyCopyPlan(propertyCopies);
+	}
+
+	private static boolean isAssignable(Method writeMethod, Method readMethod,
+			PropertyDescriptor sourcePd, PropertyDescriptor targetPd) {
+
+		Type paramType = writeMethod.getGenericParameterTypes()[0];
+		if (paramType instanceof Class<?> clazz) {
+			return ClassUtils.isAssignable(clazz, readMethod.getReturnType());
+		}
+		else if (paramType.equals(readMethod.getGenericReturnType())) {
+			return true;
+		}
+		else {
+			ResolvableType sourceType = ((GenericTypeAwarePropertyDescriptor) sourcePd).getReadMethodType();
+			ResolvableType targetType = ((GenericTypeAwarePropertyDescriptor) targetPd).getWriteMethodType();
+			// Ignore generic types in assignable check if either ResolvableType has unresolvable generics.
+			return (sourceType.hasUnresolvableGenerics() || targetType.hasUnresolvableGenerics() ?
+					ClassUtils.isAssignable(writeMethod.getParameterTypes()[0], readMethod.getReturnType()) :
+					targetType.isAssignableFrom(sourceType));
+		}
+	}
+
+
+	/**
+	 * Cache key for a copy plan within the introspection results of a target class.
+	 */
+	record Key(Class<?> sourceClass, @Nullable Set<String> ignoredProperties) {
+	}
+
+
+	/**
+	 * A single property to copy.
+	 */
+	private record PropertyCopy(String name,
+			PropertyMethodInvoker readMethodInvoker, PropertyMethodInvoker writeMethodInvoker) {
+	}
+
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.NativeDetector;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Invoker for the read or write method of a bean property, held by
+ * {@link GenericTypeAwarePropertyDescriptor} and therefore cached per bean
+ * class in {@link CachedIntrospectionResults}.
+ *
+ * <p>Starts out with reflective invocation and, once the method has been
+ * invoked a certain number of times, switches to a direct accessor generated
+ * through {@link LambdaMetafactory}, avoiding the overhead of
+ * {@link Method#invoke} for frequently accessed properties (e.g. in data
+ * binding or row mapping) without penalizing one-off access at startup.
+ * Falls back to reflection if the accessor cannot be generated, e.g. for
+ * classes in packages which are not open for deep reflection, as well as
+ * for arguments which require a primitive widening conversion.
+ *
+ * <p>Exceptions thrown by the target method are consistently exposed
+ * as {@link InvocationTargetException}, just like for reflective invocation.
+ *
+ * @author agent
+ * @since 6.2
+ * @see GenericTypeAwarePropertyDescriptor#getReadMethodInvoker()
+ * @see GenericTypeAwarePropertyDescriptor#getWriteMethodInvokerForActualAccess()
+ */
+final class PropertyMethodInvoker {
+
+	/**
+	 * The number of reflective invocations before generating a direct accessor,
+	 * in line with the JDK's former reflection inflation threshold.
+	 */
+	static final int GENERATION_THRESHOLD = 16;
+
+	private static final boolean generationSupported = !NativeDetector.inNativeImage();
+
+	private static final Log logger = LogFactory.getLog(PropertyMethodInvoker.class);
+
+
+	private final Method method;
+
+	private final Class<?> declaringClass;
+
+	@Nullable
+	private final Class<?> argumentType;
+
+	@Nullable
+	private volatile Function<Object, Object> getter;
+
+	@Nullable
+	private volatile BiConsumer<Object, Object> setter;
+
+	/** Reflective invocation count (not thread-safe, just indicative), or -1 if not generatable. */
+	private int reflectiveInvocationCount;
+
+
+	/**
+	 * Create a new invoker for the given read method (without parameters)
+	 * or write method (with a single parameter).
+	 */
+	PropertyMethodInvoker(Method method) {
+		this.method = method;
+		this.declaringClass = method.getDeclaringClass();
+		this.argumentType = (method.getParameterCount() == 1 ?
+				ClassUtils.resolvePrimitiveIfNecessary(method.getParameterTypes()[0]) : null);
+		if (!generationSupported || method.getParameterCount() > 1) {
+			this.reflectiveInvocationCount = -1;
+		}
+	}
+
+
+	/**
+	 * Return the underlying read or write method.
+	 */
+	public Method getMethod() {
+		return this.method;
+	}
+
+	/**
+	 * Invoke the read method on the given target.
+	 * @param target the target bean instance
+	 * @return the property value
+	 * @throws InvocationTargetException if the read method threw an exception
+	 * @throws Exception in case of a reflective access failure
+	 */
+	@Nullable
+	public Object invokeRead(Object target) throws Exception {
+		Function<Object, Object> getter = this.getter;
+		if (getter == null && isGenerationDue()) {
+			getter = generateGetter();
+		}
+		if (getter != null && this.declaringClass.isInstance(target)) {
+			try {
+				return getter.apply(target);
+			}
+			catch (Throwable ex) {
+				throw new InvocationTargetException(ex);
+			}
+		}
+		ReflectionUtils.makeAccessible(this.method);
+		return this.method.invoke(target);
+	}
+
+	/**
+	 * Invoke the write method on the given target.
+	 * @param target the target bean instance
+	 * @param value the property value to set
+	 * @throws InvocationTargetException if the write method threw an exception
+	 * @throws Exception in case of a reflective access failure
+	 * (e.g. an argument type mismatch)
+	 */
+	public void invokeWrite(Object target, @Nullable Object value) throws Exception {
+		BiConsumer<Object, Object> setter = this.setter;
+		if (setter == null && isGenerationDue()) {
+			setter = generateSetter();
+		}
+		if (setter != null && this.declaringClass.isInstance(target) && isDirectlyAssignable(value)) {
+			try {
+				setter.accept(target, value);
+				return;
+			}
+			catch (Throwable ex) {
+				throw new InvocationTargetException(ex);
+			}
+		}
+		ReflectionUtils.makeAccessible(this.method);
+		this.method.invoke(target, value);
+	}
+
+	/**
+	 * Check whether the given value can be passed to a generated setter
+	 * as-is, leaving argument type mismatches and widening conversions
+	 * of primitive values to reflective invocation.
+	 */
+	private boolean isDirectlyAssignable(@Nullable Object value) {
+		Class<?> argumentType = this.argumentType;
+		return (argumentType != null && (value != null ? argumentType.isInstance(value) :
+				!this.method.getParameterTypes()[0].isPrimitive()));
+	}
+
+	private boolean isGenerationDue() {
+		int count = this.reflectiveInvocationCount;
+		if (count < 0) {
+			return false;
+		}
+		this.reflectiveInvocationCount = count + 1;
+		return (count >= GENERATION_THRESHOLD);
+	}
+
+	@Nullable
+	@SuppressWarnings("unchecked")
+	private Function<Object, Object> generateGetter() {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(this.declaringClass, MethodHandles.lookup());
+			MethodHandle handle = lookup.unreflect(this.method);
+			CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply",
+					MethodType.methodType(Function.class), MethodType.methodType(Object.class, Object.class), handle,
+					MethodType.methodType(ClassUtils.resolvePrimitiveIfNecessary(this.method.getReturnType()),
+							this.declaringClass));
+			Function<Object, Object> getter = (Function<Object, Object>) callSite.getTarget().invoke();
+			this.getter = getter;
+			return getter;
+		}
+		catch (Throwable ex) {
+			handleGenerationFailure(ex);
+			return null;
+		}
+	}
+
+	@Nullable
+	@SuppressWarnings("unchecked")
+	private BiConsumer<Object, Object> generateSetter() {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(this.declaringClass, MethodHandles.lookup());
+			MethodHandle handle = lookup.unreflect(this.method);
+			CallSite callSite = LambdaMetafactory.metafactory(lookup, "accept",
+					MethodType.methodType(BiConsumer.class), MethodType.methodType(void.class, Object.class, Object.class),
+					handle, MethodType.methodType(void.class, this.declaringClass, this.argumentType));
+			BiConsumer<Object, Object> setter = (BiConsumer<Object, Object>) callSite.getTarget().invoke();
+			this.setter = setter;
+			return setter;
+		}
+		catch (Throwable ex) {
+			handleGenerationFailure(ex);
+			return null;
+		}
+	}
+
+	private void handleGenerationFailure(Throwable ex) {
+		this.reflectiveInvocationCount = -1;
+		if (logger.isDebugEnabled()) {
+			logger.debug("Failed to generate accessor for property method [" + this.method +
+					"] - falling back to reflective invocation", ex);
+		}
+	}
+
+}
@@ -73,6 +73,7 @@ import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.core.PriorityOrdered;
 import org.springframework.core.ResolvableType;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.CollectionUtils;
@@ -1769,25 +1770,32 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	 */
 	@SuppressWarnings("deprecation")
 	protected Object initializeBean(String beanName, Object bean, @Nullable RootBeanDefinition mbd) {
-		invokeAwareMethods(beanName, bean);
+		StartupStep beanInitialization = getApplicationStartup().start("spring.beans.initialize")
+				.tag("beanName", beanName);
+		try {
+			invokeAwareMethods(beanName, bean);
 
-		Object wrappedBean = bean;
-		if (mbd == null || !mbd.isSynthetic()) {
-			wrappedBean = applyBeanPostProcessorsBeforeInitialization(wrappedBean, beanName);
-		}
+			Object wrappedBean = bean;
+			if (mbd == null || !mbd.isSynthetic()) {
+				wrappedBean = applyBeanPostProcessorsBeforeInitialization(wrappedBean, beanName);
+			}
 
-		try {
-			invokeInitMethods(beanName, wrappedBean, mbd);
-		}
-		catch (Throwable ex) {
-			throw new BeanCreationException(
-					(mbd != null ? mbd.getResourceDescription() : null), beanName, ex.getMessage(), ex);
+			try {
+				invokeInitMethods(beanName, wrappedBean, mbd);
+			}
+			catch (Throwable ex) {
+				throw new BeanCreationException(
+						(mbd != null ? mbd.getResourceDescription() : null), beanName, ex.getMessage(), ex);
+			}
+			if (mbd == null || !mbd.isSynthetic()) {
+				wrappedBean = applyBeanPostProcessorsAfterInitialization(wrappedBean, beanName);
+			}
+
+			return wrappedBean;
 		}
-		if (mbd == null || !mbd.isSynthetic()) {
-			wrappedBean = applyBeanPostProcessorsAfterInitialization(wrappedBean, beanName);
+		finally {
+			beanInitialization.end();
 		}
-
-		return wrappedBean;
 	}
 
 	private void invokeAwareMethods(String beanName, Object bean) {
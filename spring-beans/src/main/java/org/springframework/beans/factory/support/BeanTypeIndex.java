@@ -0,0 +1,289 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Incrementally maintained index from types to the names of the bean definitions
+ * in a {@link DefaultListableBeanFactory} which may match them, in order to
+ * restrict by-type lookups to a subset of candidate bean definitions.
+ *
+ * <p>Each bean definition is indexed under all superclasses and interfaces of
+ * its predicted type, as well as of the types of any bean instances created for
+ * it (which may differ from the predicted type, e.g. in case of proxies). Bean
+ * definitions whose type cannot be determined yet remain pending until a later
+ * lookup, and bean definitions indexed under {@code Object} (e.g. factory beans)
+ * are candidates for every type. The index is therefore a superset of the actual
+ * matches, to be narrowed through regular type matching for each candidate.
+ *
+ * <p>Registrations and removals of individual bean definitions only affect their
+ * own index entries, whereas a metadata reset turns all entries pending again.
+ * Candidate names are always returned in registration order.
+ *
+ * @author agent
+ * @since 6.2
+ * @see DefaultListableBeanFactory#getBeanNamesForType(org.springframework.core.ResolvableType)
+ */
+final class BeanTypeIndex {
+
+	private static final Comparator<Entry> REGISTRATION_ORDER = Comparator.comparingLong(entry -> entry.ordinal);
+
+
+	/** Map from bean name to index entry. */
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>(256);
+
+	/** Map from type to the indexed entries for that type. */
+	private final Map<Class<?>, Set<Entry>> entriesByType = new HashMap<>(256);
+
+	/** Entries indexed under {@code Object}, i.e. candidates for every type. */
+	private final Set<Entry> unrestrictedEntries = new HashSet<>();
+
+	/** Entries whose type has not been determined yet. */
+	private final Set<Entry> pendingEntries = new LinkedHashSet<>();
+
+	/** Registration counter, defining the order of candidate names. */
+	private long ordinalCounter;
+
+	/** Modification counter for detecting resets during type resolution. */
+	private long version;
+
+
+	/**
+	 * Register a pending entry for the given bean definition, if not registered yet.
+	 */
+	synchronized void register(String beanName) {
+		if (!this.entries.containsKey(beanName)) {
+			Entry entry = new Entry(beanName, this.ordinalCounter++);
+			this.entries.put(beanName, entry);
+			this.pendingEntries.add(entry);
+			this.version++;
+		}
+	}
+
+	/**
+	 * Remove the entry for the given bean definition.
+	 */
+	synchronized void remove(String beanName) {
+		Entry entry = this.entries.remove(beanName);
+		if (entry != null) {
+			unindex(entry);
+			this.pendingEntries.remove(entry);
+			this.version++;
+		}
+	}
+
+	/**
+	 * Reset the entry for the given bean definition to pending state,
+	 * retaining its registration order but dropping its bean instance types.
+	 */
+	synchronized void reset(String beanName) {
+		Entry entry = this.entries.get(beanName);
+		if (entry != null) {
+			unindex(entry);
+			entry.instanceTypes = Set.of();
+			this.pendingEntries.add(entry);
+			this.version++;
+		}
+	}
+
+	/**
+	 * Reset all entries to pending state, e.g. after a change of bean definition
+	 * metadata or of type-predicting post-processors. Bean instance types are
+	 * retained since the corresponding bean instances remain in place.
+	 */
+	synchronized void resetAll() {
+		this.entriesByType.clear();
+		this.unrestrictedEntries.clear();
+		for (Entry entry : this.entries.values()) {
+			entry.types = null;
+			this.pendingEntries.add(entry);
+		}
+		this.version++;
+	}
+
+	/**
+	 * Determine the types of all pending entries through the given resolver.
+	 * <p>The resolver is invoked outside of the index lock. Its results are
+	 * discarded if the index has been reset or modified in the meantime.
+	 * @param typeResolver a function returning the type to index the given bean
+	 * under, {@code Object} for a candidate for every type, or {@code null} if the
+	 * type cannot be determined yet (leaving the entry in pending state)
+	 */
+	void resolvePending(Function<String, Class<?>> typeResolver) {
+		List<Entry> pending;
+		long version;
+		synchronized (this) {
+			if (this.pendingEntries.isEmpty()) {
+				return;
+			}
+			pending = new ArrayList<>(this.pendingEntries);
+			version = this.version;
+		}
+		Map<Entry, Class<?>> resolvedTypes = new HashMap<>();
+		for (Entry entry : pending) {
+			Class<?> type = typeResolver.apply(entry.beanName);
+			if (type != null) {
+				resolvedTypes.put(entry, type);
+			}
+		}
+		synchronized (this) {
+			if (this.version == version) {
+				resolvedTypes.forEach((entry, type) -> {
+					if (this.pendingEntries.remove(entry)) {
+						entry.types = new HashSet<>();
+						index(entry, type);
+						for (Class<?> instanceType : entry.instanceTypes) {
+							index(entry, instanceType);
+						}
+					}
+				});
+			}
+		}
+	}
+
+	/**
+	 * Add the type of a bean instance to the entry for the given bean definition.
+	 * @param beanName the name of the bean definition
+	 * @param type the type of the bean instance, or {@code Object} for
+	 * an instance that may match any type (e.g. a factory bean)
+	 */
+	void addInstanceType(String beanName, Class<?> type) {
+		Entry entry = this.entries.get(beanName);
+		if (entry == null || entry.instanceTypes.contains(type)) {
+			return;
+		}
+		synchronized (this) {
+			if (this.entries.get(beanName) == entry && !entry.instanceTypes.contains(type)) {
+				// Retained for re-indexing after a reset of the predicted type.
+				Set<Class<?>> instanceTypes = new LinkedHashSet<>(entry.instanceTypes);
+				instanceTypes.add(type);
+				entry.instanceTypes = Collections.unmodifiableSet(instanceTypes);
+				index(entry, type);
+			}
+		}
+	}
+
+	/**
+	 * Return the names of all bean definitions that may match the given type,
+	 * including all pending and unrestricted entries, in registration order.
+	 * @param type the type to match (neither {@code Object} nor an array
+	 * or primitive type)
+	 */
+	synchronized List<String> getCandidateNames(Class<?> type) {
+		Set<Entry> typeEntries = this.entriesByType.get(type);
+		List<Entry> candidates = new ArrayList<>((typeEntries != null ? typeEntries.size() : 0) +
+				this.unrestrictedEntries.size() + this.pendingEntries.size());
+		if (typeEntries != null) {
+			candidates.addAll(typeEntries);
+		}
+		candidates.addAll(this.unrestrictedEntries);
+		candidates.addAll(this.pendingEntries);
+		candidates.sort(REGISTRATION_ORDER);
+		List<String> candidateNames = new ArrayList<>(candidates.size());
+		Entry previous = null;
+		for (Entry candidate : candidates) {
+			if (candidate != previous) {
+				candidateNames.add(candidate.beanName);
+				previous = candidate;
+			}
+		}
+		return candidateNames;
+	}
+
+	private void index(Entry entry, Class<?> type) {
+		Set<Class<?>> types = entry.types;
+		if (types == null || types.contains(Object.class)) {
+			return;
+		}
+		if (type == Object.class) {
+			types.add(type);
+			this.unrestrictedEntries.add(entry);
+			return;
+		}
+		Deque<Class<?>> queue = new ArrayDeque<>();
+		queue.add(type);
+		while (!queue.isEmpty()) {
+			Class<?> current = queue.poll();
+			if (current != Object.class && types.add(current)) {
+				this.entriesByType.computeIfAbsent(current, key -> new HashSet<>()).add(entry);
+				Class<?> superclass = current.getSuperclass();
+				if (superclass != null) {
+					queue.add(superclass);
+				}
+				for (Class<?> ifc : current.getInterfaces()) {
+					queue.add(ifc);
+				}
+			}
+		}
+	}
+
+	private void unindex(Entry entry) {
+		Set<Class<?>> types = entry.types;
+		if (types != null) {
+			for (Class<?> type : types) {
+				Set<Entry> typeEntries = this.entriesByType.get(type);
+				if (typeEntries != null) {
+					typeEntries.remove(entry);
+					if (typeEntries.isEmpty()) {
+						this.entriesByType.remove(type);
+					}
+				}
+			}
+			this.unrestrictedEntries.remove(entry);
+			entry.types = null;
+		}
+	}
+
+
+	/**
+	 * Index entry for a specific bean definition.
+	 */
+	private static final class Entry {
+
+		final String beanName;
+
+		final long ordinal;
+
+		/** All indexed types, or {@code null} if pending. */
+		@Nullable
+		Set<Class<?>> types;
+
+		/** The types of bean instances created for the bean definition. */
+		volatile Set<Class<?>> instanceTypes = Set.of();
+
+		Entry(String beanName, long ordinal) {
+			this.beanName = beanName;
+			this.ordinal = ordinal;
+		}
+	}
+
+}
@@ -241,6 +241,7 @@ class ConstructorResolver {
 								getUserDeclaredConstructor(candidate), autowiring, candidates.length == 1);
 					}
 					catch (UnsatisfiedDependencyException ex) {
+						rethrowIfParallelCreationConflict(ex);
 						if (logger.isTraceEnabled()) {
 							logger.trace("Ignoring constructor [" + candidate + "] of bean '" + beanName + "': " + ex);
 						}
@@ -547,6 +548,7 @@ class ConstructorResolver {
 									paramTypes, paramNames, candidate, autowiring, candidates.size() == 1);
 						}
 						catch (UnsatisfiedDependencyException ex) {
+							rethrowIfParallelCreationConflict(ex);
 							if (logger.isTraceEnabled()) {
 								logger.trace("Ignoring factory method [" + candidate + "] of bean '" + beanName + "': " + ex);
 							}
@@ -879,6 +881,17 @@ class ConstructorResolver {
 		return resolvedArgs;
 	}
 
+	/**
+	 * Rethrow the given exception if it indicates an aborted dependency creation
+	 * in parallel pre-instantiation: The same bean is going to be retried serially
+	 * then, so no other candidate must be selected in the meantime.
+	 */
+	private static void rethrowIfParallelCreationConflict(UnsatisfiedDependencyException ex) {
+		if (ex.contains(DefaultListableBeanFactory.ParallelCreationConflictException.class)) {
+			throw ex;
+		}
+	}
+
 	private Constructor<?> getUserDeclaredConstructor(Constructor<?> constructor) {
 		Class<?> declaringClass = constructor.getDeclaringClass();
 		Class<?> userClass = ClassUtils.getUserClass(declaringClass);
@@ -29,7 +29,9 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
@@ -41,6 +43,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -58,6 +61,7 @@ import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.beans.factory.BeanNotOfRequiredTypeException;
 import org.springframework.beans.factory.CannotLoadBeanClassException;
+import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.InjectionPoint;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.NoUniqueBeanDefinitionException;
@@ -72,10 +76,12 @@ import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.DependencyDescriptor;
 import org.springframework.beans.factory.config.NamedBeanHolder;
+import org.springframework.beans.factory.config.SmartInstantiationAwareBeanPostProcessor;
 import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.OrderComparator;
 import org.springframework.core.Ordered;
 import org.springframework.core.ResolvableType;
+import org.springframework.core.SpringProperties;
 import org.springframework.core.annotation.MergedAnnotation;
 import org.springframework.core.annotation.MergedAnnotations;
 import org.springframework.core.annotation.MergedAnnotations.SearchStrategy;
@@ -128,6 +134,15 @@ import org.springframework.util.StringUtils;
 public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFactory
 		implements ConfigurableListableBeanFactory, BeanDefinitionRegistry, Serializable {
 
+	/**
+	 * System property that instructs Spring to pre-instantiate singletons in
+	 * parallel by default, as if {@link #setParallelPreInstantiation} had been
+	 * called with {@code true} on every {@code DefaultListableBeanFactory}.
+	 * @since 6.2
+	 * @see #setParallelPreInstantiation
+	 */
+	public static final String PARALLEL_PREINSTANTIATION_PROPERTY_NAME = "spring.beans.preinstantiation.parallel";
+
 	@Nullable
 	private static Class<?> javaxInjectProviderClass;
 
@@ -161,6 +176,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	@Nullable
 	private Executor bootstrapExecutor;
 
+	/** Whether to pre-instantiate independent singletons in parallel. */
+	private boolean parallelPreInstantiation = SpringProperties.getFlag(PARALLEL_PREINSTANTIATION_PROPERTY_NAME);
+
 	/** Optional OrderComparator for dependency Lists and arrays. */
 	@Nullable
 	private Comparator<Object> dependencyComparator;
@@ -186,6 +204,12 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Map of singleton-only bean names, keyed by dependency type. */
 	private final Map<Class<?>, String[]> singletonBeanNamesByType = new ConcurrentHashMap<>(64);
 
+	/** Index of candidate bean definition names, keyed by type. */
+	private final BeanTypeIndex beanTypeIndex = new BeanTypeIndex();
+
+	/** The type-predicting post-processors that the type index has been built with. */
+	private volatile List<SmartInstantiationAwareBeanPostProcessor> indexedTypePredictors = Collections.emptyList();
+
 	/** List of bean definition names, in registration order. */
 	private volatile List<String> beanDefinitionNames = new ArrayList<>(256);
 
@@ -202,6 +226,21 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	private final NamedThreadLocal<PreInstantiation> preInstantiationThread =
 			new NamedThreadLocal<>("Pre-instantiation thread marker");
 
+	/**
+	 * Map from bean name (or {@link FactoryBeanObjectClaim}) to the thread
+	 * creating the respective object during parallel pre-instantiation.
+	 */
+	private final Map<Object, Thread> parallelCreationThreads = new ConcurrentHashMap<>(256);
+
+	/** Map from parallel pre-instantiation thread to the claim it is waiting for. */
+	private final Map<Thread, Object> parallelAwaitedBeans = new HashMap<>();
+
+	/** Monitor for parallel pre-instantiation threads waiting for each other. */
+	private final Object parallelCreationMonitor = new Object();
+
+	/** Whether parallel pre-instantiation is currently in progress. */
+	private volatile boolean parallelPreInstantiationActive;
+
 
 	/**
 	 * Create a new DefaultListableBeanFactory.
@@ -297,6 +336,41 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return this.bootstrapExecutor;
 	}
 
+	/**
+	 * Specify whether to pre-instantiate non-lazy singletons in parallel.
+	 * <p>In parallel mode, {@link #preInstantiateSingletons()} derives a dependency
+	 * graph from the registered bean definitions: explicit references and
+	 * depends-on declarations, factory beans for factory methods, as well as
+	 * autowire candidates for constructor, factory method and injected member
+	 * dependencies. Independent parts of that graph get instantiated concurrently
+	 * on the {@link #setBootstrapExecutor bootstrap executor}, or on a temporary
+	 * thread pool sized to the number of available processors if none is set;
+	 * each singleton only once all of its known dependencies are available.
+	 * <p>Singletons involved in dependency cycles, singletons with dependencies
+	 * that cannot be determined upfront (such as property autowiring by name or
+	 * type, or expressions in bean definition values), and singletons depending
+	 * on any of those are instantiated serially in the calling thread afterwards,
+	 * in registration order. A singleton that turns out to require a bean which
+	 * is currently being created in another thread waits for that bean, unless
+	 * the other thread is waiting for the current thread in turn: instead of
+	 * deadlocking, its creation is aborted then and retried serially.
+	 * <p>Default is "false", unless the {@value #PARALLEL_PREINSTANTIATION_PROPERTY_NAME}
+	 * system property has been set to "true".
+	 * @since 6.2
+	 * @see #preInstantiateSingletons()
+	 */
+	public void setParallelPreInstantiation(boolean parallelPreInstantiation) {
+		this.parallelPreInstantiation = parallelPreInstantiation;
+	}
+
+	/**
+	 * Return whether non-lazy singletons are pre-instantiated in parallel.
+	 * @since 6.2
+	 */
+	public boolean isParallelPreInstantiation() {
+		return this.parallelPreInstantiation;
+	}
+
 	/**
 	 * Set a {@link java.util.Comparator} for dependency Lists and arrays.
 	 * @since 4.0
@@ -344,6 +418,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			this.allowBeanDefinitionOverriding = otherListableFactory.allowBeanDefinitionOverriding;
 			this.allowEagerClassLoading = otherListableFactory.allowEagerClassLoading;
 			this.bootstrapExecutor = otherListableFactory.bootstrapExecutor;
+			this.parallelPreInstantiation = otherListableFactory.parallelPreInstantiation;
 			this.dependencyComparator = otherListableFactory.dependencyComparator;
 			// A clone of the AutowireCandidateResolver since it is potentially BeanFactoryAware
 			setAutowireCandidateResolver(otherListableFactory.getAutowireCandidateResolver().cloneIfNecessary());
@@ -577,8 +652,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	private String[] doGetBeanNamesForType(ResolvableType type, boolean includeNonSingletons, boolean allowEagerInit) {
 		List<String> result = new ArrayList<>();
 
-		// Check all bean definitions.
-		for (String beanName : this.beanDefinitionNames) {
+		// Check all bean definitions, or just the indexed candidates for the given type.
+		List<String> candidateNames = getCandidateBeanNames(type);
+		for (String beanName : (candidateNames != null ? candidateNames : this.beanDefinitionNames)) {
 			// Only consider bean as eligible if the bean name is not defined as alias for some other bean.
 			if (!isAlias(beanName)) {
 				try {
@@ -661,6 +737,61 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return StringUtils.toStringArray(result);
 	}
 
+	/**
+	 * Determine the names of the bean definitions that may match the given type,
+	 * in registration order, as a subset of all bean definition names.
+	 * @param type the type to match
+	 * @return the candidate bean names, or {@code null} if all bean definitions
+	 * need to be checked for the given type
+	 * @see BeanTypeIndex
+	 */
+	@Nullable
+	private List<String> getCandidateBeanNames(ResolvableType type) {
+		Class<?> rawType = type.resolve();
+		if (rawType == null || rawType == Object.class || rawType.isArray() || rawType.isPrimitive()) {
+			return null;
+		}
+		List<SmartInstantiationAwareBeanPostProcessor> typePredictors = getBeanPostProcessorCache().smartInstantiationAware;
+		if (!typePredictors.equals(this.indexedTypePredictors)) {
+			// Predicted types may have changed -> re-determine all indexed types.
+			this.beanTypeIndex.resetAll();
+			this.indexedTypePredictors = new ArrayList<>(typePredictors);
+		}
+		this.beanTypeIndex.resolvePending(this::determineIndexedType);
+		return this.beanTypeIndex.getCandidateNames(rawType);
+	}
+
+	/**
+	 * Determine the type to index the given bean definition under, as far as
+	 * possible without class loading or initialization of other beans.
+	 * @param beanName the name of the bean definition
+	 * @return the predicted type of the bean, {@code Object} if the bean may
+	 * match any type, or {@code null} if the type cannot be determined yet
+	 */
+	@Nullable
+	private Class<?> determineIndexedType(String beanName) {
+		try {
+			RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
+			if (mbd.isAbstract() || mbd.getDecoratedDefinition() != null) {
+				return Object.class;
+			}
+			if (mbd.getTargetType() == null && (mbd.getFactoryMethodName() != null ?
+					mbd.factoryMethodReturnType == null : !mbd.hasBeanClass())) {
+				// Not resolved yet: to be checked as a regular candidate for now.
+				return null;
+			}
+			if (isFactoryBean(beanName, mbd)) {
+				return Object.class;
+			}
+			Class<?> predictedType = predictBeanType(beanName, mbd);
+			return (predictedType != null && !predictedType.isArray() ? predictedType : Object.class);
+		}
+		catch (BeansException ex) {
+			// Probably an incomplete bean definition: to be checked as a regular candidate.
+			return null;
+		}
+	}
+
 	private boolean isSingleton(String beanName, RootBeanDefinition mbd, @Nullable BeanDefinitionHolder dbd) {
 		return (dbd != null ? mbd.isSingleton() : isSingleton(beanName));
 	}
@@ -943,6 +1074,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	public void clearMetadataCache() {
 		super.clearMetadataCache();
 		this.mergedBeanDefinitionHolders.clear();
+		this.beanTypeIndex.resetAll();
 		clearByTypeCache();
 	}
 
@@ -983,8 +1115,10 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	protected void checkMergedBeanDefinition(RootBeanDefinition mbd, String beanName, @Nullable Object[] args) {
 		super.checkMergedBeanDefinition(mbd, beanName, args);
 
+		PreInstantiation preInstantiation = this.preInstantiationThread.get();
 		if (mbd.isBackgroundInit()) {
-			if (this.preInstantiationThread.get() == PreInstantiation.MAIN && getBootstrapExecutor() != null) {
+			if ((preInstantiation == PreInstantiation.MAIN || preInstantiation == PreInstantiation.PARALLEL) &&
+					getBootstrapExecutor() != null) {
 				throw new BeanCurrentlyInCreationException(beanName, "Bean marked for background " +
 						"initialization but requested in mainline thread - declare ObjectProvider " +
 						"or lazy injection point in dependent mainline beans");
@@ -992,17 +1126,168 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		}
 		else {
 			// Bean intended to be initialized in main bootstrap thread
-			if (this.preInstantiationThread.get() == PreInstantiation.BACKGROUND) {
+			if (preInstantiation == PreInstantiation.BACKGROUND) {
 				throw new BeanCurrentlyInCreationException(beanName, "Bean marked for mainline initialization " +
 						"but requested in background thread - enforce early instantiation in mainline thread " +
 						"through depends-on '" + beanName + "' declaration for dependent background beans");
 			}
 		}
+
+		if (preInstantiation == PreInstantiation.PARALLEL && mbd.isSingleton()) {
+			claimSingletonInParallelThread(beanName);
+		}
+	}
+
+	/**
+	 * Claim the given singleton for creation in the current parallel pre-instantiation
+	 * thread, waiting for another thread that creates it already to finish - unless
+	 * that thread is (transitively) waiting for the current thread.
+	 * @throws ParallelCreationConflictException if waiting would lead to a deadlock
+	 */
+	private void claimSingletonInParallelThread(String beanName) {
+		claimInParallelThread(beanName, beanName, () -> containsSingleton(beanName));
+	}
+
+	/**
+	 * Claim the creation of the given object in the current parallel pre-instantiation
+	 * thread, waiting for another thread that creates it already to finish - unless
+	 * that thread is (transitively) waiting for the current thread.
+	 * @param claim the bean name or other key identifying the object to create
+	 * @param beanName the name of the bean to report in case of a conflict
+	 * @param created whether the object has been created already
+	 * @return {@code true} if newly claimed for the current thread, or {@code false}
+	 * if already claimed by the current thread or created in the meantime
+	 * @throws ParallelCreationConflictException if waiting would lead to a deadlock
+	 */
+	private boolean claimInParallelThread(Object claim, String beanName, BooleanSupplier created) {
+		Thread currentThread = Thread.currentThread();
+		synchronized (this.parallelCreationMonitor) {
+			while (!created.getAsBoolean()) {
+				Thread creationThread = this.parallelCreationThreads.putIfAbsent(claim, currentThread);
+				if (creationThread == null) {
+					return true;
+				}
+				if (creationThread == currentThread) {
+					return false;
+				}
+				if (isWaitingForThread(creationThread, currentThread)) {
+					throw new ParallelCreationConflictException(beanName, creationThread);
+				}
+				this.parallelAwaitedBeans.put(currentThread, claim);
+				try {
+					this.parallelCreationMonitor.wait();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					throw new ParallelCreationConflictException(beanName, creationThread);
+				}
+				finally {
+					this.parallelAwaitedBeans.remove(currentThread);
+				}
+			}
+			return false;
+		}
+	}
+
+	private boolean isWaitingForThread(Thread thread, Thread threadToWaitFor) {
+		Thread current = thread;
+		for (int i = 0; i <= this.parallelAwaitedBeans.size(); i++) {
+			Object awaitedClaim = this.parallelAwaitedBeans.get(current);
+			if (awaitedClaim == null) {
+				return false;
+			}
+			current = this.parallelCreationThreads.get(awaitedClaim);
+			if (current == null) {
+				return false;
+			}
+			if (current == threadToWaitFor) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	protected Object createBean(String beanName, RootBeanDefinition mbd, @Nullable Object[] args)
+			throws BeanCreationException {
+
+		Object beanInstance = super.createBean(beanName, mbd, args);
+		indexBeanInstance(beanName, beanInstance);
+		return beanInstance;
+	}
+
+	@Override
+	protected Object getEarlyBeanReference(String beanName, RootBeanDefinition mbd, Object bean) {
+		Object exposedObject = super.getEarlyBeanReference(beanName, mbd, bean);
+		indexBeanInstance(beanName, exposedObject);
+		return exposedObject;
+	}
+
+	@Override
+	protected void addSingleton(String beanName, Object singletonObject) {
+		super.addSingleton(beanName, singletonObject);
+		if (this.parallelPreInstantiationActive) {
+			synchronized (this.parallelCreationMonitor) {
+				this.parallelCreationMonitor.notifyAll();
+			}
+		}
+	}
+
+	@Override
+	protected void cleanupAfterBeanCreationFailure(String beanName) {
+		super.cleanupAfterBeanCreationFailure(beanName);
+		if (this.parallelPreInstantiationActive) {
+			synchronized (this.parallelCreationMonitor) {
+				// Let waiting threads claim the bean for themselves.
+				this.parallelCreationThreads.remove(beanName, Thread.currentThread());
+				this.parallelCreationMonitor.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Prevent concurrent creation of the same FactoryBean object
+	 * in parallel pre-instantiation threads.
+	 * @see #claimInParallelThread
+	 */
+	@Override
+	protected boolean beforeFactoryBeanObjectCreation(String beanName) {
+		if (this.parallelPreInstantiationActive &&
+				this.preInstantiationThread.get() == PreInstantiation.PARALLEL) {
+			return claimInParallelThread(new FactoryBeanObjectClaim(beanName), beanName,
+					() -> getCachedObjectForFactoryBean(beanName) != null);
+		}
+		return false;
+	}
+
+	@Override
+	protected void afterFactoryBeanObjectCreation(String beanName) {
+		synchronized (this.parallelCreationMonitor) {
+			// Let waiting threads obtain the object or claim its creation for themselves.
+			this.parallelCreationThreads.remove(new FactoryBeanObjectClaim(beanName), Thread.currentThread());
+			this.parallelCreationMonitor.notifyAll();
+		}
 	}
 
 	@Override
 	protected boolean isCurrentThreadAllowedToHoldSingletonLock() {
-		return (this.preInstantiationThread.get() != PreInstantiation.BACKGROUND);
+		PreInstantiation preInstantiation = this.preInstantiationThread.get();
+		return (preInstantiation != PreInstantiation.BACKGROUND && preInstantiation != PreInstantiation.PARALLEL);
+	}
+
+	@Override
+	@Nullable
+	protected Object getSingleton(String beanName, boolean allowEarlyReference) {
+		if (this.parallelPreInstantiationActive &&
+				this.preInstantiationThread.get() == PreInstantiation.PARALLEL) {
+			// Never expose early references to beans that are being created in another thread:
+			// rather proceed to creation, waiting for the other thread in checkMergedBeanDefinition.
+			Thread creationThread = this.parallelCreationThreads.get(beanName);
+			if (creationThread != null && creationThread != Thread.currentThread() && !containsSingleton(beanName)) {
+				return null;
+			}
+		}
+		return super.getSingleton(beanName, allowEarlyReference);
 	}
 
 	@Override
@@ -1019,12 +1304,19 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		List<CompletableFuture<?>> futures = new ArrayList<>();
 		this.preInstantiationThread.set(PreInstantiation.MAIN);
 		try {
-			for (String beanName : beanNames) {
-				RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
-				if (!mbd.isAbstract() && mbd.isSingleton()) {
-					CompletableFuture<?> future = preInstantiateSingleton(beanName, mbd);
-					if (future != null) {
-						futures.add(future);
+			if (isParallelPreInstantiation()) {
+				for (String beanName : preInstantiateSingletonsInParallel(beanNames, futures)) {
+					instantiateSingleton(beanName);
+				}
+			}
+			else {
+				for (String beanName : beanNames) {
+					RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
+					if (!mbd.isAbstract() && mbd.isSingleton()) {
+						CompletableFuture<?> future = preInstantiateSingleton(beanName, mbd);
+						if (future != null) {
+							futures.add(future);
+						}
 					}
 				}
 			}
@@ -1053,6 +1345,69 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		}
 	}
 
+	/**
+	 * Pre-instantiate the given singletons in parallel where possible, starting
+	 * background initialization for beans marked accordingly upfront.
+	 * @return the names of the beans remaining to be instantiated serially
+	 */
+	private List<String> preInstantiateSingletonsInParallel(List<String> beanNames, List<CompletableFuture<?>> futures) {
+		List<String> candidateNames = new ArrayList<>(beanNames.size());
+		for (String beanName : beanNames) {
+			RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
+			if (!mbd.isAbstract() && mbd.isSingleton()) {
+				if (mbd.isBackgroundInit()) {
+					CompletableFuture<?> future = preInstantiateSingleton(beanName, mbd);
+					if (future != null) {
+						futures.add(future);
+					}
+				}
+				else if (!mbd.isLazyInit()) {
+					candidateNames.add(beanName);
+				}
+			}
+		}
+		this.parallelPreInstantiationActive = true;
+		try {
+			return new ParallelSingletonInstantiator(this).instantiate(candidateNames);
+		}
+		finally {
+			this.parallelPreInstantiationActive = false;
+			this.parallelCreationThreads.clear();
+		}
+	}
+
+	/**
+	 * Instantiate the given singleton in a parallel pre-instantiation thread.
+	 * @return {@code true} if the singleton has been instantiated, or {@code false}
+	 * if it required a bean being created in another thread that in turn waited
+	 * for the current thread (to be retried serially)
+	 * @see #preInstantiateSingletonsInParallel
+	 */
+	boolean instantiateSingletonInParallelThread(String beanName) {
+		PreInstantiation previous = this.preInstantiationThread.get();
+		this.preInstantiationThread.set(PreInstantiation.PARALLEL);
+		try {
+			instantiateSingleton(beanName);
+			return true;
+		}
+		catch (BeansException ex) {
+			if (ex.contains(ParallelCreationConflictException.class)) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Deferring instantiation of singleton bean '" + beanName +
+							"' to mainline thread: " + ex.getMostSpecificCause().getMessage());
+				}
+				return false;
+			}
+			if (logger.isWarnEnabled()) {
+				logger.warn("Failed to instantiate singleton bean '" + beanName + "' in parallel thread", ex);
+			}
+			throw ex;
+		}
+		finally {
+			this.preInstantiationThread.set(previous);
+		}
+	}
+
 	@Nullable
 	private CompletableFuture<?> preInstantiateSingleton(String beanName, RootBeanDefinition mbd) {
 		if (mbd.isBackgroundInit()) {
@@ -1184,6 +1539,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 				removeManualSingletonName(beanName);
 			}
 			this.frozenBeanDefinitionNames = null;
+			this.beanTypeIndex.register(beanName);
 		}
 
 		if (existingDefinition != null || containsSingleton(beanName)) {
@@ -1262,6 +1618,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			this.beanDefinitionNames.remove(beanName);
 		}
 		this.frozenBeanDefinitionNames = null;
+		this.beanTypeIndex.remove(beanName);
 
 		resetBeanDefinition(beanName);
 	}
@@ -1289,6 +1646,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		// Remove a cached primary marker for the given bean.
 		this.primaryBeanNames.remove(beanName);
 
+		// Re-determine the indexed type for the given bean.
+		this.beanTypeIndex.reset(beanName);
+
 		// Notify all post-processors that the specified bean definition has been reset.
 		for (MergedBeanDefinitionPostProcessor processor : getBeanPostProcessorCache().mergedDefinition) {
 			processor.resetBeanDefinition(beanName);
@@ -1341,6 +1701,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	public void registerSingleton(String beanName, Object singletonObject) throws IllegalStateException {
 		super.registerSingleton(beanName, singletonObject);
 		updateManualSingletonNames(set -> set.add(beanName), set -> !this.beanDefinitionMap.containsKey(beanName));
+		indexBeanInstance(beanName, singletonObject);
 		clearByTypeCache();
 	}
 
@@ -1387,6 +1748,19 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		}
 	}
 
+	/**
+	 * Index the type of the given bean instance for its bean definition,
+	 * in addition to the predicted type of the bean definition.
+	 * @param beanName the name of the bean
+	 * @param beanInstance the bean instance (e.g. a proxy)
+	 */
+	private void indexBeanInstance(String beanName, Object beanInstance) {
+		if (beanInstance.getClass() != NullBean.class) {
+			this.beanTypeIndex.addInstanceType(beanName,
+					(beanInstance instanceof FactoryBean<?> ? Object.class : beanInstance.getClass()));
+		}
+	}
+
 	/**
 	 * Remove any assumptions about by-type mappings.
 	 */
@@ -2543,7 +2917,29 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
 	private enum PreInstantiation {
 
-		MAIN, BACKGROUND
+		MAIN, BACKGROUND, PARALLEL
+	}
+
+
+	/**
+	 * Key for claiming the creation of a FactoryBean's singleton object
+	 * during parallel pre-instantiation, as opposed to the FactoryBean itself.
+	 */
+	private record FactoryBeanObjectClaim(String beanName) {
+	}
+
+
+	/**
+	 * Exception thrown in a parallel pre-instantiation thread when a bean is
+	 * requested that is currently being created in another thread which
+	 * cannot be waited for.
+	 */
+	@SuppressWarnings("serial")
+	static class ParallelCreationConflictException extends BeanCreationException {
+
+		ParallelCreationConflictException(String beanName, Thread creationThread) {
+			super(beanName, "Bean currently in creation in thread \"" + creationThread.getName() + "\"");
+		}
 	}
 
 }
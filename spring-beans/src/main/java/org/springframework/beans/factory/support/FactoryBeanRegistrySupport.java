@@ -120,33 +120,46 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
 		if (factory.isSingleton() && containsSingleton(beanName)) {
 			Object object = this.factoryBeanObjectCache.get(beanName);
 			if (object == null) {
-				object = doGetObjectFromFactoryBean(factory, beanName);
-				// Only post-process and store if not put there already during getObject() call above
-				// (e.g. because of circular reference processing triggered by custom getBean calls)
-				Object alreadyThere = this.factoryBeanObjectCache.get(beanName);
-				if (alreadyThere != null) {
-					object = alreadyThere;
-				}
-				else {
-					if (shouldPostProcess) {
-						if (isSingletonCurrentlyInCreation(beanName)) {
-							// Temporarily return non-post-processed object, not storing it yet
-							return object;
-						}
-						beforeSingletonCreation(beanName);
-						try {
-							object = postProcessObjectFromFactoryBean(object, beanName);
-						}
-						catch (Throwable ex) {
-							throw new BeanCreationException(beanName,
-									"Post-processing of FactoryBean's singleton object failed", ex);
+				boolean claimed = beforeFactoryBeanObjectCreation(beanName);
+				try {
+					// Might have been created by another thread in the meantime
+					object = this.factoryBeanObjectCache.get(beanName);
+					if (object != null) {
+						return object;
+					}
+					object = doGetObjectFromFactoryBean(factory, beanName);
+					// Only post-process and store if not put there already during getObject() call above
+					// (e.g. because of circular reference processing triggered by custom getBean calls)
+					Object alreadyThere = this.factoryBeanObjectCache.get(beanName);
+					if (alreadyThere != null) {
+						object = alreadyThere;
+					}
+					else {
+						if (shouldPostProcess) {
+							if (isSingletonCurrentlyInCreation(beanName)) {
+								// Temporarily return non-post-processed object, not storing it yet
+								return object;
+							}
+							beforeSingletonCreation(beanName);
+							try {
+								object = postProcessObjectFromFactoryBean(object, beanName);
+							}
+							catch (Throwable ex) {
+								throw new BeanCreationException(beanName,
+										"Post-processing of FactoryBean's singleton object failed", ex);
+							}
+							finally {
+								afterSingletonCreation(beanName);
+							}
 						}
-						finally {
-							afterSingletonCreation(beanName);
+						if (containsSingleton(beanName)) {
+							this.factoryBeanObjectCache.put(beanName, object);
 						}
 					}
-					if (containsSingleton(beanName)) {
-						this.factoryBeanObjectCache.put(beanName, object);
+				}
+				finally {
+					if (claimed) {
+						afterFactoryBeanObjectCreation(beanName);
 					}
 				}
 			}
@@ -166,6 +179,30 @@ public abstract class FactoryBeanRegistrySupport extends DefaultSingletonBeanReg
 		}
 	}
 
+	/**
+	 * Callback before the singleton object of the given FactoryBean gets created,
+	 * allowing subclasses to prevent concurrent creation of the same object.
+	 * <p>The default implementation returns {@code false}, not claiming anything.
+	 * @param beanName the name of the FactoryBean
+	 * @return whether the creation has been claimed for the current thread,
+	 * to be released through {@link #afterFactoryBeanObjectCreation}
+	 * @since 6.2
+	 */
+	protected boolean beforeFactoryBeanObjectCreation(String beanName) {
+		return false;
+	}
+
+	/**
+	 * Callback after the singleton object of the given FactoryBean has been
+	 * created (or failed to be created), releasing the claim obtained through
+	 * {@link #beforeFactoryBeanObjectCreation}.
+	 * <p>The default implementation is empty.
+	 * @param beanName the name of the FactoryBean
+	 * @since 6.2
+	 */
+	protected void afterFactoryBeanObjectCreation(String beanName) {
+	}
+
 	/**
 	 * Obtain an object to expose from the given FactoryBean.
 	 * @param factory the FactoryBean instance
@@ -0,0 +1,482 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.BeanReference;
+import org.springframework.beans.factory.config.ConstructorArgumentValues.ValueHolder;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.config.TypedStringValue;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Pre-instantiates the non-lazy singletons of a {@link DefaultListableBeanFactory}
+ * in parallel, following a dependency graph derived from their bean definitions.
+ *
+ * <p>The dependencies of each singleton comprise explicit bean references and
+ * depends-on declarations, the factory bean of a factory method, and all autowire
+ * candidates for the parameters of its candidate constructors or factory methods
+ * and for its injected fields and methods, as registered by
+ * {@link MergedBeanDefinitionPostProcessor MergedBeanDefinitionPostProcessors}.
+ * Since autowire candidates are determined by type, this is a superset of the
+ * actual dependencies. Singletons whose dependencies are known and acyclic get
+ * scheduled on the executor as soon as all of their dependencies are available,
+ * so executor threads only wait for each other on dependencies which could not
+ * be determined upfront.
+ *
+ * <p>All other singletons are left to the caller for serial instantiation,
+ * as are singletons whose creation had to be aborted to avoid a deadlock
+ * between executor threads, along with their dependents.
+ *
+ * @author agent
+ * @since 6.2
+ * @see DefaultListableBeanFactory#setParallelPreInstantiation
+ */
+final class ParallelSingletonInstantiator {
+
+	private static final Log logger = LogFactory.getLog(ParallelSingletonInstantiator.class);
+
+	private final DefaultListableBeanFactory beanFactory;
+
+	private final Map<Class<?>, String[]> candidateNamesByType = new HashMap<>();
+
+	private volatile boolean failed;
+
+
+	ParallelSingletonInstantiator(DefaultListableBeanFactory beanFactory) {
+		this.beanFactory = beanFactory;
+	}
+
+
+	/**
+	 * Instantiate the given singletons, in parallel as far as possible.
+	 * @param beanNames the names of the non-lazy singletons to instantiate
+	 * @return the names of the singletons that still need to be instantiated
+	 * serially, in the order of the given bean names
+	 * @throws BeansException if the instantiation of a singleton failed
+	 */
+	List<String> instantiate(List<String> beanNames) throws BeansException {
+		Set<String> candidates = new LinkedHashSet<>(beanNames);
+		Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+		for (String beanName : beanNames) {
+			Set<String> beanDependencies = resolveDependencies(beanName);
+			if (beanDependencies != null) {
+				beanDependencies.retainAll(candidates);
+				beanDependencies.remove(beanName);
+				dependencies.put(beanName, beanDependencies);
+			}
+		}
+
+		List<String> parallelNames = sortTopologically(dependencies);
+		if (logger.isDebugEnabled()) {
+			logger.debug("Pre-instantiating " + parallelNames.size() + " singletons in parallel, " +
+					(beanNames.size() - parallelNames.size()) + " serially");
+		}
+		if (parallelNames.isEmpty()) {
+			return beanNames;
+		}
+
+		Map<String, CompletableFuture<Boolean>> futures = new HashMap<>();
+		ExecutorService temporaryExecutor = null;
+		Executor executor = this.beanFactory.getBootstrapExecutor();
+		if (executor == null) {
+			temporaryExecutor = createTemporaryExecutor();
+			executor = temporaryExecutor;
+		}
+		try {
+			Executor executorToUse = callerRunsOnRejection(executor);
+			for (String beanName : parallelNames) {
+				List<CompletableFuture<Boolean>> dependencyFutures = new ArrayList<>();
+				for (String dependency : dependencies.get(beanName)) {
+					dependencyFutures.add(futures.get(dependency));
+				}
+				futures.put(beanName, schedule(beanName, dependencyFutures, executorToUse));
+			}
+			CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).join();
+		}
+		catch (CompletionException ex) {
+			ReflectionUtils.rethrowRuntimeException(ex.getCause());
+		}
+		finally {
+			if (temporaryExecutor != null) {
+				temporaryExecutor.shutdown();
+			}
+		}
+
+		List<String> remainingNames = new ArrayList<>();
+		for (String beanName : beanNames) {
+			CompletableFuture<Boolean> future = futures.get(beanName);
+			if (future == null || !future.join()) {
+				remainingNames.add(beanName);
+			}
+		}
+		return remainingNames;
+	}
+
+	/**
+	 * Schedule the instantiation of the given singleton once the given
+	 * dependencies have been instantiated, skipping it if any of them has not.
+	 */
+	private CompletableFuture<Boolean> schedule(String beanName,
+			List<CompletableFuture<Boolean>> dependencyFutures, Executor executor) {
+
+		Supplier<Boolean> task = () -> {
+			if (this.failed) {
+				return false;
+			}
+			for (CompletableFuture<Boolean> dependencyFuture : dependencyFutures) {
+				if (!dependencyFuture.join()) {
+					return false;
+				}
+			}
+			try {
+				return this.beanFactory.instantiateSingletonInParallelThread(beanName);
+			}
+			catch (RuntimeException | Error ex) {
+				this.failed = true;
+				throw ex;
+			}
+		};
+		if (dependencyFutures.isEmpty()) {
+			return CompletableFuture.supplyAsync(task, executor);
+		}
+		return CompletableFuture.allOf(dependencyFutures.toArray(new CompletableFuture<?>[0]))
+				.thenApplyAsync(result -> task.get(), executor);
+	}
+
+	/**
+	 * Determine the dependencies of the given singleton among all beans.
+	 * @return the names of the beans that the singleton may depend on,
+	 * or {@code null} if they cannot be determined upfront
+	 */
+	@Nullable
+	private Set<String> resolveDependencies(String beanName) {
+		RootBeanDefinition mbd = this.beanFactory.getMergedLocalBeanDefinition(beanName);
+		int autowireMode = mbd.getResolvedAutowireMode();
+		if (mbd.getInstanceSupplier() != null || autowireMode == AutowireCapableBeanFactory.AUTOWIRE_BY_NAME ||
+				autowireMode == AutowireCapableBeanFactory.AUTOWIRE_BY_TYPE) {
+			return null;
+		}
+		Set<String> dependencies = new HashSet<>();
+		if (!addBeanDefinitionDependencies(mbd, dependencies)) {
+			return null;
+		}
+		try {
+			String factoryMethodName = mbd.getFactoryMethodName();
+			if (factoryMethodName != null) {
+				return (addFactoryMethodDependencies(mbd, factoryMethodName, dependencies) ? dependencies : null);
+			}
+			Class<?> beanClass = this.beanFactory.resolveBeanClass(mbd, beanName);
+			if (beanClass == null) {
+				return null;
+			}
+			if (!addConstructorDependencies(mbd, beanName, beanClass, dependencies)) {
+				return null;
+			}
+			if (!mbd.hasMethodOverrides()) {
+				// Same as in doCreateBean: the bean instance will be of the bean class itself.
+				synchronized (mbd.postProcessingLock) {
+					if (!mbd.postProcessed) {
+						this.beanFactory.applyMergedBeanDefinitionPostProcessors(mbd, beanClass, beanName);
+						mbd.markAsPostProcessed();
+					}
+				}
+				for (Member member : mbd.getExternallyManagedConfigMembers()) {
+					if (!addMemberDependencies(member, dependencies)) {
+						return null;
+					}
+				}
+			}
+			return dependencies;
+		}
+		catch (BeansException | LinkageError ex) {
+			// To be reported by serial instantiation.
+			if (logger.isTraceEnabled()) {
+				logger.trace("Failed to determine dependencies of bean '" + beanName + "'", ex);
+			}
+			return null;
+		}
+	}
+
+	private boolean addBeanDefinitionDependencies(BeanDefinition bd, Set<String> dependencies) {
+		String[] dependsOn = bd.getDependsOn();
+		if (dependsOn != null) {
+			for (String dependency : dependsOn) {
+				dependencies.add(this.beanFactory.transformedBeanName(dependency));
+			}
+		}
+		String factoryBeanName = bd.getFactoryBeanName();
+		if (factoryBeanName != null) {
+			dependencies.add(this.beanFactory.transformedBeanName(factoryBeanName));
+		}
+		for (PropertyValue pv : bd.getPropertyValues().getPropertyValueList()) {
+			if (!addValueDependencies(pv.getValue(), dependencies)) {
+				return false;
+			}
+		}
+		for (ValueHolder valueHolder : bd.getConstructorArgumentValues().getIndexedArgumentValues().values()) {
+			if (!addValueDependencies(valueHolder.getValue(), dependencies)) {
+				return false;
+			}
+		}
+		for (ValueHolder valueHolder : bd.getConstructorArgumentValues().getGenericArgumentValues()) {
+			if (!addValueDependencies(valueHolder.getValue(), dependencies)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean addValueDependencies(@Nullable Object value, Set<String> dependencies) {
+		if (value instanceof RuntimeBeanReference ref && ref.getBeanType() != null) {
+			return addTypeDependencies(ResolvableType.forClass(ref.getBeanType()), dependencies);
+		}
+		else if (value instanceof BeanReference ref) {
+			dependencies.add(this.beanFactory.transformedBeanName(ref.getBeanName()));
+		}
+		else if (value instanceof BeanDefinitionHolder bdHolder) {
+			return addBeanDefinitionDependencies(bdHolder.getBeanDefinition(), dependencies);
+		}
+		else if (value instanceof BeanDefinition bd) {
+			return addBeanDefinitionDependencies(bd, dependencies);
+		}
+		else if (value instanceof Collection<?> collection) {
+			for (Object element : collection) {
+				if (!addValueDependencies(element, dependencies)) {
+					return false;
+				}
+			}
+		}
+		else if (value instanceof Map<?, ?> map) {
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				if (!addValueDependencies(entry.getKey(), dependencies) ||
+						!addValueDependencies(entry.getValue(), dependencies)) {
+					return false;
+				}
+			}
+		}
+		else if (value instanceof TypedStringValue typedStringValue) {
+			return isStaticValue(typedStringValue.getValue());
+		}
+		else if (value instanceof String string) {
+			return isStaticValue(string);
+		}
+		return true;
+	}
+
+	private boolean addFactoryMethodDependencies(
+			RootBeanDefinition mbd, String factoryMethodName, Set<String> dependencies) {
+
+		Method factoryMethod = mbd.getResolvedFactoryMethod();
+		if (factoryMethod != null) {
+			return addExecutableDependencies(factoryMethod, dependencies);
+		}
+		String factoryBeanName = mbd.getFactoryBeanName();
+		Class<?> factoryClass = (factoryBeanName != null ? this.beanFactory.getType(factoryBeanName, false) :
+				(mbd.hasBeanClass() ? mbd.getBeanClass() : null));
+		if (factoryClass == null) {
+			return false;
+		}
+		for (Method candidate : ReflectionUtils.getUniqueDeclaredMethods(factoryClass,
+				method -> method.getName().equals(factoryMethodName))) {
+			if (!addExecutableDependencies(candidate, dependencies)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean addConstructorDependencies(
+			RootBeanDefinition mbd, String beanName, Class<?> beanClass, Set<String> dependencies) {
+
+		Constructor<?>[] ctors = this.beanFactory.determineConstructorsFromBeanPostProcessors(beanClass, beanName);
+		if (ctors == null) {
+			ctors = mbd.getPreferredConstructors();
+		}
+		if (ctors == null && (mbd.getResolvedAutowireMode() == AutowireCapableBeanFactory.AUTOWIRE_CONSTRUCTOR ||
+				mbd.hasConstructorArgumentValues())) {
+			ctors = beanClass.getDeclaredConstructors();
+		}
+		if (ctors != null) {
+			for (Constructor<?> ctor : ctors) {
+				if (!addExecutableDependencies(ctor, dependencies)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private boolean addMemberDependencies(Member member, Set<String> dependencies) {
+		if (member instanceof Field field) {
+			return addTypeDependencies(ResolvableType.forField(field), dependencies);
+		}
+		else if (member instanceof Executable executable) {
+			return addExecutableDependencies(executable, dependencies);
+		}
+		return true;
+	}
+
+	private boolean addExecutableDependencies(Executable executable, Set<String> dependencies) {
+		for (int i = 0; i < executable.getParameterCount(); i++) {
+			MethodParameter parameter = MethodParameter.forExecutable(executable, i);
+			if (!addTypeDependencies(ResolvableType.forMethodParameter(parameter), dependencies)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Add all autowire candidates for the given dependency type, unwrapping
+	 * arrays, collections, maps and lazy dependency holders.
+	 * @return {@code false} if the dependency type is too general to be resolved
+	 */
+	private boolean addTypeDependencies(ResolvableType type, Set<String> dependencies) {
+		ResolvableType typeToMatch = type;
+		Class<?> rawType = typeToMatch.resolve();
+		while (rawType != null) {
+			ResolvableType elementType;
+			if (rawType.isArray()) {
+				elementType = typeToMatch.getComponentType();
+			}
+			else if (Collection.class.isAssignableFrom(rawType)) {
+				elementType = typeToMatch.asCollection().getGeneric();
+			}
+			else if (Map.class.isAssignableFrom(rawType)) {
+				elementType = typeToMatch.asMap().getGeneric(1);
+			}
+			else if (rawType == Optional.class) {
+				elementType = typeToMatch.getGeneric();
+			}
+			else if (ObjectFactory.class.isAssignableFrom(rawType)) {
+				elementType = typeToMatch.as(ObjectFactory.class).getGeneric();
+			}
+			else {
+				break;
+			}
+			typeToMatch = elementType;
+			rawType = typeToMatch.resolve();
+		}
+		if (rawType == null || rawType == Object.class) {
+			return false;
+		}
+		String[] candidateNames = this.candidateNamesByType.computeIfAbsent(rawType,
+				key -> this.beanFactory.getBeanNamesForType(key, true, false));
+		Collections.addAll(dependencies, candidateNames);
+		return true;
+	}
+
+	/**
+	 * Order the given singletons such that each comes after its dependencies,
+	 * leaving out singletons involved in or depending on a cycle as well as
+	 * singletons depending on a singleton with unknown dependencies.
+	 */
+	private static List<String> sortTopologically(Map<String, Set<String>> dependencies) {
+		Map<String, Integer> pendingCounts = new HashMap<>();
+		Map<String, List<String>> dependents = new HashMap<>();
+		Deque<String> ready = new ArrayDeque<>();
+		dependencies.forEach((beanName, beanDependencies) -> {
+			int pendingCount = 0;
+			for (String dependency : beanDependencies) {
+				if (dependencies.containsKey(dependency)) {
+					dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(beanName);
+				}
+				// A dependency with unknown dependencies itself never becomes ready.
+				pendingCount++;
+			}
+			pendingCounts.put(beanName, pendingCount);
+			if (pendingCount == 0) {
+				ready.add(beanName);
+			}
+		});
+		List<String> sorted = new ArrayList<>(dependencies.size());
+		while (!ready.isEmpty()) {
+			String beanName = ready.poll();
+			sorted.add(beanName);
+			for (String dependent : dependents.getOrDefault(beanName, Collections.emptyList())) {
+				if (pendingCounts.merge(dependent, -1, Integer::sum) == 0) {
+					ready.add(dependent);
+				}
+			}
+		}
+		return sorted;
+	}
+
+	private static boolean isStaticValue(@Nullable String value) {
+		return (value == null || !value.contains("#{"));
+	}
+
+	private static Executor callerRunsOnRejection(Executor executor) {
+		return task -> {
+			try {
+				executor.execute(task);
+			}
+			catch (RejectedExecutionException ex) {
+				task.run();
+			}
+		};
+	}
+
+	private static ExecutorService createTemporaryExecutor() {
+		AtomicInteger threadCount = new AtomicInteger();
+		return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+			Thread thread = new Thread(runnable, "spring-preinstantiation-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+}
@@ -405,6 +405,29 @@ class BeanUtilsTests {
 		assertThat(target.getName()).isEqualTo("name");
 	}
 
+	@Test
+	void copyPropertiesRepeatedlyWithVaryingIgnoredProperties() throws Exception {
+		TestBean source = new TestBean("rod", 32);
+		source.setTouchy("bla");
+		for (int i = 0; i < PropertyMethodInvoker.GENERATION_THRESHOLD * 2; i++) {
+			source.setAge(i);
+			TestBean target = new TestBean();
+			BeanUtils.copyProperties(source, target);
+			assertThat(target.getName()).isEqualTo("rod");
+			assertThat(target.getAge()).isEqualTo(i);
+
+			target = new TestBean();
+			BeanUtils.copyProperties(source, target, "age");
+			assertThat(target.getName()).isEqualTo("rod");
+			assertThat(target.getAge()).isEqualTo(0);
+
+			target = new TestBean();
+			BeanUtils.copyProperties(source, target, "name");
+			assertThat(target.getName()).isNull();
+			assertThat(target.getAge()).isEqualTo(i);
+		}
+	}
+
 	@Test
 	void copyPropertiesWithInvalidProperty() {
 		InvalidProperty source = new InvalidProperty();
@@ -78,6 +78,29 @@ class BeanWrapperTests extends AbstractPropertyAccessorTests {
 		assertThat(accessor.getPropertyValue("aliasedName")).isEqualTo("tom");
 	}
 
+	@Test
+	void repeatedPropertyAccessBeyondAccessorGenerationThreshold() {
+		GetterBean target = new GetterBean();
+		BeanWrapper accessor = createAccessor(target);
+		TestBean testBean = new TestBean();
+		BeanWrapper testBeanAccessor = createAccessor(testBean);
+		for (int i = 0; i < PropertyMethodInvoker.GENERATION_THRESHOLD * 2; i++) {
+			accessor.setPropertyValue("aliasedName", "tom" + i);
+			assertThat(accessor.getPropertyValue("name")).isEqualTo("tom" + i);
+			assertThat(accessor.getPropertyValue("aliasedName")).isEqualTo("tom" + i);
+			testBeanAccessor.setPropertyValue("age", i);
+			testBeanAccessor.setPropertyValue("name", null);
+			assertThat(testBeanAccessor.getPropertyValue("age")).isEqualTo(i);
+			assertThat(testBeanAccessor.getPropertyValue("name")).isNull();
+		}
+		assertThatExceptionOfType(TypeMismatchException.class)
+				.isThrownBy(() -> testBeanAccessor.setPropertyValue("age", null));
+		accessor.setPropertyValue("name", null);
+		assertThatExceptionOfType(InvalidPropertyException.class)
+				.isThrownBy(() -> accessor.getPropertyValue("name"))
+				.satisfies(ex -> assertThat(ex.getRootCause()).hasMessage("name property must be set"));
+	}
+
 	@Test
 	void replaceWrappedInstance() {
 		GetterBean target = new GetterBean();
@@ -18,7 +18,9 @@ package org.springframework.beans.factory;
 
 import java.io.Closeable;
 import java.io.Serializable;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
 import java.net.MalformedURLException;
 import java.text.NumberFormat;
 import java.text.ParseException;
@@ -34,6 +36,11 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -57,6 +64,7 @@ import org.springframework.beans.factory.config.ConstructorArgumentValues;
 import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
 import org.springframework.beans.factory.config.PropertiesFactoryBean;
 import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.config.SmartInstantiationAwareBeanPostProcessor;
 import org.springframework.beans.factory.config.TypedStringValue;
 import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.beans.factory.support.AbstractBeanFactory;
@@ -2145,6 +2153,60 @@ class DefaultListableBeanFactoryTests {
 		assertBeanNamesForType(CityRepository.class, true, false, "factoryBean");
 	}
 
+	@Test
+	void getBeanNamesForTypeAfterRegistrationAndRemoval() {
+		lbf.registerBeanDefinition("tb1", new RootBeanDefinition(TestBean.class));
+		lbf.registerBeanDefinition("tb2", new RootBeanDefinition(DerivedTestBean.class));
+		lbf.registerBeanDefinition("nested", new RootBeanDefinition(NestedTestBean.class));
+		assertBeanNamesForType(ITestBean.class, true, false, "tb1", "tb2");
+		assertBeanNamesForType(NestedTestBean.class, true, false, "nested");
+
+		lbf.freezeConfiguration();
+		lbf.registerBeanDefinition("tb3", new RootBeanDefinition(TestBean.class));
+		assertBeanNamesForType(ITestBean.class, true, false, "tb1", "tb2", "tb3");
+		lbf.removeBeanDefinition("tb1");
+		assertBeanNamesForType(ITestBean.class, true, false, "tb2", "tb3");
+		lbf.registerBeanDefinition("tb2", new RootBeanDefinition(NestedTestBean.class));
+		assertBeanNamesForType(ITestBean.class, true, false, "tb3");
+		assertBeanNamesForType(NestedTestBean.class, true, false, "tb2", "nested");
+	}
+
+	@Test
+	void getBeanNamesForGenericTypeAfterRegistration() {
+		RootBeanDefinition bd1 = new RootBeanDefinition(ArrayList.class);
+		bd1.setTargetType(ResolvableType.forClassWithGenerics(ArrayList.class, String.class));
+		lbf.registerBeanDefinition("stringList", bd1);
+		RootBeanDefinition bd2 = new RootBeanDefinition(ArrayList.class);
+		bd2.setTargetType(ResolvableType.forClassWithGenerics(ArrayList.class, Integer.class));
+		lbf.registerBeanDefinition("integerList", bd2);
+		lbf.registerBeanDefinition("tb", new RootBeanDefinition(TestBean.class));
+
+		ResolvableType stringListType = ResolvableType.forClassWithGenerics(List.class, String.class);
+		assertThat(lbf.getBeanNamesForType(stringListType)).containsExactly("stringList");
+		RootBeanDefinition bd3 = new RootBeanDefinition(ArrayList.class);
+		bd3.setTargetType(ResolvableType.forClassWithGenerics(ArrayList.class, String.class));
+		lbf.registerBeanDefinition("anotherStringList", bd3);
+		assertThat(lbf.getBeanNamesForType(stringListType)).containsExactly("stringList", "anotherStringList");
+		assertThat(lbf.getBeanNamesForType(List.class)).containsExactly("stringList", "integerList", "anotherStringList");
+	}
+
+	@Test
+	void getBeanNamesForTypeWithProxiedBeanInstance() {
+		lbf.addBeanPostProcessor(new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				return (bean instanceof NestedTestBean ? (Runnable) () -> {} : bean);
+			}
+		});
+		lbf.registerBeanDefinition("nested", new RootBeanDefinition(NestedTestBean.class));
+		assertBeanNamesForType(Runnable.class, true, false);
+
+		lbf.getBean("nested");
+		assertBeanNamesForType(Runnable.class, true, false, "nested");
+		lbf.clearMetadataCache();
+		assertBeanNamesForType(Runnable.class, true, false, "nested");
+	}
+
 	/**
 	 * Verifies that a dependency on a {@link FactoryBean} can <strong>not</strong>
 	 * be autowired <em>by name</em>, as &amp; is an illegal character in
@@ -2508,6 +2570,73 @@ class DefaultListableBeanFactoryTests {
 		assertThatExceptionOfType(UnsatisfiedDependencyException.class).isThrownBy(lbf::preInstantiateSingletons);
 	}
 
+	@Test
+	void parallelPreInstantiationWithSharedFactoryBeanObject() {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		lbf.setBootstrapExecutor(executor);
+		lbf.setParallelPreInstantiation(true);
+		lbf.addBeanPostProcessor(new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				return (bean instanceof ITestBean ? Proxy.newProxyInstance(getClass().getClassLoader(),
+						new Class<?>[] {ITestBean.class}, (proxy, method, args) -> method.invoke(bean, args)) : bean);
+			}
+		});
+		lbf.registerBeanDefinition("testBean", new RootBeanDefinition(SlowTestBeanFactoryBean.class));
+		for (String beanName : new String[] {"recipient1", "recipient2"}) {
+			RootBeanDefinition bd = new RootBeanDefinition(ITestBeanRecipient.class);
+			bd.setAutowireMode(RootBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+			lbf.registerBeanDefinition(beanName, bd);
+		}
+		try {
+			lbf.preInstantiateSingletons();
+		}
+		finally {
+			executor.shutdown();
+		}
+
+		ITestBean testBean = lbf.getBean("testBean", ITestBean.class);
+		assertThat(Proxy.isProxyClass(testBean.getClass())).isTrue();
+		assertThat(lbf.getBean("recipient1", ITestBeanRecipient.class).testBean).isSameAs(testBean);
+		assertThat(lbf.getBean("recipient2", ITestBeanRecipient.class).testBean).isSameAs(testBean);
+		assertThat(lbf.getBean("&testBean", SlowTestBeanFactoryBean.class).objectCount).hasValue(1);
+	}
+
+	@Test
+	void parallelPreInstantiationWithConflictAndConstructorCandidates() {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		lbf.setBootstrapExecutor(executor);
+		lbf.setParallelPreInstantiation(true);
+		ParallelConflictState state = new ParallelConflictState();
+		lbf.addBeanPostProcessor(new SmartInstantiationAwareBeanPostProcessor() {
+			@Override
+			public Constructor<?>[] determineCandidateConstructors(Class<?> beanClass, String beanName) {
+				if (beanName.equals("dependent")) {
+					// Let "dependency" wait for "init" before resolving constructor arguments
+					state.pauseIfNecessary();
+					return beanClass.getDeclaredConstructors();
+				}
+				return null;
+			}
+		});
+		RootBeanDefinition init = new RootBeanDefinition(ConflictInitBean.class);
+		init.getPropertyValues().add("state", state);
+		lbf.registerBeanDefinition("init", init);
+		RootBeanDefinition dependency = new RootBeanDefinition(ConflictDependency.class);
+		dependency.getPropertyValues().add("state", state);
+		lbf.registerBeanDefinition("dependency", dependency);
+		lbf.registerBeanDefinition("dependent", new RootBeanDefinition(ConflictDependent.class));
+		try {
+			lbf.preInstantiateSingletons();
+		}
+		finally {
+			executor.shutdown();
+		}
+
+		// Same constructor as in serial creation, not the fallback without "dependency"
+		assertThat(lbf.getBean("dependent", ConflictDependent.class).dependency).isSameAs(lbf.getBean("dependency"));
+	}
+
 	@Test
 	void circularReferenceThroughFactoryBeanAutowiring() {
 		RootBeanDefinition bd = new RootBeanDefinition(ConstructorDependencyFactoryBean.class);
@@ -3007,6 +3136,66 @@ class DefaultListableBeanFactoryTests {
 		assertThat(holder.getNonPublicEnum()).isEqualTo(NonPublicEnum.VALUE_1);
 	}
 
+	@Test
+	void parallelPreInstantiationWithReferences() {
+		lbf.setParallelPreInstantiation(true);
+		for (int i = 0; i < 10; i++) {
+			RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+			bd.getPropertyValues().add("name", "tb" + i);
+			if (i > 0) {
+				bd.getPropertyValues().add("spouse", new RuntimeBeanReference("tb" + (i - 1)));
+			}
+			lbf.registerBeanDefinition("tb" + i, bd);
+		}
+		RootBeanDefinition dependent = new RootBeanDefinition(ConstructorDependency.class);
+		dependent.getConstructorArgumentValues().addGenericArgumentValue(new RuntimeBeanReference("tb9"));
+		lbf.registerBeanDefinition("dependent", dependent);
+		lbf.preInstantiateSingletons();
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(lbf.containsSingleton("tb" + i)).isTrue();
+		}
+		for (int i = 1; i < 10; i++) {
+			assertThat(lbf.getBean("tb" + i, TestBean.class).getSpouse()).isSameAs(lbf.getBean("tb" + (i - 1)));
+		}
+		assertThat(lbf.getBean("dependent", ConstructorDependency.class).spouse).isSameAs(lbf.getBean("tb9"));
+	}
+
+	@Test
+	void parallelPreInstantiationWithBootstrapExecutorAndCircularReference() {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		lbf.setBootstrapExecutor(executor);
+		lbf.setParallelPreInstantiation(true);
+		RootBeanDefinition bd1 = new RootBeanDefinition(TestBean.class);
+		bd1.getPropertyValues().add("spouse", new RuntimeBeanReference("tb2"));
+		lbf.registerBeanDefinition("tb1", bd1);
+		RootBeanDefinition bd2 = new RootBeanDefinition(TestBean.class);
+		bd2.getPropertyValues().add("spouse", new RuntimeBeanReference("tb1"));
+		lbf.registerBeanDefinition("tb2", bd2);
+		lbf.registerBeanDefinition("tb3", new RootBeanDefinition(TestBean.class));
+		try {
+			lbf.preInstantiateSingletons();
+		}
+		finally {
+			executor.shutdown();
+		}
+
+		assertThat(lbf.getBean("tb1", TestBean.class).getSpouse()).isSameAs(lbf.getBean("tb2"));
+		assertThat(lbf.getBean("tb2", TestBean.class).getSpouse()).isSameAs(lbf.getBean("tb1"));
+		assertThat(lbf.containsSingleton("tb3")).isTrue();
+	}
+
+	@Test
+	void parallelPreInstantiationWithFailure() {
+		lbf.setParallelPreInstantiation(true);
+		lbf.registerBeanDefinition("tb", new RootBeanDefinition(TestBean.class));
+		RootBeanDefinition bd = new RootBeanDefinition(UnsatisfiedConstructorDependency.class);
+		bd.setAutowireMode(RootBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+		lbf.registerBeanDefinition("test", bd);
+
+		assertThatExceptionOfType(UnsatisfiedDependencyException.class).isThrownBy(lbf::preInstantiateSingletons);
+	}
+
 
 	private int registerBeanDefinitions(Properties p) {
 		return registerBeanDefinitions(p, null);
@@ -3571,6 +3760,128 @@ class DefaultListableBeanFactoryTests {
 	}
 
 
+	private static class ITestBeanRecipient {
+
+		final ITestBean testBean;
+
+		@SuppressWarnings("unused")
+		public ITestBeanRecipient(ITestBean testBean) {
+			this.testBean = testBean;
+		}
+	}
+
+
+	public static class SlowTestBeanFactoryBean implements FactoryBean<ITestBean> {
+
+		final AtomicInteger objectCount = new AtomicInteger();
+
+		@Override
+		public ITestBean getObject() throws InterruptedException {
+			this.objectCount.incrementAndGet();
+			Thread.sleep(200);
+			return new TestBean();
+		}
+
+		@Override
+		public Class<?> getObjectType() {
+			return ITestBean.class;
+		}
+	}
+
+
+	static class ParallelConflictState {
+
+		final CountDownLatch initLatch = new CountDownLatch(1);
+
+		final AtomicBoolean paused = new AtomicBoolean();
+
+		volatile Thread initThread;
+
+		volatile Thread dependencyThread;
+
+		void pauseIfNecessary() {
+			if (Thread.currentThread() == this.initThread && this.paused.compareAndSet(false, true)) {
+				long deadline = System.currentTimeMillis() + 5000;
+				while (System.currentTimeMillis() < deadline) {
+					Thread thread = this.dependencyThread;
+					if (thread != null && thread.getState() == Thread.State.WAITING) {
+						return;
+					}
+					try {
+						Thread.sleep(10);
+					}
+					catch (InterruptedException ex) {
+						throw new IllegalStateException(ex);
+					}
+				}
+			}
+		}
+	}
+
+
+	public static class ConflictInitBean implements BeanFactoryAware, InitializingBean {
+
+		private ParallelConflictState state;
+
+		private BeanFactory beanFactory;
+
+		public void setState(ParallelConflictState state) {
+			this.state = state;
+		}
+
+		@Override
+		public void setBeanFactory(BeanFactory beanFactory) {
+			this.beanFactory = beanFactory;
+		}
+
+		@Override
+		public void afterPropertiesSet() {
+			this.state.initThread = Thread.currentThread();
+			this.state.initLatch.countDown();
+			this.beanFactory.getBean("dependent");
+		}
+	}
+
+
+	public static class ConflictDependency implements BeanFactoryAware, InitializingBean {
+
+		private ParallelConflictState state;
+
+		private BeanFactory beanFactory;
+
+		public void setState(ParallelConflictState state) {
+			this.state = state;
+		}
+
+		@Override
+		public void setBeanFactory(BeanFactory beanFactory) {
+			this.beanFactory = beanFactory;
+		}
+
+		@Override
+		public void afterPropertiesSet() throws InterruptedException {
+			this.state.dependencyThread = Thread.currentThread();
+			this.state.initLatch.await();
+			this.beanFactory.getBean("init");
+		}
+	}
+
+
+	public static class ConflictDependent {
+
+		@Nullable
+		final ConflictDependency dependency;
+
+		public ConflictDependent(ConflictDependency dependency) {
+			this.dependency = dependency;
+		}
+
+		public ConflictDependent() {
+			this.dependency = null;
+		}
+	}
+
+
 	enum NonPublicEnum {
 
 		VALUE_1, VALUE_2
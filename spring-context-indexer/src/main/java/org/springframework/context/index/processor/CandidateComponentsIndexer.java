@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -39,6 +39,10 @@ import javax.lang.model.element.TypeElement;
  * Annotation {@link Processor} that writes a {@link CandidateComponentsMetadata}
  * file for spring components.
  *
+ * <p>As of 6.2, the class metadata of each candidate type is written to a
+ * separate file as well, allowing candidates to be registered without reading
+ * their class files at runtime.
+ *
  * @author Stephane Nicoll
  * @author Juergen Hoeller
  * @since 5.0
@@ -53,6 +57,8 @@ public class CandidateComponentsIndexer implements Processor {
 
 	private TypeHelper typeHelper;
 
+	private TypeMetadataEncoder typeMetadataEncoder;
+
 	private List<StereotypesProvider> stereotypesProviders;
 
 
@@ -75,6 +81,7 @@ public class CandidateComponentsIndexer implements Processor {
 	public synchronized void init(ProcessingEnvironment env) {
 		this.stereotypesProviders = getStereotypesProviders(env);
 		this.typeHelper = new TypeHelper(env);
+		this.typeMetadataEncoder = new TypeMetadataEncoder(env);
 		this.metadataStore = new MetadataStore(env);
 		this.metadataCollector = new MetadataCollector(env, this.metadataStore.readMetadata());
 	}
@@ -115,7 +122,9 @@ public class CandidateComponentsIndexer implements Processor {
 		Set<String> stereotypes = new LinkedHashSet<>();
 		this.stereotypesProviders.forEach(p -> stereotypes.addAll(p.getStereotypes(element)));
 		if (!stereotypes.isEmpty()) {
-			this.metadataCollector.add(new ItemMetadata(this.typeHelper.getType(element), stereotypes));
+			byte[] typeMetadata = (element instanceof TypeElement typeElement ?
+					this.typeMetadataEncoder.encode(typeElement) : null);
+			this.metadataCollector.add(new ItemMetadata(this.typeHelper.getType(element), stereotypes, typeMetadata));
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,8 @@ package org.springframework.context.index.processor;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Collections;
+import java.util.Map;
 
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.tools.FileObject;
@@ -34,6 +36,8 @@ class MetadataStore {
 
 	static final String METADATA_PATH = "META-INF/spring.components";
 
+	static final String TYPE_METADATA_PATH = "META-INF/spring.components.metadata";
+
 	private final ProcessingEnvironment environment;
 
 
@@ -43,20 +47,35 @@ class MetadataStore {
 
 
 	public CandidateComponentsMetadata readMetadata() {
+		CandidateComponentsMetadata metadata;
 		try {
-			return readMetadata(getMetadataResource().openInputStream());
+			metadata = readMetadata(getMetadataResource(METADATA_PATH).openInputStream());
 		}
 		catch (IOException ex) {
 			// Failed to read metadata -> ignore.
 			return null;
 		}
+		Map<String, byte[]> typeMetadata = readTypeMetadata();
+		if (typeMetadata.isEmpty()) {
+			return metadata;
+		}
+		CandidateComponentsMetadata result = new CandidateComponentsMetadata();
+		for (ItemMetadata item : metadata.getItems()) {
+			result.add(new ItemMetadata(item.getType(), item.getStereotypes(), typeMetadata.get(item.getType())));
+		}
+		return result;
 	}
 
 	public void writeMetadata(CandidateComponentsMetadata metadata) throws IOException {
 		if (!metadata.getItems().isEmpty()) {
-			try (OutputStream outputStream = createMetadataResource().openOutputStream()) {
+			try (OutputStream outputStream = createMetadataResource(METADATA_PATH).openOutputStream()) {
 				PropertiesMarshaller.write(metadata, outputStream);
 			}
+			if (metadata.getItems().stream().anyMatch(item -> item.getTypeMetadata() != null)) {
+				try (OutputStream outputStream = createMetadataResource(TYPE_METADATA_PATH).openOutputStream()) {
+					TypeMetadataMarshaller.write(metadata, outputStream);
+				}
+			}
 		}
 	}
 
@@ -67,12 +86,22 @@ class MetadataStore {
 		}
 	}
 
-	private FileObject getMetadataResource() throws IOException {
-		return this.environment.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", METADATA_PATH);
+	private Map<String, byte[]> readTypeMetadata() {
+		try (InputStream in = getMetadataResource(TYPE_METADATA_PATH).openInputStream()) {
+			return TypeMetadataMarshaller.read(in);
+		}
+		catch (IOException ex) {
+			// No type metadata from a previous build -> candidates will be read from class files.
+			return Collections.emptyMap();
+		}
+	}
+
+	private FileObject getMetadataResource(String path) throws IOException {
+		return this.environment.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", path);
 	}
 
-	private FileObject createMetadataResource() throws IOException {
-		return this.environment.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", METADATA_PATH);
+	private FileObject createMetadataResource(String path) throws IOException {
+		return this.environment.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", path);
 	}
 
 }
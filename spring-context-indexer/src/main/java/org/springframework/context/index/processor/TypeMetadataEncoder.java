@@ -0,0 +1,360 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index.processor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+/**
+ * Encode the class metadata of a candidate type in the binary format of
+ * {@value MetadataStore#TYPE_METADATA_PATH}: the class structure, the
+ * declared methods and the attribute values of runtime-retained annotations
+ * declared on the type and its methods, as they would be found in the
+ * compiled class file.
+ *
+ * <p>Class and method access flags are expressed as in the class file format,
+ * class references as class names, and only explicitly specified annotation
+ * attributes are recorded, leaving defaults to be applied at runtime.
+ *
+ * @author agent
+ * @since 6.2
+ * @see TypeMetadataMarshaller
+ */
+class TypeMetadataEncoder {
+
+	private static final int ACC_PUBLIC = 0x0001;
+
+	private static final int ACC_PRIVATE = 0x0002;
+
+	private static final int ACC_PROTECTED = 0x0004;
+
+	private static final int ACC_STATIC = 0x0008;
+
+	private static final int ACC_FINAL = 0x0010;
+
+	private static final int ACC_INTERFACE = 0x0200;
+
+	private static final int ACC_ABSTRACT = 0x0400;
+
+	private static final int ACC_ANNOTATION = 0x2000;
+
+	private static final int ACC_ENUM = 0x4000;
+
+	private static final byte TYPE_STRING = 0;
+
+	private static final byte TYPE_BOOLEAN = 1;
+
+	private static final byte TYPE_BYTE = 2;
+
+	private static final byte TYPE_CHAR = 3;
+
+	private static final byte TYPE_SHORT = 4;
+
+	private static final byte TYPE_INT = 5;
+
+	private static final byte TYPE_LONG = 6;
+
+	private static final byte TYPE_FLOAT = 7;
+
+	private static final byte TYPE_DOUBLE = 8;
+
+	private static final byte TYPE_ENUM = 9;
+
+	private static final byte TYPE_ANNOTATION = 10;
+
+	private static final byte TYPE_ARRAY = 11;
+
+
+	private final Elements elements;
+
+	private final Types types;
+
+
+	TypeMetadataEncoder(ProcessingEnvironment env) {
+		this.elements = env.getElementUtils();
+		this.types = env.getTypeUtils();
+	}
+
+
+	/**
+	 * Encode the metadata of the given type.
+	 * @param type the type to encode
+	 * @return the encoded metadata
+	 */
+	public byte[] encode(TypeElement type) {
+		try {
+			ByteArrayOutputStream bos = new ByteArrayOutputStream(256);
+			writeType(new DataOutputStream(bos), type);
+			return bos.toByteArray();
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Failed to encode metadata for " + type, ex);
+		}
+	}
+
+	private void writeType(DataOutput out, TypeElement type) throws IOException {
+		boolean isInterface = type.getKind().isInterface();
+		Element enclosingElement = type.getEnclosingElement();
+		TypeElement enclosingType = (enclosingElement instanceof TypeElement te ? te : null);
+		writeString(out, getClassName(type));
+		out.writeInt(getClassAccess(type));
+		writeNullableString(out, enclosingType != null ? getClassName(enclosingType) : null);
+		TypeMirror superclass = type.getSuperclass();
+		writeNullableString(out, !isInterface && superclass.getKind() == TypeKind.DECLARED ?
+				getTypeName(superclass) : null);
+		out.writeBoolean(enclosingType != null &&
+				(type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.STATIC)));
+		List<String> interfaceNames = new ArrayList<>();
+		for (TypeMirror ifc : type.getInterfaces()) {
+			interfaceNames.add(getTypeName(ifc));
+		}
+		writeStrings(out, interfaceNames);
+		List<String> memberClassNames = new ArrayList<>();
+		for (TypeElement memberType : ElementFilter.typesIn(type.getEnclosedElements())) {
+			memberClassNames.add(getClassName(memberType));
+		}
+		writeStrings(out, memberClassNames);
+		writeAnnotations(out, type);
+		List<ExecutableElement> methods = ElementFilter.methodsIn(type.getEnclosedElements());
+		out.writeInt(methods.size());
+		for (ExecutableElement method : methods) {
+			writeString(out, method.getSimpleName().toString());
+			out.writeInt(getMethodAccess(method, isInterface));
+			writeString(out, getTypeName(method.getReturnType()));
+			List<String> parameterTypeNames = new ArrayList<>();
+			for (VariableElement parameter : method.getParameters()) {
+				parameterTypeNames.add(getTypeName(parameter.asType()));
+			}
+			writeStrings(out, parameterTypeNames);
+			writeAnnotations(out, method);
+		}
+	}
+
+	private int getClassAccess(TypeElement type) {
+		Set<Modifier> modifiers = type.getModifiers();
+		int access = 0;
+		if (modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.PROTECTED)) {
+			access |= ACC_PUBLIC;
+		}
+		if (modifiers.contains(Modifier.FINAL)) {
+			access |= ACC_FINAL;
+		}
+		if (modifiers.contains(Modifier.ABSTRACT)) {
+			access |= ACC_ABSTRACT;
+		}
+		if (type.getKind().isInterface()) {
+			access |= ACC_INTERFACE | ACC_ABSTRACT;
+		}
+		if (type.getKind() == ElementKind.ANNOTATION_TYPE) {
+			access |= ACC_ANNOTATION;
+		}
+		if (type.getKind() == ElementKind.ENUM) {
+			access |= ACC_ENUM;
+		}
+		return access;
+	}
+
+	private int getMethodAccess(ExecutableElement method, boolean declaredOnInterface) {
+		Set<Modifier> modifiers = method.getModifiers();
+		int access = 0;
+		if (modifiers.contains(Modifier.PUBLIC)) {
+			access |= ACC_PUBLIC;
+		}
+		if (modifiers.contains(Modifier.PRIVATE)) {
+			access |= ACC_PRIVATE;
+		}
+		if (modifiers.contains(Modifier.PROTECTED)) {
+			access |= ACC_PROTECTED;
+		}
+		if (modifiers.contains(Modifier.STATIC)) {
+			access |= ACC_STATIC;
+		}
+		if (modifiers.contains(Modifier.FINAL)) {
+			access |= ACC_FINAL;
+		}
+		if (modifiers.contains(Modifier.ABSTRACT)) {
+			access |= ACC_ABSTRACT;
+		}
+		if (declaredOnInterface && !modifiers.contains(Modifier.PRIVATE)) {
+			access |= ACC_PUBLIC;
+			if (!modifiers.contains(Modifier.DEFAULT) && !modifiers.contains(Modifier.STATIC)) {
+				access |= ACC_ABSTRACT;
+			}
+		}
+		return access;
+	}
+
+	private void writeAnnotations(DataOutput out, Element element) throws IOException {
+		List<AnnotationMirror> annotations = new ArrayList<>();
+		for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			if (isRuntimeRetained(annotation)) {
+				annotations.add(annotation);
+			}
+		}
+		out.writeInt(annotations.size());
+		for (AnnotationMirror annotation : annotations) {
+			writeString(out, getTypeName(annotation.getAnnotationType()));
+			writeAttributes(out, annotation);
+		}
+	}
+
+	private boolean isRuntimeRetained(AnnotationMirror annotation) {
+		Element annotationType = annotation.getAnnotationType().asElement();
+		Retention retention = annotationType.getAnnotation(Retention.class);
+		return (retention != null && retention.value() == RetentionPolicy.RUNTIME);
+	}
+
+	private void writeAttributes(DataOutput out, AnnotationMirror annotation) throws IOException {
+		Map<? extends ExecutableElement, ? extends AnnotationValue> values = annotation.getElementValues();
+		out.writeInt(values.size());
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+			writeString(out, entry.getKey().getSimpleName().toString());
+			writeValue(out, entry.getKey().getReturnType(), entry.getValue());
+		}
+	}
+
+	private void writeValue(DataOutput out, TypeMirror type, AnnotationValue value) throws IOException {
+		if (type instanceof ArrayType arrayType) {
+			TypeMirror componentType = arrayType.getComponentType();
+			byte tag = getTypeTag(componentType);
+			out.writeByte(TYPE_ARRAY);
+			out.writeByte(tag);
+			if (tag == TYPE_ENUM) {
+				writeString(out, getTypeName(componentType));
+			}
+			List<?> elements = (value.getValue() instanceof List<?> list ? list : List.of(value));
+			out.writeInt(elements.size());
+			for (Object element : elements) {
+				writeElement(out, tag, ((AnnotationValue) element).getValue());
+			}
+		}
+		else {
+			byte tag = getTypeTag(type);
+			out.writeByte(tag);
+			if (tag == TYPE_ENUM) {
+				writeString(out, getTypeName(type));
+			}
+			writeElement(out, tag, value.getValue());
+		}
+	}
+
+	private void writeElement(DataOutput out, byte tag, Object value) throws IOException {
+		switch (tag) {
+			case TYPE_STRING -> writeString(out, value instanceof TypeMirror typeMirror ?
+					getTypeName(typeMirror) : value.toString());
+			case TYPE_BOOLEAN -> out.writeBoolean((Boolean) value);
+			case TYPE_BYTE -> out.writeByte((Byte) value);
+			case TYPE_CHAR -> out.writeChar((Character) value);
+			case TYPE_SHORT -> out.writeShort((Short) value);
+			case TYPE_INT -> out.writeInt((Integer) value);
+			case TYPE_LONG -> out.writeLong((Long) value);
+			case TYPE_FLOAT -> out.writeFloat((Float) value);
+			case TYPE_DOUBLE -> out.writeDouble((Double) value);
+			case TYPE_ENUM -> writeString(out, ((VariableElement) value).getSimpleName().toString());
+			case TYPE_ANNOTATION -> writeAttributes(out, (AnnotationMirror) value);
+			default -> throw new IOException("Unsupported annotation attribute value: " + value);
+		}
+	}
+
+	private byte getTypeTag(TypeMirror type) {
+		return switch (type.getKind()) {
+			case BOOLEAN -> TYPE_BOOLEAN;
+			case BYTE -> TYPE_BYTE;
+			case CHAR -> TYPE_CHAR;
+			case SHORT -> TYPE_SHORT;
+			case INT -> TYPE_INT;
+			case LONG -> TYPE_LONG;
+			case FLOAT -> TYPE_FLOAT;
+			case DOUBLE -> TYPE_DOUBLE;
+			case DECLARED -> switch (((DeclaredType) type).asElement().getKind()) {
+				case ENUM -> TYPE_ENUM;
+				case ANNOTATION_TYPE -> TYPE_ANNOTATION;
+				// String or Class, the latter being represented by its class name
+				default -> TYPE_STRING;
+			};
+			default -> TYPE_STRING;
+		};
+	}
+
+	/**
+	 * Return the name of the given type as used in the class file,
+	 * i.e. the binary name of its erasure.
+	 */
+	private String getTypeName(TypeMirror type) {
+		TypeMirror erasure = this.types.erasure(type);
+		if (erasure instanceof ArrayType arrayType) {
+			return getTypeName(arrayType.getComponentType()) + "[]";
+		}
+		if (erasure instanceof DeclaredType declaredType &&
+				declaredType.asElement() instanceof TypeElement typeElement) {
+			return getClassName(typeElement);
+		}
+		return erasure.toString();
+	}
+
+	private String getClassName(TypeElement type) {
+		return this.elements.getBinaryName(type).toString();
+	}
+
+
+	private static void writeStrings(DataOutput out, List<String> values) throws IOException {
+		out.writeInt(values.size());
+		for (String value : values) {
+			writeString(out, value);
+		}
+	}
+
+	private static void writeNullableString(DataOutput out, String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			writeString(out, value);
+		}
+	}
+
+	static void writeString(DataOutput out, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index.processor;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Marshaller to write and read the class metadata of the candidates in
+ * a {@link CandidateComponentsMetadata}, as encoded by {@link TypeMetadataEncoder}.
+ *
+ * <p>The format consists of a header with a magic number and a version,
+ * followed by the encoded metadata for each type, keyed by the type name.
+ *
+ * @author agent
+ * @since 6.2
+ */
+abstract class TypeMetadataMarshaller {
+
+	static final int MAGIC = 0x53434958;
+
+	static final int VERSION = 1;
+
+
+	public static void write(CandidateComponentsMetadata metadata, OutputStream out) throws IOException {
+		List<ItemMetadata> items = metadata.getItems().stream()
+				.filter(item -> item.getTypeMetadata() != null).toList();
+		DataOutputStream dos = new DataOutputStream(out);
+		dos.writeInt(MAGIC);
+		dos.writeInt(VERSION);
+		dos.writeInt(items.size());
+		for (ItemMetadata item : items) {
+			TypeMetadataEncoder.writeString(dos, item.getType());
+			dos.writeInt(item.getTypeMetadata().length);
+			dos.write(item.getTypeMetadata());
+		}
+		dos.flush();
+	}
+
+	public static Map<String, byte[]> read(InputStream in) throws IOException {
+		DataInputStream dis = new DataInputStream(in);
+		Map<String, byte[]> result = new LinkedHashMap<>();
+		if (dis.readInt() != MAGIC || dis.readInt() != VERSION) {
+			return result;
+		}
+		int count = dis.readInt();
+		for (int i = 0; i < count; i++) {
+			byte[] type = new byte[dis.readInt()];
+			dis.readFully(type);
+			byte[] typeMetadata = new byte[dis.readInt()];
+			dis.readFully(typeMetadata);
+			result.put(new String(type, StandardCharsets.UTF_8), typeMetadata);
+		}
+		return result;
+	}
+
+}
@@ -19,7 +19,10 @@ package org.springframework.context.index.processor;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.nio.file.Path;
+import java.util.Map;
 
 import jakarta.annotation.ManagedBean;
 import jakarta.inject.Named;
@@ -32,6 +35,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.index.CandidateComponentsIndex;
+import org.springframework.context.index.CandidateComponentsIndexLoader;
 import org.springframework.context.index.sample.AbstractController;
 import org.springframework.context.index.sample.MetaControllerIndexed;
 import org.springframework.context.index.sample.SampleComponent;
@@ -43,6 +49,7 @@ import org.springframework.context.index.sample.SampleNonStaticEmbedded;
 import org.springframework.context.index.sample.SampleNone;
 import org.springframework.context.index.sample.SampleRepository;
 import org.springframework.context.index.sample.SampleService;
+import org.springframework.context.index.sample.SampleTypeMetadata;
 import org.springframework.context.index.sample.cdi.SampleManagedBean;
 import org.springframework.context.index.sample.cdi.SampleNamed;
 import org.springframework.context.index.sample.cdi.SampleTransactional;
@@ -57,6 +64,9 @@ import org.springframework.context.index.sample.type.SampleSpecializedRepo;
 import org.springframework.context.index.sample.type.SmartRepo;
 import org.springframework.context.index.sample.type.SpecializedRepo;
 import org.springframework.context.index.test.TestCompiler;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.util.ClassUtils;
 
@@ -217,6 +227,48 @@ class CandidateComponentsIndexerTests {
 		assertThat(metadata.getItems()).isEmpty();
 	}
 
+	@Test
+	void typeMetadataIsRecorded() {
+		CandidateComponentsMetadata metadata = compile(SampleComponent.class, SampleEmbedded.class);
+		Map<String, byte[]> typeMetadata = readGeneratedTypeMetadata(this.compiler.getOutputLocation());
+		assertThat(typeMetadata).containsOnlyKeys(metadata.getItems().stream().map(ItemMetadata::getType).toList());
+		assertThat(typeMetadata.values()).allSatisfy(bytes -> assertThat(bytes).isNotEmpty());
+	}
+
+	@Test
+	@SuppressWarnings("removal")
+	void typeMetadataMatchesClassFile() throws IOException {
+		compile(SampleTypeMetadata.class);
+		try (URLClassLoader classLoader = new URLClassLoader(
+				new URL[] {this.compiler.getOutputLocation().toURI().toURL()}, getClass().getClassLoader())) {
+			CandidateComponentsIndex index = CandidateComponentsIndexLoader.loadIndex(classLoader);
+			assertThat(index).isNotNull();
+			AnnotationMetadata indexed = index.getAnnotationMetadata(SampleTypeMetadata.class.getName(), classLoader);
+			AnnotationMetadata read = new SimpleMetadataReaderFactory(classLoader)
+					.getMetadataReader(SampleTypeMetadata.class.getName()).getAnnotationMetadata();
+			assertThat(indexed).isNotNull();
+			assertThat(indexed.getClassName()).isEqualTo(read.getClassName());
+			assertThat(indexed.isIndependent()).isEqualTo(read.isIndependent());
+			assertThat(indexed.isAbstract()).isEqualTo(read.isAbstract());
+			assertThat(indexed.getSuperClassName()).isEqualTo(read.getSuperClassName());
+			assertThat(indexed.getInterfaceNames()).containsExactly(read.getInterfaceNames());
+			assertThat(indexed.getMemberClassNames()).containsExactlyInAnyOrder(read.getMemberClassNames());
+			assertThat(indexed.getAnnotationTypes()).containsExactlyElementsOf(read.getAnnotationTypes());
+			for (String annotationType : read.getAnnotationTypes()) {
+				assertThat(indexed.getAnnotationAttributes(annotationType)).usingRecursiveComparison()
+						.isEqualTo(read.getAnnotationAttributes(annotationType));
+			}
+			assertThat(indexed.getAnnotatedMethods(Bean.class.getName())).map(this::describe)
+					.containsExactlyInAnyOrderElementsOf(read.getAnnotatedMethods(Bean.class.getName()).stream()
+							.map(this::describe).toList());
+		}
+	}
+
+	private String describe(MethodMetadata method) {
+		return method.getMethodName() + ":" + method.getReturnTypeName() +
+				(method.isStatic() ? ":static" : "") + (method.isFinal() ? ":final" : "");
+	}
+
 	private void testComponent(Class<?>... classes) {
 		CandidateComponentsMetadata metadata = compile(classes);
 		for (Class<?> c : classes) {
@@ -245,6 +297,16 @@ class CandidateComponentsIndexerTests {
 		return readGeneratedMetadata(this.compiler.getOutputLocation());
 	}
 
+	private Map<String, byte[]> readGeneratedTypeMetadata(File outputLocation) {
+		File metadataFile = new File(outputLocation, MetadataStore.TYPE_METADATA_PATH);
+		try (FileInputStream fileInputStream = new FileInputStream(metadataFile)) {
+			return TypeMetadataMarshaller.read(fileInputStream);
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Failed to read type metadata from disk", ex);
+		}
+	}
+
 	private CandidateComponentsMetadata readGeneratedMetadata(File outputLocation) {
 		File metadataFile = new File(outputLocation, MetadataStore.METADATA_PATH);
 		if (metadataFile.isFile()) {
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index.sample;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.ScopedProxyMode;
+import org.springframework.stereotype.Component;
+
+/**
+ * Test candidate for class metadata recorded in the index.
+ *
+ * @author agent
+ */
+@Component("sample")
+@org.springframework.context.annotation.Scope(value = "prototype", proxyMode = ScopedProxyMode.TARGET_CLASS)
+@Lazy
+@DependsOn({"a", "b"})
+@ComponentScan(basePackageClasses = SampleComponent.class,
+		excludeFilters = @ComponentScan.Filter(type = FilterType.ANNOTATION, classes = Lazy.class))
+public class SampleTypeMetadata extends AbstractController implements Runnable, Serializable {
+
+	@Bean
+	public static String staticBean(String name, int[] values) {
+		return name;
+	}
+
+	@Bean
+	@Lazy(false)
+	protected final List<String> finalBean(Inner inner) {
+		return List.of();
+	}
+
+	@Override
+	public void run() {
+	}
+
+
+	public static class Inner {
+	}
+
+}
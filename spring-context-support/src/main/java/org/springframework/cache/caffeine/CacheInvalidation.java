@@ -0,0 +1,97 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.caffeine;
+
+import java.io.Serializable;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Notification that an entry (or all entries) of a cache has been changed
+ * or removed by one of the cache managers sharing a {@link CacheInvalidationChannel},
+ * requiring the other cache managers to drop their corresponding near cache entries.
+ *
+ * @author agent
+ * @since 6.2
+ * @see CacheInvalidationChannel
+ * @see TieredCaffeineCacheManager
+ */
+@SuppressWarnings("serial")
+public final class CacheInvalidation implements Serializable {
+
+	private final String origin;
+
+	private final String cacheName;
+
+	@Nullable
+	private final Object key;
+
+
+	/**
+	 * Create a new CacheInvalidation.
+	 * @param origin the identifier of the cache manager that published the invalidation
+	 * @param cacheName the name of the affected cache
+	 * @param key the affected key, or {@code null} for all entries of the cache
+	 */
+	public CacheInvalidation(String origin, String cacheName, @Nullable Object key) {
+		Assert.notNull(origin, "Origin must not be null");
+		Assert.notNull(cacheName, "Cache name must not be null");
+		this.origin = origin;
+		this.cacheName = cacheName;
+		this.key = key;
+	}
+
+
+	/**
+	 * Return the identifier of the cache manager that published the invalidation.
+	 */
+	public String getOrigin() {
+		return this.origin;
+	}
+
+	/**
+	 * Return the name of the affected cache.
+	 */
+	public String getCacheName() {
+		return this.cacheName;
+	}
+
+	/**
+	 * Return the affected key, or {@code null} if all entries are affected.
+	 * @see #isClear()
+	 */
+	@Nullable
+	public Object getKey() {
+		return this.key;
+	}
+
+	/**
+	 * Return whether all entries of the cache are affected.
+	 */
+	public boolean isClear() {
+		return (this.key == null);
+	}
+
+
+	@Override
+	public String toString() {
+		return "CacheInvalidation for cache '" + this.cacheName + "' from [" + this.origin + "]: " +
+				(this.key != null ? "key '" + this.key + "'" : "all entries");
+	}
+
+}
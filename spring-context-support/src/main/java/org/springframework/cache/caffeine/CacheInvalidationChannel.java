@@ -0,0 +1,58 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.caffeine;
+
+import java.util.function.Consumer;
+
+/**
+ * Strategy interface for broadcasting {@link CacheInvalidation} notifications
+ * between the {@link TieredCaffeineCacheManager} instances of several
+ * application nodes, typically backed by a messaging system or by
+ * the publish/subscribe facility of the remote cache store.
+ *
+ * <p>Implementations may deliver notifications asynchronously; near cache
+ * entries on other nodes are therefore eventually consistent with the far cache.
+ * A notification is delivered to all subscribers, including the publishing
+ * cache manager which identifies and ignores its own notifications by their origin.
+ *
+ * @author agent
+ * @since 6.2
+ * @see SimpleCacheInvalidationChannel
+ * @see TieredCaffeineCacheManager#setInvalidationChannel
+ */
+public interface CacheInvalidationChannel {
+
+	/**
+	 * Broadcast the given invalidation to all subscribers.
+	 * @param invalidation the invalidation to broadcast
+	 */
+	void publish(CacheInvalidation invalidation);
+
+	/**
+	 * Register the given subscriber for all invalidations broadcast
+	 * through this channel.
+	 * @param subscriber the callback to invoke for each invalidation
+	 */
+	void subscribe(Consumer<CacheInvalidation> subscriber);
+
+	/**
+	 * Remove the given subscriber from this channel, if registered.
+	 * @param subscriber the callback previously passed to {@link #subscribe}
+	 */
+	void unsubscribe(Consumer<CacheInvalidation> subscriber);
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,17 +16,29 @@
 
 package org.springframework.cache.caffeine;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 import com.github.benmanes.caffeine.cache.AsyncCache;
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Policy;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
 import org.springframework.cache.support.AbstractValueAdaptingCache;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
 
 /**
  * Spring {@link org.springframework.cache.Cache} adapter implementation
@@ -36,6 +48,16 @@ import org.springframework.util.Assert;
  * operations through Caffeine's {@link AsyncCache}, when provided via the
  * {@link #CaffeineCache(String, AsyncCache, boolean)} constructor.
  *
+ * <p>As of 6.2, entries may be refreshed ahead of their expiration through
+ * {@link #setRefreshAfterWrite}: Once an entry has reached its refresh time,
+ * {@link #get(Object, Callable)} and {@link #retrieve(Object, Supplier)} keep
+ * returning its current value while reloading it through the given value loader
+ * on the {@link #setRefreshExecutor refresh executor}. In contrast to Caffeine's
+ * own {@code refreshAfterWrite} setting, this does not require a cache loader
+ * to be specified upfront. Note that the value loader runs on a thread of the
+ * refresh executor then, without the thread-bound state of the original caller
+ * (e.g. a transaction, a security context or request attributes).
+ *
  * <p>Requires Caffeine 3.0 or higher, as of Spring Framework 6.1.
  *
  * @author Ben Manes
@@ -46,6 +68,8 @@ import org.springframework.util.Assert;
  */
 public class CaffeineCache extends AbstractValueAdaptingCache {
 
+	private static final Log logger = LogFactory.getLog(CaffeineCache.class);
+
 	private final String name;
 
 	private final com.github.benmanes.caffeine.cache.Cache<Object, Object> cache;
@@ -53,6 +77,16 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 	@Nullable
 	private AsyncCache<Object, Object> asyncCache;
 
+	@Nullable
+	private Policy.FixedExpiration<Object, Object> expireAfterWrite;
+
+	private long refreshAfterWriteNanos;
+
+	@Nullable
+	private Executor refreshExecutor;
+
+	private final Set<Object> refreshingKeys = ConcurrentHashMap.newKeySet();
+
 
 	/**
 	 * Create a {@link CaffeineCache} instance with the specified name and the
@@ -101,6 +135,53 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 	}
 
 
+	/**
+	 * Specify the time after which an entry gets reloaded in the background on
+	 * access through {@link #get(Object, Callable)} or {@link #retrieve(Object, Supplier)}
+	 * once it has been created or its value has been replaced, with the current
+	 * value being returned until the reloaded value is available.
+	 * <p>Requires the underlying Caffeine cache to be built with
+	 * {@code expireAfterWrite}, typically configured for a longer time than
+	 * the refresh time given here, so that frequently accessed entries get
+	 * refreshed before they expire.
+	 * <p>Requires a {@link #setRefreshExecutor refresh executor} to be specified
+	 * as well, on which the given value loader (e.g. a {@code @Cacheable(sync=true)}
+	 * method) is going to be invoked without any thread-bound state of the caller.
+	 * <p>Default is none, i.e. no refresh.
+	 * @since 6.2
+	 * @see #setRefreshExecutor
+	 * @see com.github.benmanes.caffeine.cache.Caffeine#expireAfterWrite(Duration)
+	 */
+	public void setRefreshAfterWrite(@Nullable Duration refreshAfterWrite) {
+		if (refreshAfterWrite != null) {
+			Assert.isTrue(!refreshAfterWrite.isNegative(), "Refresh after write must not be negative");
+			this.expireAfterWrite = this.cache.policy().expireAfterWrite().orElseThrow(() ->
+					new IllegalStateException("Refresh after write requires a Caffeine cache with expireAfterWrite"));
+			this.refreshAfterWriteNanos = refreshAfterWrite.toNanos();
+		}
+		else {
+			this.expireAfterWrite = null;
+			this.refreshAfterWriteNanos = 0;
+		}
+	}
+
+	/**
+	 * Set the executor to reload entries on when they have reached their
+	 * {@link #setRefreshAfterWrite refresh time}.
+	 * <p>There is no default: An executor needs to be specified if a refresh
+	 * time has been set, since a value loader passed to {@link #get(Object, Callable)}
+	 * or {@link #retrieve(Object, Supplier)} (e.g. a {@code @Cacheable(sync=true)}
+	 * method) is going to be invoked on a thread of this executor, without any
+	 * thread-bound state of the original caller such as a transaction, a security
+	 * context or request attributes. Consider an executor which propagates such
+	 * state where needed, e.g. through a {@link org.springframework.core.task.TaskDecorator}.
+	 * @since 6.2
+	 */
+	public void setRefreshExecutor(Executor refreshExecutor) {
+		Assert.notNull(refreshExecutor, "Executor must not be null");
+		this.refreshExecutor = refreshExecutor;
+	}
+
 	@Override
 	public final String getName() {
 		return this.name;
@@ -132,7 +213,16 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 	@Override
 	@Nullable
 	public <T> T get(Object key, Callable<T> valueLoader) {
-		return (T) fromStoreValue(this.cache.get(key, new LoadFunction(valueLoader)));
+		if (this.refreshAfterWriteNanos <= 0) {
+			return (T) fromStoreValue(this.cache.get(key, new LoadFunction(valueLoader)));
+		}
+		// Fail early, not only once the first entry is due for refresh
+		Executor refreshExecutor = obtainRefreshExecutor();
+		LoadFunction loadFunction = new LoadFunction(valueLoader);
+		Object value = this.cache.get(key, loadFunction);
+		refreshIfNecessary(key, value,
+				() -> CompletableFuture.supplyAsync(() -> loadFunction.apply(key), refreshExecutor));
+		return (T) fromStoreValue(value);
 	}
 
 	@Override
@@ -148,14 +238,92 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 	@SuppressWarnings("unchecked")
 	@Override
 	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		if (this.refreshAfterWriteNanos > 0) {
+			// Fail early, not only once the first entry is due for refresh
+			obtainRefreshExecutor();
+		}
 		if (isAllowNullValues()) {
-			return (CompletableFuture<T>) getAsyncCache()
-					.get(key, (k, e) -> valueLoader.get().thenApply(this::toStoreValue))
-					.thenApply(this::fromStoreValue);
+			CompletableFuture<Object> result = getAsyncCache()
+					.get(key, (k, e) -> valueLoader.get().thenApply(this::toStoreValue));
+			refreshIfNecessary(key, result, () -> supplyAsync(valueLoader).thenApply(this::toStoreValue));
+			return (CompletableFuture<T>) result.thenApply(this::fromStoreValue);
 		}
 		else {
-			return (CompletableFuture<T>) getAsyncCache().get(key, (k, e) -> valueLoader.get());
+			CompletableFuture<Object> result = getAsyncCache()
+					.get(key, (k, e) -> (CompletableFuture<Object>) valueLoader.get());
+			refreshIfNecessary(key, result, () -> (CompletableFuture<Object>) supplyAsync(valueLoader));
+			return (CompletableFuture<T>) result;
+		}
+	}
+
+	private <T> CompletableFuture<T> supplyAsync(Supplier<CompletableFuture<T>> valueLoader) {
+		return CompletableFuture.supplyAsync(valueLoader, obtainRefreshExecutor()).thenCompose(Function.identity());
+	}
+
+	private Executor obtainRefreshExecutor() {
+		Assert.state(this.refreshExecutor != null, () ->
+				"No refresh executor specified for cache '" + this.name + "' with refresh after write");
+		return this.refreshExecutor;
+	}
+
+	/**
+	 * Refresh the value of the given future's entry if the future has completed
+	 * successfully and its entry has reached its refresh time.
+	 */
+	private void refreshIfNecessary(Object key, CompletableFuture<Object> result,
+			Supplier<CompletableFuture<Object>> storeValueRefresher) {
+
+		if (this.refreshAfterWriteNanos > 0 && result.isDone() && !result.isCompletedExceptionally()) {
+			Object value = result.join();
+			if (value != null) {
+				refreshIfNecessary(key, value, storeValueRefresher);
+			}
+		}
+	}
+
+	/**
+	 * Reload the value of the given entry in the background if it has reached
+	 * its refresh time, unless a refresh is in progress already. The entry is
+	 * replaced once the new value is available, unless it has been removed or
+	 * replaced in the meantime; it remains in place if the refresh fails.
+	 */
+	private void refreshIfNecessary(Object key, Object value,
+			Supplier<CompletableFuture<Object>> storeValueRefresher) {
+
+		Policy.FixedExpiration<Object, Object> expireAfterWrite = this.expireAfterWrite;
+		if (expireAfterWrite == null) {
+			return;
+		}
+		OptionalLong age = expireAfterWrite.ageOf(key, TimeUnit.NANOSECONDS);
+		if (age.isEmpty() || age.getAsLong() < this.refreshAfterWriteNanos || !this.refreshingKeys.add(key)) {
+			return;
 		}
+		CompletableFuture<Object> refresh;
+		try {
+			refresh = storeValueRefresher.get();
+		}
+		catch (Throwable ex) {
+			this.refreshingKeys.remove(key);
+			if (logger.isDebugEnabled()) {
+				logger.debug("Failed to initiate refresh of cache entry with key '" + key + "'", ex);
+			}
+			return;
+		}
+		refresh.whenComplete((newValue, ex) -> {
+			try {
+				if (ex == null) {
+					if (newValue != null) {
+						this.cache.asMap().replace(key, value, newValue);
+					}
+				}
+				else if (logger.isDebugEnabled()) {
+					logger.debug("Failed to refresh cache entry with key '" + key + "'", ex);
+				}
+			}
+			finally {
+				this.refreshingKeys.remove(key);
+			}
+		});
 	}
 
 	@Override
@@ -167,11 +335,27 @@ public class CaffeineCache extends AbstractValueAdaptingCache {
 		return this.cache.getIfPresent(key);
 	}
 
+	@Override
+	public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+		Map<Object, Object> values = (this.cache instanceof LoadingCache<Object, Object> loadingCache ?
+				loadingCache.getAll(keys) : this.cache.getAllPresent(keys));
+		Map<Object, ValueWrapper> result = CollectionUtils.newLinkedHashMap(values.size());
+		values.forEach((key, value) -> result.put(key, toValueWrapper(value)));
+		return result;
+	}
+
 	@Override
 	public void put(Object key, @Nullable Object value) {
 		this.cache.put(key, toStoreValue(value));
 	}
 
+	@Override
+	public void putAll(Map<?, ?> entries) {
+		Map<Object, Object> storeValues = CollectionUtils.newLinkedHashMap(entries.size());
+		entries.forEach((key, value) -> storeValues.put(key, toStoreValue(value)));
+		this.cache.putAll(storeValues);
+	}
+
 	@Override
 	@Nullable
 	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,14 @@
 
 package org.springframework.cache.caffeine;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 import com.github.benmanes.caffeine.cache.AsyncCache;
@@ -53,6 +55,10 @@ import org.springframework.util.ObjectUtils;
  * {@link AsyncCache}, when configured via {@link #setAsyncCacheMode},
  * with early-determined cache misses.
  *
+ * <p>As of 6.2, cache entries may be refreshed ahead of their expiration
+ * through {@link #setRefreshAfterWrite}, reloading them in the background
+ * with the value loader of the corresponding cache access.
+ *
  * <p>Requires Caffeine 3.0 or higher, as of Spring Framework 6.1.
  *
  * @author Ben Manes
@@ -77,6 +83,12 @@ public class CaffeineCacheManager implements CacheManager {
 
 	private boolean allowNullValues = true;
 
+	@Nullable
+	private Duration refreshAfterWrite;
+
+	@Nullable
+	private Executor refreshExecutor;
+
 	private boolean dynamic = true;
 
 	private final Map<String, Cache> cacheMap = new ConcurrentHashMap<>(16);
@@ -244,6 +256,50 @@ public class CaffeineCacheManager implements CacheManager {
 		return this.allowNullValues;
 	}
 
+	/**
+	 * Specify the time after which the entries of all caches in this cache manager
+	 * get reloaded in the background on access once they have been created or
+	 * their value has been replaced, with the current value being returned until
+	 * the reloaded value is available.
+	 * <p>This applies to {@link Cache#get(Object, java.util.concurrent.Callable)}
+	 * and {@link Cache#retrieve(Object, Supplier)} calls which come with a value
+	 * loader, e.g. for {@code @Cacheable(sync=true)} methods, and does not require
+	 * a {@link #setCacheLoader cache loader}. The caches need to be built with
+	 * {@code expireAfterWrite}, e.g. through a {@link #setCacheSpecification
+	 * cache specification} of "expireAfterWrite=10m" along with a refresh time of
+	 * 8 minutes here. This is not to be confused with Caffeine's own
+	 * {@code refreshAfterWrite} setting which is based on a cache loader.
+	 * <p>Requires a {@link #setRefreshExecutor refresh executor} to be specified,
+	 * on which the value loader (e.g. the {@code @Cacheable} method) is going
+	 * to be invoked without any thread-bound state of the original caller.
+	 * <p>Default is none, i.e. no refresh. Custom caches registered after
+	 * this setting are subject to it as well.
+	 * @since 6.2
+	 * @see #setRefreshExecutor
+	 * @see CaffeineCache#setRefreshAfterWrite
+	 */
+	public void setRefreshAfterWrite(@Nullable Duration refreshAfterWrite) {
+		if (!ObjectUtils.nullSafeEquals(this.refreshAfterWrite, refreshAfterWrite)) {
+			this.refreshAfterWrite = refreshAfterWrite;
+			refreshCommonCaches();
+		}
+	}
+
+	/**
+	 * Specify the executor to reload cache entries on when they have reached
+	 * their {@link #setRefreshAfterWrite refresh time}.
+	 * <p>Default is none. Required in case of a refresh time, see
+	 * {@link CaffeineCache#setRefreshExecutor}.
+	 * @since 6.2
+	 * @see CaffeineCache#setRefreshExecutor
+	 */
+	public void setRefreshExecutor(@Nullable Executor refreshExecutor) {
+		if (this.refreshExecutor != refreshExecutor) {
+			this.refreshExecutor = refreshExecutor;
+			refreshCommonCaches();
+		}
+	}
+
 
 	@Override
 	public Collection<String> getCacheNames() {
@@ -314,7 +370,7 @@ public class CaffeineCacheManager implements CacheManager {
 	 * @see #isAllowNullValues()
 	 */
 	protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
-		return new CaffeineCache(name, cache, isAllowNullValues());
+		return applyRefreshSettings(new CaffeineCache(name, cache, isAllowNullValues()));
 	}
 
 	/**
@@ -328,7 +384,17 @@ public class CaffeineCacheManager implements CacheManager {
 	 * @see #isAllowNullValues()
 	 */
 	protected Cache adaptCaffeineCache(String name, AsyncCache<Object, Object> cache) {
-		return new CaffeineCache(name, cache, isAllowNullValues());
+		return applyRefreshSettings(new CaffeineCache(name, cache, isAllowNullValues()));
+	}
+
+	private CaffeineCache applyRefreshSettings(CaffeineCache cache) {
+		if (this.refreshAfterWrite != null) {
+			cache.setRefreshAfterWrite(this.refreshAfterWrite);
+			if (this.refreshExecutor != null) {
+				cache.setRefreshExecutor(this.refreshExecutor);
+			}
+		}
+		return cache;
 	}
 
 	/**
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.caffeine;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Simple in-JVM implementation of the {@link CacheInvalidationChannel} interface,
+ * delivering each invalidation to all subscribers within the same JVM.
+ *
+ * <p>Mainly intended for testing the interaction of several
+ * {@link TieredCaffeineCacheManager} instances sharing a far cache
+ * without an actual messaging system in place.
+ *
+ * <p>By default, subscribers are invoked in the publishing thread.
+ * Specify a {@link #setTaskExecutor task executor} for asynchronous delivery.
+ *
+ * @author agent
+ * @since 6.2
+ */
+public class SimpleCacheInvalidationChannel implements CacheInvalidationChannel {
+
+	private static final Log logger = LogFactory.getLog(SimpleCacheInvalidationChannel.class);
+
+	private final List<Consumer<CacheInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+
+	@Nullable
+	private Executor taskExecutor;
+
+
+	/**
+	 * Set a custom executor to invoke each subscriber with.
+	 * <p>Default is to invoke all subscribers in the publishing thread.
+	 */
+	public void setTaskExecutor(@Nullable Executor taskExecutor) {
+		this.taskExecutor = taskExecutor;
+	}
+
+
+	@Override
+	public void publish(CacheInvalidation invalidation) {
+		Assert.notNull(invalidation, "CacheInvalidation must not be null");
+		for (Consumer<CacheInvalidation> subscriber : this.subscribers) {
+			if (this.taskExecutor != null) {
+				this.taskExecutor.execute(() -> deliver(subscriber, invalidation));
+			}
+			else {
+				deliver(subscriber, invalidation);
+			}
+		}
+	}
+
+	@Override
+	public void subscribe(Consumer<CacheInvalidation> subscriber) {
+		Assert.notNull(subscriber, "Subscriber must not be null");
+		this.subscribers.add(subscriber);
+	}
+
+	@Override
+	public void unsubscribe(Consumer<CacheInvalidation> subscriber) {
+		this.subscribers.remove(subscriber);
+	}
+
+	private void deliver(Consumer<CacheInvalidation> subscriber, CacheInvalidation invalidation) {
+		try {
+			subscriber.accept(invalidation);
+		}
+		catch (Throwable ex) {
+			logger.warn("Failed to deliver " + invalidation, ex);
+		}
+	}
+
+}
@@ -0,0 +1,495 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.caffeine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+
+/**
+ * Two-level {@link Cache} implementation, composing an in-process near cache
+ * (a {@link CaffeineCache}) with an arbitrary far cache, typically backed by
+ * a remote cache store.
+ *
+ * <p>Lookups are served from the near cache where possible, falling back to
+ * the far cache and promoting entries found there into the near cache. Write
+ * operations go to the far cache first and then to the near cache; they are
+ * broadcast through the {@link CacheInvalidationChannel} (if any), letting other
+ * nodes drop their near cache entries for the affected keys.
+ *
+ * <p>A value read from the far cache is only kept in the near cache if no write
+ * or invalidation for the same key occurred during the far cache access, with
+ * such changes being tracked through an invalidation epoch per key stripe.
+ * A concurrent change therefore never gets overwritten by a stale promotion.
+ *
+ * <p>If the far cache is a {@link TransactionAwareCacheDecorator}, its deferred
+ * {@code put}, {@code putAll}, {@code evict} and {@code clear} operations
+ * are followed by the corresponding near cache updates and invalidation
+ * broadcasts after the transaction commits as well. Before the commit, neither
+ * this node nor other nodes see the new state, consistent with the far cache.
+ *
+ * <p>Per-tier statistics are exposed through {@link #nearHitCount()},
+ * {@link #farHitCount()} and {@link #missCount()}, with the near hit count
+ * indicating the number of far cache round trips saved.
+ *
+ * @author agent
+ * @since 6.2
+ * @see TieredCaffeineCacheManager
+ */
+public class TieredCaffeineCache implements Cache {
+
+	private static final int EPOCH_STRIPES = 64;
+
+
+	private final String name;
+
+	private final CaffeineCache nearCache;
+
+	private final Cache farCache;
+
+	@Nullable
+	private final CacheInvalidationChannel invalidationChannel;
+
+	private final String origin;
+
+	private final LongAdder nearHits = new LongAdder();
+
+	private final LongAdder farHits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final AtomicLongArray invalidationEpochs = new AtomicLongArray(EPOCH_STRIPES);
+
+	private final boolean transactionAware;
+
+
+	/**
+	 * Create a new TieredCaffeineCache without invalidation broadcast.
+	 * @param nearCache the in-process near cache
+	 * @param farCache the far cache holding the authoritative entries
+	 */
+	public TieredCaffeineCache(CaffeineCache nearCache, Cache farCache) {
+		this(nearCache, farCache, null, "");
+	}
+
+	/**
+	 * Create a new TieredCaffeineCache, broadcasting invalidations through the given channel.
+	 * @param nearCache the in-process near cache
+	 * @param farCache the far cache holding the authoritative entries
+	 * @param invalidationChannel the channel to broadcast invalidations through (if any)
+	 * @param origin the identifier of this node, as exposed by {@link CacheInvalidation#getOrigin()}
+	 */
+	public TieredCaffeineCache(CaffeineCache nearCache, Cache farCache,
+			@Nullable CacheInvalidationChannel invalidationChannel, String origin) {
+
+		Assert.notNull(nearCache, "Near cache must not be null");
+		Assert.notNull(farCache, "Far cache must not be null");
+		Assert.notNull(origin, "Origin must not be null");
+		this.name = farCache.getName();
+		this.nearCache = nearCache;
+		this.farCache = farCache;
+		this.invalidationChannel = invalidationChannel;
+		this.origin = origin;
+		this.transactionAware = (farCache instanceof TransactionAwareCacheDecorator);
+	}
+
+
+	@Override
+	public final String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Return the native store of the far cache.
+	 */
+	@Override
+	public final Object getNativeCache() {
+		return this.farCache.getNativeCache();
+	}
+
+	/**
+	 * Return the in-process near cache.
+	 */
+	public final CaffeineCache getNearCache() {
+		return this.nearCache;
+	}
+
+	/**
+	 * Return the far cache.
+	 */
+	public final Cache getFarCache() {
+		return this.farCache;
+	}
+
+	/**
+	 * Return the number of lookups served from the near cache,
+	 * i.e. the number of far cache round trips saved.
+	 */
+	public long nearHitCount() {
+		return this.nearHits.sum();
+	}
+
+	/**
+	 * Return the number of lookups that missed the near cache
+	 * but were served from the far cache.
+	 */
+	public long farHitCount() {
+		return this.farHits.sum();
+	}
+
+	/**
+	 * Return the number of lookups that missed both tiers.
+	 */
+	public long missCount() {
+		return this.misses.sum();
+	}
+
+
+	@Override
+	@Nullable
+	public ValueWrapper get(Object key) {
+		ValueWrapper wrapper = this.nearCache.get(key);
+		if (wrapper != null) {
+			this.nearHits.increment();
+			return wrapper;
+		}
+		long epoch = invalidationEpoch(key);
+		wrapper = this.farCache.get(key);
+		if (wrapper != null) {
+			this.farHits.increment();
+			promote(key, wrapper.get(), epoch);
+		}
+		else {
+			this.misses.increment();
+		}
+		return wrapper;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public <T> T get(Object key, @Nullable Class<T> type) {
+		ValueWrapper wrapper = get(key);
+		Object value = (wrapper != null ? wrapper.get() : null);
+		if (value != null && type != null && !type.isInstance(value)) {
+			throw new IllegalStateException(
+					"Cached value is not of required type [" + type.getName() + "]: " + value);
+		}
+		return (T) value;
+	}
+
+	/**
+	 * Return the value from the near cache if present, otherwise obtain it
+	 * from the far cache which in turn calls the given value loader if necessary.
+	 * Concurrent loading of the same key is therefore synchronized (or not)
+	 * according to the far cache implementation.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		ValueWrapper wrapper = this.nearCache.get(key);
+		if (wrapper != null) {
+			this.nearHits.increment();
+			return (T) wrapper.get();
+		}
+		long epoch = invalidationEpoch(key);
+		AtomicBoolean loaded = new AtomicBoolean();
+		T value = this.farCache.get(key, () -> {
+			loaded.set(true);
+			return valueLoader.call();
+		});
+		recordFarLookup(!loaded.get());
+		promote(key, value, epoch);
+		if (loaded.get()) {
+			publishInvalidation(key);
+		}
+		return value;
+	}
+
+	@Override
+	@Nullable
+	public CompletableFuture<?> retrieve(Object key) {
+		ValueWrapper wrapper = this.nearCache.get(key);
+		if (wrapper != null) {
+			this.nearHits.increment();
+			return CompletableFuture.completedFuture(wrapper);
+		}
+		long epoch = invalidationEpoch(key);
+		CompletableFuture<?> result = this.farCache.retrieve(key);
+		if (result == null) {
+			this.misses.increment();
+			return null;
+		}
+		return result.thenApply(value -> {
+			if (value != null) {
+				this.farHits.increment();
+				promote(key, (value instanceof ValueWrapper farWrapper ? farWrapper.get() : value), epoch);
+			}
+			else {
+				this.misses.increment();
+			}
+			return value;
+		});
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+		ValueWrapper wrapper = this.nearCache.get(key);
+		if (wrapper != null) {
+			this.nearHits.increment();
+			return CompletableFuture.completedFuture((T) wrapper.get());
+		}
+		long epoch = invalidationEpoch(key);
+		AtomicBoolean loaded = new AtomicBoolean();
+		return this.farCache.retrieve(key, () -> {
+			loaded.set(true);
+			return valueLoader.get();
+		}).thenApply(value -> {
+			recordFarLookup(!loaded.get());
+			promote(key, value, epoch);
+			if (loaded.get()) {
+				publishInvalidation(key);
+			}
+			return value;
+		});
+	}
+
+	@Override
+	public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+		Map<Object, ValueWrapper> nearEntries = this.nearCache.getAll(keys);
+		this.nearHits.add(nearEntries.size());
+		if (nearEntries.size() == keys.size()) {
+			return nearEntries;
+		}
+		List<Object> farKeys = new ArrayList<>(keys.size() - nearEntries.size());
+		Map<Object, Long> epochs = CollectionUtils.newHashMap(keys.size() - nearEntries.size());
+		for (Object key : keys) {
+			if (!nearEntries.containsKey(key)) {
+				farKeys.add(key);
+				epochs.put(key, invalidationEpoch(key));
+			}
+		}
+		Map<Object, ValueWrapper> farEntries = this.farCache.getAll(farKeys);
+		this.farHits.add(farEntries.size());
+		this.misses.add(farKeys.size() - farEntries.size());
+		farEntries.forEach((key, wrapper) -> promote(key, wrapper.get(), epochs.get(key)));
+
+		Map<Object, ValueWrapper> result = CollectionUtils.newLinkedHashMap(keys.size());
+		for (Object key : keys) {
+			ValueWrapper wrapper = nearEntries.get(key);
+			if (wrapper == null) {
+				wrapper = farEntries.get(key);
+			}
+			if (wrapper != null) {
+				result.put(key, wrapper);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public void put(Object key, @Nullable Object value) {
+		this.farCache.put(key, value);
+		afterFarCacheWrite(() -> {
+			advanceInvalidationEpoch(key);
+			this.nearCache.put(key, value);
+			publishInvalidation(key);
+		});
+	}
+
+	@Override
+	public void putAll(Map<?, ?> entries) {
+		this.farCache.putAll(entries);
+		afterFarCacheWrite(() -> {
+			entries.keySet().forEach(this::advanceInvalidationEpoch);
+			this.nearCache.putAll(entries);
+			entries.keySet().forEach(this::publishInvalidation);
+		});
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+		long epoch = invalidationEpoch(key);
+		ValueWrapper existing = this.farCache.putIfAbsent(key, value);
+		if (existing != null) {
+			promote(key, existing.get(), epoch);
+		}
+		else {
+			advanceInvalidationEpoch(key);
+			this.nearCache.put(key, value);
+			publishInvalidation(key);
+		}
+		return existing;
+	}
+
+	@Override
+	public void evict(Object key) {
+		this.farCache.evict(key);
+		afterFarCacheWrite(() -> {
+			advanceInvalidationEpoch(key);
+			this.nearCache.evict(key);
+			publishInvalidation(key);
+		});
+	}
+
+	@Override
+	public boolean evictIfPresent(Object key) {
+		boolean present = this.farCache.evictIfPresent(key);
+		advanceInvalidationEpoch(key);
+		present |= this.nearCache.evictIfPresent(key);
+		publishInvalidation(key);
+		return present;
+	}
+
+	@Override
+	public void clear() {
+		this.farCache.clear();
+		afterFarCacheWrite(() -> {
+			advanceInvalidationEpoch(null);
+			this.nearCache.clear();
+			publishInvalidation(null);
+		});
+	}
+
+	@Override
+	public boolean invalidate() {
+		boolean notEmpty = this.farCache.invalidate();
+		advanceInvalidationEpoch(null);
+		notEmpty |= this.nearCache.invalidate();
+		publishInvalidation(null);
+		return notEmpty;
+	}
+
+
+	/**
+	 * Drop the given entry from the near cache only, in response to
+	 * an invalidation received from another node.
+	 * @param key the affected key, or {@code null} for all entries
+	 */
+	void invalidateNearCache(@Nullable Object key) {
+		advanceInvalidationEpoch(key);
+		if (key != null) {
+			this.nearCache.evict(key);
+		}
+		else {
+			this.nearCache.clear();
+		}
+	}
+
+	/**
+	 * Apply the given near cache update after a write operation on the far cache:
+	 * right away, or after commit in case of a transaction-aware far cache which
+	 * defers the write operation itself until then.
+	 */
+	private void afterFarCacheWrite(Runnable nearCacheUpdate) {
+		if (!this.transactionAware || !TransactionSynchronizationDelegate.runAfterCommit(nearCacheUpdate)) {
+			nearCacheUpdate.run();
+		}
+	}
+
+	/**
+	 * Put the given value from the far cache into the near cache, unless the key
+	 * has been written or invalidated since the given epoch had been obtained.
+	 * <p>The epoch is checked again after the near cache put, since a write or
+	 * invalidation may happen in between. Every such change advances the epoch
+	 * before updating the near cache, so either it overrides the promoted value
+	 * or the promoted value gets evicted right away.
+	 */
+	private void promote(Object key, @Nullable Object value, long epoch) {
+		if ((value != null || this.nearCache.isAllowNullValues()) && invalidationEpoch(key) == epoch) {
+			this.nearCache.put(key, value);
+			if (invalidationEpoch(key) != epoch) {
+				this.nearCache.evict(key);
+			}
+		}
+	}
+
+	private long invalidationEpoch(Object key) {
+		return this.invalidationEpochs.get(epochStripe(key));
+	}
+
+	private void advanceInvalidationEpoch(@Nullable Object key) {
+		if (key != null) {
+			this.invalidationEpochs.incrementAndGet(epochStripe(key));
+		}
+		else {
+			for (int i = 0; i < EPOCH_STRIPES; i++) {
+				this.invalidationEpochs.incrementAndGet(i);
+			}
+		}
+	}
+
+	private static int epochStripe(Object key) {
+		int hash = key.hashCode();
+		return (hash ^ (hash >>> 16)) & (EPOCH_STRIPES - 1);
+	}
+
+	private void recordFarLookup(boolean farHit) {
+		if (farHit) {
+			this.farHits.increment();
+		}
+		else {
+			this.misses.increment();
+		}
+	}
+
+	private void publishInvalidation(@Nullable Object key) {
+		if (this.invalidationChannel != null) {
+			this.invalidationChannel.publish(new CacheInvalidation(this.origin, this.name, key));
+		}
+	}
+
+
+	/**
+	 * Inner class to avoid a hard dependency on spring-tx at runtime,
+	 * only used along with a {@link TransactionAwareCacheDecorator}.
+	 */
+	private static class TransactionSynchronizationDelegate {
+
+		static boolean runAfterCommit(Runnable action) {
+			if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+				return false;
+			}
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+			return true;
+		}
+	}
+
+}
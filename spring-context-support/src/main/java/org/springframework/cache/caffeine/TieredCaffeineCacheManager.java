@@ -0,0 +1,213 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.caffeine;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link CacheManager} implementation that composes an in-process near cache
+ * from a {@link CaffeineCacheManager} with a far cache of the same name from
+ * any other {@link CacheManager}, typically backed by a remote cache store,
+ * exposing a {@link TieredCaffeineCache} for each cache name known to the
+ * far cache manager.
+ *
+ * <p>For several application nodes sharing the same far cache store, specify a
+ * common {@link #setInvalidationChannel invalidation channel}: Each write or
+ * eviction is then broadcast to the other nodes which drop their corresponding
+ * near cache entries. The near cache should also be configured with a short
+ * expiration (e.g. via {@link CaffeineCacheManager#setCacheSpecification}),
+ * bounding the staleness of near cache entries in case of lost notifications.
+ *
+ * @author agent
+ * @since 6.2
+ * @see TieredCaffeineCache
+ * @see CacheInvalidationChannel
+ */
+public class TieredCaffeineCacheManager implements CacheManager, DisposableBean {
+
+	/**
+	 * The maximum number of entries per near cache by default.
+	 * @see #TieredCaffeineCacheManager(CacheManager)
+	 */
+	public static final int DEFAULT_NEAR_CACHE_MAXIMUM_SIZE = 10_000;
+
+	/**
+	 * The expiration of near cache entries after their creation or replacement
+	 * by default, in seconds.
+	 * @see #TieredCaffeineCacheManager(CacheManager)
+	 */
+	public static final int DEFAULT_NEAR_CACHE_EXPIRE_AFTER_WRITE_SECONDS = 60;
+
+
+	private static final Log logger = LogFactory.getLog(TieredCaffeineCacheManager.class);
+
+	private final CaffeineCacheManager nearCacheManager;
+
+	private final CacheManager farCacheManager;
+
+	private final String origin = UUID.randomUUID().toString();
+
+	@Nullable
+	private CacheInvalidationChannel invalidationChannel;
+
+	private final Consumer<CacheInvalidation> invalidationSubscriber = this::onInvalidation;
+
+	private final Map<String, TieredCaffeineCache> cacheMap = new ConcurrentHashMap<>(16);
+
+
+	/**
+	 * Create a new TieredCaffeineCacheManager for the given far cache manager,
+	 * with a default {@link CaffeineCacheManager} for the near caches.
+	 * <p>The default near caches hold up to {@value #DEFAULT_NEAR_CACHE_MAXIMUM_SIZE}
+	 * entries each, expiring {@value #DEFAULT_NEAR_CACHE_EXPIRE_AFTER_WRITE_SECONDS}
+	 * seconds after they have been written: bounding memory usage as well as the
+	 * staleness of near cache entries in case of lost invalidations. Specify a
+	 * custom near cache manager for different settings.
+	 * @param farCacheManager the cache manager for the far caches
+	 * @see #TieredCaffeineCacheManager(CaffeineCacheManager, CacheManager)
+	 */
+	public TieredCaffeineCacheManager(CacheManager farCacheManager) {
+		this(defaultNearCacheManager(), farCacheManager);
+	}
+
+	/**
+	 * Create a new TieredCaffeineCacheManager for the given near and far cache managers.
+	 * @param nearCacheManager the cache manager for the near caches
+	 * @param farCacheManager the cache manager for the far caches
+	 */
+	public TieredCaffeineCacheManager(CaffeineCacheManager nearCacheManager, CacheManager farCacheManager) {
+		Assert.notNull(nearCacheManager, "Near CacheManager must not be null");
+		Assert.notNull(farCacheManager, "Far CacheManager must not be null");
+		this.nearCacheManager = nearCacheManager;
+		this.farCacheManager = farCacheManager;
+	}
+
+
+	/**
+	 * Set the channel to broadcast invalidations through, subscribing this
+	 * cache manager for invalidations published by other cache managers.
+	 * <p>Default is none, only keeping the near caches of this cache manager
+	 * in sync with its own write operations. This cache manager is subscribed
+	 * to a single channel at any time, unsubscribing from a previously set
+	 * channel as well as on {@link #destroy()}.
+	 */
+	public void setInvalidationChannel(@Nullable CacheInvalidationChannel invalidationChannel) {
+		Assert.state(this.cacheMap.isEmpty(), "Invalidation channel cannot be changed after cache creation");
+		if (this.invalidationChannel != null) {
+			this.invalidationChannel.unsubscribe(this.invalidationSubscriber);
+		}
+		this.invalidationChannel = invalidationChannel;
+		if (invalidationChannel != null) {
+			invalidationChannel.subscribe(this.invalidationSubscriber);
+		}
+	}
+
+	/**
+	 * Return the identifier of this cache manager for published invalidations.
+	 * @see CacheInvalidation#getOrigin()
+	 */
+	public String getOrigin() {
+		return this.origin;
+	}
+
+
+	@Override
+	public Collection<String> getCacheNames() {
+		return this.farCacheManager.getCacheNames();
+	}
+
+	@Override
+	@Nullable
+	public Cache getCache(String name) {
+		Cache cache = this.cacheMap.get(name);
+		if (cache == null) {
+			Cache farCache = this.farCacheManager.getCache(name);
+			if (farCache == null) {
+				return null;
+			}
+			cache = this.cacheMap.computeIfAbsent(name, key -> createTieredCache(key, farCache));
+		}
+		return cache;
+	}
+
+	/**
+	 * Build a {@link TieredCaffeineCache} for the given far cache,
+	 * obtaining a near cache of the same name from the near cache manager.
+	 * @param name the name of the cache
+	 * @param farCache the far cache
+	 * @return the tiered cache
+	 */
+	protected TieredCaffeineCache createTieredCache(String name, Cache farCache) {
+		Cache nearCache = this.nearCacheManager.getCache(name);
+		if (!(nearCache instanceof CaffeineCache caffeineCache)) {
+			throw new IllegalStateException("No CaffeineCache available for name '" + name + "': " + nearCache);
+		}
+		return new TieredCaffeineCache(caffeineCache, farCache, this.invalidationChannel, this.origin);
+	}
+
+	/**
+	 * Unsubscribe this cache manager from its invalidation channel, if any.
+	 */
+	@Override
+	public void destroy() {
+		if (this.invalidationChannel != null) {
+			this.invalidationChannel.unsubscribe(this.invalidationSubscriber);
+		}
+	}
+
+
+	private static CaffeineCacheManager defaultNearCacheManager() {
+		CaffeineCacheManager nearCacheManager = new CaffeineCacheManager();
+		nearCacheManager.setCaffeine(Caffeine.newBuilder()
+				.maximumSize(DEFAULT_NEAR_CACHE_MAXIMUM_SIZE)
+				.expireAfterWrite(Duration.ofSeconds(DEFAULT_NEAR_CACHE_EXPIRE_AFTER_WRITE_SECONDS)));
+		return nearCacheManager;
+	}
+
+	/**
+	 * Drop the affected near cache entries for an invalidation published
+	 * by another cache manager.
+	 */
+	private void onInvalidation(CacheInvalidation invalidation) {
+		if (this.origin.equals(invalidation.getOrigin())) {
+			return;
+		}
+		TieredCaffeineCache cache = this.cacheMap.get(invalidation.getCacheName());
+		if (cache != null) {
+			if (logger.isTraceEnabled()) {
+				logger.trace("Applying " + invalidation);
+			}
+			cache.invalidateNearCache(invalidation.getKey());
+		}
+	}
+
+}
@@ -16,6 +16,7 @@
 
 package org.springframework.cache.caffeine;
 
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 
 import com.github.benmanes.caffeine.cache.CacheLoader;
@@ -260,6 +261,22 @@ class CaffeineCacheManagerTests {
 		assertThat(cache1x).isNotSameAs(cache1);
 	}
 
+	@Test
+	void changeRefreshAfterWriteRecreateCache() throws InterruptedException {
+		CaffeineCacheManager cm = new CaffeineCacheManager("c1");
+		cm.setCacheSpecification("expireAfterWrite=1m");
+		Cache cache1 = cm.getCache("c1");
+
+		cm.setRefreshAfterWrite(Duration.ofMillis(50));
+		cm.setRefreshExecutor(Runnable::run);
+		Cache cache1x = cm.getCache("c1");
+		assertThat(cache1x).isNotSameAs(cache1);
+		cache1x.put("key", "value");
+		Thread.sleep(100);
+		assertThat(cache1x.get("key", () -> "value2")).isEqualTo("value");
+		assertThat(cache1x.get("key").get()).isEqualTo("value2");
+	}
+
 	@Test
 	void changeCacheLoaderRecreateCache() {
 		CaffeineCacheManager cm = new CaffeineCacheManager("c1");
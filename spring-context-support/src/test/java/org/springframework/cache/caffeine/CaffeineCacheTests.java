@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,10 @@
 
 package org.springframework.cache.caffeine;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import com.github.benmanes.caffeine.cache.Caffeine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -111,4 +115,55 @@ class CaffeineCacheTests extends AbstractValueAdaptingCacheTests<CaffeineCache>
 		assertThat(cache.get(key).get()).isEqualTo(value);
 	}
 
+	@Test
+	void testRefreshAfterWrite() throws InterruptedException {
+		CaffeineCache cache = new CaffeineCache(CACHE_NAME,
+				Caffeine.newBuilder().expireAfterWrite(Duration.ofMinutes(1)).build());
+		cache.setRefreshAfterWrite(Duration.ofMillis(50));
+		cache.setRefreshExecutor(Runnable::run);
+
+		AtomicInteger counter = new AtomicInteger();
+		assertThat(cache.get("key", counter::incrementAndGet)).isEqualTo(1);
+		assertThat(cache.get("key", counter::incrementAndGet)).isEqualTo(1);
+		Thread.sleep(100);
+		assertThat(cache.get("key", counter::incrementAndGet)).isEqualTo(1);
+		assertThat(cache.get("key", counter::incrementAndGet)).isEqualTo(2);
+		Thread.sleep(100);
+		assertThat(cache.get("key", () -> {
+			throw new IllegalStateException("Expected failure");
+		})).isEqualTo(2);
+		assertThat(cache.get("key", () -> 3)).isEqualTo(2);
+		assertThat(cache.get("key").get()).isEqualTo(3);
+	}
+
+	@Test
+	void testRefreshAfterWriteWithRetrieve() throws Exception {
+		CaffeineCache cache = new CaffeineCache(CACHE_NAME,
+				Caffeine.newBuilder().expireAfterWrite(Duration.ofMinutes(1)).buildAsync(), false);
+		cache.setRefreshAfterWrite(Duration.ofMillis(50));
+		cache.setRefreshExecutor(Runnable::run);
+
+		cache.put("key", "value");
+		Thread.sleep(100);
+		CompletableFuture<String> refresh = new CompletableFuture<>();
+		assertThat(cache.retrieve("key", () -> refresh).get()).isEqualTo("value");
+		assertThat(cache.retrieve("key", () -> CompletableFuture.completedFuture("other")).get()).isEqualTo("value");
+		refresh.complete("value2");
+		assertThat(cache.retrieve("key", () -> CompletableFuture.completedFuture("other")).get()).isEqualTo("value2");
+	}
+
+	@Test
+	void testRefreshAfterWriteWithoutExecutor() {
+		CaffeineCache cache = new CaffeineCache(CACHE_NAME,
+				Caffeine.newBuilder().expireAfterWrite(Duration.ofMinutes(1)).build());
+		cache.setRefreshAfterWrite(Duration.ofMillis(50));
+		assertThatIllegalStateException().isThrownBy(() -> cache.get("key", () -> "value"));
+	}
+
+	@Test
+	void testRefreshAfterWriteWithoutExpireAfterWrite() {
+		assertThatIllegalStateException().isThrownBy(() ->
+				getCache().setRefreshAfterWrite(Duration.ofMinutes(1)));
+	}
+
 }
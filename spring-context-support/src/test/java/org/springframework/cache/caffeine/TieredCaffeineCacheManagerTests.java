@@ -0,0 +1,317 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.caffeine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.testfixture.CallCountingTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link TieredCaffeineCacheManager} and {@link TieredCaffeineCache}.
+ *
+ * @author agent
+ */
+class TieredCaffeineCacheManagerTests {
+
+	private final ConcurrentMapCacheManager farCacheManager = new ConcurrentMapCacheManager("c1", "c2");
+
+	private final SimpleCacheInvalidationChannel channel = new SimpleCacheInvalidationChannel();
+
+	private TieredCaffeineCacheManager node1;
+
+	private TieredCaffeineCacheManager node2;
+
+
+	@BeforeEach
+	void setup() {
+		this.node1 = new TieredCaffeineCacheManager(this.farCacheManager);
+		this.node1.setInvalidationChannel(this.channel);
+		this.node2 = new TieredCaffeineCacheManager(this.farCacheManager);
+		this.node2.setInvalidationChannel(this.channel);
+	}
+
+
+	@Test
+	void cachesFromFarCacheManager() {
+		assertThat(this.node1.getCacheNames()).containsExactlyInAnyOrder("c1", "c2");
+		assertThat(this.node1.getCache("c1")).isInstanceOf(TieredCaffeineCache.class);
+		assertThat(this.node1.getCache("c1")).isSameAs(this.node1.getCache("c1"));
+		assertThat(this.node1.getCache("c3")).isNull();
+	}
+
+	@Test
+	void promoteOnFarHit() {
+		TieredCaffeineCache cache = getCache(this.node1);
+		cache.getFarCache().put("key", "value");
+		assertThat(cache.getNearCache().get("key")).isNull();
+
+		assertThat(cache.get("key").get()).isEqualTo("value");
+		assertThat(cache.getNearCache().get("key").get()).isEqualTo("value");
+		assertThat(cache.get("key", String.class)).isEqualTo("value");
+		assertThat(cache.get("other")).isNull();
+		assertThat(cache.nearHitCount()).isEqualTo(1);
+		assertThat(cache.farHitCount()).isEqualTo(1);
+		assertThat(cache.missCount()).isEqualTo(1);
+	}
+
+	@Test
+	void getWithValueLoader() {
+		TieredCaffeineCache cache1 = getCache(this.node1);
+		TieredCaffeineCache cache2 = getCache(this.node2);
+		assertThat(cache1.get("key", () -> "value")).isEqualTo("value");
+		assertThat(cache1.get("key", () -> "other")).isEqualTo("value");
+		assertThat(cache2.get("key", () -> "other")).isEqualTo("value");
+		assertThat(cache2.get("key", () -> "other")).isEqualTo("value");
+		assertThat(cache1.missCount()).isEqualTo(1);
+		assertThat(cache1.nearHitCount()).isEqualTo(1);
+		assertThat(cache2.farHitCount()).isEqualTo(1);
+		assertThat(cache2.nearHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	void putInvalidatesOtherNodes() {
+		TieredCaffeineCache cache1 = getCache(this.node1);
+		TieredCaffeineCache cache2 = getCache(this.node2);
+		cache1.put("key", "value1");
+		assertThat(cache2.get("key").get()).isEqualTo("value1");
+		assertThat(cache2.getNearCache().get("key")).isNotNull();
+
+		cache1.put("key", "value2");
+		assertThat(cache1.getNearCache().get("key").get()).isEqualTo("value2");
+		assertThat(cache2.getNearCache().get("key")).isNull();
+		assertThat(cache2.get("key").get()).isEqualTo("value2");
+	}
+
+	@Test
+	void evictAndClearInvalidateOtherNodes() {
+		TieredCaffeineCache cache1 = getCache(this.node1);
+		TieredCaffeineCache cache2 = getCache(this.node2);
+		cache1.put("key1", "value1");
+		cache1.put("key2", "value2");
+		cache2.get("key1");
+		cache2.get("key2");
+
+		cache1.evict("key1");
+		assertThat(cache2.getNearCache().get("key1")).isNull();
+		assertThat(cache2.get("key1")).isNull();
+		assertThat(cache2.getNearCache().get("key2")).isNotNull();
+
+		cache1.clear();
+		assertThat(cache2.getNearCache().get("key2")).isNull();
+		assertThat(cache2.get("key2")).isNull();
+	}
+
+	@Test
+	void getAllAndPutAll() {
+		TieredCaffeineCache cache1 = getCache(this.node1);
+		TieredCaffeineCache cache2 = getCache(this.node2);
+		cache1.putAll(Map.of("key1", "value1", "key2", "value2"));
+		cache2.get("key1");
+
+		Map<Object, Cache.ValueWrapper> result = cache2.getAll(List.of("key1", "key2", "key3"));
+		assertThat(result).containsOnlyKeys("key1", "key2");
+		assertThat(result.get("key2").get()).isEqualTo("value2");
+		assertThat(cache2.getNearCache().get("key2")).isNotNull();
+		assertThat(cache2.nearHitCount()).isEqualTo(1);
+		assertThat(cache2.farHitCount()).isEqualTo(2);
+		assertThat(cache2.missCount()).isEqualTo(1);
+
+		cache1.putAll(Map.of("key1", "other"));
+		assertThat(cache2.getNearCache().get("key1")).isNull();
+		assertThat(cache2.getNearCache().get("key2")).isNotNull();
+	}
+
+	@Test
+	void retrieveWithValueLoader() {
+		TieredCaffeineCache cache1 = getCache(this.node1);
+		assertThat(cache1.retrieve("key", () -> CompletableFuture.completedFuture("value")).join()).isEqualTo("value");
+		assertThat(cache1.retrieve("key", () -> CompletableFuture.completedFuture("other")).join()).isEqualTo("value");
+		assertThat(getCache(this.node2).retrieve("key").join()).isInstanceOfSatisfying(Cache.ValueWrapper.class,
+				wrapper -> assertThat(wrapper.get()).isEqualTo("value"));
+		assertThat(getCache(this.node2).getNearCache().get("key").get()).isEqualTo("value");
+		assertThat(cache1.missCount()).isEqualTo(1);
+		assertThat(cache1.nearHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	void withoutInvalidationChannel() {
+		TieredCaffeineCacheManager node3 = new TieredCaffeineCacheManager(this.farCacheManager);
+		TieredCaffeineCache cache1 = getCache(this.node1);
+		TieredCaffeineCache cache3 = getCache(node3);
+		cache1.put("key", "value1");
+		assertThat(cache3.get("key").get()).isEqualTo("value1");
+		cache3.put("key", "value2");
+		assertThat(cache1.get("key").get()).isEqualTo("value1");
+		assertThat(cache1.getFarCache().get("key").get()).isEqualTo("value2");
+	}
+
+
+	@Test
+	void noPromotionAfterConcurrentWrite() {
+		InterleavingCache farCache = new InterleavingCache();
+		TieredCaffeineCache cache = new TieredCaffeineCache(new CaffeineCache("c1", Caffeine.newBuilder().build()), farCache);
+		farCache.put("key", "value1");
+		farCache.onRead = () -> cache.put("key", "value2");
+
+		assertThat(cache.get("key").get()).isEqualTo("value1");
+		assertThat(cache.getNearCache().get("key").get()).isEqualTo("value2");
+		assertThat(cache.get("key").get()).isEqualTo("value2");
+	}
+
+	@Test
+	void noPromotionAfterConcurrentInvalidation() {
+		InterleavingCache farCache = new InterleavingCache();
+		TieredCaffeineCache cache = new TieredCaffeineCache(new CaffeineCache("c1", Caffeine.newBuilder().build()), farCache);
+		farCache.put("key1", "value1");
+		farCache.put("key2", "value2");
+		farCache.onRead = () -> {
+			farCache.put("key1", "other");
+			cache.invalidateNearCache("key1");
+		};
+
+		assertThat(cache.get("key1").get()).isEqualTo("value1");
+		assertThat(cache.getNearCache().get("key1")).isNull();
+		assertThat(cache.get("key1").get()).isEqualTo("other");
+
+		farCache.onRead = () -> cache.invalidateNearCache(null);
+		assertThat(cache.getAll(List.of("key1", "key2"))).containsOnlyKeys("key1", "key2");
+		assertThat(cache.getNearCache().get("key2")).isNull();
+	}
+
+
+	@Test
+	void transactionAwareFarCache() {
+		TieredCaffeineCacheManager node3 = new TieredCaffeineCacheManager(this.farCacheManager);
+		node3.setInvalidationChannel(this.channel);
+		TieredCaffeineCache cache2 = getCache(this.node2);
+		TieredCaffeineCache cache3 = new TieredCaffeineCache(getCache(node3).getNearCache(),
+				new TransactionAwareCacheDecorator(getCache(node3).getFarCache()), this.channel, node3.getOrigin());
+		cache2.put("key", "value1");
+		assertThat(cache3.get("key").get()).isEqualTo("value1");
+
+		TransactionTemplate txTemplate = new TransactionTemplate(new CallCountingTransactionManager());
+		txTemplate.executeWithoutResult(status -> {
+			cache3.put("key", "value2");
+			assertThat(cache3.get("key").get()).isEqualTo("value1");
+			assertThat(cache2.getNearCache().get("key")).isNotNull();
+		});
+		assertThat(cache3.getNearCache().get("key").get()).isEqualTo("value2");
+		assertThat(cache2.getNearCache().get("key")).isNull();
+		assertThat(cache2.get("key").get()).isEqualTo("value2");
+
+		txTemplate.executeWithoutResult(status -> {
+			cache3.evict("key");
+			assertThat(cache3.get("key").get()).isEqualTo("value2");
+		});
+		assertThat(cache3.getNearCache().get("key")).isNull();
+		assertThat(cache2.getNearCache().get("key")).isNull();
+		assertThat(cache3.get("key")).isNull();
+	}
+
+	@Test
+	void subscribeOnceAndUnsubscribeOnDestroy() {
+		List<Consumer<CacheInvalidation>> subscribers = new ArrayList<>();
+		SimpleCacheInvalidationChannel trackingChannel = new SimpleCacheInvalidationChannel() {
+			@Override
+			public void subscribe(Consumer<CacheInvalidation> subscriber) {
+				super.subscribe(subscriber);
+				subscribers.add(subscriber);
+			}
+			@Override
+			public void unsubscribe(Consumer<CacheInvalidation> subscriber) {
+				super.unsubscribe(subscriber);
+				subscribers.remove(subscriber);
+			}
+		};
+		TieredCaffeineCacheManager node3 = new TieredCaffeineCacheManager(this.farCacheManager);
+		node3.setInvalidationChannel(this.channel);
+		node3.setInvalidationChannel(trackingChannel);
+		node3.setInvalidationChannel(trackingChannel);
+		assertThat(subscribers).hasSize(1);
+
+		TieredCaffeineCache cache1 = getCache(this.node1);
+		TieredCaffeineCache cache3 = getCache(node3);
+		cache1.put("key", "value1");
+		cache3.get("key");
+		cache1.put("key", "value2");
+		assertThat(cache3.getNearCache().get("key").get()).isEqualTo("value1");
+
+		node3.destroy();
+		assertThat(subscribers).isEmpty();
+	}
+
+
+	private static TieredCaffeineCache getCache(TieredCaffeineCacheManager cacheManager) {
+		return (TieredCaffeineCache) cacheManager.getCache("c1");
+	}
+
+
+	/**
+	 * Far cache which runs a callback once after reading an entry, simulating
+	 * a change by another thread or node during the far cache access.
+	 */
+	private static class InterleavingCache extends ConcurrentMapCache {
+
+		@Nullable
+		Runnable onRead;
+
+		InterleavingCache() {
+			super("c1");
+		}
+
+		@Override
+		@Nullable
+		public ValueWrapper get(Object key) {
+			ValueWrapper wrapper = super.get(key);
+			runOnRead();
+			return wrapper;
+		}
+
+		@Override
+		public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+			Map<Object, ValueWrapper> entries = super.getAll(keys);
+			runOnRead();
+			return entries;
+		}
+
+		private void runOnRead() {
+			Runnable onRead = this.onRead;
+			if (onRead != null) {
+				this.onRead = null;
+				onRead.run();
+			}
+		}
+	}
+
+}
@@ -16,6 +16,9 @@
 
 package org.springframework.cache.transaction;
 
+import java.util.List;
+import java.util.Map;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.cache.Cache;
@@ -87,6 +90,30 @@ class TransactionAwareCacheDecoratorTests {
 		assertThat(target.get(key, String.class)).isEqualTo("123");
 	}
 
+	@Test
+	void putAllNonTransactional() {
+		Cache target = new ConcurrentMapCache("testCache");
+		Cache cache = new TransactionAwareCacheDecorator(target);
+
+		Object key = new Object();
+		cache.putAll(Map.of(key, "123"));
+		assertThat(cache.getAll(List.of(key))).containsOnlyKeys(key);
+	}
+
+	@Test
+	void putAllTransactional() {
+		Cache target = new ConcurrentMapCache("testCache");
+		Cache cache = new TransactionAwareCacheDecorator(target);
+		Object key = new Object();
+
+		txTemplate.executeWithoutResult(s -> {
+			cache.putAll(Map.of(key, "123"));
+			assertThat(target.get(key)).isNull();
+		});
+
+		assertThat(target.get(key, String.class)).isEqualTo("123");
+	}
+
 	@Test
 	void putIfAbsentNonTransactional() {
 		Cache target = new ConcurrentMapCache("testCache");
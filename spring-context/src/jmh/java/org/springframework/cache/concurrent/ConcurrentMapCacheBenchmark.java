@@ -0,0 +1,106 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.cache.Cache;
+
+/**
+ * Benchmarks for {@link ConcurrentMapCache}, comparing the default unbounded cache
+ * with size-bounded, expiring and statistics-recording variants.
+ * <p>The {@code keySpace} parameter is a multiple of the maximum size of the
+ * bounded variants, with a ratio above 1 leading to evictions there.
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+@Threads(4)
+public class ConcurrentMapCacheBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"unbounded", "statistics", "bounded", "ttl", "tti", "all"})
+		public String variant;
+
+		@Param({"1000"})
+		public int maximumSize;
+
+		@Param({"0.5", "2"})
+		public double keySpace;
+
+		public ConcurrentMapCache cache;
+
+		public int keyCount;
+
+		@Setup(Level.Iteration)
+		public void setup() {
+			this.cache = switch (this.variant) {
+				case "unbounded" -> createCache(0, null, null, false);
+				case "statistics" -> createCache(0, null, null, true);
+				case "bounded" -> createCache(this.maximumSize, null, null, false);
+				case "ttl" -> createCache(0, Duration.ofMinutes(10), null, false);
+				case "tti" -> createCache(0, null, Duration.ofMinutes(10), false);
+				case "all" -> createCache(this.maximumSize, Duration.ofMinutes(10), Duration.ofMinutes(5), true);
+				default -> throw new IllegalArgumentException("Unknown variant: " + this.variant);
+			};
+			this.keyCount = (int) (this.maximumSize * this.keySpace);
+			for (int i = 0; i < Math.min(this.keyCount, this.maximumSize); i++) {
+				this.cache.put(i, "value" + i);
+			}
+		}
+
+		private static ConcurrentMapCache createCache(int maximumSize, Duration timeToLive,
+				Duration timeToIdle, boolean recordStatistics) {
+
+			return new ConcurrentMapCache("benchmark", new ConcurrentHashMap<>(256), true, null,
+					maximumSize, timeToLive, timeToIdle, null, recordStatistics);
+		}
+	}
+
+	@Benchmark
+	public void get(BenchmarkState state, Blackhole bh) {
+		Cache.ValueWrapper value = state.cache.get(ThreadLocalRandom.current().nextInt(state.keyCount));
+		bh.consume(value);
+	}
+
+	@Benchmark
+	public void getWithValueLoader(BenchmarkState state, Blackhole bh) {
+		int key = ThreadLocalRandom.current().nextInt(state.keyCount);
+		bh.consume(state.cache.get(key, () -> "value" + key));
+	}
+
+	@Benchmark
+	public void put(BenchmarkState state) {
+		int key = ThreadLocalRandom.current().nextInt(state.keyCount);
+		state.cache.put(key, "value");
+	}
+
+}
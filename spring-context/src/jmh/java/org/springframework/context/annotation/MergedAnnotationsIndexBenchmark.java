@@ -0,0 +1,137 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.lang.reflect.Method;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Benchmark for repeated merged annotation lookups on the same classes and
+ * methods, as performed by infrastructure components during startup, with
+ * and without the shared merged annotations index.
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class MergedAnnotationsIndexBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"true", "false"})
+		public boolean indexed;
+
+		public Class<?>[] types;
+
+		public Method[][] methods;
+
+		@Setup
+		public void setup() {
+			// Needs to be set before the index is initialized, i.e. before any lookup in this fork
+			System.setProperty("spring.annotations.index.capacity", (this.indexed ? "4096" : "0"));
+			this.types = new Class<?>[] {OrderService.class, CustomerService.class, AuditListener.class};
+			this.methods = new Method[this.types.length][];
+			for (int i = 0; i < this.types.length; i++) {
+				this.methods[i] = ReflectionUtils.getUniqueDeclaredMethods(this.types[i], ReflectionUtils.USER_DECLARED_METHODS);
+			}
+		}
+	}
+
+	@Benchmark
+	public void infrastructureLookups(BenchmarkState state, Blackhole bh) {
+		for (int i = 0; i < state.types.length; i++) {
+			bh.consume(AnnotatedElementUtils.hasAnnotation(state.types[i], Component.class));
+			bh.consume(AnnotatedElementUtils.findMergedAnnotation(state.types[i], Cacheable.class));
+			for (Method method : state.methods[i]) {
+				bh.consume(AnnotatedElementUtils.findMergedAnnotation(method, EventListener.class));
+				bh.consume(AnnotatedElementUtils.findMergedAnnotation(method, Cacheable.class));
+				bh.consume(AnnotatedElementUtils.findMergedAnnotation(method, CacheEvict.class));
+				bh.consume(AnnotatedElementUtils.hasAnnotation(method, Async.class));
+			}
+		}
+	}
+
+
+	interface OrderOperations {
+
+		@Cacheable("orders")
+		Object findOrder(String id);
+
+		@CacheEvict("orders")
+		void cancelOrder(String id);
+	}
+
+	@Service
+	static class OrderService implements OrderOperations {
+
+		@Override
+		public Object findOrder(String id) {
+			return id;
+		}
+
+		@Override
+		public void cancelOrder(String id) {
+		}
+
+		@Async
+		public void notifyCustomer(String id) {
+		}
+	}
+
+	@Service
+	@Cacheable("customers")
+	static class CustomerService {
+
+		public Object findCustomer(String id) {
+			return id;
+		}
+
+		public Object findAddress(String id) {
+			return id;
+		}
+	}
+
+	@Component
+	static class AuditListener {
+
+		@EventListener
+		public void onOrder(Object event) {
+		}
+
+		@EventListener(condition = "#event != null")
+		@Async
+		public void onCustomer(Object event) {
+		}
+	}
+
+}
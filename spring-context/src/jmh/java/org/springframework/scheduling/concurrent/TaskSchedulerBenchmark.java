@@ -0,0 +1,125 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * Benchmarks for {@link TimingWheelTaskScheduler} versus {@link ThreadPoolTaskScheduler}
+ * with a large number of pending timers, none of which expire during the benchmark.
+ * <p>{@code scheduleAndCancel} measures a short-lived timeout which gets cancelled
+ * right away, whereas {@code reschedule} replaces a random pending timer, as is
+ * common for session expiration.
+ * <p>Both schedulers insert and remove timers within the calling thread, so each
+ * invocation performs the same batch of operations on either of them, with all
+ * of them fully applied by the time the invocation returns.
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+@Threads(4)
+@OperationsPerInvocation(TaskSchedulerBenchmark.BATCH_SIZE)
+public class TaskSchedulerBenchmark {
+
+	static final int BATCH_SIZE = 1000;
+
+	private static final Runnable NO_OP = () -> {};
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"threadPool", "timingWheel"})
+		public String variant;
+
+		@Param({"1000000"})
+		public int pendingTimers;
+
+		public ExecutorConfigurationSupport executor;
+
+		public TaskScheduler scheduler;
+
+		public Instant baseTime;
+
+		public AtomicReferenceArray<ScheduledFuture<?>> timers;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			if (this.variant.equals("threadPool")) {
+				ThreadPoolTaskScheduler threadPoolScheduler = new ThreadPoolTaskScheduler();
+				threadPoolScheduler.setRemoveOnCancelPolicy(true);
+				this.executor = threadPoolScheduler;
+				this.scheduler = threadPoolScheduler;
+			}
+			else {
+				TimingWheelTaskScheduler timingWheelScheduler = new TimingWheelTaskScheduler();
+				this.executor = timingWheelScheduler;
+				this.scheduler = timingWheelScheduler;
+			}
+			this.executor.initialize();
+			this.baseTime = Instant.now().plusSeconds(3600);
+			this.timers = new AtomicReferenceArray<>(this.pendingTimers);
+			for (int i = 0; i < this.pendingTimers; i++) {
+				this.timers.set(i, scheduleTimer(this));
+			}
+		}
+
+		@TearDown(Level.Trial)
+		public void shutdown() {
+			this.executor.shutdown();
+		}
+	}
+
+	@Benchmark
+	public void scheduleAndCancel(BenchmarkState state, Blackhole bh) {
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			ScheduledFuture<?> future = scheduleTimer(state);
+			bh.consume(future.cancel(false));
+		}
+	}
+
+	@Benchmark
+	public void reschedule(BenchmarkState state, Blackhole bh) {
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			int index = ThreadLocalRandom.current().nextInt(state.pendingTimers);
+			ScheduledFuture<?> previous = state.timers.getAndSet(index, scheduleTimer(state));
+			bh.consume(previous.cancel(false));
+		}
+	}
+
+	private static ScheduledFuture<?> scheduleTimer(BenchmarkState state) {
+		return state.scheduler.schedule(NO_OP, state.baseTime.plusMillis(ThreadLocalRandom.current().nextInt(3_600_000)));
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,11 +16,14 @@
 
 package org.springframework.cache;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 import org.springframework.lang.Nullable;
+import org.springframework.util.CollectionUtils;
 
 /**
  * Interface that defines common cache operations.
@@ -97,6 +100,10 @@ public interface Cache {
 	 * <p>If possible, implementations should ensure that the loading operation
 	 * is synchronized so that the specified {@code valueLoader} is only called
 	 * once in case of concurrent access on the same key.
+	 * <p>Implementations may also use the {@code valueLoader} to refresh an
+	 * existing entry ahead of its expiration, returning the current value
+	 * while reloading it asynchronously. Such a refresh may happen on a
+	 * different thread than the caller's.
 	 * <p>If the {@code valueLoader} throws an exception, it is wrapped in
 	 * a {@link ValueRetrievalException}
 	 * @param key the key whose associated value is to be returned
@@ -155,6 +162,10 @@ public interface Cache {
 	 * method. The provided {@link CompletableFuture} handle produces a value
 	 * or raises an exception. If the {@code valueLoader} raises an exception,
 	 * it will be propagated to the returned {@code CompletableFuture} handle.
+	 * <p>Implementations may also use the {@code valueLoader} to refresh an
+	 * existing entry ahead of its expiration, returning the current value
+	 * while the refreshed value is being obtained. An exception raised by such a background
+	 * refresh is not propagated, keeping the current value in place.
 	 * @param key the key whose associated value is to be returned
 	 * @return the value to which this cache maps the specified key, contained
 	 * within a {@link CompletableFuture} which will never be {@code null}.
@@ -168,6 +179,33 @@ public interface Cache {
 				getClass().getName() + " does not support CompletableFuture-based retrieval");
 	}
 
+	/**
+	 * Return the values to which this cache maps the specified keys.
+	 * <p>The returned map contains an entry for each of the given keys that this
+	 * cache contains a mapping for, with the cached value held in a
+	 * {@link ValueWrapper} (which may also hold a cached {@code null} value).
+	 * Keys without a mapping are not included.
+	 * <p>The default implementation performs a {@link #get(Object)} call for
+	 * each key. Cache implementations are encouraged to override this with
+	 * a bulk retrieval operation, e.g. a single round-trip to a cache server.
+	 * @param keys the keys whose associated values are to be returned
+	 * @return a map from the keys found in the cache to their values,
+	 * in the iteration order of the given keys where possible (never {@code null})
+	 * @since 6.2
+	 * @see #get(Object)
+	 * @see #putAll(Map)
+	 */
+	default Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+		Map<Object, ValueWrapper> result = CollectionUtils.newLinkedHashMap(keys.size());
+		for (Object key : keys) {
+			ValueWrapper value = get(key);
+			if (value != null) {
+				result.put(key, value);
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Associate the specified value with the specified key in this cache.
 	 * <p>If the cache previously contained a mapping for this key, the old
@@ -187,6 +225,22 @@ public interface Cache {
 	 */
 	void put(Object key, @Nullable Object value);
 
+	/**
+	 * Associate the given values with their keys in this cache, with the
+	 * same semantics as a {@link #put} call for each entry. Map values may
+	 * be {@code null}, subject to the cache's support for {@code null} values.
+	 * <p>The default implementation performs a {@link #put} call for each
+	 * entry. Cache implementations are encouraged to override this with
+	 * a bulk registration operation.
+	 * @param entries the keys and values to be associated with each other
+	 * @since 6.2
+	 * @see #put(Object, Object)
+	 * @see #getAll(Collection)
+	 */
+	default void putAll(Map<?, ?> entries) {
+		entries.forEach(this::put);
+	}
+
 	/**
 	 * Atomically associate the specified value with the specified key in this cache
 	 * if it is not set already.
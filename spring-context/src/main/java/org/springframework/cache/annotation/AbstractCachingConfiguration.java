@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -30,6 +30,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.ImportAware;
 import org.springframework.core.annotation.AnnotationAttributes;
 import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.expression.spel.SpelCompilerMode;
 import org.springframework.lang.Nullable;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.function.SingletonSupplier;
@@ -62,6 +63,9 @@ public abstract class AbstractCachingConfiguration implements ImportAware {
 	@Nullable
 	protected Supplier<CacheErrorHandler> errorHandler;
 
+	@Nullable
+	protected Supplier<SpelCompilerMode> expressionCompilerMode;
+
 
 	@Override
 	public void setImportMetadata(AnnotationMetadata importMetadata) {
@@ -99,6 +103,7 @@ public abstract class AbstractCachingConfiguration implements ImportAware {
 		this.cacheResolver = cachingConfigurerSupplier.adapt(CachingConfigurer::cacheResolver);
 		this.keyGenerator = cachingConfigurerSupplier.adapt(CachingConfigurer::keyGenerator);
 		this.errorHandler = cachingConfigurerSupplier.adapt(CachingConfigurer::errorHandler);
+		this.expressionCompilerMode = cachingConfigurerSupplier.adapt(CachingConfigurer::expressionCompilerMode);
 	}
 
 
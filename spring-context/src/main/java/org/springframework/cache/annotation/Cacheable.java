@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -189,9 +189,47 @@ public @interface Cacheable {
 	 * This is effectively a hint and the chosen cache provider might not actually
 	 * support it in a synchronized fashion. Check your provider documentation for
 	 * more details on the actual semantics.
+	 * <p>Note that the cache provider may also invoke the underlying method on
+	 * a different thread: As of 6.2, caches configured for refresh-ahead (e.g.
+	 * through {@code refreshAfterWrite} on
+	 * {@link org.springframework.cache.concurrent.ConcurrentMapCacheManager} or
+	 * {@code CaffeineCacheManager}) reload entries on their refresh executor,
+	 * without the caller's thread-bound state such as a transaction, a security
+	 * context or request attributes.
 	 * @since 4.3
 	 * @see org.springframework.cache.Cache#get(Object, Callable)
 	 */
 	boolean sync() default false;
 
+	/**
+	 * Cache the elements of a collection argument individually: The elements are
+	 * looked up in the cache, and the method is only invoked for the elements that
+	 * are not cached yet, with the collection argument restricted to those elements.
+	 * The method needs to declare exactly one {@link java.util.Collection} parameter
+	 * (e.g. a {@code List} or {@code Set} of ids) and to return a {@link java.util.Map}
+	 * from those elements to their values. The returned entries get cached individually
+	 * and merged with the cached entries into the map returned to the caller, in the
+	 * order of the given elements. Elements without an entry in the returned map do
+	 * not get cached.
+	 * <p>The key for each element is computed as if the method had been invoked with
+	 * that element in place of the collection, through the {@link #key} expression
+	 * or the {@link #keyGenerator}. With default key generation for a method with a
+	 * single parameter, the key is the element itself, sharing cache entries with
+	 * a corresponding single-element method such as {@code findById(id)}.
+	 * <p>Bulk caching comes with similar limitations as {@link #sync}:
+	 * <ol>
+	 * <li>{@link #unless()} is not supported</li>
+	 * <li>Only one cache may be specified</li>
+	 * <li>No other cache-related operation can be combined</li>
+	 * </ol>
+	 * The restricted collection argument is passed on through the argument array of
+	 * the intercepted invocation, as supported by proxy-based interception. Aspects
+	 * which do not expose their arguments that way invoke the method with the full
+	 * collection, caching the returned entries for the missing elements only.
+	 * @since 6.2
+	 * @see org.springframework.cache.Cache#getAll(java.util.Collection)
+	 * @see org.springframework.cache.Cache#putAll(java.util.Map)
+	 */
+	boolean bulk() default false;
+
 }
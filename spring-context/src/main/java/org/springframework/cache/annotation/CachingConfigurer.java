@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import org.springframework.cache.CacheManager;
 import org.springframework.cache.interceptor.CacheErrorHandler;
 import org.springframework.cache.interceptor.CacheResolver;
 import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.expression.spel.SpelCompilerMode;
 import org.springframework.lang.Nullable;
 
 /**
@@ -141,4 +142,20 @@ public interface CachingConfigurer {
 		return null;
 	}
 
+	/**
+	 * Return the {@link SpelCompilerMode} to use for the {@code key},
+	 * {@code condition} and {@code unless} expressions of annotation-driven
+	 * cache operations.
+	 * <p>By default, the global SpEL compiler mode applies, i.e.
+	 * {@link SpelCompilerMode#OFF} unless the "spring.expression.compiler.mode"
+	 * property has been set. In contrast to the other callbacks, this is a plain
+	 * setting rather than a bean reference: no {@code @Bean} declaration is needed.
+	 * @since 6.2
+	 * @see org.springframework.cache.interceptor.CacheAspectSupport#setExpressionCompilerMode
+	 */
+	@Nullable
+	default SpelCompilerMode expressionCompilerMode() {
+		return null;
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,17 +16,31 @@
 
 package org.springframework.cache.concurrent;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
 import org.springframework.cache.support.AbstractValueAdaptingCache;
 import org.springframework.core.serializer.support.SerializationDelegate;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
 
 /**
  * Simple {@link org.springframework.cache.Cache} implementation based on the core
@@ -45,6 +59,26 @@ import org.springframework.util.Assert;
  * them with a predefined internal object. This behavior can be changed through the
  * {@link #ConcurrentMapCache(String, ConcurrentMap, boolean)} constructor.
  *
+ * <p>As of 6.2, this cache can optionally be bounded by a maximum number of entries
+ * and expire entries a given time after their creation or their last access, see
+ * {@link #ConcurrentMapCache(String, ConcurrentMap, boolean, SerializationDelegate, int, Duration, Duration, Duration, boolean)}.
+ * Reads remain lock-free: expired entries are detected on access and otherwise
+ * purged periodically on write, and the size bound is enforced on write through
+ * a queue of entries in insertion order which gives a second chance to entries
+ * accessed since they were last considered for eviction. Hit, miss and eviction
+ * counts are available through {@link #hitCount()}, {@link #missCount()} and
+ * {@link #evictionCount()} if statistics are being recorded.
+ *
+ * <p>Entries may also be refreshed ahead of their expiration: Once an entry has
+ * reached its refresh time, {@link #get(Object, Callable)} and
+ * {@link #retrieve(Object, Supplier)} keep returning its current value while
+ * reloading it through the given value loader on the
+ * {@link #setRefreshExecutor refresh executor}, replacing the entry once the
+ * new value is available. This avoids latency spikes for frequently accessed
+ * entries when they would otherwise expire. Note that the value loader runs on
+ * a thread of the refresh executor then, without the thread-bound state of the
+ * original caller (e.g. a transaction, a security context or request attributes).
+ *
  * @author Costin Leau
  * @author Juergen Hoeller
  * @author Stephane Nicoll
@@ -53,6 +87,8 @@ import org.springframework.util.Assert;
  */
 public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 
+	private static final Log logger = LogFactory.getLog(ConcurrentMapCache.class);
+
 	private final String name;
 
 	private final ConcurrentMap<Object, Object> store;
@@ -60,6 +96,35 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 	@Nullable
 	private final SerializationDelegate serialization;
 
+	private final int maximumSize;
+
+	private final long timeToLiveNanos;
+
+	private final long timeToIdleNanos;
+
+	private final long refreshAfterWriteNanos;
+
+	private final boolean expiring;
+
+	// Whether entries need to track their write and access times
+	private final boolean timed;
+
+	// Whether the store holds CacheEntry instances rather than plain store values
+	private final boolean entries;
+
+	@Nullable
+	private final ConcurrentLinkedQueue<CacheEntry> evictionQueue;
+
+	private final AtomicInteger evictionQueueSize = new AtomicInteger();
+
+	private final AtomicLong lastExpirationPurge = new AtomicLong(System.nanoTime());
+
+	@Nullable
+	private final Statistics statistics;
+
+	@Nullable
+	private Executor refreshExecutor;
+
 
 	/**
 	 * Create a new ConcurrentMapCache with the specified name.
@@ -107,15 +172,86 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 	protected ConcurrentMapCache(String name, ConcurrentMap<Object, Object> store,
 			boolean allowNullValues, @Nullable SerializationDelegate serialization) {
 
+		this(name, store, allowNullValues, serialization, 0, null, null, null, false);
+	}
+
+	/**
+	 * Create a new ConcurrentMapCache with the specified name and the
+	 * given internal {@link ConcurrentMap} to use, applying the given
+	 * size bound, expiration and refresh settings.
+	 * <p>If any of those settings is active, the given store holds internal
+	 * entry holders rather than the plain store values. It needs to be empty
+	 * initially then.
+	 * @param name the name of the cache
+	 * @param store the ConcurrentMap to use as an internal store
+	 * @param allowNullValues whether to allow {@code null} values
+	 * (adapting them to an internal null holder value)
+	 * @param serialization the {@link SerializationDelegate} to use
+	 * to serialize cache entry or {@code null} to store the reference
+	 * @param maximumSize the maximum number of entries in this cache,
+	 * or {@code 0} for no size bound
+	 * @param timeToLive the time after which an entry expires once it has been
+	 * created or its value replaced, or {@code null} for no expiration
+	 * @param timeToIdle the time after which an entry expires once it has last been
+	 * accessed, or {@code null} for no expiration
+	 * @param refreshAfterWrite the time after which an entry gets reloaded in the
+	 * background on access once it has been created or its value replaced, or
+	 * {@code null} for no refresh; typically shorter than the time to live.
+	 * Requires a {@link #setRefreshExecutor refresh executor} to be specified.
+	 * @param recordStatistics whether to record hit, miss and eviction counts
+	 * @since 6.2
+	 * @see #hitCount()
+	 * @see #missCount()
+	 * @see #evictionCount()
+	 * @see #setRefreshExecutor
+	 */
+	protected ConcurrentMapCache(String name, ConcurrentMap<Object, Object> store,
+			boolean allowNullValues, @Nullable SerializationDelegate serialization, int maximumSize,
+			@Nullable Duration timeToLive, @Nullable Duration timeToIdle, @Nullable Duration refreshAfterWrite,
+			boolean recordStatistics) {
+
 		super(allowNullValues);
 		Assert.notNull(name, "Name must not be null");
 		Assert.notNull(store, "Store must not be null");
+		Assert.isTrue(maximumSize >= 0, "Maximum size must not be negative");
+		Assert.isTrue(timeToLive == null || !timeToLive.isNegative(), "Time to live must not be negative");
+		Assert.isTrue(timeToIdle == null || !timeToIdle.isNegative(), "Time to idle must not be negative");
+		Assert.isTrue(refreshAfterWrite == null || !refreshAfterWrite.isNegative(),
+				"Refresh after write must not be negative");
 		this.name = name;
 		this.store = store;
 		this.serialization = serialization;
+		this.maximumSize = maximumSize;
+		this.timeToLiveNanos = (timeToLive != null ? timeToLive.toNanos() : 0);
+		this.timeToIdleNanos = (timeToIdle != null ? timeToIdle.toNanos() : 0);
+		this.refreshAfterWriteNanos = (refreshAfterWrite != null ? refreshAfterWrite.toNanos() : 0);
+		this.expiring = (this.timeToLiveNanos > 0 || this.timeToIdleNanos > 0);
+		this.timed = (this.expiring || this.refreshAfterWriteNanos > 0);
+		this.entries = (this.maximumSize > 0 || this.timed);
+		Assert.isTrue(!this.entries || store.isEmpty(),
+				"Size bound, expiration and refresh cannot be applied to a pre-populated store");
+		this.evictionQueue = (this.maximumSize > 0 ? new ConcurrentLinkedQueue<>() : null);
+		this.statistics = (recordStatistics ? new Statistics() : null);
 	}
 
 
+	/**
+	 * Set the executor to reload entries on when they have reached their
+	 * refresh time.
+	 * <p>There is no default: An executor needs to be specified if a refresh
+	 * time has been set, since a value loader passed to {@link #get(Object, Callable)}
+	 * or {@link #retrieve(Object, Supplier)} (e.g. a {@code @Cacheable(sync=true)}
+	 * method) is going to be invoked on a thread of this executor, without any
+	 * thread-bound state of the original caller such as a transaction, a security
+	 * context or request attributes. Consider an executor which propagates such
+	 * state where needed, e.g. through a {@link org.springframework.core.task.TaskDecorator}.
+	 * @since 6.2
+	 */
+	public void setRefreshExecutor(Executor refreshExecutor) {
+		Assert.notNull(refreshExecutor, "Executor must not be null");
+		this.refreshExecutor = refreshExecutor;
+	}
+
 	/**
 	 * Return whether this cache stores a copy of each entry ({@code true}) or
 	 * a reference ({@code false}, default). If store by value is enabled, each
@@ -131,29 +267,71 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 		return this.name;
 	}
 
+	/**
+	 * Return the internal store of this cache. Note that the store holds
+	 * internal entry holders rather than the plain store values if this
+	 * cache is size-bounded, expires its entries or refreshes them.
+	 */
 	@Override
 	public final ConcurrentMap<Object, Object> getNativeCache() {
 		return this.store;
 	}
 
+	/**
+	 * Return the number of lookups which found a cached value.
+	 * <p>Always {@code 0} if statistics are not being recorded.
+	 * @since 6.2
+	 */
+	public long hitCount() {
+		return (this.statistics != null ? this.statistics.hitCount.sum() : 0);
+	}
+
+	/**
+	 * Return the number of lookups which did not find a cached value.
+	 * <p>Always {@code 0} if statistics are not being recorded.
+	 * @since 6.2
+	 */
+	public long missCount() {
+		return (this.statistics != null ? this.statistics.missCount.sum() : 0);
+	}
+
+	/**
+	 * Return the number of entries which have been removed because of the size
+	 * bound or their expiration.
+	 * <p>Entries removed through {@link #evict}, {@link #clear()} or {@link #invalidate()}
+	 * are not included. Always {@code 0} if statistics are not being recorded.
+	 * @since 6.2
+	 */
+	public long evictionCount() {
+		return (this.statistics != null ? this.statistics.evictionCount.sum() : 0);
+	}
+
 	@Override
 	@Nullable
 	protected Object lookup(Object key) {
-		return this.store.get(key);
+		return lookup(key, currentTime());
+	}
+
+	@Nullable
+	private Object lookup(Object key, long now) {
+		Object value;
+		if (this.entries) {
+			CacheEntry entry = lookupEntry(key, now);
+			value = (entry != null ? entry.value : null);
+		}
+		else {
+			value = this.store.get(key);
+		}
+		recordLookup(value != null);
+		return value;
 	}
 
 	@SuppressWarnings("unchecked")
 	@Override
 	@Nullable
 	public <T> T get(Object key, Callable<T> valueLoader) {
-		return (T) fromStoreValue(this.store.computeIfAbsent(key, k -> {
-			try {
-				return toStoreValue(valueLoader.call());
-			}
-			catch (Throwable ex) {
-				throw new ValueRetrievalException(key, valueLoader, ex);
-			}
-		}));
+		return (T) fromStoreValue(computeIfAbsent(key, () -> loadStoreValue(key, valueLoader),
+				() -> CompletableFuture.supplyAsync(() -> loadStoreValue(key, valueLoader), obtainRefreshExecutor())));
 	}
 
 	@Override
@@ -168,17 +346,178 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 	@Override
 	public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
 		return CompletableFuture.supplyAsync(() ->
-				(T) fromStoreValue(this.store.computeIfAbsent(key, k -> toStoreValue(valueLoader.get().join()))));
+				(T) fromStoreValue(computeIfAbsent(key, () -> toStoreValue(valueLoader.get().join()),
+						() -> CompletableFuture.supplyAsync(valueLoader, obtainRefreshExecutor())
+								.thenCompose(Function.identity()).thenApply(this::toStoreValue))));
+	}
+
+	@Override
+	public Map<Object, ValueWrapper> getAll(Collection<?> keys) {
+		Map<Object, ValueWrapper> result = CollectionUtils.newLinkedHashMap(keys.size());
+		long now = currentTime();
+		for (Object key : keys) {
+			Object value = lookup(key, now);
+			if (value != null) {
+				result.put(key, toValueWrapper(value));
+			}
+		}
+		return result;
+	}
+
+	private Object loadStoreValue(Object key, Callable<?> valueLoader) {
+		try {
+			return toStoreValue(valueLoader.call());
+		}
+		catch (Throwable ex) {
+			throw new ValueRetrievalException(key, valueLoader, ex);
+		}
+	}
+
+	private Object computeIfAbsent(Object key, Supplier<Object> storeValueLoader,
+			Supplier<CompletableFuture<Object>> storeValueRefresher) {
+
+		if (this.refreshAfterWriteNanos > 0) {
+			// Fail early, not only once the first entry is due for refresh
+			obtainRefreshExecutor();
+		}
+		if (!this.entries) {
+			if (this.statistics != null) {
+				Object value = lookup(key);
+				if (value != null) {
+					return value;
+				}
+			}
+			return this.store.computeIfAbsent(key, k -> storeValueLoader.get());
+		}
+		long now = currentTime();
+		CacheEntry existingEntry = lookupEntry(key, now);
+		recordLookup(existingEntry != null);
+		if (existingEntry != null) {
+			refreshIfNecessary(existingEntry, now, storeValueRefresher);
+			return existingEntry.value;
+		}
+		CacheEntry[] created = new CacheEntry[1];
+		CacheEntry entry = (CacheEntry) this.store.compute(key, (k, existing) -> {
+			if (existing != null && !isExpired((CacheEntry) existing, now)) {
+				return existing;
+			}
+			created[0] = new CacheEntry(k, storeValueLoader.get(), now);
+			return created[0];
+		});
+		if (created[0] != null) {
+			afterWrite(created[0], now);
+		}
+		return entry.value;
+	}
+
+	private Executor obtainRefreshExecutor() {
+		Assert.state(this.refreshExecutor != null, () ->
+				"No refresh executor specified for cache '" + this.name + "' with refresh after write");
+		return this.refreshExecutor;
+	}
+
+	/**
+	 * Look up the entry for the given key, removing it if it has expired
+	 * and recording the access otherwise.
+	 */
+	@Nullable
+	private CacheEntry lookupEntry(Object key, long now) {
+		CacheEntry entry = (CacheEntry) this.store.get(key);
+		if (entry != null) {
+			if (isExpired(entry, now)) {
+				if (this.store.remove(key, entry)) {
+					recordEviction();
+				}
+				return null;
+			}
+			entry.access(now, this.timeToIdleNanos > 0);
+		}
+		return entry;
+	}
+
+	/**
+	 * Reload the value of the given entry in the background if it has reached
+	 * its refresh time, unless a refresh is in progress already. The entry is
+	 * replaced once the new value is available, unless it has been removed or
+	 * replaced in the meantime; it remains in place if the refresh fails.
+	 */
+	private void refreshIfNecessary(CacheEntry entry, long now,
+			Supplier<CompletableFuture<Object>> storeValueRefresher) {
+
+		if (this.refreshAfterWriteNanos <= 0 || now - entry.writeTime < this.refreshAfterWriteNanos ||
+				!entry.startRefresh()) {
+			return;
+		}
+		CompletableFuture<Object> refresh;
+		try {
+			refresh = storeValueRefresher.get();
+		}
+		catch (Throwable ex) {
+			entry.endRefresh();
+			if (logger.isDebugEnabled()) {
+				logger.debug("Failed to initiate refresh of cache entry with key '" + entry.key + "'", ex);
+			}
+			return;
+		}
+		refresh.whenComplete((storeValue, ex) -> {
+			if (ex == null) {
+				long writeTime = currentTime();
+				CacheEntry refreshed = new CacheEntry(entry.key, storeValue, writeTime);
+				if (this.store.replace(entry.key, entry, refreshed)) {
+					afterWrite(refreshed, writeTime);
+				}
+			}
+			else {
+				entry.endRefresh();
+				if (logger.isDebugEnabled()) {
+					logger.debug("Failed to refresh cache entry with key '" + entry.key + "'", ex);
+				}
+			}
+		});
 	}
 
 	@Override
 	public void put(Object key, @Nullable Object value) {
-		this.store.put(key, toStoreValue(value));
+		put(key, value, currentTime());
+	}
+
+	@Override
+	public void putAll(Map<?, ?> entries) {
+		long now = currentTime();
+		entries.forEach((key, value) -> put(key, value, now));
+	}
+
+	private void put(Object key, @Nullable Object value, long now) {
+		if (this.entries) {
+			CacheEntry entry = new CacheEntry(key, toStoreValue(value), now);
+			this.store.put(key, entry);
+			afterWrite(entry, now);
+		}
+		else {
+			this.store.put(key, toStoreValue(value));
+		}
 	}
 
 	@Override
 	@Nullable
 	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+		if (this.entries) {
+			long now = currentTime();
+			CacheEntry entry = new CacheEntry(key, toStoreValue(value), now);
+			Object existing;
+			while ((existing = this.store.putIfAbsent(key, entry)) != null) {
+				CacheEntry existingEntry = (CacheEntry) existing;
+				if (!isExpired(existingEntry, now)) {
+					return toValueWrapper(existingEntry.value);
+				}
+				if (this.store.replace(key, existingEntry, entry)) {
+					recordEviction();
+					break;
+				}
+			}
+			afterWrite(entry, now);
+			return null;
+		}
 		Object existing = this.store.putIfAbsent(key, toStoreValue(value));
 		return toValueWrapper(existing);
 	}
@@ -196,15 +535,111 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 	@Override
 	public void clear() {
 		this.store.clear();
+		purgeEvictionQueue();
 	}
 
 	@Override
 	public boolean invalidate() {
 		boolean notEmpty = !this.store.isEmpty();
-		this.store.clear();
+		clear();
 		return notEmpty;
 	}
 
+	private long currentTime() {
+		return (this.timed ? System.nanoTime() : 0);
+	}
+
+	private boolean isExpired(CacheEntry entry, long now) {
+		return ((this.timeToLiveNanos > 0 && now - entry.writeTime >= this.timeToLiveNanos) ||
+				(this.timeToIdleNanos > 0 && now - entry.accessTime >= this.timeToIdleNanos));
+	}
+
+	private void recordLookup(boolean hit) {
+		if (this.statistics != null) {
+			(hit ? this.statistics.hitCount : this.statistics.missCount).increment();
+		}
+	}
+
+	private void recordEviction() {
+		if (this.statistics != null) {
+			this.statistics.evictionCount.increment();
+		}
+	}
+
+	/**
+	 * Enforce the size bound and purge expired entries after the given entry
+	 * has been added to the store.
+	 */
+	private void afterWrite(CacheEntry entry, long now) {
+		if (this.evictionQueue != null) {
+			this.evictionQueue.offer(entry);
+			if (this.evictionQueueSize.incrementAndGet() > 2 * this.maximumSize + 16) {
+				purgeEvictionQueue();
+			}
+			evictIfNecessary();
+		}
+		if (this.expiring) {
+			purgeExpiredEntriesIfNecessary(now);
+		}
+	}
+
+	/**
+	 * Evict entries in insertion order until the store fits its size bound,
+	 * skipping entries which have been accessed since they were last considered
+	 * for eviction, as well as entries which are not part of the store anymore.
+	 */
+	private void evictIfNecessary() {
+		ConcurrentLinkedQueue<CacheEntry> queue = this.evictionQueue;
+		Assert.state(queue != null, "No eviction queue");
+		int attempts = 2 * this.evictionQueueSize.get() + 1;
+		while (this.store.size() > this.maximumSize && attempts-- > 0) {
+			CacheEntry entry = queue.poll();
+			if (entry == null) {
+				return;
+			}
+			if (entry.accessed && this.store.get(entry.key) == entry) {
+				entry.accessed = false;
+				queue.offer(entry);
+			}
+			else {
+				this.evictionQueueSize.decrementAndGet();
+				if (this.store.remove(entry.key, entry)) {
+					recordEviction();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Remove entries from the eviction queue which are not part of the store anymore,
+	 * e.g. after their removal, their replacement or a {@link #clear()} call.
+	 */
+	private void purgeEvictionQueue() {
+		ConcurrentLinkedQueue<CacheEntry> queue = this.evictionQueue;
+		if (queue != null) {
+			queue.removeIf(entry -> this.store.get(entry.key) != entry);
+			this.evictionQueueSize.set(queue.size());
+		}
+	}
+
+	/**
+	 * Purge expired entries from the store at most once per expiration period,
+	 * so that entries which are not accessed anymore do not retain any memory.
+	 */
+	private void purgeExpiredEntriesIfNecessary(long now) {
+		long period = (this.timeToLiveNanos > 0 && this.timeToIdleNanos > 0 ?
+				Math.min(this.timeToLiveNanos, this.timeToIdleNanos) : this.timeToLiveNanos + this.timeToIdleNanos);
+		long lastPurge = this.lastExpirationPurge.get();
+		if (now - lastPurge >= period && this.lastExpirationPurge.compareAndSet(lastPurge, now)) {
+			for (Map.Entry<Object, Object> storeEntry : this.store.entrySet()) {
+				if (isExpired((CacheEntry) storeEntry.getValue(), now) &&
+						this.store.remove(storeEntry.getKey(), storeEntry.getValue())) {
+					recordEviction();
+				}
+			}
+		}
+	}
+
 	@Override
 	protected Object toStoreValue(@Nullable Object userValue) {
 		Object storeValue = super.toStoreValue(userValue);
@@ -238,4 +673,63 @@ public class ConcurrentMapCache extends AbstractValueAdaptingCache {
 		}
 	}
 
+
+	/**
+	 * Holder for a store value along with its expiration, eviction and refresh state.
+	 */
+	private static final class CacheEntry {
+
+		private static final AtomicIntegerFieldUpdater<CacheEntry> refreshingUpdater =
+				AtomicIntegerFieldUpdater.newUpdater(CacheEntry.class, "refreshing");
+
+		final Object key;
+
+		final Object value;
+
+		final long writeTime;
+
+		volatile long accessTime;
+
+		volatile boolean accessed;
+
+		volatile int refreshing;
+
+		CacheEntry(Object key, Object value, long writeTime) {
+			this.key = key;
+			this.value = value;
+			this.writeTime = writeTime;
+			this.accessTime = writeTime;
+		}
+
+		void access(long now, boolean recordAccessTime) {
+			if (recordAccessTime) {
+				this.accessTime = now;
+			}
+			if (!this.accessed) {
+				this.accessed = true;
+			}
+		}
+
+		boolean startRefresh() {
+			return refreshingUpdater.compareAndSet(this, 0, 1);
+		}
+
+		void endRefresh() {
+			this.refreshing = 0;
+		}
+	}
+
+
+	/**
+	 * Counters for the cache statistics.
+	 */
+	private static final class Statistics {
+
+		final LongAdder hitCount = new LongAdder();
+
+		final LongAdder missCount = new LongAdder();
+
+		final LongAdder evictionCount = new LongAdder();
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,16 @@
 
 package org.springframework.cache.concurrent;
 
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
 
 import org.springframework.beans.factory.BeanNameAware;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 /**
@@ -47,6 +51,22 @@ public class ConcurrentMapCacheFactoryBean
 
 	private boolean allowNullValues = true;
 
+	private int maximumSize = 0;
+
+	@Nullable
+	private Duration timeToLive;
+
+	@Nullable
+	private Duration timeToIdle;
+
+	@Nullable
+	private Duration refreshAfterWrite;
+
+	@Nullable
+	private Executor refreshExecutor;
+
+	private boolean recordStatistics = false;
+
 	@Nullable
 	private ConcurrentMapCache cache;
 
@@ -77,6 +97,75 @@ public class ConcurrentMapCacheFactoryBean
 		this.allowNullValues = allowNullValues;
 	}
 
+	/**
+	 * Specify the maximum number of entries in the cache.
+	 * <p>Default is 0, i.e. no size bound. Not to be combined
+	 * with a pre-populated {@link #setStore store}.
+	 * @since 6.2
+	 * @see ConcurrentMapCacheManager#setMaximumSize
+	 */
+	public void setMaximumSize(int maximumSize) {
+		this.maximumSize = maximumSize;
+	}
+
+	/**
+	 * Specify the time after which cache entries expire once they have
+	 * been created or their value has been replaced.
+	 * <p>Default is none, i.e. no time-based expiration. Not to be combined
+	 * with a pre-populated {@link #setStore store}.
+	 * @since 6.2
+	 * @see ConcurrentMapCacheManager#setTimeToLive
+	 */
+	public void setTimeToLive(@Nullable Duration timeToLive) {
+		this.timeToLive = timeToLive;
+	}
+
+	/**
+	 * Specify the time after which cache entries expire once they have
+	 * last been accessed.
+	 * <p>Default is none, i.e. no time-based expiration. Not to be combined
+	 * with a pre-populated {@link #setStore store}.
+	 * @since 6.2
+	 * @see ConcurrentMapCacheManager#setTimeToIdle
+	 */
+	public void setTimeToIdle(@Nullable Duration timeToIdle) {
+		this.timeToIdle = timeToIdle;
+	}
+
+	/**
+	 * Specify the time after which cache entries get reloaded in the background
+	 * on access once they have been created or their value has been replaced.
+	 * <p>Default is none, i.e. no refresh. Not to be combined
+	 * with a pre-populated {@link #setStore store}. Requires a
+	 * {@link #setRefreshExecutor refresh executor} to be specified.
+	 * @since 6.2
+	 * @see ConcurrentMapCacheManager#setRefreshAfterWrite
+	 */
+	public void setRefreshAfterWrite(@Nullable Duration refreshAfterWrite) {
+		this.refreshAfterWrite = refreshAfterWrite;
+	}
+
+	/**
+	 * Specify the executor to reload cache entries on.
+	 * <p>Default is none. Required in case of a {@link #setRefreshAfterWrite
+	 * refresh time}, see {@link ConcurrentMapCache#setRefreshExecutor}.
+	 * @since 6.2
+	 * @see ConcurrentMapCache#setRefreshExecutor
+	 */
+	public void setRefreshExecutor(@Nullable Executor refreshExecutor) {
+		this.refreshExecutor = refreshExecutor;
+	}
+
+	/**
+	 * Specify whether the cache records hit, miss and eviction counts.
+	 * <p>Default is "false".
+	 * @since 6.2
+	 * @see ConcurrentMapCacheManager#setRecordStatistics
+	 */
+	public void setRecordStatistics(boolean recordStatistics) {
+		this.recordStatistics = recordStatistics;
+	}
+
 	@Override
 	public void setBeanName(String beanName) {
 		if (!StringUtils.hasLength(this.name)) {
@@ -86,8 +175,15 @@ public class ConcurrentMapCacheFactoryBean
 
 	@Override
 	public void afterPropertiesSet() {
-		this.cache = (this.store != null ? new ConcurrentMapCache(this.name, this.store, this.allowNullValues) :
-				new ConcurrentMapCache(this.name, this.allowNullValues));
+		Assert.state(this.refreshAfterWrite == null || this.refreshExecutor != null,
+				"A refresh executor is required in case of a refresh time");
+		ConcurrentMapCache cache = new ConcurrentMapCache(this.name,
+				(this.store != null ? this.store : new ConcurrentHashMap<>(256)), this.allowNullValues, null,
+				this.maximumSize, this.timeToLive, this.timeToIdle, this.refreshAfterWrite, this.recordStatistics);
+		if (this.refreshExecutor != null) {
+			cache.setRefreshExecutor(this.refreshExecutor);
+		}
+		this.cache = cache;
 	}
 
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,14 @@
 
 package org.springframework.cache.concurrent;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 import org.springframework.beans.factory.BeanClassLoaderAware;
@@ -29,6 +31,7 @@ import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.core.serializer.support.SerializationDelegate;
 import org.springframework.lang.Nullable;
+import org.springframework.util.ObjectUtils;
 
 /**
  * {@link CacheManager} implementation that lazily builds {@link ConcurrentMapCache}
@@ -40,9 +43,11 @@ import org.springframework.lang.Nullable;
  * {@link Cache#retrieve(Object, Supplier)} operations through basic
  * {@code CompletableFuture} adaptation, with early-determined cache misses.
  *
- * <p>Note: This is by no means a sophisticated CacheManager; it comes with no
- * cache configuration options. However, it may be useful for testing or simple
- * caching scenarios. For advanced local caching needs, consider
+ * <p>Note: This is by no means a sophisticated CacheManager; it only comes with
+ * basic cache configuration options: As of 6.2, a maximum size, a time to live,
+ * a time to idle and a refresh time for the entries of each cache, as well as the
+ * recording of hit, miss and eviction counts. It may be useful for testing or simple caching
+ * scenarios. For advanced local caching needs, consider
  * {@link org.springframework.cache.caffeine.CaffeineCacheManager} or
  * {@link org.springframework.cache.jcache.JCacheCacheManager}.
  *
@@ -60,6 +65,22 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 
 	private boolean storeByValue = false;
 
+	private int maximumSize = 0;
+
+	@Nullable
+	private Duration timeToLive;
+
+	@Nullable
+	private Duration timeToIdle;
+
+	@Nullable
+	private Duration refreshAfterWrite;
+
+	@Nullable
+	private Executor refreshExecutor;
+
+	private boolean recordStatistics = false;
+
 	@Nullable
 	private SerializationDelegate serialization;
 
@@ -150,6 +171,156 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 		return this.storeByValue;
 	}
 
+	/**
+	 * Specify the maximum number of entries for each cache in this cache manager.
+	 * <p>Default is 0, i.e. no size bound. If the bound is exceeded, entries are
+	 * evicted in insertion order, with a second chance for recently accessed entries.
+	 * <p>Note: A change of the maximum size will reset all existing caches,
+	 * if any, to reconfigure them with the new size bound.
+	 * @since 6.2
+	 */
+	public void setMaximumSize(int maximumSize) {
+		if (maximumSize != this.maximumSize) {
+			this.maximumSize = maximumSize;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return the maximum number of entries for each cache in this cache manager.
+	 * @since 6.2
+	 */
+	public int getMaximumSize() {
+		return this.maximumSize;
+	}
+
+	/**
+	 * Specify the time after which the entries of each cache in this cache manager
+	 * expire once they have been created or their value has been replaced.
+	 * <p>Default is none, i.e. no time-based expiration.
+	 * <p>Note: A change of the time to live will reset all existing caches,
+	 * if any, to reconfigure them with the new expiration.
+	 * @since 6.2
+	 */
+	public void setTimeToLive(@Nullable Duration timeToLive) {
+		if (!ObjectUtils.nullSafeEquals(timeToLive, this.timeToLive)) {
+			this.timeToLive = timeToLive;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return the time to live for the entries of each cache in this cache manager.
+	 * @since 6.2
+	 */
+	@Nullable
+	public Duration getTimeToLive() {
+		return this.timeToLive;
+	}
+
+	/**
+	 * Specify the time after which the entries of each cache in this cache manager
+	 * expire once they have last been accessed.
+	 * <p>Default is none, i.e. no time-based expiration.
+	 * <p>Note: A change of the time to idle will reset all existing caches,
+	 * if any, to reconfigure them with the new expiration.
+	 * @since 6.2
+	 */
+	public void setTimeToIdle(@Nullable Duration timeToIdle) {
+		if (!ObjectUtils.nullSafeEquals(timeToIdle, this.timeToIdle)) {
+			this.timeToIdle = timeToIdle;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return the time to idle for the entries of each cache in this cache manager.
+	 * @since 6.2
+	 */
+	@Nullable
+	public Duration getTimeToIdle() {
+		return this.timeToIdle;
+	}
+
+	/**
+	 * Specify the time after which the entries of each cache in this cache manager
+	 * get reloaded in the background on access once they have been created or
+	 * their value has been replaced, with the current value being returned until
+	 * the reloaded value is available.
+	 * <p>This applies to {@link Cache#get(Object, java.util.concurrent.Callable)}
+	 * and {@link Cache#retrieve(Object, Supplier)} calls which come with a value
+	 * loader, e.g. for {@code @Cacheable(sync=true)} methods. Typically set to a
+	 * shorter time than the {@link #setTimeToLive time to live}, refreshing
+	 * frequently accessed entries before they expire.
+	 * <p>Requires a {@link #setRefreshExecutor refresh executor} to be specified,
+	 * on which the value loader (e.g. the {@code @Cacheable} method) is going
+	 * to be invoked without any thread-bound state of the original caller.
+	 * <p>Default is none, i.e. no refresh.
+	 * <p>Note: A change of the refresh time will reset all existing caches,
+	 * if any, to reconfigure them with the new refresh time.
+	 * @since 6.2
+	 * @see #setRefreshExecutor
+	 */
+	public void setRefreshAfterWrite(@Nullable Duration refreshAfterWrite) {
+		if (!ObjectUtils.nullSafeEquals(refreshAfterWrite, this.refreshAfterWrite)) {
+			this.refreshAfterWrite = refreshAfterWrite;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return the refresh time for the entries of each cache in this cache manager.
+	 * @since 6.2
+	 */
+	@Nullable
+	public Duration getRefreshAfterWrite() {
+		return this.refreshAfterWrite;
+	}
+
+	/**
+	 * Specify the executor to reload cache entries on when they have reached
+	 * their {@link #setRefreshAfterWrite refresh time}.
+	 * <p>Default is none. Required in case of a refresh time, see
+	 * {@link ConcurrentMapCache#setRefreshExecutor}.
+	 * <p>Note: A change of the refresh executor will reset all existing caches,
+	 * if any, to reconfigure them with the new executor.
+	 * @since 6.2
+	 * @see ConcurrentMapCache#setRefreshExecutor
+	 */
+	public void setRefreshExecutor(@Nullable Executor refreshExecutor) {
+		if (refreshExecutor != this.refreshExecutor) {
+			this.refreshExecutor = refreshExecutor;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Specify whether each cache in this cache manager records hit, miss and
+	 * eviction counts.
+	 * <p>Default is "false".
+	 * <p>Note: A change of this setting will reset all existing caches,
+	 * if any, to reconfigure them accordingly.
+	 * @since 6.2
+	 * @see ConcurrentMapCache#hitCount()
+	 * @see ConcurrentMapCache#missCount()
+	 * @see ConcurrentMapCache#evictionCount()
+	 */
+	public void setRecordStatistics(boolean recordStatistics) {
+		if (recordStatistics != this.recordStatistics) {
+			this.recordStatistics = recordStatistics;
+			recreateCaches();
+		}
+	}
+
+	/**
+	 * Return whether each cache in this cache manager records hit, miss and
+	 * eviction counts.
+	 * @since 6.2
+	 */
+	public boolean isRecordStatistics() {
+		return this.recordStatistics;
+	}
+
 	@Override
 	public void setBeanClassLoader(ClassLoader classLoader) {
 		this.serialization = new SerializationDelegate(classLoader);
@@ -188,7 +359,13 @@ public class ConcurrentMapCacheManager implements CacheManager, BeanClassLoaderA
 	 */
 	protected Cache createConcurrentMapCache(String name) {
 		SerializationDelegate actualSerialization = (isStoreByValue() ? this.serialization : null);
-		return new ConcurrentMapCache(name, new ConcurrentHashMap<>(256), isAllowNullValues(), actualSerialization);
+		ConcurrentMapCache cache = new ConcurrentMapCache(name, new ConcurrentHashMap<>(256),
+				isAllowNullValues(), actualSerialization, this.maximumSize, this.timeToLive, this.timeToIdle,
+				this.refreshAfterWrite, this.recordStatistics);
+		if (this.refreshExecutor != null) {
+			cache.setRefreshExecutor(this.refreshExecutor);
+		}
+		return cache;
 	}
 
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,8 +16,12 @@
 
 package org.springframework.cache.interceptor;
 
+import java.util.Collection;
+import java.util.Map;
+
 import org.springframework.cache.Cache;
 import org.springframework.lang.Nullable;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.function.SingletonSupplier;
 
 /**
@@ -78,6 +82,30 @@ public abstract class AbstractCacheInvoker {
 		}
 	}
 
+	/**
+	 * Execute {@link Cache#getAll(Collection)} on the specified {@link Cache},
+	 * falling back to {@link #doGet} for each key if an exception occurs.
+	 * The error handler is therefore invoked for each key which fails
+	 * individually, with such keys being treated as cache misses.
+	 * @since 6.2
+	 * @see Cache#getAll(Collection)
+	 */
+	protected Map<Object, Cache.ValueWrapper> doGetAll(Cache cache, Collection<?> keys) {
+		try {
+			return cache.getAll(keys);
+		}
+		catch (RuntimeException ex) {
+			Map<Object, Cache.ValueWrapper> result = CollectionUtils.newLinkedHashMap(keys.size());
+			for (Object key : keys) {
+				Cache.ValueWrapper wrapper = doGet(cache, key);
+				if (wrapper != null) {
+					result.put(key, wrapper);
+				}
+			}
+			return result;
+		}
+	}
+
 	/**
 	 * Execute {@link Cache#put(Object, Object)} on the specified {@link Cache}
 	 * and invoke the error handler if an exception occurs.
@@ -91,6 +119,23 @@ public abstract class AbstractCacheInvoker {
 		}
 	}
 
+	/**
+	 * Execute {@link Cache#putAll(Map)} on the specified {@link Cache},
+	 * falling back to {@link #doPut} for each entry if an exception occurs.
+	 * The error handler is therefore invoked for each entry which fails
+	 * individually.
+	 * @since 6.2
+	 * @see Cache#putAll(Map)
+	 */
+	protected void doPutAll(Cache cache, Map<?, ?> entries) {
+		try {
+			cache.putAll(entries);
+		}
+		catch (RuntimeException ex) {
+			entries.forEach((key, value) -> doPut(cache, key, value));
+		}
+	}
+
 	/**
 	 * Execute {@link Cache#evict(Object)}/{@link Cache#evictIfPresent(Object)} on the
 	 * specified {@link Cache} and invoke the error handler if an exception occurs.
@@ -21,6 +21,7 @@ import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -49,11 +50,15 @@ import org.springframework.cache.CacheManager;
 import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.context.expression.BeanFactoryResolver;
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.CollectionFactory;
 import org.springframework.core.KotlinDetector;
 import org.springframework.core.ReactiveAdapter;
 import org.springframework.core.ReactiveAdapterRegistry;
 import org.springframework.core.SpringProperties;
 import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -126,7 +131,7 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 	private final StandardEvaluationContext originalEvaluationContext = new StandardEvaluationContext();
 
-	private final CacheOperationExpressionEvaluator evaluator = new CacheOperationExpressionEvaluator(
+	private CacheOperationExpressionEvaluator evaluator = new CacheOperationExpressionEvaluator(
 			new CacheEvaluationContextFactory(this.originalEvaluationContext));
 
 	@Nullable
@@ -140,6 +145,9 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	@Nullable
 	private SingletonSupplier<CacheResolver> cacheResolver;
 
+	@Nullable
+	private Supplier<SpelCompilerMode> expressionCompilerMode;
+
 	@Nullable
 	private BeanFactory beanFactory;
 
@@ -167,6 +175,24 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 				() -> SimpleCacheResolver.of(SupplierUtils.resolve(cacheManager)));
 	}
 
+	/**
+	 * Configure this aspect with the given error handler, key generator, cache resolver/manager
+	 * and expression compiler mode suppliers, applying the corresponding default if a supplier
+	 * is not resolvable.
+	 * <p>The expression compiler mode supplier is resolved once all singletons have been
+	 * instantiated, along with the cache manager fallback.
+	 * @since 6.2
+	 * @see #setExpressionCompilerMode
+	 */
+	public void configure(
+			@Nullable Supplier<CacheErrorHandler> errorHandler, @Nullable Supplier<KeyGenerator> keyGenerator,
+			@Nullable Supplier<CacheResolver> cacheResolver, @Nullable Supplier<CacheManager> cacheManager,
+			@Nullable Supplier<SpelCompilerMode> expressionCompilerMode) {
+
+		configure(errorHandler, keyGenerator, cacheResolver, cacheManager);
+		this.expressionCompilerMode = expressionCompilerMode;
+	}
+
 
 	/**
 	 * Set one or more cache operation sources which are used to find the cache
@@ -243,6 +269,26 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		this.cacheResolver = SingletonSupplier.of(new SimpleCacheResolver(cacheManager));
 	}
 
+	/**
+	 * Set the {@link SpelCompilerMode} for the {@code key}, {@code condition}
+	 * and {@code unless} expressions of the cache operations.
+	 * <p>The default is the global default for SpEL, i.e. {@link SpelCompilerMode#OFF}
+	 * unless the "spring.expression.compiler.mode" property has been set.
+	 * Switch this to {@link SpelCompilerMode#MIXED} in order to compile frequently
+	 * evaluated expressions to bytecode after an interpreted warm-up phase, falling
+	 * back to interpreted evaluation whenever a compiled expression fails.
+	 * <p>Needs to be set before any cache operation gets invoked. For annotation-driven
+	 * cache management, see {@code CachingConfigurer#expressionCompilerMode()}.
+	 * @since 6.2
+	 * @see SpelParserConfiguration#SPRING_EXPRESSION_COMPILER_MODE_PROPERTY_NAME
+	 */
+	public void setExpressionCompilerMode(SpelCompilerMode compilerMode) {
+		Assert.notNull(compilerMode, "SpelCompilerMode must not be null");
+		this.evaluator = new CacheOperationExpressionEvaluator(
+				new CacheEvaluationContextFactory(this.originalEvaluationContext),
+				new SpelExpressionParser(new SpelParserConfiguration(compilerMode, null)));
+	}
+
 	/**
 	 * Set the containing {@link BeanFactory} for {@link CacheManager} and other
 	 * service lookups.
@@ -283,6 +329,10 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 						+ "register a CacheManager bean or remove the @EnableCaching annotation from your configuration.");
 			}
 		}
+		SpelCompilerMode compilerMode = SupplierUtils.resolve(this.expressionCompilerMode);
+		if (compilerMode != null) {
+			setExpressionCompilerMode(compilerMode);
+		}
 		this.initialized = true;
 	}
 
@@ -427,6 +477,10 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			// Special handling of synchronized invocation
 			return executeSynchronized(invoker, method, contexts);
 		}
+		if (contexts.isBulk()) {
+			// Special handling of element-wise caching for a collection argument
+			return executeBulk(invoker, method, contexts);
+		}
 
 		// Process any early evictions
 		processCacheEvicts(contexts.get(CacheEvictOperation.class), true,
@@ -472,6 +526,83 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		}
 	}
 
+	/**
+	 * Look up the elements of the collection argument individually, invoking the
+	 * method with a collection of the missing elements only, caching the returned
+	 * entries and merging them with the cached entries into the returned map.
+	 */
+	@Nullable
+	private Object executeBulk(CacheOperationInvoker invoker, Method method, CacheOperationContexts contexts) {
+		CacheOperationContext context = contexts.get(CacheableOperation.class).iterator().next();
+		int parameterIndex = contexts.bulkParameterIndex;
+		Object[] args = contexts.args;
+		if (!(args[parameterIndex] instanceof Collection<?> elements) || elements.isEmpty() ||
+				!isConditionPassing(context, CacheOperationExpressionEvaluator.NO_RESULT)) {
+			// No caching required, just call the underlying method
+			return invokeOperation(invoker);
+		}
+
+		Cache cache = context.getCaches().iterator().next();
+		Map<Object, Object> keys = CollectionUtils.newLinkedHashMap(elements.size());
+		for (Object element : elements) {
+			keys.put(element, generateElementKey(context, parameterIndex, element));
+		}
+		Map<Object, Cache.ValueWrapper> cached = doGetAll(cache, keys.values());
+		List<Object> misses = new ArrayList<>(keys.size() - cached.size());
+		keys.forEach((element, key) -> {
+			if (!cached.containsKey(key)) {
+				misses.add(element);
+			}
+		});
+		if (logger.isTraceEnabled()) {
+			logger.trace((keys.size() - misses.size()) + " of " + keys.size() + " cache entries found in cache " +
+					context.getCacheNames() + " for operation " + context.metadata.operation);
+		}
+
+		Map<?, ?> loaded = Collections.emptyMap();
+		if (!misses.isEmpty()) {
+			Object originalArg = args[parameterIndex];
+			Class<?> parameterType = method.getParameterTypes()[parameterIndex];
+			Collection<Object> missingElements = CollectionFactory.createApproximateCollection(elements, misses.size());
+			if (!parameterType.isInstance(missingElements)) {
+				missingElements = CollectionFactory.createCollection(parameterType, misses.size());
+			}
+			missingElements.addAll(misses);
+			args[parameterIndex] = missingElements;
+			try {
+				Object returnValue = unwrapReturnValue(invokeOperation(invoker));
+				if (returnValue instanceof Map<?, ?> map) {
+					loaded = map;
+				}
+			}
+			finally {
+				args[parameterIndex] = originalArg;
+			}
+			Map<Object, Object> entriesToCache = CollectionUtils.newLinkedHashMap(misses.size());
+			for (Object element : misses) {
+				if (loaded.containsKey(element)) {
+					entriesToCache.put(keys.get(element), loaded.get(element));
+				}
+			}
+			if (!entriesToCache.isEmpty()) {
+				doPutAll(cache, entriesToCache);
+			}
+		}
+
+		Map<Object, Object> result = CollectionUtils.newLinkedHashMap(keys.size());
+		for (Map.Entry<Object, Object> entry : keys.entrySet()) {
+			Object element = entry.getKey();
+			Cache.ValueWrapper wrapper = cached.get(entry.getValue());
+			if (wrapper != null) {
+				result.put(element, wrapper.get());
+			}
+			else if (loaded.containsKey(element)) {
+				result.put(element, loaded.get(element));
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Find a cached value only for {@link CacheableOperation} that passes the condition.
 	 * @param contexts the cacheable operations
@@ -705,7 +836,14 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	}
 
 	private Object generateKey(CacheOperationContext context, @Nullable Object result) {
-		Object key = context.generateKey(result);
+		return checkGeneratedKey(context, context.generateKey(result));
+	}
+
+	private Object generateElementKey(CacheOperationContext context, int parameterIndex, @Nullable Object element) {
+		return checkGeneratedKey(context, context.generateElementKey(parameterIndex, element));
+	}
+
+	private Object checkGeneratedKey(CacheOperationContext context, @Nullable Object key) {
 		if (key == null) {
 			throw new IllegalArgumentException("""
 					Null key returned for cache operation [%s]. If you are using named parameters, \
@@ -725,6 +863,10 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 
 		private final boolean sync;
 
+		final Object[] args;
+
+		final int bulkParameterIndex;
+
 		boolean processed;
 
 		public CacheOperationContexts(Collection<? extends CacheOperation> operations, Method method,
@@ -735,6 +877,8 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 				this.contexts.add(op.getClass(), getOperationContext(op, method, args, target, targetClass));
 			}
 			this.sync = determineSyncFlag(method);
+			this.args = args;
+			this.bulkParameterIndex = determineBulkParameterIndex(method);
 		}
 
 		public Collection<CacheOperationContext> get(Class<? extends CacheOperation> operationClass) {
@@ -746,6 +890,10 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			return this.sync;
 		}
 
+		public boolean isBulk() {
+			return (this.bulkParameterIndex >= 0);
+		}
+
 		private boolean determineSyncFlag(Method method) {
 			List<CacheOperationContext> cacheableContexts = this.contexts.get(CacheableOperation.class);
 			if (cacheableContexts == null) {  // no @Cacheable operation at all
@@ -781,6 +929,65 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			}
 			return false;
 		}
+
+		private int determineBulkParameterIndex(Method method) {
+			List<CacheOperationContext> cacheableContexts = this.contexts.get(CacheableOperation.class);
+			if (cacheableContexts == null) {  // no @Cacheable operation at all
+				return -1;
+			}
+			boolean bulkEnabled = false;
+			for (CacheOperationContext context : cacheableContexts) {
+				if (context.getOperation() instanceof CacheableOperation cacheable && cacheable.isBulk()) {
+					bulkEnabled = true;
+					break;
+				}
+			}
+			if (!bulkEnabled) {
+				return -1;
+			}
+			if (this.sync) {
+				throw new IllegalStateException(
+						"A bulk=true operation cannot be combined with sync=true on '" + method + "'");
+			}
+			if (this.contexts.size() > 1) {
+				throw new IllegalStateException(
+						"A bulk=true operation cannot be combined with other cache operations on '" + method + "'");
+			}
+			if (cacheableContexts.size() > 1) {
+				throw new IllegalStateException(
+						"Only one bulk=true operation is allowed on '" + method + "'");
+			}
+			CacheOperationContext cacheableContext = cacheableContexts.iterator().next();
+			CacheOperation operation = cacheableContext.getOperation();
+			if (cacheableContext.getCaches().size() > 1) {
+				throw new IllegalStateException(
+						"A bulk=true operation is restricted to a single cache on '" + operation + "'");
+			}
+			if (operation instanceof CacheableOperation cacheable && StringUtils.hasText(cacheable.getUnless())) {
+				throw new IllegalStateException(
+						"A bulk=true operation does not support the unless attribute on '" + operation + "'");
+			}
+			if (!method.getReturnType().isAssignableFrom(LinkedHashMap.class)) {
+				throw new IllegalStateException(
+						"A bulk=true operation requires a Map return type on '" + method + "'");
+			}
+			int parameterIndex = -1;
+			Class<?>[] parameterTypes = method.getParameterTypes();
+			for (int i = 0; i < parameterTypes.length; i++) {
+				if (Collection.class.isAssignableFrom(parameterTypes[i])) {
+					if (parameterIndex >= 0) {
+						parameterIndex = -1;
+						break;
+					}
+					parameterIndex = i;
+				}
+			}
+			if (parameterIndex < 0) {
+				throw new IllegalStateException(
+						"A bulk=true operation requires exactly one Collection parameter on '" + method + "'");
+			}
+			return parameterIndex;
+		}
 	}
 
 
@@ -923,6 +1130,26 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			return this.key;
 		}
 
+		/**
+		 * Compute the key for the given element of a collection argument, as if
+		 * the method had been invoked with that element in place of the collection.
+		 * @param parameterIndex the index of the collection parameter
+		 * @param element the element to compute the key for
+		 * @since 6.2
+		 */
+		@Nullable
+		protected Object generateElementKey(int parameterIndex, @Nullable Object element) {
+			Object[] elementArgs = this.args.clone();
+			elementArgs[parameterIndex] = element;
+			if (StringUtils.hasText(this.metadata.operation.getKey())) {
+				EvaluationContext evaluationContext = evaluator.createEvaluationContext(this.caches,
+						this.metadata.method, elementArgs, this.target, this.metadata.targetClass,
+						this.metadata.targetMethod, CacheOperationExpressionEvaluator.NO_RESULT);
+				return evaluator.key(this.metadata.operation.getKey(), this.metadata.methodKey, evaluationContext);
+			}
+			return this.metadata.keyGenerator.generate(this.target, this.metadata.method, elementArgs);
+		}
+
 		/**
 		 * Get generated key.
 		 * @return generated key
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,6 +26,7 @@ import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.context.expression.CachedExpressionEvaluator;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.lang.Nullable;
 
 /**
@@ -73,6 +74,19 @@ class CacheOperationExpressionEvaluator extends CachedExpressionEvaluator {
 		this.evaluationContextFactory.setParameterNameDiscoverer(this::getParameterNameDiscoverer);
 	}
 
+	/**
+	 * Create a new instance with the specified {@link SpelExpressionParser},
+	 * e.g. one with a custom {@link org.springframework.expression.spel.SpelCompilerMode}.
+	 * @since 6.2
+	 */
+	public CacheOperationExpressionEvaluator(CacheEvaluationContextFactory evaluationContextFactory,
+			SpelExpressionParser parser) {
+
+		super(parser);
+		this.evaluationContextFactory = evaluationContextFactory;
+		this.evaluationContextFactory.setParameterNameDiscoverer(this::getParameterNameDiscoverer);
+	}
+
 	/**
 	 * Create an {@link EvaluationContext}.
 	 * @param caches the current caches
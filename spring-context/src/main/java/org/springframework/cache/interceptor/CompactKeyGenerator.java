@@ -0,0 +1,173 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.springframework.core.KotlinDetector;
+import org.springframework.lang.Nullable;
+
+/**
+ * Variant of {@link SimpleKeyGenerator} with specialized keys for the most
+ * common argument shapes. Returns the parameter itself if a single non-null
+ * value is given, and a dedicated key with one field per parameter for two or
+ * three parameters which are not arrays themselves, falling back to a
+ * {@link SimpleKey} for any other combination of parameters.
+ *
+ * <p>Specialized keys neither copy the given parameters into an array of
+ * their own nor need to deeply traverse them for {@code hashCode}/{@code equals}
+ * computations, reducing the overhead of a cache lookup. Primitive parameters
+ * arrive as their boxed wrappers and are compared as such, consistent with
+ * {@link SimpleKey}.
+ *
+ * <p>Note that the generated keys are not equal to the corresponding
+ * {@link SimpleKey} instances. Do not switch between this generator and
+ * {@link SimpleKeyGenerator} for caches which retain keys across restarts.
+ *
+ * @author agent
+ * @since 6.2
+ * @see SimpleKeyGenerator
+ * @see org.springframework.cache.annotation.CachingConfigurer#keyGenerator()
+ */
+public class CompactKeyGenerator implements KeyGenerator {
+
+	@Override
+	public Object generate(Object target, Method method, Object... params) {
+		return generateKey((KotlinDetector.isSuspendingFunction(method) ?
+				Arrays.copyOf(params, params.length - 1) : params));
+	}
+
+	/**
+	 * Generate a key based on the specified parameters.
+	 */
+	public static Object generateKey(Object... params) {
+		switch (params.length) {
+			case 0 -> {
+				return SimpleKey.EMPTY;
+			}
+			case 1 -> {
+				Object param = params[0];
+				if (param != null && !param.getClass().isArray()) {
+					return param;
+				}
+			}
+			case 2 -> {
+				if (!isArray(params[0]) && !isArray(params[1])) {
+					return new CompactKey2(params[0], params[1]);
+				}
+			}
+			case 3 -> {
+				if (!isArray(params[0]) && !isArray(params[1]) && !isArray(params[2])) {
+					return new CompactKey3(params[0], params[1], params[2]);
+				}
+			}
+		}
+		return new SimpleKey(params);
+	}
+
+	private static boolean isArray(@Nullable Object param) {
+		return (param != null && param.getClass().isArray());
+	}
+
+
+	/**
+	 * A key for two parameters.
+	 */
+	@SuppressWarnings("serial")
+	private static final class CompactKey2 implements Serializable {
+
+		@Nullable
+		private final Object param1;
+
+		@Nullable
+		private final Object param2;
+
+		private final int hashCode;
+
+		CompactKey2(@Nullable Object param1, @Nullable Object param2) {
+			this.param1 = param1;
+			this.param2 = param2;
+			this.hashCode = 31 * Objects.hashCode(param1) + Objects.hashCode(param2);
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			return (this == other || (other instanceof CompactKey2 that && this.hashCode == that.hashCode &&
+					Objects.equals(this.param1, that.param1) &&
+					Objects.equals(this.param2, that.param2)));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+		@Override
+		public String toString() {
+			return "CompactKey [" + this.param1 + ", " + this.param2 + "]";
+		}
+	}
+
+
+	/**
+	 * A key for three parameters.
+	 */
+	@SuppressWarnings("serial")
+	private static final class CompactKey3 implements Serializable {
+
+		@Nullable
+		private final Object param1;
+
+		@Nullable
+		private final Object param2;
+
+		@Nullable
+		private final Object param3;
+
+		private final int hashCode;
+
+		CompactKey3(@Nullable Object param1, @Nullable Object param2, @Nullable Object param3) {
+			this.param1 = param1;
+			this.param2 = param2;
+			this.param3 = param3;
+			this.hashCode = 31 * (31 * Objects.hashCode(param1) +
+					Objects.hashCode(param2)) + Objects.hashCode(param3);
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			return (this == other || (other instanceof CompactKey3 that && this.hashCode == that.hashCode &&
+					Objects.equals(this.param1, that.param1) &&
+					Objects.equals(this.param2, that.param2) &&
+					Objects.equals(this.param3, that.param3)));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+		@Override
+		public String toString() {
+			return "CompactKey [" + this.param1 + ", " + this.param2 + ", " + this.param3 + "]";
+		}
+	}
+
+}
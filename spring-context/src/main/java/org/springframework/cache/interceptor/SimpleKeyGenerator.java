@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -36,6 +36,7 @@ import org.springframework.core.KotlinDetector;
  * @author Sebastien Deleuze
  * @since 4.0
  * @see SimpleKey
+ * @see CompactKeyGenerator
  * @see org.springframework.cache.annotation.CachingConfigurer
  */
 public class SimpleKeyGenerator implements KeyGenerator {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -41,12 +42,14 @@ import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.EnvironmentCapable;
 import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternUtils;
 import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.ClassMetadata;
 import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
 import org.springframework.core.type.classreading.ClassFormatException;
 import org.springframework.core.type.classreading.MetadataReader;
@@ -60,8 +63,10 @@ import org.springframework.stereotype.Controller;
 import org.springframework.stereotype.Indexed;
 import org.springframework.stereotype.Repository;
 import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.PathMatcher;
 
 /**
  * A component provider that scans for candidate components starting from a
@@ -77,6 +82,8 @@ import org.springframework.util.ClassUtils;
  * <p>This implementation is based on Spring's
  * {@link org.springframework.core.type.classreading.MetadataReader MetadataReader}
  * facility, backed by an ASM {@link org.springframework.asm.ClassReader ClassReader}.
+ * Candidates from the index are not read at all if the index provides their
+ * class metadata as well.
  *
  * @author Mark Fisher
  * @author Juergen Hoeller
@@ -104,9 +111,20 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 	 */
 	public static final String IGNORE_CLASSFORMAT_PROPERTY_NAME = "spring.classformat.ignore";
 
+	/**
+	 * System property that instructs Spring to scan the classpath in parallel by
+	 * default, as if {@link #setParallelScanning} had been called with {@code true}
+	 * on every {@code ClassPathScanningCandidateComponentProvider}.
+	 * @since 6.2
+	 * @see #setParallelScanning
+	 */
+	public static final String PARALLEL_SCANNING_PROPERTY_NAME = "spring.context.scan.parallel";
+
 	private static final boolean shouldIgnoreClassFormatException =
 			SpringProperties.getFlag(IGNORE_CLASSFORMAT_PROPERTY_NAME);
 
+	private static final PathMatcher pathMatcher = new AntPathMatcher();
+
 
 	protected final Log logger = LogFactory.getLog(getClass());
 
@@ -131,6 +149,8 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 	@Nullable
 	private CandidateComponentsIndex componentsIndex;
 
+	private boolean parallelScanning = SpringProperties.getFlag(PARALLEL_SCANNING_PROPERTY_NAME);
+
 
 	/**
 	 * Protected constructor for flexible subclass initialization.
@@ -180,6 +200,31 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 		this.resourcePattern = resourcePattern;
 	}
 
+	/**
+	 * Specify whether to scan the classpath in parallel, fanning out the search
+	 * for class files in each classpath root as well as the reading of class
+	 * metadata across the common {@link java.util.concurrent.ForkJoinPool}.
+	 * <p>Type filters and conditions are still applied sequentially, and results
+	 * are merged in classpath order, so the set of candidates and their order is
+	 * the same as for a sequential scan. Note that the configured
+	 * {@link MetadataReaderFactory} needs to be thread-safe for parallel scanning,
+	 * which is the case for the default {@link CachingMetadataReaderFactory}.
+	 * <p>Default is "false", unless the {@value #PARALLEL_SCANNING_PROPERTY_NAME}
+	 * system property has been set to "true".
+	 * @since 6.2
+	 */
+	public void setParallelScanning(boolean parallelScanning) {
+		this.parallelScanning = parallelScanning;
+	}
+
+	/**
+	 * Return whether the classpath is scanned in parallel.
+	 * @since 6.2
+	 */
+	public boolean isParallelScanning() {
+		return this.parallelScanning;
+	}
+
 	/**
 	 * Add an include type filter to the <i>end</i> of the inclusion list.
 	 */
@@ -420,7 +465,7 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 			boolean traceEnabled = logger.isTraceEnabled();
 			boolean debugEnabled = logger.isDebugEnabled();
 			for (String type : types) {
-				MetadataReader metadataReader = getMetadataReaderFactory().getMetadataReader(type);
+				MetadataReader metadataReader = getMetadataReader(index, type);
 				if (isCandidateComponent(metadataReader)) {
 					ScannedGenericBeanDefinition sbd = new ScannedGenericBeanDefinition(metadataReader);
 					sbd.setSource(metadataReader.getResource());
@@ -449,17 +494,45 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 		return candidates;
 	}
 
+	/**
+	 * Obtain a {@link MetadataReader} for the given candidate type, preferably based
+	 * on the class metadata recorded in the index, reading the class file otherwise.
+	 * <p>Index-based metadata gets exposed through the shared {@code MetadataReader}
+	 * cache of a {@link DefaultResourceLoader}, so that subsequent configuration class
+	 * processing of the candidate does not need to read the class file either.
+	 */
+	private MetadataReader getMetadataReader(CandidateComponentsIndex index, String type) throws IOException {
+		ResourceLoader resourceLoader = getResourceLoader();
+		AnnotationMetadata metadata = index.getAnnotationMetadata(type, resourceLoader.getClassLoader());
+		if (metadata == null) {
+			return getMetadataReaderFactory().getMetadataReader(type);
+		}
+		Resource resource = resourceLoader.getResource(ResourceLoader.CLASSPATH_URL_PREFIX +
+				ClassUtils.convertClassNameToResourcePath(type) + ClassUtils.CLASS_FILE_SUFFIX);
+		MetadataReader metadataReader = new IndexedMetadataReader(resource, metadata);
+		if (resourceLoader instanceof DefaultResourceLoader defaultResourceLoader) {
+			MetadataReader existing = defaultResourceLoader.getResourceCache(MetadataReader.class)
+					.putIfAbsent(resource, metadataReader);
+			if (existing != null) {
+				return existing;
+			}
+		}
+		return metadataReader;
+	}
+
 	private Set<BeanDefinition> scanCandidateComponents(String basePackage) {
 		Set<BeanDefinition> candidates = new LinkedHashSet<>();
 		try {
-			String packageSearchPath = ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX +
-					resolveBasePackage(basePackage) + '/' + this.resourcePattern;
-			Resource[] resources = getResourcePatternResolver().getResources(packageSearchPath);
+			String basePackagePath = resolveBasePackage(basePackage);
+			Resource[] resources = (this.parallelScanning ? findResourcesInParallel(basePackagePath) :
+					getResourcePatternResolver().getResources(
+							ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX + basePackagePath + '/' + this.resourcePattern));
+			ScannedResource[] scannedResources = (this.parallelScanning ? readMetadataInParallel(resources) : null);
 			boolean traceEnabled = logger.isTraceEnabled();
 			boolean debugEnabled = logger.isDebugEnabled();
-			for (Resource resource : resources) {
-				String filename = resource.getFilename();
-				if (filename != null && filename.contains(ClassUtils.CGLIB_CLASS_SEPARATOR)) {
+			for (int i = 0; i < resources.length; i++) {
+				Resource resource = resources[i];
+				if (isCglibClass(resource)) {
 					// Ignore CGLIB-generated classes in the classpath
 					continue;
 				}
@@ -467,7 +540,8 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 					logger.trace("Scanning " + resource);
 				}
 				try {
-					MetadataReader metadataReader = getMetadataReaderFactory().getMetadataReader(resource);
+					MetadataReader metadataReader = (scannedResources != null ?
+							scannedResources[i].getMetadataReader() : getMetadataReaderFactory().getMetadataReader(resource));
 					if (isCandidateComponent(metadataReader)) {
 						ScannedGenericBeanDefinition sbd = new ScannedGenericBeanDefinition(metadataReader);
 						sbd.setSource(resource);
@@ -517,6 +591,76 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 		return candidates;
 	}
 
+	/**
+	 * Find the class resources for the given base package path, searching each
+	 * classpath root that contains the package in parallel. Resources are merged
+	 * in the order of the classpath roots, just like for a sequential search.
+	 */
+	private Resource[] findResourcesInParallel(String basePackagePath) throws IOException {
+		ResourcePatternResolver resourcePatternResolver = getResourcePatternResolver();
+		String packageSearchPath = ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX +
+				basePackagePath + '/' + this.resourcePattern;
+		if (pathMatcher.isPattern(basePackagePath)) {
+			return resourcePatternResolver.getResources(packageSearchPath);
+		}
+		Resource[] rootDirResources = resourcePatternResolver.getResources(
+				ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX + basePackagePath + '/');
+		if (rootDirResources.length <= 1) {
+			return resourcePatternResolver.getResources(packageSearchPath);
+		}
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		List<Object> results = Arrays.stream(rootDirResources).parallel().map(rootDirResource ->
+				runWithContextClassLoader(classLoader, () -> resourcePatternResolver.getResources(
+						rootDirResource.getURL() + this.resourcePattern))).toList();
+		Set<Resource> resources = new LinkedHashSet<>(64);
+		for (Object result : results) {
+			if (result instanceof IOException ex) {
+				throw ex;
+			}
+			if (result instanceof Throwable ex) {
+				throw new BeanDefinitionStoreException("Failed to search classpath for candidate components", ex);
+			}
+			resources.addAll(Arrays.asList((Resource[]) result));
+		}
+		return resources.toArray(new Resource[0]);
+	}
+
+	/**
+	 * Read the metadata for the given class resources in parallel, keeping any
+	 * failure per resource so that it can be handled in scanning order.
+	 */
+	private ScannedResource[] readMetadataInParallel(Resource[] resources) {
+		MetadataReaderFactory metadataReaderFactory = getMetadataReaderFactory();
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		return Arrays.stream(resources).parallel().map(resource -> {
+			if (isCglibClass(resource)) {
+				return new ScannedResource(null);
+			}
+			return new ScannedResource(runWithContextClassLoader(classLoader,
+					() -> metadataReaderFactory.getMetadataReader(resource)));
+		}).toArray(ScannedResource[]::new);
+	}
+
+	private static Object runWithContextClassLoader(@Nullable ClassLoader classLoader, ScanTask task) {
+		ClassLoader previousClassLoader = ClassUtils.overrideThreadContextClassLoader(classLoader);
+		try {
+			return task.run();
+		}
+		catch (Throwable ex) {
+			return ex;
+		}
+		finally {
+			if (previousClassLoader != null) {
+				Thread.currentThread().setContextClassLoader(previousClassLoader);
+			}
+		}
+	}
+
+	private static boolean isCglibClass(Resource resource) {
+		String filename = resource.getFilename();
+		return (filename != null && filename.contains(ClassUtils.CGLIB_CLASS_SEPARATOR));
+	}
+
 
 	/**
 	 * Resolve the specified base package into a pattern specification for
@@ -590,4 +734,68 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 		}
 	}
 
+
+	/**
+	 * Unit of work performed in parallel during classpath scanning.
+	 */
+	@FunctionalInterface
+	private interface ScanTask {
+
+		Object run() throws Exception;
+	}
+
+
+	/**
+	 * The outcome of reading the metadata for a class resource in parallel:
+	 * either a {@link MetadataReader} or the failure to rethrow.
+	 */
+	private static final class ScannedResource {
+
+		@Nullable
+		private final Object result;
+
+		ScannedResource(@Nullable Object result) {
+			this.result = result;
+		}
+
+		MetadataReader getMetadataReader() throws Throwable {
+			if (this.result instanceof Throwable ex) {
+				throw ex;
+			}
+			Assert.state(this.result instanceof MetadataReader, "No MetadataReader available");
+			return (MetadataReader) this.result;
+		}
+	}
+
+
+	/**
+	 * {@link MetadataReader} for class metadata taken from the components index.
+	 */
+	private static final class IndexedMetadataReader implements MetadataReader {
+
+		private final Resource resource;
+
+		private final AnnotationMetadata annotationMetadata;
+
+		IndexedMetadataReader(Resource resource, AnnotationMetadata annotationMetadata) {
+			this.resource = resource;
+			this.annotationMetadata = annotationMetadata;
+		}
+
+		@Override
+		public Resource getResource() {
+			return this.resource;
+		}
+
+		@Override
+		public ClassMetadata getClassMetadata() {
+			return this.annotationMetadata;
+		}
+
+		@Override
+		public AnnotationMetadata getAnnotationMetadata() {
+			return this.annotationMetadata;
+		}
+	}
+
 }
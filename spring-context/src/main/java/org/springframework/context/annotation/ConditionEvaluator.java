@@ -19,12 +19,14 @@ package org.springframework.context.annotation;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.ConfigurationCondition.ConfigurationPhase;
+import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.EnvironmentCapable;
@@ -47,6 +49,10 @@ import org.springframework.util.MultiValueMap;
  */
 class ConditionEvaluator {
 
+	private static final ThreadLocal<List<ConditionOutcome>> recordedOutcomes =
+			new NamedThreadLocal<>("Recorded condition outcomes");
+
+
 	private final ConditionContextImpl context;
 
 
@@ -90,6 +96,7 @@ class ConditionEvaluator {
 			return shouldSkip(metadata, ConfigurationPhase.REGISTER_BEAN);
 		}
 
+		boolean skip = false;
 		List<Condition> conditions = collectConditions(metadata);
 		for (Condition condition : conditions) {
 			ConfigurationPhase requiredPhase = null;
@@ -97,11 +104,16 @@ class ConditionEvaluator {
 				requiredPhase = configurationCondition.getConfigurationPhase();
 			}
 			if ((requiredPhase == null || requiredPhase == phase) && !condition.matches(this.context, metadata)) {
-				return true;
+				skip = true;
+				break;
 			}
 		}
 
-		return false;
+		List<ConditionOutcome> outcomes = recordedOutcomes.get();
+		if (outcomes != null) {
+			outcomes.add(new ConditionOutcome(metadata, phase, skip));
+		}
+		return skip;
 	}
 
 	/**
@@ -139,6 +151,39 @@ class ConditionEvaluator {
 	}
 
 
+	/**
+	 * Run the given action, recording the outcome of each condition evaluation
+	 * on the current thread in the given list.
+	 * @param outcomes the list to add the recorded outcomes to
+	 * @param action the action to run
+	 * @return the result of the action
+	 * @since 6.2
+	 */
+	static <T> T recordOutcomes(List<ConditionOutcome> outcomes, Supplier<T> action) {
+		List<ConditionOutcome> previousOutcomes = recordedOutcomes.get();
+		recordedOutcomes.set(outcomes);
+		try {
+			return action.get();
+		}
+		finally {
+			if (previousOutcomes != null) {
+				recordedOutcomes.set(previousOutcomes);
+			}
+			else {
+				recordedOutcomes.remove();
+			}
+		}
+	}
+
+
+	/**
+	 * The outcome of a condition evaluation for the given metadata and phase.
+	 * @since 6.2
+	 */
+	record ConditionOutcome(AnnotatedTypeMetadata metadata, ConfigurationPhase phase, boolean skip) {
+	}
+
+
 	/**
 	 * Implementation of a {@link ConditionContext}.
 	 */
@@ -20,6 +20,7 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -52,6 +53,7 @@ import org.springframework.core.type.MethodMetadata;
 import org.springframework.core.type.StandardAnnotationMetadata;
 import org.springframework.core.type.StandardMethodMetadata;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
@@ -92,6 +94,9 @@ class ConfigurationClassBeanDefinitionReader {
 
 	private final ConditionEvaluator conditionEvaluator;
 
+	@Nullable
+	private List<RegistrarInvocation> registrarInvocations;
+
 
 	/**
 	 * Create a new {@link ConfigurationClassBeanDefinitionReader} instance
@@ -111,6 +116,26 @@ class ConfigurationClassBeanDefinitionReader {
 	}
 
 
+	/**
+	 * Record the bean definitions registered by each {@link ImportBeanDefinitionRegistrar}
+	 * from now on, to be exposed through {@link #getRegistrarInvocations()}.
+	 * @since 6.2
+	 */
+	void recordRegistrarInvocations() {
+		if (this.registrarInvocations == null) {
+			this.registrarInvocations = new ArrayList<>();
+		}
+	}
+
+	/**
+	 * Return the registrar invocations recorded so far, in invocation order.
+	 * @since 6.2
+	 * @see #recordRegistrarInvocations()
+	 */
+	List<RegistrarInvocation> getRegistrarInvocations() {
+		return (this.registrarInvocations != null ? this.registrarInvocations : List.of());
+	}
+
 	/**
 	 * Read {@code configurationModel}, registering bean definitions
 	 * with the registry based on its contents.
@@ -387,8 +412,30 @@ class ConfigurationClassBeanDefinitionReader {
 	}
 
 	private void loadBeanDefinitionsFromRegistrars(Map<ImportBeanDefinitionRegistrar, AnnotationMetadata> registrars) {
-		registrars.forEach((registrar, metadata) ->
-				registrar.registerBeanDefinitions(metadata, this.registry, this.importBeanNameGenerator));
+		registrars.forEach((registrar, metadata) -> {
+			List<RegistrarInvocation> invocations = this.registrarInvocations;
+			if (invocations != null) {
+				Map<String, BeanDefinition> existingBeanDefinitions = getBeanDefinitions();
+				registrar.registerBeanDefinitions(metadata, this.registry, this.importBeanNameGenerator);
+				Map<String, BeanDefinition> registeredBeanDefinitions = getBeanDefinitions();
+				registeredBeanDefinitions.entrySet().removeIf(entry ->
+						entry.getValue() == existingBeanDefinitions.get(entry.getKey()));
+				invocations.add(new RegistrarInvocation(
+						registrar.getClass(), metadata.getClassName(), registeredBeanDefinitions));
+			}
+			else {
+				registrar.registerBeanDefinitions(metadata, this.registry, this.importBeanNameGenerator);
+			}
+		});
+	}
+
+	private Map<String, BeanDefinition> getBeanDefinitions() {
+		String[] beanNames = this.registry.getBeanDefinitionNames();
+		Map<String, BeanDefinition> beanDefinitions = new LinkedHashMap<>(beanNames.length * 2);
+		for (String beanName : beanNames) {
+			beanDefinitions.put(beanName, this.registry.getBeanDefinition(beanName));
+		}
+		return beanDefinitions;
 	}
 
 
@@ -399,7 +446,7 @@ class ConfigurationClassBeanDefinitionReader {
 	 * definition was created externally.
 	 */
 	@SuppressWarnings("serial")
-	private static class ConfigurationClassBeanDefinition extends RootBeanDefinition implements AnnotatedBeanDefinition {
+	static class ConfigurationClassBeanDefinition extends RootBeanDefinition implements AnnotatedBeanDefinition {
 
 		private final AnnotationMetadata annotationMetadata;
 
@@ -444,6 +491,14 @@ class ConfigurationClassBeanDefinitionReader {
 			return this.factoryMethodMetadata;
 		}
 
+		/**
+		 * Return the bean name derived from the {@code @Bean} method.
+		 * @since 6.2
+		 */
+		String getDerivedBeanName() {
+			return this.derivedBeanName;
+		}
+
 		@Override
 		public boolean isFactoryMethod(Method candidate) {
 			return (super.isFactoryMethod(candidate) && BeanAnnotationHelper.isBeanAnnotated(candidate) &&
@@ -457,6 +512,20 @@ class ConfigurationClassBeanDefinitionReader {
 	}
 
 
+	/**
+	 * An invocation of an {@link ImportBeanDefinitionRegistrar} along with the
+	 * bean definitions that it registered, if recorded.
+	 * @param registrarClass the class of the registrar
+	 * @param importingClassName the name of the class that imported the registrar
+	 * @param beanDefinitions the bean definitions registered by the registrar
+	 * @since 6.2
+	 * @see #recordRegistrarInvocations()
+	 */
+	record RegistrarInvocation(Class<?> registrarClass, String importingClassName,
+			Map<String, BeanDefinition> beanDefinitions) {
+	}
+
+
 	/**
 	 * Evaluate {@code @Conditional} annotations, tracking results and taking into
 	 * account 'imported by'.
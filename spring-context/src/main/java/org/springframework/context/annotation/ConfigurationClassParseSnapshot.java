@@ -0,0 +1,1419 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.WildcardType;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.annotation.AnnotatedGenericBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.config.ConstructorArgumentValues.ValueHolder;
+import org.springframework.beans.factory.config.RuntimeBeanNameReference;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.config.TypedStringValue;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.AutowireCandidateQualifier;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanNameGenerator;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.beans.factory.support.ManagedList;
+import org.springframework.beans.factory.support.ManagedMap;
+import org.springframework.beans.factory.support.ManagedSet;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.ConfigurationClassBeanDefinitionReader.ConfigurationClassBeanDefinition;
+import org.springframework.context.annotation.ConditionEvaluator.ConditionOutcome;
+import org.springframework.context.annotation.ConfigurationClassBeanDefinitionReader.RegistrarInvocation;
+import org.springframework.context.annotation.ConfigurationCondition.ConfigurationPhase;
+import org.springframework.core.AttributeAccessor;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.DescriptiveResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.PropertySourceDescriptor;
+import org.springframework.core.io.support.PropertySourceFactory;
+import org.springframework.core.io.support.PropertySourceProcessor;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.ClassMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Snapshot of the outcome of configuration class processing: the bean definitions
+ * registered (or removed) by parsing, the {@code @PropertySource} declarations
+ * encountered and the import relationships for {@link ImportAware} support.
+ *
+ * <p>A snapshot is stored in a file along with a fingerprint of the classpath,
+ * the active and default profiles and the initially registered bean definitions.
+ * On the next start with the same fingerprint, it can be replayed against the
+ * registry instead of parsing the configuration classes again. Each set of
+ * initially registered bean definitions gets a file of its own next to the
+ * configured base file, so that several application contexts in the same
+ * JVM do not overwrite each other's snapshots.
+ *
+ * <p>Only bean definitions with declarative state can be captured: plain values,
+ * bean references, inner bean definitions and managed collections thereof,
+ * along with qualifiers and target types. Scanned components, imported
+ * configuration classes and {@code @Bean} methods are restored as the
+ * corresponding {@link AnnotatedBeanDefinition} types, reading their annotation
+ * metadata lazily when first requested.
+ *
+ * <p>{@link ImportBeanDefinitionRegistrar ImportBeanDefinitionRegistrars} are not
+ * captured by their bean definitions but invoked again on replay, after the
+ * captured bean definitions have been registered. Their bean definitions may
+ * therefore come with an instance supplier or any other programmatic state.
+ * Elsewhere, bean definitions with an instance supplier or method overrides,
+ * as well as custom values of any other kind, prevent a snapshot from being taken.
+ *
+ * <p>The outcome of each {@link Conditional @Conditional} evaluation is captured
+ * as well, and all conditions are evaluated again before a snapshot is replayed:
+ * If any outcome differs, e.g. for a condition on an environment property,
+ * the snapshot is discarded in favor of parsing the configuration classes again.
+ *
+ * @author agent
+ * @since 6.2
+ * @see ConfigurationClassPostProcessor#setConfigSnapshotFile
+ */
+final class ConfigurationClassParseSnapshot {
+
+	private static final int FORMAT_MAGIC = 0x53434353;
+
+	private static final int FORMAT_VERSION = 3;
+
+	private static final byte GENERIC_DEFINITION = 0;
+
+	private static final byte ROOT_DEFINITION = 1;
+
+	private static final byte BEAN_METHOD_DEFINITION = 2;
+
+	private static final byte SCANNED_DEFINITION = 3;
+
+	private static final byte ANNOTATED_DEFINITION = 4;
+
+	private static final byte NULL_VALUE = 0;
+
+	private static final byte STRING_VALUE = 1;
+
+	private static final byte BOOLEAN_VALUE = 2;
+
+	private static final byte INTEGER_VALUE = 3;
+
+	private static final byte LONG_VALUE = 4;
+
+	private static final byte CLASS_VALUE = 5;
+
+	private static final byte STRING_ARRAY_VALUE = 6;
+
+	private static final byte TYPED_STRING_VALUE = 7;
+
+	private static final byte BEAN_REFERENCE_VALUE = 8;
+
+	private static final byte BEAN_NAME_REFERENCE_VALUE = 9;
+
+	private static final byte BEAN_DEFINITION_HOLDER_VALUE = 10;
+
+	private static final byte BEAN_DEFINITION_VALUE = 11;
+
+	private static final byte MANAGED_LIST_VALUE = 12;
+
+	private static final byte MANAGED_SET_VALUE = 13;
+
+	private static final byte MANAGED_MAP_VALUE = 14;
+
+
+	private final Map<String, BeanDefinition> beanDefinitions;
+
+	private final Map<String, List<String>> aliases;
+
+	private final Set<String> removedBeanNames;
+
+	private final List<PropertySourceDescriptor> propertySourceDescriptors;
+
+	private final Map<String, String> importingClassNames;
+
+	private final List<RegistrarInvocation> registrarInvocations;
+
+	private final Map<ConditionTarget, Boolean> conditionOutcomes;
+
+
+	private ConfigurationClassParseSnapshot(Map<String, BeanDefinition> beanDefinitions,
+			Map<String, List<String>> aliases, Set<String> removedBeanNames,
+			List<PropertySourceDescriptor> propertySourceDescriptors, Map<String, String> importingClassNames,
+			List<RegistrarInvocation> registrarInvocations, Map<ConditionTarget, Boolean> conditionOutcomes) {
+
+		this.beanDefinitions = beanDefinitions;
+		this.aliases = aliases;
+		this.removedBeanNames = removedBeanNames;
+		this.propertySourceDescriptors = propertySourceDescriptors;
+		this.importingClassNames = importingClassNames;
+		this.registrarInvocations = registrarInvocations;
+		this.conditionOutcomes = conditionOutcomes;
+	}
+
+
+	/**
+	 * Return the number of bean definitions registered by this snapshot.
+	 */
+	int getBeanDefinitionCount() {
+		return this.beanDefinitions.size();
+	}
+
+	/**
+	 * Return the {@code @PropertySource} declarations captured in this snapshot.
+	 */
+	List<PropertySourceDescriptor> getPropertySourceDescriptors() {
+		return this.propertySourceDescriptors;
+	}
+
+	/**
+	 * Return an {@link ImportRegistry} for the import relationships captured in this
+	 * snapshot, lazily reading the metadata of importing classes when requested.
+	 */
+	ImportRegistry getImportRegistry(MetadataReaderFactory metadataReaderFactory) {
+		return new SnapshotImportRegistry(this.importingClassNames, metadataReaderFactory);
+	}
+
+	/**
+	 * Evaluate the conditions captured in this snapshot again, checking whether
+	 * each of them still leads to the same outcome as when the snapshot was taken,
+	 * e.g. for conditions on environment properties.
+	 * @return {@code true} if all outcomes match, {@code false} if the snapshot
+	 * must not be replayed
+	 */
+	boolean conditionsMatch(BeanDefinitionRegistry registry, Environment environment, ResourceLoader resourceLoader,
+			MetadataReaderFactory metadataReaderFactory) {
+
+		ConditionEvaluator conditionEvaluator = new ConditionEvaluator(registry, environment, resourceLoader);
+		Map<String, SnapshotAnnotationMetadata> classMetadata = new HashMap<>();
+		try {
+			for (Map.Entry<ConditionTarget, Boolean> entry : this.conditionOutcomes.entrySet()) {
+				ConditionTarget target = entry.getKey();
+				SnapshotAnnotationMetadata metadata = classMetadata.computeIfAbsent(target.className(),
+						className -> new SnapshotAnnotationMetadata(className, metadataReaderFactory));
+				AnnotatedTypeMetadata targetMetadata = (target.methodName() != null && target.returnTypeName() != null ?
+						new SnapshotMethodMetadata(metadata, target.methodName(), target.returnTypeName()) : metadata);
+				if (conditionEvaluator.shouldSkip(targetMetadata, target.phase()) != entry.getValue()) {
+					return false;
+				}
+			}
+		}
+		catch (IllegalStateException ex) {
+			// Metadata not resolvable anymore
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Replay this snapshot: add the captured property sources to the environment,
+	 * apply the captured bean definition changes to the registry and invoke the
+	 * captured import registrars again.
+	 * @throws IOException if a property source could not be loaded
+	 */
+	void replay(BeanDefinitionRegistry registry, Environment environment, ResourceLoader resourceLoader,
+			MetadataReaderFactory metadataReaderFactory, BeanNameGenerator importBeanNameGenerator)
+			throws IOException {
+
+		if (!this.propertySourceDescriptors.isEmpty() && environment instanceof ConfigurableEnvironment ce) {
+			PropertySourceProcessor propertySourceProcessor = new PropertySourceProcessor(ce, resourceLoader);
+			for (PropertySourceDescriptor descriptor : this.propertySourceDescriptors) {
+				propertySourceProcessor.processPropertySource(descriptor);
+			}
+		}
+		for (String beanName : this.removedBeanNames) {
+			if (registry.containsBeanDefinition(beanName)) {
+				registry.removeBeanDefinition(beanName);
+			}
+		}
+		this.beanDefinitions.forEach(registry::registerBeanDefinition);
+		this.aliases.forEach((beanName, aliases) -> {
+			for (String alias : aliases) {
+				registry.registerAlias(beanName, alias);
+			}
+		});
+		if (!this.registrarInvocations.isEmpty()) {
+			Set<String> existingBeanNames = Set.of(registry.getBeanDefinitionNames());
+			for (RegistrarInvocation invocation : this.registrarInvocations) {
+				ImportBeanDefinitionRegistrar registrar = ParserStrategyUtils.instantiateClass(
+						invocation.registrarClass(), ImportBeanDefinitionRegistrar.class,
+						environment, resourceLoader, registry);
+				AnnotationMetadata importingClassMetadata =
+						new SnapshotAnnotationMetadata(invocation.importingClassName(), metadataReaderFactory);
+				registrar.registerBeanDefinitions(importingClassMetadata, registry, importBeanNameGenerator);
+			}
+			// Mark configuration classes among the registered bean definitions, as parsing would
+			for (String beanName : registry.getBeanDefinitionNames()) {
+				if (!existingBeanNames.contains(beanName)) {
+					ConfigurationClassUtils.checkConfigurationClassCandidate(
+							registry.getBeanDefinition(beanName), metadataReaderFactory);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Capture the current state of the given registry as a snapshot, compared to
+	 * the initial state before configuration class processing.
+	 * @param registry the registry after configuration class processing
+	 * @param initialBeanDefinitions the bean definitions registered before processing
+	 * @param initialAliases the aliases registered before processing
+	 * @param parser the parser used for processing the configuration classes
+	 * @param registrarInvocations the import registrar invocations during processing
+	 * @param conditionOutcomes the condition outcomes recorded during processing
+	 * @throws IllegalArgumentException if a condition outcome cannot be captured,
+	 * e.g. for different outcomes of overloaded methods
+	 */
+	static ConfigurationClassParseSnapshot capture(BeanDefinitionRegistry registry,
+			Map<String, BeanDefinition> initialBeanDefinitions, Map<String, Set<String>> initialAliases,
+			ConfigurationClassParser parser, List<RegistrarInvocation> registrarInvocations,
+			List<ConditionOutcome> conditionOutcomes) {
+
+		Map<String, BeanDefinition> registrarBeanDefinitions = new HashMap<>();
+		for (RegistrarInvocation invocation : registrarInvocations) {
+			registrarBeanDefinitions.putAll(invocation.beanDefinitions());
+		}
+		Map<String, BeanDefinition> beanDefinitions = new LinkedHashMap<>();
+		Map<String, List<String>> aliases = new LinkedHashMap<>();
+		for (String beanName : registry.getBeanDefinitionNames()) {
+			BeanDefinition beanDefinition = registry.getBeanDefinition(beanName);
+			if (beanDefinition != initialBeanDefinitions.get(beanName) &&
+					beanDefinition != registrarBeanDefinitions.get(beanName)) {
+				// Not registered by an import registrar which is going to be invoked again on replay
+				beanDefinitions.put(beanName, beanDefinition);
+			}
+			Set<String> initial = initialAliases.getOrDefault(beanName, Set.of());
+			List<String> added = new ArrayList<>();
+			for (String alias : registry.getAliases(beanName)) {
+				if (!initial.contains(alias)) {
+					added.add(alias);
+				}
+			}
+			if (!added.isEmpty()) {
+				aliases.put(beanName, added);
+			}
+		}
+		Set<String> removedBeanNames = new LinkedHashSet<>();
+		for (String beanName : initialBeanDefinitions.keySet()) {
+			if (!registry.containsBeanDefinition(beanName)) {
+				removedBeanNames.add(beanName);
+			}
+		}
+		Map<ConditionTarget, Boolean> outcomes = new LinkedHashMap<>();
+		for (ConditionOutcome outcome : conditionOutcomes) {
+			ConditionTarget target = ConditionTarget.of(outcome.metadata(), outcome.phase());
+			Boolean previous = outcomes.putIfAbsent(target, outcome.skip());
+			if (previous != null && previous != outcome.skip()) {
+				throw new IllegalArgumentException("Ambiguous condition outcome for " + outcome.metadata());
+			}
+		}
+		return new ConfigurationClassParseSnapshot(beanDefinitions, aliases, removedBeanNames,
+				parser.getPropertySourceDescriptors(), parser.getImportingClassNames(), registrarInvocations,
+				outcomes);
+	}
+
+	/**
+	 * Determine the snapshot file for the given registry: a file next to the
+	 * given base file, keyed by the bean definitions registered so far.
+	 * @param baseFile the configured snapshot file
+	 * @param registry the registry before configuration class processing
+	 */
+	static Path resolveFile(Path baseFile, BeanDefinitionRegistry registry) {
+		MessageDigest digest = createDigest();
+		updateBeanDefinitions(digest, registry);
+		return baseFile.resolveSibling(baseFile.getFileName() + "-" + HexFormat.of().formatHex(digest.digest(), 0, 8));
+	}
+
+	/**
+	 * Compute a fingerprint for the given registry and environment, covering the
+	 * classpath, the active and default profiles and all bean definitions so far.
+	 * @param registry the registry before configuration class processing
+	 * @param environment the environment to evaluate profiles against
+	 * @param classLoader the class loader to derive the classpath from
+	 * @param baseFile the configured snapshot file, to be ignored along with
+	 * the files derived from it if located on the classpath
+	 */
+	static String fingerprint(BeanDefinitionRegistry registry, Environment environment,
+			@Nullable ClassLoader classLoader, Path baseFile) {
+
+		MessageDigest digest = createDigest();
+		update(digest, "profiles");
+		for (String profile : environment.getActiveProfiles()) {
+			update(digest, profile);
+		}
+		update(digest, "defaultProfiles");
+		for (String profile : environment.getDefaultProfiles()) {
+			update(digest, profile);
+		}
+		updateBeanDefinitions(digest, registry);
+		update(digest, "classpath");
+		Path snapshotPath = baseFile.toAbsolutePath();
+		for (Path entry : classpathEntries(classLoader)) {
+			update(digest, entry.toString());
+			if (Files.isDirectory(entry)) {
+				try (Stream<Path> files = Files.walk(entry)) {
+					files.filter(file -> !isSnapshotFile(file, snapshotPath)).sorted()
+							.forEach(file -> updateFileAttributes(digest, file));
+				}
+				catch (IOException ex) {
+					update(digest, ex.toString());
+				}
+			}
+			else {
+				updateFileAttributes(digest, entry);
+			}
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	private static Set<Path> classpathEntries(@Nullable ClassLoader classLoader) {
+		Set<Path> entries = new LinkedHashSet<>();
+		for (ClassLoader cl = classLoader; cl != null; cl = cl.getParent()) {
+			if (cl instanceof URLClassLoader urlClassLoader) {
+				for (URL url : urlClassLoader.getURLs()) {
+					if ("file".equals(url.getProtocol())) {
+						try {
+							entries.add(Paths.get(url.toURI()));
+						}
+						catch (URISyntaxException | IllegalArgumentException ex) {
+							// Not a local file: ignore
+						}
+					}
+				}
+			}
+		}
+		String classpath = System.getProperty("java.class.path");
+		if (classpath != null) {
+			for (String entry : classpath.split(File.pathSeparator)) {
+				if (!entry.isEmpty()) {
+					entries.add(Paths.get(entry));
+				}
+			}
+		}
+		return entries;
+	}
+
+	private static boolean isSnapshotFile(Path file, Path snapshotPath) {
+		Path path = file.toAbsolutePath();
+		return (path.startsWith(snapshotPath.getParent()) && path.getNameCount() == snapshotPath.getNameCount() &&
+				path.getFileName().toString().startsWith(snapshotPath.getFileName().toString()));
+	}
+
+	private static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static void updateBeanDefinitions(MessageDigest digest, BeanDefinitionRegistry registry) {
+		update(digest, "beanDefinitions");
+		for (String beanName : registry.getBeanDefinitionNames()) {
+			update(digest, beanName);
+			update(digest, String.valueOf(registry.getBeanDefinition(beanName).getBeanClassName()));
+		}
+	}
+
+	private static void updateFileAttributes(MessageDigest digest, Path file) {
+		try {
+			BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+			update(digest, file.toString());
+			update(digest, attributes.size() + ":" + attributes.lastModifiedTime().toMillis());
+		}
+		catch (IOException ex) {
+			update(digest, file + ":-");
+		}
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+
+	/**
+	 * Write this snapshot to the given file, replacing any existing snapshot.
+	 * @param file the snapshot file
+	 * @param fingerprint the fingerprint to store along with the snapshot
+	 * @throws IOException in case of I/O errors
+	 * @throws IllegalArgumentException if the snapshot contains a bean definition
+	 * which cannot be captured in a file
+	 */
+	void write(Path file, String fingerprint) throws IOException {
+		Path parent = file.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		Path tempFile = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+				out.writeInt(FORMAT_MAGIC);
+				out.writeInt(FORMAT_VERSION);
+				out.writeUTF(fingerprint);
+				out.writeInt(this.propertySourceDescriptors.size());
+				for (PropertySourceDescriptor descriptor : this.propertySourceDescriptors) {
+					writeStrings(out, descriptor.locations().toArray(new String[0]));
+					out.writeBoolean(descriptor.ignoreResourceNotFound());
+					writeNullableString(out, descriptor.name());
+					Class<?> factoryClass = descriptor.propertySourceFactory();
+					writeNullableString(out, factoryClass != null ? factoryClass.getName() : null);
+					writeNullableString(out, descriptor.encoding());
+				}
+				out.writeInt(this.importingClassNames.size());
+				for (Map.Entry<String, String> entry : this.importingClassNames.entrySet()) {
+					out.writeUTF(entry.getKey());
+					out.writeUTF(entry.getValue());
+				}
+				writeStrings(out, this.removedBeanNames.toArray(new String[0]));
+				out.writeInt(this.beanDefinitions.size());
+				for (Map.Entry<String, BeanDefinition> entry : this.beanDefinitions.entrySet()) {
+					out.writeUTF(entry.getKey());
+					writeBeanDefinition(out, entry.getValue());
+				}
+				out.writeInt(this.aliases.size());
+				for (Map.Entry<String, List<String>> entry : this.aliases.entrySet()) {
+					out.writeUTF(entry.getKey());
+					writeStrings(out, entry.getValue().toArray(new String[0]));
+				}
+				out.writeInt(this.registrarInvocations.size());
+				for (RegistrarInvocation invocation : this.registrarInvocations) {
+					out.writeUTF(invocation.registrarClass().getName());
+					out.writeUTF(invocation.importingClassName());
+				}
+				out.writeInt(this.conditionOutcomes.size());
+				for (Map.Entry<ConditionTarget, Boolean> entry : this.conditionOutcomes.entrySet()) {
+					ConditionTarget target = entry.getKey();
+					out.writeUTF(target.className());
+					writeNullableString(out, target.methodName());
+					writeNullableString(out, target.returnTypeName());
+					out.writeUTF(target.phase().name());
+					out.writeBoolean(entry.getValue());
+				}
+			}
+			Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	/**
+	 * Read a snapshot from the given file, provided that it matches the given fingerprint.
+	 * @param file the snapshot file
+	 * @param fingerprint the current fingerprint
+	 * @param classLoader the class loader to resolve class values against
+	 * @param metadataReaderFactory the factory for lazily reading the metadata
+	 * of annotated bean definitions
+	 * @return the snapshot, or {@code null} if the file does not exist
+	 * or has been written for a different fingerprint
+	 * @throws IOException in case of I/O errors or an invalid file
+	 */
+	@Nullable
+	static ConfigurationClassParseSnapshot read(Path file, String fingerprint, @Nullable ClassLoader classLoader,
+			MetadataReaderFactory metadataReaderFactory) throws IOException {
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != FORMAT_MAGIC || in.readInt() != FORMAT_VERSION ||
+					!in.readUTF().equals(fingerprint)) {
+				return null;
+			}
+			int descriptorCount = in.readInt();
+			List<PropertySourceDescriptor> propertySourceDescriptors = new ArrayList<>(descriptorCount);
+			for (int i = 0; i < descriptorCount; i++) {
+				List<String> locations = Arrays.asList(readStrings(in));
+				boolean ignoreResourceNotFound = in.readBoolean();
+				String name = readNullableString(in);
+				String factoryClassName = readNullableString(in);
+				Class<? extends PropertySourceFactory> factoryClass = (factoryClassName != null ?
+						resolveClass(factoryClassName, classLoader).asSubclass(PropertySourceFactory.class) : null);
+				String encoding = readNullableString(in);
+				propertySourceDescriptors.add(new PropertySourceDescriptor(
+						locations, ignoreResourceNotFound, name, factoryClass, encoding));
+			}
+			int importCount = in.readInt();
+			Map<String, String> importingClassNames = new LinkedHashMap<>(importCount * 2);
+			for (int i = 0; i < importCount; i++) {
+				importingClassNames.put(in.readUTF(), in.readUTF());
+			}
+			Set<String> removedBeanNames = new LinkedHashSet<>(Arrays.asList(readStrings(in)));
+			int beanDefinitionCount = in.readInt();
+			Map<String, BeanDefinition> beanDefinitions = new LinkedHashMap<>(beanDefinitionCount * 2);
+			for (int i = 0; i < beanDefinitionCount; i++) {
+				beanDefinitions.put(in.readUTF(), readBeanDefinition(in, classLoader, metadataReaderFactory));
+			}
+			int aliasCount = in.readInt();
+			Map<String, List<String>> aliases = new LinkedHashMap<>(aliasCount * 2);
+			for (int i = 0; i < aliasCount; i++) {
+				aliases.put(in.readUTF(), Arrays.asList(readStrings(in)));
+			}
+			int registrarCount = in.readInt();
+			List<RegistrarInvocation> registrarInvocations = new ArrayList<>(registrarCount);
+			for (int i = 0; i < registrarCount; i++) {
+				Class<?> registrarClass = resolveClass(in.readUTF(), classLoader);
+				registrarInvocations.add(new RegistrarInvocation(registrarClass, in.readUTF(), Map.of()));
+			}
+			int conditionCount = in.readInt();
+			Map<ConditionTarget, Boolean> conditionOutcomes = new LinkedHashMap<>(conditionCount * 2);
+			for (int i = 0; i < conditionCount; i++) {
+				ConditionTarget target = new ConditionTarget(in.readUTF(), readNullableString(in),
+						readNullableString(in), ConfigurationPhase.valueOf(in.readUTF()));
+				conditionOutcomes.put(target, in.readBoolean());
+			}
+			return new ConfigurationClassParseSnapshot(beanDefinitions, aliases, removedBeanNames,
+					propertySourceDescriptors, importingClassNames, registrarInvocations, conditionOutcomes);
+		}
+		catch (NoSuchFileException ex) {
+			return null;
+		}
+	}
+
+
+	private static void writeBeanDefinition(DataOutputStream out, BeanDefinition beanDefinition) throws IOException {
+		if (!(beanDefinition instanceof AbstractBeanDefinition bd)) {
+			throw new IllegalArgumentException("Unsupported bean definition type: " + beanDefinition.getClass().getName());
+		}
+		if (bd.getInstanceSupplier() != null) {
+			throw new IllegalArgumentException("Bean definition with instance supplier: " + bd);
+		}
+		if (!bd.getMethodOverrides().isEmpty()) {
+			throw new IllegalArgumentException("Bean definition with method overrides: " + bd);
+		}
+
+		if (bd instanceof RootBeanDefinition rbd) {
+			if (rbd.getQualifiedElement() != null) {
+				throw new IllegalArgumentException("Bean definition with qualified element: " + bd);
+			}
+			if (rbd instanceof ConfigurationClassBeanDefinition ccbd) {
+				MethodMetadata factoryMethodMetadata = ccbd.getFactoryMethodMetadata();
+				out.writeByte(BEAN_METHOD_DEFINITION);
+				out.writeUTF(ccbd.getDerivedBeanName());
+				out.writeUTF(ccbd.getMetadata().getClassName());
+				out.writeUTF(factoryMethodMetadata.getDeclaringClassName());
+				out.writeUTF(factoryMethodMetadata.getMethodName());
+				out.writeUTF(factoryMethodMetadata.getReturnTypeName());
+			}
+			else if (rbd instanceof AnnotatedBeanDefinition) {
+				throw new IllegalArgumentException("Unsupported bean definition type: " + bd.getClass().getName());
+			}
+			else {
+				out.writeByte(ROOT_DEFINITION);
+			}
+			boolean hasTargetType = (rbd.getTargetType() != null);
+			out.writeBoolean(hasTargetType);
+			if (hasTargetType) {
+				writeType(out, rbd.getResolvableType());
+			}
+			BeanDefinitionHolder decoratedDefinition = rbd.getDecoratedDefinition();
+			out.writeBoolean(decoratedDefinition != null);
+			if (decoratedDefinition != null) {
+				writeBeanDefinitionHolder(out, decoratedDefinition);
+			}
+		}
+		else if (bd instanceof ScannedGenericBeanDefinition sgbd) {
+			out.writeByte(SCANNED_DEFINITION);
+			out.writeUTF(sgbd.getMetadata().getClassName());
+			writeNullableString(out, bd.getParentName());
+		}
+		else if (bd instanceof AnnotatedGenericBeanDefinition agbd && agbd.getFactoryMethodMetadata() == null) {
+			out.writeByte(ANNOTATED_DEFINITION);
+			out.writeUTF(agbd.getMetadata().getClassName());
+			writeNullableString(out, bd.getParentName());
+		}
+		else if (bd instanceof AnnotatedBeanDefinition) {
+			throw new IllegalArgumentException("Unsupported bean definition type: " + bd.getClass().getName());
+		}
+		else {
+			out.writeByte(GENERIC_DEFINITION);
+			writeNullableString(out, bd.getParentName());
+		}
+
+		writeNullableString(out, bd.getBeanClassName());
+		out.writeUTF(bd.getScope());
+		out.writeBoolean(bd.isAbstract());
+		out.writeBoolean(bd.isBackgroundInit());
+		Boolean lazyInit = bd.getLazyInit();
+		out.writeByte(lazyInit == null ? -1 : (lazyInit ? 1 : 0));
+		out.writeInt(bd.getAutowireMode());
+		out.writeInt(bd.getDependencyCheck());
+		writeNullableStrings(out, bd.getDependsOn());
+		out.writeBoolean(bd.isAutowireCandidate());
+		out.writeBoolean(bd.isDefaultCandidate());
+		out.writeBoolean(bd.isPrimary());
+		out.writeBoolean(bd.isFallback());
+		out.writeBoolean(bd.isNonPublicAccessAllowed());
+		out.writeBoolean(bd.isLenientConstructorResolution());
+		writeNullableString(out, bd.getFactoryBeanName());
+		writeNullableString(out, bd.getFactoryMethodName());
+		writeNullableStrings(out, bd.getInitMethodNames());
+		writeNullableStrings(out, bd.getDestroyMethodNames());
+		out.writeBoolean(bd.isEnforceInitMethod());
+		out.writeBoolean(bd.isEnforceDestroyMethod());
+		out.writeBoolean(bd.isSynthetic());
+		out.writeInt(bd.getRole());
+		writeNullableString(out, bd.getDescription());
+		writeNullableString(out, bd.getResourceDescription());
+
+		ConstructorArgumentValues args = bd.getConstructorArgumentValues();
+		out.writeInt(args.getIndexedArgumentValues().size());
+		for (Map.Entry<Integer, ValueHolder> entry : args.getIndexedArgumentValues().entrySet()) {
+			out.writeInt(entry.getKey());
+			writeValueHolder(out, entry.getValue());
+		}
+		out.writeInt(args.getGenericArgumentValues().size());
+		for (ValueHolder valueHolder : args.getGenericArgumentValues()) {
+			writeValueHolder(out, valueHolder);
+		}
+
+		PropertyValue[] pvs = bd.getPropertyValues().getPropertyValues();
+		out.writeInt(pvs.length);
+		for (PropertyValue pv : pvs) {
+			out.writeUTF(pv.getName());
+			writeValue(out, pv.getValue());
+		}
+
+		writeAttributes(out, bd);
+
+		Set<AutowireCandidateQualifier> qualifiers = bd.getQualifiers();
+		out.writeInt(qualifiers.size());
+		for (AutowireCandidateQualifier qualifier : qualifiers) {
+			out.writeUTF(qualifier.getTypeName());
+			writeAttributes(out, qualifier);
+		}
+	}
+
+	private static BeanDefinition readBeanDefinition(DataInputStream in, @Nullable ClassLoader classLoader,
+			MetadataReaderFactory metadataReaderFactory) throws IOException {
+
+		AbstractBeanDefinition bd;
+		byte kind = in.readByte();
+		if (kind == GENERIC_DEFINITION || kind == SCANNED_DEFINITION || kind == ANNOTATED_DEFINITION) {
+			GenericBeanDefinition gbd;
+			if (kind == SCANNED_DEFINITION) {
+				gbd = new ScannedGenericBeanDefinition(
+						new SnapshotMetadataReader(new SnapshotAnnotationMetadata(in.readUTF(), metadataReaderFactory)));
+			}
+			else if (kind == ANNOTATED_DEFINITION) {
+				gbd = new AnnotatedGenericBeanDefinition(new SnapshotAnnotationMetadata(in.readUTF(), metadataReaderFactory));
+			}
+			else {
+				gbd = new GenericBeanDefinition();
+			}
+			gbd.setParentName(readNullableString(in));
+			bd = gbd;
+		}
+		else if (kind == ROOT_DEFINITION || kind == BEAN_METHOD_DEFINITION) {
+			RootBeanDefinition rbd;
+			if (kind == BEAN_METHOD_DEFINITION) {
+				String derivedBeanName = in.readUTF();
+				SnapshotAnnotationMetadata configClassMetadata =
+						new SnapshotAnnotationMetadata(in.readUTF(), metadataReaderFactory);
+				String declaringClassName = in.readUTF();
+				SnapshotAnnotationMetadata declaringClassMetadata = (declaringClassName.equals(
+						configClassMetadata.getClassName()) ? configClassMetadata :
+						new SnapshotAnnotationMetadata(declaringClassName, metadataReaderFactory));
+				rbd = new ConfigurationClassBeanDefinition(
+						new ConfigurationClass(configClassMetadata, configClassMetadata.getClassName(), false),
+						new SnapshotMethodMetadata(declaringClassMetadata, in.readUTF(), in.readUTF()),
+						derivedBeanName);
+			}
+			else {
+				rbd = new RootBeanDefinition();
+			}
+			if (in.readBoolean()) {
+				rbd.setTargetType(readType(in, classLoader));
+			}
+			if (in.readBoolean()) {
+				rbd.setDecoratedDefinition(readBeanDefinitionHolder(in, classLoader, metadataReaderFactory));
+			}
+			bd = rbd;
+		}
+		else {
+			throw new IOException("Invalid bean definition kind: " + kind);
+		}
+
+		bd.setBeanClassName(readNullableString(in));
+		bd.setScope(in.readUTF());
+		bd.setAbstract(in.readBoolean());
+		bd.setBackgroundInit(in.readBoolean());
+		byte lazyInit = in.readByte();
+		if (lazyInit >= 0) {
+			bd.setLazyInit(lazyInit == 1);
+		}
+		bd.setAutowireMode(in.readInt());
+		bd.setDependencyCheck(in.readInt());
+		bd.setDependsOn(readNullableStrings(in));
+		bd.setAutowireCandidate(in.readBoolean());
+		bd.setDefaultCandidate(in.readBoolean());
+		bd.setPrimary(in.readBoolean());
+		bd.setFallback(in.readBoolean());
+		bd.setNonPublicAccessAllowed(in.readBoolean());
+		bd.setLenientConstructorResolution(in.readBoolean());
+		bd.setFactoryBeanName(readNullableString(in));
+		String factoryMethodName = readNullableString(in);
+		if (factoryMethodName != null && bd instanceof ConfigurationClassBeanDefinition) {
+			((RootBeanDefinition) bd).setUniqueFactoryMethodName(factoryMethodName);
+		}
+		else {
+			bd.setFactoryMethodName(factoryMethodName);
+		}
+		bd.setInitMethodNames(readNullableStrings(in));
+		bd.setDestroyMethodNames(readNullableStrings(in));
+		bd.setEnforceInitMethod(in.readBoolean());
+		bd.setEnforceDestroyMethod(in.readBoolean());
+		bd.setSynthetic(in.readBoolean());
+		bd.setRole(in.readInt());
+		bd.setDescription(readNullableString(in));
+		bd.setResourceDescription(readNullableString(in));
+
+		ConstructorArgumentValues args = bd.getConstructorArgumentValues();
+		int indexedCount = in.readInt();
+		for (int i = 0; i < indexedCount; i++) {
+			args.addIndexedArgumentValue(in.readInt(), readValueHolder(in, classLoader, metadataReaderFactory));
+		}
+		int genericCount = in.readInt();
+		for (int i = 0; i < genericCount; i++) {
+			args.addGenericArgumentValue(readValueHolder(in, classLoader, metadataReaderFactory));
+		}
+
+		MutablePropertyValues pvs = bd.getPropertyValues();
+		int pvCount = in.readInt();
+		for (int i = 0; i < pvCount; i++) {
+			pvs.addPropertyValue(in.readUTF(), readValue(in, classLoader, metadataReaderFactory));
+		}
+
+		readAttributes(in, bd, classLoader, metadataReaderFactory);
+
+		int qualifierCount = in.readInt();
+		for (int i = 0; i < qualifierCount; i++) {
+			AutowireCandidateQualifier qualifier = new AutowireCandidateQualifier(in.readUTF());
+			readAttributes(in, qualifier, classLoader, metadataReaderFactory);
+			bd.addQualifier(qualifier);
+		}
+		return bd;
+	}
+
+	private static void writeAttributes(DataOutputStream out, AttributeAccessor accessor) throws IOException {
+		String[] attributeNames = accessor.attributeNames();
+		out.writeInt(attributeNames.length);
+		for (String attributeName : attributeNames) {
+			out.writeUTF(attributeName);
+			writeValue(out, accessor.getAttribute(attributeName));
+		}
+	}
+
+	private static void readAttributes(DataInputStream in, AttributeAccessor accessor,
+			@Nullable ClassLoader classLoader, MetadataReaderFactory metadataReaderFactory) throws IOException {
+
+		int attributeCount = in.readInt();
+		for (int i = 0; i < attributeCount; i++) {
+			accessor.setAttribute(in.readUTF(), readValue(in, classLoader, metadataReaderFactory));
+		}
+	}
+
+	private static void writeType(DataOutputStream out, ResolvableType type) throws IOException {
+		out.writeBoolean(type.isArray());
+		if (type.isArray()) {
+			writeType(out, type.getComponentType());
+			return;
+		}
+		Class<?> resolved = type.resolve();
+		if (resolved == null || type.getType() instanceof WildcardType) {
+			throw new IllegalArgumentException("Unsupported type: " + type);
+		}
+		out.writeUTF(resolved.getName());
+		// Raw class: no type arguments to capture
+		ResolvableType[] generics = (type.getType() instanceof Class ? new ResolvableType[0] : type.getGenerics());
+		out.writeInt(generics.length);
+		for (ResolvableType generic : generics) {
+			writeType(out, generic);
+		}
+	}
+
+	private static ResolvableType readType(DataInputStream in, @Nullable ClassLoader classLoader) throws IOException {
+		if (in.readBoolean()) {
+			return ResolvableType.forArrayComponent(readType(in, classLoader));
+		}
+		Class<?> clazz = resolveClass(in.readUTF(), classLoader);
+		ResolvableType[] generics = new ResolvableType[in.readInt()];
+		for (int i = 0; i < generics.length; i++) {
+			generics[i] = readType(in, classLoader);
+		}
+		return (generics.length > 0 ? ResolvableType.forClassWithGenerics(clazz, generics) :
+				ResolvableType.forClass(clazz));
+	}
+
+	private static void writeBeanDefinitionHolder(DataOutputStream out, BeanDefinitionHolder holder)
+			throws IOException {
+
+		out.writeUTF(holder.getBeanName());
+		writeNullableStrings(out, holder.getAliases());
+		writeBeanDefinition(out, holder.getBeanDefinition());
+	}
+
+	private static BeanDefinitionHolder readBeanDefinitionHolder(DataInputStream in, @Nullable ClassLoader classLoader,
+			MetadataReaderFactory metadataReaderFactory) throws IOException {
+
+		String beanName = in.readUTF();
+		String[] aliases = readNullableStrings(in);
+		return new BeanDefinitionHolder(readBeanDefinition(in, classLoader, metadataReaderFactory), beanName, aliases);
+	}
+
+	private static void writeValueHolder(DataOutputStream out, ValueHolder valueHolder) throws IOException {
+		writeValue(out, valueHolder.getValue());
+		writeNullableString(out, valueHolder.getType());
+		writeNullableString(out, valueHolder.getName());
+	}
+
+	private static ValueHolder readValueHolder(DataInputStream in, @Nullable ClassLoader classLoader,
+			MetadataReaderFactory metadataReaderFactory) throws IOException {
+
+		Object value = readValue(in, classLoader, metadataReaderFactory);
+		return new ValueHolder(value, readNullableString(in), readNullableString(in));
+	}
+
+	private static void writeValue(DataOutputStream out, @Nullable Object value) throws IOException {
+		if (value == null) {
+			out.writeByte(NULL_VALUE);
+		}
+		else if (value instanceof String str) {
+			out.writeByte(STRING_VALUE);
+			out.writeUTF(str);
+		}
+		else if (value instanceof Boolean bool) {
+			out.writeByte(BOOLEAN_VALUE);
+			out.writeBoolean(bool);
+		}
+		else if (value instanceof Integer integer) {
+			out.writeByte(INTEGER_VALUE);
+			out.writeInt(integer);
+		}
+		else if (value instanceof Long number) {
+			out.writeByte(LONG_VALUE);
+			out.writeLong(number);
+		}
+		else if (value instanceof Class<?> clazz) {
+			out.writeByte(CLASS_VALUE);
+			out.writeUTF(clazz.getName());
+		}
+		else if (value instanceof String[] strings) {
+			out.writeByte(STRING_ARRAY_VALUE);
+			writeStrings(out, strings);
+		}
+		else if (value instanceof TypedStringValue typedStringValue && !typedStringValue.isDynamic()) {
+			out.writeByte(TYPED_STRING_VALUE);
+			writeNullableString(out, typedStringValue.getValue());
+			writeNullableString(out, typedStringValue.getTargetTypeName());
+		}
+		else if (value instanceof RuntimeBeanReference reference) {
+			out.writeByte(BEAN_REFERENCE_VALUE);
+			Class<?> beanType = reference.getBeanType();
+			writeNullableString(out, beanType != null ? beanType.getName() : null);
+			out.writeUTF(reference.getBeanName());
+			out.writeBoolean(reference.isToParent());
+		}
+		else if (value instanceof RuntimeBeanNameReference reference) {
+			out.writeByte(BEAN_NAME_REFERENCE_VALUE);
+			out.writeUTF(reference.getBeanName());
+		}
+		else if (value instanceof BeanDefinitionHolder holder) {
+			out.writeByte(BEAN_DEFINITION_HOLDER_VALUE);
+			writeBeanDefinitionHolder(out, holder);
+		}
+		else if (value instanceof BeanDefinition beanDefinition) {
+			out.writeByte(BEAN_DEFINITION_VALUE);
+			writeBeanDefinition(out, beanDefinition);
+		}
+		else if (value instanceof ManagedList<?> list) {
+			out.writeByte(MANAGED_LIST_VALUE);
+			writeNullableString(out, list.getElementTypeName());
+			out.writeBoolean(list.isMergeEnabled());
+			out.writeInt(list.size());
+			for (Object element : list) {
+				writeValue(out, element);
+			}
+		}
+		else if (value instanceof ManagedSet<?> set) {
+			out.writeByte(MANAGED_SET_VALUE);
+			writeNullableString(out, set.getElementTypeName());
+			out.writeBoolean(set.isMergeEnabled());
+			out.writeInt(set.size());
+			for (Object element : set) {
+				writeValue(out, element);
+			}
+		}
+		else if (value instanceof ManagedMap<?, ?> map) {
+			out.writeByte(MANAGED_MAP_VALUE);
+			writeNullableString(out, map.getKeyTypeName());
+			writeNullableString(out, map.getValueTypeName());
+			out.writeBoolean(map.isMergeEnabled());
+			out.writeInt(map.size());
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				writeValue(out, entry.getKey());
+				writeValue(out, entry.getValue());
+			}
+		}
+		else {
+			throw new IllegalArgumentException("Unsupported value type: " + value.getClass().getName());
+		}
+	}
+
+	@Nullable
+	private static Object readValue(DataInputStream in, @Nullable ClassLoader classLoader,
+			MetadataReaderFactory metadataReaderFactory) throws IOException {
+		byte type = in.readByte();
+		switch (type) {
+			case NULL_VALUE:
+				return null;
+			case STRING_VALUE:
+				return in.readUTF();
+			case BOOLEAN_VALUE:
+				return in.readBoolean();
+			case INTEGER_VALUE:
+				return in.readInt();
+			case LONG_VALUE:
+				return in.readLong();
+			case CLASS_VALUE:
+				return resolveClass(in.readUTF(), classLoader);
+			case STRING_ARRAY_VALUE:
+				return readStrings(in);
+			case TYPED_STRING_VALUE: {
+				String value = readNullableString(in);
+				String targetTypeName = readNullableString(in);
+				TypedStringValue typedStringValue = new TypedStringValue(value);
+				typedStringValue.setTargetTypeName(targetTypeName);
+				return typedStringValue;
+			}
+			case BEAN_REFERENCE_VALUE: {
+				String beanTypeName = readNullableString(in);
+				String beanName = in.readUTF();
+				boolean toParent = in.readBoolean();
+				return (beanTypeName != null ?
+						new RuntimeBeanReference(resolveClass(beanTypeName, classLoader), toParent) :
+						new RuntimeBeanReference(beanName, toParent));
+			}
+			case BEAN_NAME_REFERENCE_VALUE:
+				return new RuntimeBeanNameReference(in.readUTF());
+			case BEAN_DEFINITION_HOLDER_VALUE:
+				return readBeanDefinitionHolder(in, classLoader, metadataReaderFactory);
+			case BEAN_DEFINITION_VALUE:
+				return readBeanDefinition(in, classLoader, metadataReaderFactory);
+			case MANAGED_LIST_VALUE: {
+				ManagedList<Object> list = new ManagedList<>();
+				list.setElementTypeName(readNullableString(in));
+				list.setMergeEnabled(in.readBoolean());
+				int size = in.readInt();
+				for (int i = 0; i < size; i++) {
+					list.add(readValue(in, classLoader, metadataReaderFactory));
+				}
+				return list;
+			}
+			case MANAGED_SET_VALUE: {
+				ManagedSet<Object> set = new ManagedSet<>();
+				set.setElementTypeName(readNullableString(in));
+				set.setMergeEnabled(in.readBoolean());
+				int size = in.readInt();
+				for (int i = 0; i < size; i++) {
+					set.add(readValue(in, classLoader, metadataReaderFactory));
+				}
+				return set;
+			}
+			case MANAGED_MAP_VALUE: {
+				ManagedMap<Object, Object> map = new ManagedMap<>();
+				map.setKeyTypeName(readNullableString(in));
+				map.setValueTypeName(readNullableString(in));
+				map.setMergeEnabled(in.readBoolean());
+				int size = in.readInt();
+				for (int i = 0; i < size; i++) {
+					map.put(readValue(in, classLoader, metadataReaderFactory), readValue(in, classLoader, metadataReaderFactory));
+				}
+				return map;
+			}
+			default:
+				throw new IOException("Invalid value type: " + type);
+		}
+	}
+
+	private static Class<?> resolveClass(String className, @Nullable ClassLoader classLoader) throws IOException {
+		try {
+			return ClassUtils.forName(className, classLoader);
+		}
+		catch (ClassNotFoundException | LinkageError ex) {
+			throw new IOException("Cannot resolve class [" + className + "] from snapshot", ex);
+		}
+	}
+
+	private static void writeNullableString(DataOutputStream out, @Nullable String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+	@Nullable
+	private static String readNullableString(DataInputStream in) throws IOException {
+		return (in.readBoolean() ? in.readUTF() : null);
+	}
+
+	private static void writeStrings(DataOutputStream out, String[] values) throws IOException {
+		out.writeInt(values.length);
+		for (String value : values) {
+			out.writeUTF(value);
+		}
+	}
+
+	private static String[] readStrings(DataInputStream in) throws IOException {
+		String[] values = new String[in.readInt()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = in.readUTF();
+		}
+		return values;
+	}
+
+	private static void writeNullableStrings(DataOutputStream out, @Nullable String[] values) throws IOException {
+		out.writeBoolean(values != null);
+		if (values != null) {
+			writeStrings(out, values);
+		}
+	}
+
+	@Nullable
+	private static String[] readNullableStrings(DataInputStream in) throws IOException {
+		return (in.readBoolean() ? readStrings(in) : null);
+	}
+
+
+	/**
+	 * The class or method that a condition outcome has been captured for.
+	 */
+	private record ConditionTarget(String className, @Nullable String methodName, @Nullable String returnTypeName,
+			ConfigurationPhase phase) {
+
+		static ConditionTarget of(AnnotatedTypeMetadata metadata, ConfigurationPhase phase) {
+			if (metadata instanceof AnnotationMetadata classMetadata) {
+				return new ConditionTarget(classMetadata.getClassName(), null, null, phase);
+			}
+			if (metadata instanceof MethodMetadata methodMetadata) {
+				return new ConditionTarget(methodMetadata.getDeclaringClassName(), methodMetadata.getMethodName(),
+						methodMetadata.getReturnTypeName(), phase);
+			}
+			throw new IllegalArgumentException("Unsupported metadata for condition: " + metadata);
+		}
+	}
+
+
+	/**
+	 * {@link AnnotationMetadata} for a class captured in a snapshot, lazily reading
+	 * the actual metadata when requested for anything other than the class name.
+	 */
+	private static class SnapshotAnnotationMetadata implements AnnotationMetadata {
+
+		private final String className;
+
+		private final MetadataReaderFactory metadataReaderFactory;
+
+		@Nullable
+		private volatile AnnotationMetadata metadata;
+
+		SnapshotAnnotationMetadata(String className, MetadataReaderFactory metadataReaderFactory) {
+			this.className = className;
+			this.metadataReaderFactory = metadataReaderFactory;
+		}
+
+		AnnotationMetadata getMetadata() {
+			AnnotationMetadata metadata = this.metadata;
+			if (metadata == null) {
+				try {
+					metadata = this.metadataReaderFactory.getMetadataReader(this.className).getAnnotationMetadata();
+				}
+				catch (IOException ex) {
+					throw new IllegalStateException("Failed to read metadata for class " + this.className, ex);
+				}
+				this.metadata = metadata;
+			}
+			return metadata;
+		}
+
+		@Override
+		public String getClassName() {
+			return this.className;
+		}
+
+		@Override
+		public boolean isInterface() {
+			return getMetadata().isInterface();
+		}
+
+		@Override
+		public boolean isAnnotation() {
+			return getMetadata().isAnnotation();
+		}
+
+		@Override
+		public boolean isAbstract() {
+			return getMetadata().isAbstract();
+		}
+
+		@Override
+		public boolean isFinal() {
+			return getMetadata().isFinal();
+		}
+
+		@Override
+		public boolean isIndependent() {
+			return getMetadata().isIndependent();
+		}
+
+		@Override
+		@Nullable
+		public String getEnclosingClassName() {
+			return getMetadata().getEnclosingClassName();
+		}
+
+		@Override
+		@Nullable
+		public String getSuperClassName() {
+			return getMetadata().getSuperClassName();
+		}
+
+		@Override
+		public String[] getInterfaceNames() {
+			return getMetadata().getInterfaceNames();
+		}
+
+		@Override
+		public String[] getMemberClassNames() {
+			return getMetadata().getMemberClassNames();
+		}
+
+		@Override
+		public MergedAnnotations getAnnotations() {
+			return getMetadata().getAnnotations();
+		}
+
+		@Override
+		public Set<MethodMetadata> getAnnotatedMethods(String annotationName) {
+			return getMetadata().getAnnotatedMethods(annotationName);
+		}
+
+		@Override
+		public Set<MethodMetadata> getDeclaredMethods() {
+			return getMetadata().getDeclaredMethods();
+		}
+
+		@Override
+		public String toString() {
+			return this.className;
+		}
+	}
+
+
+	/**
+	 * {@link MethodMetadata} for a {@link Bean @Bean} method captured in a snapshot,
+	 * lazily resolved against the metadata of the declaring class when requested for
+	 * anything other than the method name and return type.
+	 */
+	private static class SnapshotMethodMetadata implements MethodMetadata {
+
+		private final SnapshotAnnotationMetadata declaringClassMetadata;
+
+		private final String methodName;
+
+		private final String returnTypeName;
+
+		@Nullable
+		private volatile MethodMetadata metadata;
+
+		SnapshotMethodMetadata(SnapshotAnnotationMetadata declaringClassMetadata, String methodName,
+				String returnTypeName) {
+
+			this.declaringClassMetadata = declaringClassMetadata;
+			this.methodName = methodName;
+			this.returnTypeName = returnTypeName;
+		}
+
+		MethodMetadata getMetadata() {
+			MethodMetadata metadata = this.metadata;
+			if (metadata == null) {
+				for (MethodMetadata candidate : this.declaringClassMetadata.getDeclaredMethods()) {
+					if (candidate.getMethodName().equals(this.methodName) &&
+							candidate.getReturnTypeName().equals(this.returnTypeName)) {
+						metadata = candidate;
+						break;
+					}
+				}
+				if (metadata == null) {
+					throw new IllegalStateException("No method " + this.methodName + " with return type " +
+							this.returnTypeName + " found in class " + this.declaringClassMetadata.getClassName());
+				}
+				this.metadata = metadata;
+			}
+			return metadata;
+		}
+
+		@Override
+		public String getMethodName() {
+			return this.methodName;
+		}
+
+		@Override
+		public String getDeclaringClassName() {
+			return this.declaringClassMetadata.getClassName();
+		}
+
+		@Override
+		public String getReturnTypeName() {
+			return this.returnTypeName;
+		}
+
+		@Override
+		public boolean isAbstract() {
+			return getMetadata().isAbstract();
+		}
+
+		@Override
+		public boolean isStatic() {
+			return getMetadata().isStatic();
+		}
+
+		@Override
+		public boolean isFinal() {
+			return getMetadata().isFinal();
+		}
+
+		@Override
+		public boolean isOverridable() {
+			return getMetadata().isOverridable();
+		}
+
+		@Override
+		public MergedAnnotations getAnnotations() {
+			return getMetadata().getAnnotations();
+		}
+
+		@Override
+		public String toString() {
+			return getDeclaringClassName() + "." + this.methodName;
+		}
+	}
+
+
+	/**
+	 * {@link MetadataReader} for restoring a {@link ScannedGenericBeanDefinition}
+	 * from a snapshot, exposing lazily read metadata.
+	 */
+	private static class SnapshotMetadataReader implements MetadataReader {
+
+		private final SnapshotAnnotationMetadata metadata;
+
+		SnapshotMetadataReader(SnapshotAnnotationMetadata metadata) {
+			this.metadata = metadata;
+		}
+
+		@Override
+		public Resource getResource() {
+			return new DescriptiveResource(this.metadata.getClassName());
+		}
+
+		@Override
+		public ClassMetadata getClassMetadata() {
+			return this.metadata;
+		}
+
+		@Override
+		public AnnotationMetadata getAnnotationMetadata() {
+			return this.metadata;
+		}
+	}
+
+
+	/**
+	 * {@link ImportRegistry} for the import relationships captured in a snapshot.
+	 */
+	private static class SnapshotImportRegistry implements ImportRegistry {
+
+		private final Map<String, String> importingClassNames;
+
+		private final MetadataReaderFactory metadataReaderFactory;
+
+		SnapshotImportRegistry(Map<String, String> importingClassNames, MetadataReaderFactory metadataReaderFactory) {
+			this.importingClassNames = new LinkedHashMap<>(importingClassNames);
+			this.metadataReaderFactory = metadataReaderFactory;
+		}
+
+		@Override
+		@Nullable
+		public AnnotationMetadata getImportingClassFor(String importedClass) {
+			String importingClassName = this.importingClassNames.get(importedClass);
+			if (importingClassName == null) {
+				return null;
+			}
+			try {
+				return this.metadataReaderFactory.getMetadataReader(importingClassName).getAnnotationMetadata();
+			}
+			catch (IOException ex) {
+				throw new IllegalStateException("Failed to read metadata for importing class " + importingClassName, ex);
+			}
+		}
+
+		@Override
+		public void removeImportingClass(String importingClass) {
+			this.importingClassNames.values().removeIf(importingClass::equals);
+		}
+	}
+
+
+}
@@ -228,6 +228,15 @@ class ConfigurationClassParser {
 		return this.importStack;
 	}
 
+	/**
+	 * Return the name of the importing class for each imported class,
+	 * as exposed through the {@link #getImportRegistry() ImportRegistry}.
+	 * @since 6.2
+	 */
+	Map<String, String> getImportingClassNames() {
+		return this.importStack.getImportingClassNames();
+	}
+
 
 	protected void processConfigurationClass(ConfigurationClass configClass, Predicate<String> filter) {
 		if (this.conditionEvaluator.shouldSkip(configClass.getMetadata(), ConfigurationPhase.PARSE_CONFIGURATION)) {
@@ -727,6 +736,17 @@ class ConfigurationClassParser {
 			return CollectionUtils.lastElement(this.imports.get(importedClass));
 		}
 
+		Map<String, String> getImportingClassNames() {
+			Map<String, String> importingClassNames = new LinkedHashMap<>();
+			this.imports.forEach((importedClass, importingClasses) -> {
+				AnnotationMetadata importingClass = CollectionUtils.lastElement(importingClasses);
+				if (importingClass != null) {
+					importingClassNames.put(importedClass, importingClass.getClassName());
+				}
+			});
+			return importingClassNames;
+		}
+
 		@Override
 		public void removeImportingClass(String importingClass) {
 			for (List<AnnotationMetadata> list : this.imports.values()) {
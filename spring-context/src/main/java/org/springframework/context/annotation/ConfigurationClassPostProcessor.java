@@ -20,7 +20,10 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Executable;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -80,9 +83,12 @@ import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.context.ApplicationStartupAware;
 import org.springframework.context.EnvironmentAware;
 import org.springframework.context.ResourceLoaderAware;
+import org.springframework.context.annotation.ConditionEvaluator.ConditionOutcome;
+import org.springframework.context.annotation.ConfigurationClassBeanDefinitionReader.RegistrarInvocation;
 import org.springframework.context.annotation.ConfigurationClassEnhancer.EnhancedConfiguration;
 import org.springframework.core.Ordered;
 import org.springframework.core.PriorityOrdered;
+import org.springframework.core.SpringProperties;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.StandardEnvironment;
@@ -107,6 +113,7 @@ import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
 
 /**
  * {@link BeanFactoryPostProcessor} used for bootstrapping processing of
@@ -143,6 +150,15 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 	public static final AnnotationBeanNameGenerator IMPORT_BEAN_NAME_GENERATOR =
 			FullyQualifiedAnnotationBeanNameGenerator.INSTANCE;
 
+	/**
+	 * System property that specifies a file for a snapshot of the outcome of
+	 * configuration class processing, as if {@link #setConfigSnapshotFile} had
+	 * been called with that file on every {@code ConfigurationClassPostProcessor}.
+	 * @since 6.2
+	 * @see #setConfigSnapshotFile
+	 */
+	public static final String CONFIG_SNAPSHOT_PROPERTY_NAME = "spring.context.config-snapshot";
+
 	private static final String IMPORT_REGISTRY_BEAN_NAME =
 			ConfigurationClassPostProcessor.class.getName() + ".importRegistry";
 
@@ -185,6 +201,9 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 	@Nullable
 	private List<PropertySourceDescriptor> propertySourceDescriptors;
 
+	@Nullable
+	private Path configSnapshotFile = getDefaultConfigSnapshotFile();
+
 
 	@Override
 	public int getOrder() {
@@ -243,6 +262,38 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 		this.importBeanNameGenerator = beanNameGenerator;
 	}
 
+	/**
+	 * Specify a file for storing a snapshot of the outcome of configuration class
+	 * processing, to be replayed on the next start instead of parsing the
+	 * configuration classes again.
+	 * <p>The snapshot is only replayed if the classpath (in terms of the files
+	 * and directories on it, including their timestamps), the active and default
+	 * profiles and the initially registered bean definitions are unchanged.
+	 * Otherwise, configuration classes are parsed as usual and a new snapshot
+	 * gets written. The given file serves as a base name: The snapshot for each
+	 * set of initially registered bean definitions is stored in a separate file
+	 * next to it, with a suffix derived from those bean definitions, so that
+	 * several application contexts may share the same setting.
+	 * <p>Import registrars are invoked again on replay, with the bean definitions
+	 * from the rest of the snapshot already registered. Other bean definitions
+	 * which cannot be captured in a file, e.g. with an instance supplier outside
+	 * of an import registrar, prevent a snapshot from being taken at all.
+	 * <p>All {@link Conditional @Conditional} annotations encountered during parsing
+	 * are evaluated again before replaying a snapshot. If any of them leads to a
+	 * different outcome, e.g. for a condition on an environment property, the
+	 * snapshot is discarded and the configuration classes are parsed again.
+	 * Note that conditions which depend on bean definitions registered during
+	 * configuration class processing will usually differ in such an evaluation,
+	 * effectively disabling the snapshot.
+	 * <p>Default is none, unless specified through the
+	 * {@value #CONFIG_SNAPSHOT_PROPERTY_NAME} property.
+	 * @since 6.2
+	 * @see #CONFIG_SNAPSHOT_PROPERTY_NAME
+	 */
+	public void setConfigSnapshotFile(@Nullable Path configSnapshotFile) {
+		this.configSnapshotFile = configSnapshotFile;
+	}
+
 	@Override
 	public void setEnvironment(Environment environment) {
 		Assert.notNull(environment, "Environment must not be null");
@@ -356,6 +407,12 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 		}
 	}
 
+	@Nullable
+	private static Path getDefaultConfigSnapshotFile() {
+		String location = SpringProperties.getProperty(CONFIG_SNAPSHOT_PROPERTY_NAME);
+		return (StringUtils.hasText(location) ? Path.of(location.trim()) : null);
+	}
+
 	/**
 	 * Build and validate a configuration model based on the registry of
 	 * {@link Configuration} classes.
@@ -406,6 +463,98 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 			this.environment = new StandardEnvironment();
 		}
 
+		Path snapshotFile = null;
+		String snapshotFingerprint = null;
+		ConfigurationClassParseSnapshot snapshot = null;
+		if (this.configSnapshotFile != null) {
+			snapshotFile = ConfigurationClassParseSnapshot.resolveFile(this.configSnapshotFile, registry);
+			snapshotFingerprint = ConfigurationClassParseSnapshot.fingerprint(
+					registry, this.environment, this.beanClassLoader, this.configSnapshotFile);
+			snapshot = readConfigSnapshot(snapshotFile, snapshotFingerprint, registry);
+		}
+
+		ImportRegistry importRegistry;
+		if (snapshot != null) {
+			// Replay the outcome of a previous run instead of parsing again
+			StartupStep replayConfig = this.applicationStartup.start("spring.context.config-classes.replay");
+			try {
+				snapshot.replay(registry, this.environment, this.resourceLoader,
+						this.metadataReaderFactory, this.importBeanNameGenerator);
+			}
+			catch (IOException ex) {
+				throw new BeanDefinitionStoreException(
+						"Failed to replay configuration snapshot from " + snapshotFile, ex);
+			}
+			int beanDefinitionCount = snapshot.getBeanDefinitionCount();
+			replayConfig.tag("beanDefinitionCount", () -> String.valueOf(beanDefinitionCount)).end();
+			importRegistry = snapshot.getImportRegistry(this.metadataReaderFactory);
+			this.propertySourceDescriptors = snapshot.getPropertySourceDescriptors();
+		}
+		else {
+			Map<String, BeanDefinition> initialBeanDefinitions = new LinkedHashMap<>();
+			Map<String, Set<String>> initialAliases = new HashMap<>();
+			Set<String> initialSingletonNames = new HashSet<>();
+			if (snapshotFile != null) {
+				for (String beanName : candidateNames) {
+					initialBeanDefinitions.put(beanName, registry.getBeanDefinition(beanName));
+					initialAliases.put(beanName, Set.of(registry.getAliases(beanName)));
+				}
+				if (singletonRegistry != null) {
+					initialSingletonNames.addAll(Arrays.asList(singletonRegistry.getSingletonNames()));
+				}
+			}
+
+			ConfigurationClassParser parser;
+			List<ConditionOutcome> conditionOutcomes = new ArrayList<>();
+			if (snapshotFile != null) {
+				parser = ConditionEvaluator.recordOutcomes(conditionOutcomes, () -> parseConfigurationClasses(
+						registry, configCandidates, candidateNames, true));
+			}
+			else {
+				parser = parseConfigurationClasses(registry, configCandidates, candidateNames, false);
+			}
+			importRegistry = parser.getImportRegistry();
+			// Store the PropertySourceDescriptors to contribute them Ahead-of-time if necessary
+			this.propertySourceDescriptors = parser.getPropertySourceDescriptors();
+
+			if (snapshotFile != null && snapshotFingerprint != null) {
+				if (singletonRegistry != null &&
+						!initialSingletonNames.containsAll(Arrays.asList(singletonRegistry.getSingletonNames()))) {
+					discardConfigSnapshot(snapshotFile, "singletons registered during configuration class processing");
+				}
+				else {
+					List<RegistrarInvocation> registrarInvocations =
+							(this.reader != null ? this.reader.getRegistrarInvocations() : List.of());
+					writeConfigSnapshot(snapshotFile, snapshotFingerprint, () -> ConfigurationClassParseSnapshot.capture(
+							registry, initialBeanDefinitions, initialAliases, parser, registrarInvocations,
+							conditionOutcomes));
+				}
+			}
+		}
+
+		// Register the ImportRegistry as a bean in order to support ImportAware @Configuration classes
+		if (singletonRegistry != null && !singletonRegistry.containsSingleton(IMPORT_REGISTRY_BEAN_NAME)) {
+			singletonRegistry.registerSingleton(IMPORT_REGISTRY_BEAN_NAME, importRegistry);
+		}
+
+		if (this.metadataReaderFactory instanceof CachingMetadataReaderFactory cachingMetadataReaderFactory) {
+			// Clear cache in externally provided MetadataReaderFactory; this is a no-op
+			// for a shared cache since it'll be cleared by the ApplicationContext.
+			cachingMetadataReaderFactory.clearCache();
+		}
+	}
+
+	/**
+	 * Parse the given configuration candidates along with any configuration
+	 * classes that they import or register, loading their bean definitions.
+	 * @param recordRegistrarInvocations whether to record the bean definitions
+	 * registered by each import registrar, for capturing a snapshot
+	 */
+	private ConfigurationClassParser parseConfigurationClasses(BeanDefinitionRegistry registry,
+			List<BeanDefinitionHolder> configCandidates, String[] candidateNames, boolean recordRegistrarInvocations) {
+
+		Assert.state(this.environment != null, "No Environment available");
+
 		// Parse each @Configuration class
 		ConfigurationClassParser parser = new ConfigurationClassParser(
 				this.metadataReaderFactory, this.problemReporter, this.environment,
@@ -426,6 +575,9 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 				this.reader = new ConfigurationClassBeanDefinitionReader(
 						registry, this.sourceExtractor, this.resourceLoader, this.environment,
 						this.importBeanNameGenerator, parser.getImportRegistry());
+				if (recordRegistrarInvocations) {
+					this.reader.recordRegistrarInvocations();
+				}
 			}
 			this.reader.loadBeanDefinitions(configClasses);
 			alreadyParsed.addAll(configClasses);
@@ -453,18 +605,66 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 		}
 		while (!candidates.isEmpty());
 
-		// Register the ImportRegistry as a bean in order to support ImportAware @Configuration classes
-		if (singletonRegistry != null && !singletonRegistry.containsSingleton(IMPORT_REGISTRY_BEAN_NAME)) {
-			singletonRegistry.registerSingleton(IMPORT_REGISTRY_BEAN_NAME, parser.getImportRegistry());
+		return parser;
+	}
+
+	@Nullable
+	private ConfigurationClassParseSnapshot readConfigSnapshot(
+			Path snapshotFile, String fingerprint, BeanDefinitionRegistry registry) {
+
+		Assert.state(this.environment != null, "No Environment available");
+		try {
+			ConfigurationClassParseSnapshot snapshot = ConfigurationClassParseSnapshot.read(
+					snapshotFile, fingerprint, this.beanClassLoader, this.metadataReaderFactory);
+			if (snapshot != null && !snapshot.conditionsMatch(
+					registry, this.environment, this.resourceLoader, this.metadataReaderFactory)) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Condition outcomes changed since configuration snapshot at " + snapshotFile);
+				}
+				return null;
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug(snapshot != null ? "Replaying configuration snapshot from " + snapshotFile :
+						"No up-to-date configuration snapshot found at " + snapshotFile);
+			}
+			return snapshot;
 		}
+		catch (IOException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Failed to read configuration snapshot from " + snapshotFile, ex);
+			}
+			return null;
+		}
+	}
 
-		// Store the PropertySourceDescriptors to contribute them Ahead-of-time if necessary
-		this.propertySourceDescriptors = parser.getPropertySourceDescriptors();
+	private void writeConfigSnapshot(Path snapshotFile, String fingerprint,
+			Supplier<ConfigurationClassParseSnapshot> snapshotSupplier) {
 
-		if (this.metadataReaderFactory instanceof CachingMetadataReaderFactory cachingMetadataReaderFactory) {
-			// Clear cache in externally provided MetadataReaderFactory; this is a no-op
-			// for a shared cache since it'll be cleared by the ApplicationContext.
-			cachingMetadataReaderFactory.clearCache();
+		try {
+			snapshotSupplier.get().write(snapshotFile, fingerprint);
+			if (logger.isDebugEnabled()) {
+				logger.debug("Written configuration snapshot to " + snapshotFile);
+			}
+		}
+		catch (IllegalArgumentException ex) {
+			discardConfigSnapshot(snapshotFile, ex.getMessage());
+		}
+		catch (IOException ex) {
+			if (logger.isInfoEnabled()) {
+				logger.info("Failed to write configuration snapshot to " + snapshotFile + ": " + ex);
+			}
+		}
+	}
+
+	private void discardConfigSnapshot(Path snapshotFile, @Nullable String reason) {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Not taking configuration snapshot: " + reason);
+		}
+		try {
+			Files.deleteIfExists(snapshotFile);
+		}
+		catch (IOException ex) {
+			// ignore - an outdated snapshot won't match anyway
 		}
 	}
 
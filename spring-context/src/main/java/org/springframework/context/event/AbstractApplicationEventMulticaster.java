@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -70,6 +70,10 @@ public abstract class AbstractApplicationEventMulticaster
 
 	final Map<ListenerCacheKey, CachedListenerRetriever> retrieverCache = new ConcurrentHashMap<>(64);
 
+	/** Dispatch table by event type and source type, or {@code null} if not frozen. */
+	@Nullable
+	private volatile Map<ResolvableType, Map<Class<?>, List<ApplicationListener<?>>>> dispatchTable;
+
 	@Nullable
 	private ClassLoader beanClassLoader;
 
@@ -112,7 +116,7 @@ public abstract class AbstractApplicationEventMulticaster
 				this.defaultRetriever.applicationListeners.remove(singletonTarget);
 			}
 			this.defaultRetriever.applicationListeners.add(listener);
-			this.retrieverCache.clear();
+			clearListenerCaches();
 		}
 	}
 
@@ -120,7 +124,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void addApplicationListenerBean(String listenerBeanName) {
 		synchronized (this.defaultRetriever) {
 			this.defaultRetriever.applicationListenerBeans.add(listenerBeanName);
-			this.retrieverCache.clear();
+			clearListenerCaches();
 		}
 	}
 
@@ -128,7 +132,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void removeApplicationListener(ApplicationListener<?> listener) {
 		synchronized (this.defaultRetriever) {
 			this.defaultRetriever.applicationListeners.remove(listener);
-			this.retrieverCache.clear();
+			clearListenerCaches();
 		}
 	}
 
@@ -136,7 +140,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void removeApplicationListenerBean(String listenerBeanName) {
 		synchronized (this.defaultRetriever) {
 			this.defaultRetriever.applicationListenerBeans.remove(listenerBeanName);
-			this.retrieverCache.clear();
+			clearListenerCaches();
 		}
 	}
 
@@ -144,7 +148,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void removeApplicationListeners(Predicate<ApplicationListener<?>> predicate) {
 		synchronized (this.defaultRetriever) {
 			this.defaultRetriever.applicationListeners.removeIf(predicate);
-			this.retrieverCache.clear();
+			clearListenerCaches();
 		}
 	}
 
@@ -152,7 +156,7 @@ public abstract class AbstractApplicationEventMulticaster
 	public void removeApplicationListenerBeans(Predicate<String> predicate) {
 		synchronized (this.defaultRetriever) {
 			this.defaultRetriever.applicationListenerBeans.removeIf(predicate);
-			this.retrieverCache.clear();
+			clearListenerCaches();
 		}
 	}
 
@@ -161,7 +165,50 @@ public abstract class AbstractApplicationEventMulticaster
 		synchronized (this.defaultRetriever) {
 			this.defaultRetriever.applicationListeners.clear();
 			this.defaultRetriever.applicationListenerBeans.clear();
-			this.retrieverCache.clear();
+			clearListenerCaches();
+		}
+	}
+
+
+	/**
+	 * Freeze the dispatch of events to the currently registered listeners,
+	 * e.g. once the containing application context has been refreshed.
+	 * <p>From then on, the listeners for each combination of event type and
+	 * source type get resolved once and kept in an immutable dispatch table,
+	 * avoiding retriever lookups and listener list copies for every event.
+	 * This only applies to singleton listeners; non-singleton listener beans
+	 * still get resolved for every event.
+	 * <p>Listeners may still be added or removed after freezing, with any such
+	 * change resetting the dispatch table.
+	 * @since 6.2
+	 * @see #isDispatchFrozen()
+	 */
+	public void freezeDispatch() {
+		synchronized (this.defaultRetriever) {
+			if (this.dispatchTable == null) {
+				this.dispatchTable = new ConcurrentHashMap<>(64);
+			}
+		}
+	}
+
+	/**
+	 * Return whether the dispatch of events has been frozen.
+	 * @since 6.2
+	 * @see #freezeDispatch()
+	 */
+	public boolean isDispatchFrozen() {
+		return (this.dispatchTable != null);
+	}
+
+	/**
+	 * Clear the cached listener retrievers and the dispatch table, if any,
+	 * after a change of listener registrations.
+	 */
+	private void clearListenerCaches() {
+		this.retrieverCache.clear();
+		if (this.dispatchTable != null) {
+			// Replace rather than clear, discarding entries from concurrent retrieval
+			this.dispatchTable = new ConcurrentHashMap<>(64);
 		}
 	}
 
@@ -191,6 +238,19 @@ public abstract class AbstractApplicationEventMulticaster
 
 		Object source = event.getSource();
 		Class<?> sourceType = (source != null ? source.getClass() : null);
+
+		// Quick check for frozen dispatch table entry, without any key object
+		Map<ResolvableType, Map<Class<?>, List<ApplicationListener<?>>>> dispatchTable = this.dispatchTable;
+		if (dispatchTable != null && sourceType != null) {
+			Map<Class<?>, List<ApplicationListener<?>>> listenersBySourceType = dispatchTable.get(eventType);
+			if (listenersBySourceType != null) {
+				List<ApplicationListener<?>> listeners = listenersBySourceType.get(sourceType);
+				if (listeners != null) {
+					return listeners;
+				}
+			}
+		}
+
 		ListenerCacheKey cacheKey = new ListenerCacheKey(eventType, sourceType);
 
 		// Potential new retriever to populate
@@ -214,6 +274,14 @@ public abstract class AbstractApplicationEventMulticaster
 		if (existingRetriever != null) {
 			Collection<ApplicationListener<?>> result = existingRetriever.getApplicationListeners();
 			if (result != null) {
+				if (dispatchTable != null && sourceType != null) {
+					List<ApplicationListener<?>> singletonListeners = existingRetriever.getSingletonListeners();
+					if (singletonListeners != null) {
+						dispatchTable.computeIfAbsent(eventType, key -> new ConcurrentHashMap<>(8))
+								.put(sourceType, singletonListeners);
+						return singletonListeners;
+					}
+				}
 				return result;
 			}
 			// If result is null, the existing retriever is not fully populated yet by another thread.
@@ -492,6 +560,22 @@ public abstract class AbstractApplicationEventMulticaster
 			}
 			return allListeners;
 		}
+
+		/**
+		 * Return an immutable list of the pre-filtered listeners in invocation order,
+		 * or {@code null} if not fully populated yet or if non-singleton listener beans
+		 * need to be retrieved for every event.
+		 */
+		@Nullable
+		public List<ApplicationListener<?>> getSingletonListeners() {
+			Set<ApplicationListener<?>> applicationListeners = this.applicationListeners;
+			Set<String> applicationListenerBeans = this.applicationListenerBeans;
+			if (applicationListeners == null || applicationListenerBeans == null ||
+					!applicationListenerBeans.isEmpty()) {
+				return null;
+			}
+			return List.copyOf(applicationListeners);
+		}
 	}
 
 
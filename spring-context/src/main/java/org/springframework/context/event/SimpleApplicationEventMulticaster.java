@@ -16,6 +16,10 @@
 
 package org.springframework.context.event;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.RejectedExecutionException;
 
@@ -42,6 +46,11 @@ import org.springframework.util.ErrorHandler;
  * This allows the danger of a rogue listener blocking the entire application,
  * but adds minimal overhead. Specify an alternative task executor to have
  * listeners executed in different threads, for example from a thread pool.
+ * With {@link #setOrderedAsyncExecution "orderedAsyncExecution"}, each listener
+ * receives its events in publication order even when executed asynchronously.
+ *
+ * <p>For high event volumes, consider {@link #setFreezeAfterRefresh freezing}
+ * the dispatch of events once the application context has been refreshed.
  *
  * @author Rod Johnson
  * @author Juergen Hoeller
@@ -57,6 +66,13 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 	@Nullable
 	private ErrorHandler errorHandler;
 
+	private boolean orderedAsyncExecution;
+
+	private boolean freezeAfterRefresh;
+
+	private final Map<ApplicationListener<?>, ListenerExecutionQueue> listenerExecutionQueues =
+			new ConcurrentHashMap<>(64);
+
 	@Nullable
 	private volatile Log lazyLogger;
 
@@ -133,6 +149,37 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		return this.errorHandler;
 	}
 
+	/**
+	 * Specify whether asynchronous listener execution should preserve the
+	 * publication order of events for each listener.
+	 * <p>Default is "false", submitting every listener invocation to the
+	 * {@linkplain #setTaskExecutor task executor} as a separate task, with no
+	 * ordering guarantees between events for the same listener. Switch this
+	 * flag to "true" to have each listener process its events one at a time
+	 * and in publication order, while different listeners still run in
+	 * parallel. This goes particularly well with a virtual-thread executor
+	 * such as {@link org.springframework.core.task.VirtualThreadTaskExecutor},
+	 * spreading a large number of listeners across cheap threads.
+	 * <p>This flag only takes effect in combination with a task executor.
+	 * @since 6.2
+	 */
+	public void setOrderedAsyncExecution(boolean orderedAsyncExecution) {
+		this.orderedAsyncExecution = orderedAsyncExecution;
+	}
+
+	/**
+	 * Specify whether to {@linkplain #freezeDispatch() freeze the dispatch}
+	 * of events once a {@link ContextRefreshedEvent} has been multicast, that is,
+	 * once the containing application context has been fully refreshed.
+	 * <p>Default is "false". Switch this flag to "true" for applications which
+	 * publish a high volume of events to a stable set of singleton listeners.
+	 * @since 6.2
+	 * @see #freezeDispatch()
+	 */
+	public void setFreezeAfterRefresh(boolean freezeAfterRefresh) {
+		this.freezeAfterRefresh = freezeAfterRefresh;
+	}
+
 	@Override
 	public void multicastEvent(ApplicationEvent event) {
 		multicastEvent(event, null);
@@ -144,18 +191,41 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		Executor executor = getTaskExecutor();
 		for (ApplicationListener<?> listener : getApplicationListeners(event, type)) {
 			if (executor != null && listener.supportsAsyncExecution()) {
-				try {
-					executor.execute(() -> invokeListener(listener, event));
+				if (this.orderedAsyncExecution) {
+					executeInOrder(executor, listener, event);
 				}
-				catch (RejectedExecutionException ex) {
-					// Probably on shutdown -> invoke listener locally instead
-					invokeListener(listener, event);
+				else {
+					try {
+						executor.execute(() -> invokeListener(listener, event));
+					}
+					catch (RejectedExecutionException ex) {
+						// Probably on shutdown -> invoke listener locally instead
+						invokeListener(listener, event);
+					}
 				}
 			}
 			else {
 				invokeListener(listener, event);
 			}
 		}
+		if (this.freezeAfterRefresh && event instanceof ContextRefreshedEvent && !isDispatchFrozen()) {
+			freezeDispatch();
+		}
+	}
+
+	/**
+	 * Execute the given listener with the given event through the given executor,
+	 * after any previously submitted events for the same listener.
+	 */
+	private void executeInOrder(Executor executor, ApplicationListener<?> listener, ApplicationEvent event) {
+		ListenerExecutionQueue queue = this.listenerExecutionQueues.computeIfAbsent(
+				listener, key -> new ListenerExecutionQueue(key, executor));
+		while (!queue.offer(event)) {
+			// Queue just completed -> replace it with a fresh one
+			this.listenerExecutionQueues.remove(listener, queue);
+			queue = this.listenerExecutionQueues.computeIfAbsent(
+					listener, key -> new ListenerExecutionQueue(key, executor));
+		}
 	}
 
 	/**
@@ -224,4 +294,84 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		return false;
 	}
 
+
+	/**
+	 * Queue of pending events for a specific listener, processed one at a time
+	 * by a single task on the executor while there are events left. Completes
+	 * (and gets removed) once empty, with subsequent events for the same listener
+	 * starting a new queue.
+	 */
+	private class ListenerExecutionQueue implements Runnable {
+
+		private final ApplicationListener<?> listener;
+
+		private final Executor executor;
+
+		private final Deque<ApplicationEvent> events = new ArrayDeque<>();
+
+		private boolean active;
+
+		private boolean completed;
+
+		public ListenerExecutionQueue(ApplicationListener<?> listener, Executor executor) {
+			this.listener = listener;
+			this.executor = executor;
+		}
+
+		/**
+		 * Add the given event to this queue, starting to process it if necessary.
+		 * @return {@code true} if the event has been accepted, or {@code false}
+		 * if this queue has completed already
+		 */
+		public boolean offer(ApplicationEvent event) {
+			synchronized (this) {
+				if (this.completed) {
+					return false;
+				}
+				this.events.add(event);
+				if (this.active) {
+					return true;
+				}
+				this.active = true;
+			}
+			schedule();
+			return true;
+		}
+
+		@Override
+		public void run() {
+			while (true) {
+				ApplicationEvent event;
+				synchronized (this) {
+					event = this.events.poll();
+					if (event == null) {
+						this.completed = true;
+					}
+				}
+				if (event == null) {
+					listenerExecutionQueues.remove(this.listener, this);
+					return;
+				}
+				try {
+					invokeListener(this.listener, event);
+				}
+				catch (RuntimeException | Error ex) {
+					// Continue with remaining events in a new task
+					schedule();
+					throw ex;
+				}
+			}
+		}
+
+		private void schedule() {
+			try {
+				this.executor.execute(this);
+			}
+			catch (RejectedExecutionException ex) {
+				// Probably on shutdown -> invoke listener locally instead
+				run();
+			}
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,19 @@
 
 package org.springframework.context.index;
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.lang.Nullable;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.LinkedMultiValueMap;
@@ -43,6 +50,11 @@ import org.springframework.util.MultiValueMap;
  * not a rule. Similarly, the {@code stereotype} is usually the fully qualified name of
  * a target type but it can be any marker really.
  *
+ * <p>As of 6.2, the index may also provide the {@linkplain #getAnnotationMetadata
+ * class metadata} of the candidate types, as recorded at build time in
+ * {@code META-INF/spring.components.metadata}, so that candidates can be
+ * registered without reading their class files.
+ *
  * @author Stephane Nicoll
  * @since 5.0
  * @deprecated as of 6.1, in favor of the AOT engine.
@@ -52,11 +64,20 @@ public class CandidateComponentsIndex {
 
 	private static final AntPathMatcher pathMatcher = new AntPathMatcher(".");
 
+	private static final Log logger = LogFactory.getLog(CandidateComponentsIndex.class);
+
 	private final MultiValueMap<String, Entry> index;
 
+	private final Map<String, byte[]> typeMetadata;
+
 
 	CandidateComponentsIndex(List<Properties> content) {
+		this(content, Collections.emptyMap());
+	}
+
+	CandidateComponentsIndex(List<Properties> content, Map<String, byte[]> typeMetadata) {
 		this.index = parseIndex(content);
+		this.typeMetadata = typeMetadata;
 	}
 
 	private static MultiValueMap<String, Entry> parseIndex(List<Properties> content) {
@@ -91,6 +112,33 @@ public class CandidateComponentsIndex {
 		return Collections.emptySet();
 	}
 
+	/**
+	 * Return the class metadata of the specified candidate type, as recorded
+	 * in the index at build time.
+	 * @param type the candidate type, as returned from {@link #getCandidateTypes}
+	 * @param classLoader the ClassLoader to resolve annotation and enum types against
+	 * @return the metadata, or {@code null} if the index does not provide metadata
+	 * for the specified type (e.g. when created by an older version of the indexer),
+	 * in which case the class file needs to be read instead
+	 * @since 6.2
+	 */
+	@Nullable
+	public AnnotationMetadata getAnnotationMetadata(String type, @Nullable ClassLoader classLoader) {
+		byte[] bytes = this.typeMetadata.get(type);
+		if (bytes == null) {
+			return null;
+		}
+		try {
+			return IndexedAnnotationMetadata.read(bytes, classLoader);
+		}
+		catch (IOException | RuntimeException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Ignoring unreadable index metadata for " + type, ex);
+			}
+			return null;
+		}
+	}
+
 
 	private static class Entry {
 
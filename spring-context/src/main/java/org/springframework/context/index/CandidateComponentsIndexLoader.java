@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,11 +16,16 @@
 
 package org.springframework.context.index;
 
+import java.io.DataInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentMap;
 
@@ -50,6 +55,15 @@ public final class CandidateComponentsIndexLoader {
 	 */
 	public static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/spring.components";
 
+	/**
+	 * The location to look for the class metadata of the components, as
+	 * recorded by the {@code spring-context-indexer} annotation processor.
+	 * <p>Can be present in multiple JAR files, next to the corresponding
+	 * {@value #COMPONENTS_RESOURCE_LOCATION} file.
+	 * @since 6.2
+	 */
+	public static final String TYPE_METADATA_RESOURCE_LOCATION = "META-INF/spring.components.metadata";
+
 	/**
 	 * System property that instructs Spring to ignore the components index, i.e.
 	 * to always return {@code null} from {@link #loadIndex(ClassLoader)}.
@@ -64,6 +78,10 @@ public final class CandidateComponentsIndexLoader {
 
 	private static final boolean shouldIgnoreIndex = SpringProperties.getFlag(IGNORE_INDEX);
 
+	private static final int TYPE_METADATA_MAGIC = 0x53434958;
+
+	private static final int TYPE_METADATA_VERSION = 1;
+
 	private static final Log logger = LogFactory.getLog(CandidateComponentsIndexLoader.class);
 
 	private static final ConcurrentMap<ClassLoader, CandidateComponentsIndex> cache =
@@ -113,7 +131,7 @@ public final class CandidateComponentsIndexLoader {
 				logger.debug("Loaded " + result.size() + " index(es)");
 			}
 			int totalCount = result.stream().mapToInt(Properties::size).sum();
-			return (totalCount > 0 ? new CandidateComponentsIndex(result) : null);
+			return (totalCount > 0 ? new CandidateComponentsIndex(result, loadTypeMetadata(classLoader)) : null);
 		}
 		catch (IOException ex) {
 			throw new IllegalStateException("Unable to load indexes from location [" +
@@ -121,4 +139,33 @@ public final class CandidateComponentsIndexLoader {
 		}
 	}
 
+	private static Map<String, byte[]> loadTypeMetadata(ClassLoader classLoader) throws IOException {
+		Enumeration<URL> urls = classLoader.getResources(TYPE_METADATA_RESOURCE_LOCATION);
+		if (!urls.hasMoreElements()) {
+			return Collections.emptyMap();
+		}
+		Map<String, byte[]> result = new HashMap<>();
+		while (urls.hasMoreElements()) {
+			URL url = urls.nextElement();
+			try (InputStream is = new UrlResource(url).getInputStream()) {
+				DataInputStream in = new DataInputStream(is);
+				if (in.readInt() != TYPE_METADATA_MAGIC || in.readInt() != TYPE_METADATA_VERSION) {
+					if (logger.isDebugEnabled()) {
+						logger.debug("Ignoring index metadata in unsupported format: " + url);
+					}
+					continue;
+				}
+				int count = in.readInt();
+				for (int i = 0; i < count; i++) {
+					String type = IndexedAnnotationMetadata.readString(in);
+					byte[] typeMetadata = new byte[in.readInt()];
+					in.readFully(typeMetadata);
+					// First one wins, in line with class loading
+					result.putIfAbsent(type, typeMetadata);
+				}
+			}
+		}
+		return result;
+	}
+
 }
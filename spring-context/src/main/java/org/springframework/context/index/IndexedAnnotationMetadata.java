@@ -0,0 +1,375 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.index;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.asm.Opcodes;
+import org.springframework.core.annotation.AnnotationFilter;
+import org.springframework.core.annotation.MergedAnnotation;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link AnnotationMetadata} restored from the class metadata recorded in the
+ * components index at build time, equivalent to the metadata read from the
+ * class file but without accessing the class file at all.
+ *
+ * <p>Annotation and enum types are resolved against the given {@link ClassLoader}
+ * when the metadata is {@linkplain #read restored}, just like they are when
+ * parsing the class file.
+ *
+ * @author agent
+ * @since 6.2
+ * @see CandidateComponentsIndex#getAnnotationMetadata
+ */
+final class IndexedAnnotationMetadata implements AnnotationMetadata {
+
+	private static final byte TYPE_STRING = 0;
+
+	private static final byte TYPE_BOOLEAN = 1;
+
+	private static final byte TYPE_BYTE = 2;
+
+	private static final byte TYPE_CHAR = 3;
+
+	private static final byte TYPE_SHORT = 4;
+
+	private static final byte TYPE_INT = 5;
+
+	private static final byte TYPE_LONG = 6;
+
+	private static final byte TYPE_FLOAT = 7;
+
+	private static final byte TYPE_DOUBLE = 8;
+
+	private static final byte TYPE_ENUM = 9;
+
+	private static final byte TYPE_ANNOTATION = 10;
+
+	private static final byte TYPE_ARRAY = 11;
+
+
+	private final String className;
+
+	private final int access;
+
+	@Nullable
+	private final String enclosingClassName;
+
+	@Nullable
+	private final String superClassName;
+
+	private final boolean independentInnerClass;
+
+	private final Set<String> interfaceNames;
+
+	private final Set<String> memberClassNames;
+
+	private final Set<MethodMetadata> declaredMethods;
+
+	private final MergedAnnotations mergedAnnotations;
+
+	@Nullable
+	private Set<String> annotationTypes;
+
+
+	private IndexedAnnotationMetadata(String className, int access, @Nullable String enclosingClassName,
+			@Nullable String superClassName, boolean independentInnerClass, Set<String> interfaceNames,
+			Set<String> memberClassNames, Set<MethodMetadata> declaredMethods, MergedAnnotations mergedAnnotations) {
+
+		this.className = className;
+		this.access = access;
+		this.enclosingClassName = enclosingClassName;
+		this.superClassName = superClassName;
+		this.independentInnerClass = independentInnerClass;
+		this.interfaceNames = interfaceNames;
+		this.memberClassNames = memberClassNames;
+		this.declaredMethods = declaredMethods;
+		this.mergedAnnotations = mergedAnnotations;
+	}
+
+
+	@Override
+	public String getClassName() {
+		return this.className;
+	}
+
+	@Override
+	public boolean isInterface() {
+		return (this.access & Opcodes.ACC_INTERFACE) != 0;
+	}
+
+	@Override
+	public boolean isAnnotation() {
+		return (this.access & Opcodes.ACC_ANNOTATION) != 0;
+	}
+
+	@Override
+	public boolean isAbstract() {
+		return (this.access & Opcodes.ACC_ABSTRACT) != 0;
+	}
+
+	@Override
+	public boolean isFinal() {
+		return (this.access & Opcodes.ACC_FINAL) != 0;
+	}
+
+	@Override
+	public boolean isIndependent() {
+		return (this.enclosingClassName == null || this.independentInnerClass);
+	}
+
+	@Override
+	@Nullable
+	public String getEnclosingClassName() {
+		return this.enclosingClassName;
+	}
+
+	@Override
+	@Nullable
+	public String getSuperClassName() {
+		return this.superClassName;
+	}
+
+	@Override
+	public String[] getInterfaceNames() {
+		return StringUtils.toStringArray(this.interfaceNames);
+	}
+
+	@Override
+	public String[] getMemberClassNames() {
+		return StringUtils.toStringArray(this.memberClassNames);
+	}
+
+	@Override
+	public MergedAnnotations getAnnotations() {
+		return this.mergedAnnotations;
+	}
+
+	@Override
+	public Set<String> getAnnotationTypes() {
+		Set<String> annotationTypes = this.annotationTypes;
+		if (annotationTypes == null) {
+			annotationTypes = Collections.unmodifiableSet(
+					AnnotationMetadata.super.getAnnotationTypes());
+			this.annotationTypes = annotationTypes;
+		}
+		return annotationTypes;
+	}
+
+	@Override
+	public Set<MethodMetadata> getAnnotatedMethods(String annotationName) {
+		Set<MethodMetadata> result = new LinkedHashSet<>(4);
+		for (MethodMetadata annotatedMethod : this.declaredMethods) {
+			if (annotatedMethod.isAnnotated(annotationName)) {
+				result.add(annotatedMethod);
+			}
+		}
+		return Collections.unmodifiableSet(result);
+	}
+
+	@Override
+	public Set<MethodMetadata> getDeclaredMethods() {
+		return Collections.unmodifiableSet(this.declaredMethods);
+	}
+
+
+	@Override
+	public boolean equals(@Nullable Object other) {
+		return (this == other || (other instanceof IndexedAnnotationMetadata that && this.className.equals(that.className)));
+	}
+
+	@Override
+	public int hashCode() {
+		return this.className.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return this.className;
+	}
+
+
+	/**
+	 * Restore the metadata from the given bytes, as written to the
+	 * {@value CandidateComponentsIndexLoader#TYPE_METADATA_RESOURCE_LOCATION}
+	 * file by the {@code spring-context-indexer} annotation processor.
+	 * @param bytes the encoded metadata
+	 * @param classLoader the ClassLoader to resolve annotation and enum types against
+	 * @return the restored metadata
+	 * @throws IOException if the metadata is not readable
+	 */
+	static IndexedAnnotationMetadata read(byte[] bytes, @Nullable ClassLoader classLoader) throws IOException {
+		DataInput in = new DataInputStream(new ByteArrayInputStream(bytes));
+		String className = readString(in);
+		int access = in.readInt();
+		String enclosingClassName = readNullableString(in);
+		String superClassName = readNullableString(in);
+		boolean independentInnerClass = in.readBoolean();
+		Set<String> interfaceNames = readStrings(in);
+		Set<String> memberClassNames = readStrings(in);
+		MergedAnnotations annotations = readAnnotations(in, classLoader, className);
+		int methodCount = in.readInt();
+		Set<MethodMetadata> declaredMethods = new LinkedHashSet<>(Math.max(4, methodCount));
+		for (int i = 0; i < methodCount; i++) {
+			String methodName = readString(in);
+			int methodAccess = in.readInt();
+			String returnTypeName = readString(in);
+			String[] parameterTypeNames = new String[in.readInt()];
+			for (int j = 0; j < parameterTypeNames.length; j++) {
+				parameterTypeNames[j] = readString(in);
+			}
+			IndexedMethodMetadata.Source source =
+					new IndexedMethodMetadata.Source(className, methodName, String.join(",", parameterTypeNames));
+			MergedAnnotations methodAnnotations = readAnnotations(in, classLoader, source);
+			declaredMethods.add(new IndexedMethodMetadata(methodName, methodAccess, className,
+					returnTypeName, source, methodAnnotations));
+		}
+		return new IndexedAnnotationMetadata(className, access, enclosingClassName, superClassName,
+				independentInnerClass, interfaceNames, memberClassNames, declaredMethods, annotations);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static MergedAnnotations readAnnotations(DataInput in, @Nullable ClassLoader classLoader,
+			Object source) throws IOException {
+
+		int count = in.readInt();
+		List<MergedAnnotation<?>> annotations = new ArrayList<>(Math.max(4, count));
+		for (int i = 0; i < count; i++) {
+			String typeName = readString(in);
+			Map<String, Object> attributes = readAttributes(in, classLoader);
+			if (AnnotationFilter.PLAIN.matches(typeName)) {
+				continue;
+			}
+			try {
+				Class<Annotation> annotationType = (Class<Annotation>) ClassUtils.forName(typeName, classLoader);
+				annotations.add(MergedAnnotation.of(classLoader, source, annotationType, attributes));
+			}
+			catch (ClassNotFoundException | LinkageError ex) {
+				// Skip annotations that are not resolvable, like the class file visitor does
+			}
+		}
+		return MergedAnnotations.of(annotations);
+	}
+
+	private static Map<String, Object> readAttributes(DataInput in, @Nullable ClassLoader classLoader)
+			throws IOException {
+
+		int size = in.readInt();
+		if (size == 0) {
+			return Collections.emptyMap();
+		}
+		Map<String, Object> attributes = new LinkedHashMap<>((int) (size / 0.75f) + 1);
+		for (int i = 0; i < size; i++) {
+			String name = readString(in);
+			attributes.put(name, readValue(in, classLoader));
+		}
+		return attributes;
+	}
+
+	private static Object readValue(DataInput in, @Nullable ClassLoader classLoader) throws IOException {
+		byte tag = in.readByte();
+		if (tag == TYPE_ARRAY) {
+			byte componentTag = in.readByte();
+			Class<?> componentType = (componentTag == TYPE_ENUM ?
+					ClassUtils.resolveClassName(readString(in), classLoader) : getComponentType(componentTag));
+			int length = in.readInt();
+			Object array = Array.newInstance(componentType, length);
+			for (int i = 0; i < length; i++) {
+				Array.set(array, i, readElement(in, componentTag, componentType, classLoader));
+			}
+			return array;
+		}
+		Class<?> enumType = (tag == TYPE_ENUM ? ClassUtils.resolveClassName(readString(in), classLoader) : null);
+		return readElement(in, tag, enumType, classLoader);
+	}
+
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private static Object readElement(DataInput in, byte tag, @Nullable Class<?> enumType,
+			@Nullable ClassLoader classLoader) throws IOException {
+
+		return switch (tag) {
+			case TYPE_STRING -> readString(in);
+			case TYPE_BOOLEAN -> in.readBoolean();
+			case TYPE_BYTE -> in.readByte();
+			case TYPE_CHAR -> in.readChar();
+			case TYPE_SHORT -> in.readShort();
+			case TYPE_INT -> in.readInt();
+			case TYPE_LONG -> in.readLong();
+			case TYPE_FLOAT -> in.readFloat();
+			case TYPE_DOUBLE -> in.readDouble();
+			case TYPE_ENUM -> Enum.valueOf((Class<? extends Enum>) enumType, readString(in));
+			case TYPE_ANNOTATION -> readAttributes(in, classLoader);
+			default -> throw new IOException("Corrupt components index metadata: unknown type " + tag);
+		};
+	}
+
+	private static Class<?> getComponentType(byte tag) throws IOException {
+		return switch (tag) {
+			case TYPE_STRING -> String.class;
+			case TYPE_BOOLEAN -> boolean.class;
+			case TYPE_BYTE -> byte.class;
+			case TYPE_CHAR -> char.class;
+			case TYPE_SHORT -> short.class;
+			case TYPE_INT -> int.class;
+			case TYPE_LONG -> long.class;
+			case TYPE_FLOAT -> float.class;
+			case TYPE_DOUBLE -> double.class;
+			case TYPE_ANNOTATION -> Map.class;
+			default -> throw new IOException("Corrupt components index metadata: unknown type " + tag);
+		};
+	}
+
+	private static Set<String> readStrings(DataInput in) throws IOException {
+		int size = in.readInt();
+		Set<String> values = new LinkedHashSet<>(Math.max(4, size));
+		for (int i = 0; i < size; i++) {
+			values.add(readString(in));
+		}
+		return values;
+	}
+
+	@Nullable
+	private static String readNullableString(DataInput in) throws IOException {
+		return (in.readBoolean() ? readString(in) : null);
+	}
+
+	static String readString(DataInput in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+}
@@ -47,6 +47,10 @@ import org.springframework.lang.Nullable;
  * inheriting thread customization options (name, priority, etc) from
  * {@link org.springframework.util.CustomizableThreadCreator}.
  *
+ * <p>As of 6.2, each executor exposes {@link ExecutorMetrics} for monitoring,
+ * tracking active and rejected tasks as well as queue wait and execution times
+ * where supported by the concrete executor setup.
+ *
  * @author Juergen Hoeller
  * @since 3.0
  * @see java.util.concurrent.ExecutorService
@@ -103,6 +107,8 @@ public abstract class ExecutorConfigurationSupport extends CustomizableThreadFac
 
 	private volatile boolean lateShutdown;
 
+	private final ExecutorMetrics executorMetrics = new ExecutorMetrics();
+
 
 	/**
 	 * Set the ThreadFactory to use for the ExecutorService's thread pool.
@@ -131,6 +137,10 @@ public abstract class ExecutorConfigurationSupport extends CustomizableThreadFac
 	/**
 	 * Set the RejectedExecutionHandler to use for the ExecutorService.
 	 * The default is the ExecutorService's default abort policy.
+	 * <p>As of 6.2, the given handler is decorated with an
+	 * {@link ExecutorMetrics.CountingRejectedExecutionHandler} for the
+	 * {@link #getExecutorMetrics() executor metrics}, exposing the given
+	 * handler through {@link ExecutorMetrics.CountingRejectedExecutionHandler#getDelegate()}.
 	 * @see java.util.concurrent.ThreadPoolExecutor.AbortPolicy
 	 */
 	public void setRejectedExecutionHandler(@Nullable RejectedExecutionHandler rejectedExecutionHandler) {
@@ -252,6 +262,14 @@ public abstract class ExecutorConfigurationSupport extends CustomizableThreadFac
 		return this.phase;
 	}
 
+	/**
+	 * Return the {@link ExecutorMetrics} for this executor.
+	 * @since 6.2
+	 */
+	public ExecutorMetrics getExecutorMetrics() {
+		return this.executorMetrics;
+	}
+
 	@Override
 	public void setBeanName(String name) {
 		this.beanName = name;
@@ -282,7 +300,8 @@ public abstract class ExecutorConfigurationSupport extends CustomizableThreadFac
 		if (!this.threadNamePrefixSet && this.beanName != null) {
 			setThreadNamePrefix(this.beanName + "-");
 		}
-		this.executor = initializeExecutor(this.threadFactory, this.rejectedExecutionHandler);
+		this.executor = initializeExecutor(this.threadFactory,
+				new ExecutorMetrics.CountingRejectedExecutionHandler(this.executorMetrics, this.rejectedExecutionHandler));
 		this.lifecycleDelegate = new ExecutorLifecycleDelegate(this.executor);
 	}
 
@@ -453,6 +472,7 @@ public abstract class ExecutorConfigurationSupport extends CustomizableThreadFac
 	 * @see ThreadPoolExecutor#beforeExecute(Thread, Runnable)
 	 */
 	protected void beforeExecute(Thread thread, Runnable task) {
+		this.executorMetrics.taskStarted();
 		if (this.lifecycleDelegate != null) {
 			this.lifecycleDelegate.beforeExecute(thread);
 		}
@@ -468,6 +488,7 @@ public abstract class ExecutorConfigurationSupport extends CustomizableThreadFac
 	 * @see ThreadPoolExecutor#afterExecute(Runnable, Throwable)
 	 */
 	protected void afterExecute(Runnable task, @Nullable Throwable ex) {
+		this.executorMetrics.taskFinished();
 		if (this.lifecycleDelegate != null) {
 			this.lifecycleDelegate.afterExecute();
 		}
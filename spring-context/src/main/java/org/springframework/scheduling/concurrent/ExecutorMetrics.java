@@ -0,0 +1,253 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Instrumentation of an executor set up through {@link ExecutorConfigurationSupport},
+ * exposing the number of active and rejected tasks as well as the time that tasks
+ * spent waiting in the queue and executing.
+ *
+ * <p>Active and rejected tasks are tracked for any executor. Queue wait and execution
+ * times are only recorded for tasks submitted with task timing enabled, e.g. through
+ * {@link ThreadPoolTaskExecutor#setRecordTaskTimings}; the corresponding statistics
+ * remain at zero otherwise.
+ *
+ * @author agent
+ * @since 6.2
+ * @see ExecutorConfigurationSupport#getExecutorMetrics()
+ */
+public class ExecutorMetrics {
+
+	private final AtomicInteger activeCount = new AtomicInteger();
+
+	private final LongAdder rejectedTasks = new LongAdder();
+
+	private final LongAdder startedTasks = new LongAdder();
+
+	private final LongAdder queueWaitNanos = new LongAdder();
+
+	private final LongAccumulator maxQueueWaitNanos = new LongAccumulator(Math::max, 0);
+
+	private final LongAdder completedTasks = new LongAdder();
+
+	private final LongAdder executionNanos = new LongAdder();
+
+	private final LongAccumulator maxExecutionNanos = new LongAccumulator(Math::max, 0);
+
+
+	/**
+	 * Return the number of tasks currently being executed.
+	 */
+	public int getActiveCount() {
+		return this.activeCount.get();
+	}
+
+	/**
+	 * Return the number of tasks rejected by the executor so far,
+	 * i.e. the number of tasks passed to its rejection policy.
+	 * @see ExecutorConfigurationSupport#setRejectedExecutionHandler
+	 */
+	public long getRejectedTaskCount() {
+		return this.rejectedTasks.sum();
+	}
+
+	/**
+	 * Return the number of timed tasks that have started execution.
+	 */
+	public long getStartedTaskCount() {
+		return this.startedTasks.sum();
+	}
+
+	/**
+	 * Return the number of timed tasks that have completed execution.
+	 */
+	public long getCompletedTaskCount() {
+		return this.completedTasks.sum();
+	}
+
+	/**
+	 * Return the total time that started tasks spent waiting in the queue.
+	 */
+	public Duration getTotalQueueWait() {
+		return Duration.ofNanos(this.queueWaitNanos.sum());
+	}
+
+	/**
+	 * Return the average time that started tasks spent waiting in the queue.
+	 */
+	public Duration getAverageQueueWait() {
+		long count = getStartedTaskCount();
+		return (count > 0 ? Duration.ofNanos(this.queueWaitNanos.sum() / count) : Duration.ZERO);
+	}
+
+	/**
+	 * Return the longest time that a started task spent waiting in the queue.
+	 */
+	public Duration getMaxQueueWait() {
+		return Duration.ofNanos(this.maxQueueWaitNanos.get());
+	}
+
+	/**
+	 * Return the total execution time of completed tasks.
+	 */
+	public Duration getTotalExecutionTime() {
+		return Duration.ofNanos(this.executionNanos.sum());
+	}
+
+	/**
+	 * Return the average execution time of completed tasks.
+	 */
+	public Duration getAverageExecutionTime() {
+		long count = getCompletedTaskCount();
+		return (count > 0 ? Duration.ofNanos(this.executionNanos.sum() / count) : Duration.ZERO);
+	}
+
+	/**
+	 * Return the longest execution time of a completed task.
+	 */
+	public Duration getMaxExecutionTime() {
+		return Duration.ofNanos(this.maxExecutionNanos.get());
+	}
+
+
+	/**
+	 * Wrap the given task for recording its queue wait and execution time,
+	 * starting the queue wait period now.
+	 * @param task the task to wrap
+	 * @return the timed task
+	 * @see #unwrap(Runnable)
+	 */
+	Runnable timed(Runnable task) {
+		return new TimedTask(task, System.nanoTime());
+	}
+
+	void taskStarted() {
+		this.activeCount.incrementAndGet();
+	}
+
+	void taskFinished() {
+		this.activeCount.decrementAndGet();
+	}
+
+	void taskRejected() {
+		this.rejectedTasks.increment();
+	}
+
+	@Override
+	public String toString() {
+		return "ExecutorMetrics: active=" + getActiveCount() + ", rejected=" + getRejectedTaskCount() +
+				", completed=" + getCompletedTaskCount() + ", averageQueueWait=" + getAverageQueueWait() +
+				", averageExecutionTime=" + getAverageExecutionTime();
+	}
+
+
+	/**
+	 * Return the original task for the given (potentially timed) task.
+	 * @param task the task as passed to the executor
+	 * @return the original task
+	 * @see #timed(Runnable)
+	 */
+	static Runnable unwrap(Runnable task) {
+		return (task instanceof TimedTask timedTask ? timedTask.task : task);
+	}
+
+
+	/**
+	 * {@link RejectedExecutionHandler} decorator which counts each rejected task
+	 * before delegating to the configured rejection policy. Exposed as the
+	 * rejection handler of the native executor, with the configured policy
+	 * being available through {@link #getDelegate()}.
+	 * @see ExecutorConfigurationSupport#setRejectedExecutionHandler
+	 * @see #getRejectedTaskCount()
+	 */
+	public static class CountingRejectedExecutionHandler implements RejectedExecutionHandler {
+
+		private final ExecutorMetrics metrics;
+
+		private final RejectedExecutionHandler delegate;
+
+		CountingRejectedExecutionHandler(ExecutorMetrics metrics, RejectedExecutionHandler delegate) {
+			this.metrics = metrics;
+			this.delegate = delegate;
+		}
+
+		/**
+		 * Return the configured rejection policy that this handler delegates to.
+		 */
+		public RejectedExecutionHandler getDelegate() {
+			return this.delegate;
+		}
+
+		@Override
+		public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+			this.metrics.taskRejected();
+			this.delegate.rejectedExecution(task, executor);
+		}
+
+		@Override
+		public String toString() {
+			return "CountingRejectedExecutionHandler for " + this.delegate;
+		}
+	}
+
+
+	/**
+	 * Runnable wrapper recording queue wait and execution time.
+	 */
+	private class TimedTask implements Runnable {
+
+		private final Runnable task;
+
+		private final long submitTime;
+
+		TimedTask(Runnable task, long submitTime) {
+			this.task = task;
+			this.submitTime = submitTime;
+		}
+
+		@Override
+		public void run() {
+			long startTime = System.nanoTime();
+			long queueWait = startTime - this.submitTime;
+			startedTasks.increment();
+			queueWaitNanos.add(queueWait);
+			maxQueueWaitNanos.accumulate(queueWait);
+			try {
+				this.task.run();
+			}
+			finally {
+				long executionTime = System.nanoTime() - startTime;
+				completedTasks.increment();
+				executionNanos.add(executionTime);
+				maxExecutionNanos.accumulate(executionTime);
+			}
+		}
+
+		@Override
+		public String toString() {
+			return this.task.toString();
+		}
+	}
+
+}
@@ -16,6 +16,7 @@
 
 package org.springframework.scheduling.concurrent;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
@@ -29,6 +30,7 @@ import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.springframework.core.task.AsyncListenableTaskExecutor;
 import org.springframework.core.task.TaskDecorator;
@@ -58,6 +60,18 @@ import org.springframework.util.concurrent.ListenableFutureTask;
  * {@link #setCorePoolSize "corePoolSize"} (see also the
  * {@link #setAllowCoreThreadTimeOut "allowCoreThreadTimeOut"} mode of scaling).
  *
+ * <p>As of 6.2, a bounded queue can be combined with a
+ * {@link #setGrowBeforeQueue "growBeforeQueue"} policy, creating further threads
+ * up to the max pool size before queueing tasks. Furthermore, the core pool size can
+ * be {@link #setTargetQueueWait adapted} at runtime to the measured queue wait time
+ * and throughput, and {@link #setRecordTaskTimings task timings} can be recorded
+ * in the {@link #getExecutorMetrics() executor metrics}. Note that the native
+ * {@link #getThreadPoolExecutor() ThreadPoolExecutor} therefore returns an
+ * {@link ExecutorMetrics.CountingRejectedExecutionHandler} from its
+ * {@code getRejectedExecutionHandler()} method, exposing the configured
+ * {@link #setRejectedExecutionHandler rejection handler} as its delegate.
+ * Replacing the handler on the native executor bypasses the rejected task count.
+ *
  * <p><b>NOTE:</b> This class implements Spring's
  * {@link org.springframework.core.task.TaskExecutor} interface as well as the
  * {@link java.util.concurrent.Executor} interface, with the former being the primary
@@ -100,6 +114,15 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 
 	private boolean strictEarlyShutdown = false;
 
+	private boolean growBeforeQueue = false;
+
+	private boolean recordTaskTimings = false;
+
+	@Nullable
+	private Duration targetQueueWait;
+
+	private Duration adaptiveSizingInterval = Duration.ofSeconds(1);
+
 	@Nullable
 	private TaskDecorator taskDecorator;
 
@@ -110,6 +133,17 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 	private final Map<Runnable, Object> decoratedTaskMap =
 			new ConcurrentReferenceHashMap<>(16, ConcurrentReferenceHashMap.ReferenceType.WEAK);
 
+	// Adaptive sizing state, guarded by the lock
+	private final ReentrantLock adaptiveSizingLock = new ReentrantLock();
+
+	private volatile long nextAdaptiveSizingTime;
+
+	private long lastAdaptiveSizingTime;
+
+	private long lastStartedTaskCount;
+
+	private long lastQueueWaitNanos;
+
 
 	/**
 	 * Set the ThreadPoolExecutor's core pool size.
@@ -142,6 +176,11 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 	public void setMaxPoolSize(int maxPoolSize) {
 		synchronized (this.poolSizeMonitor) {
 			if (this.threadPoolExecutor != null) {
+				if (this.targetQueueWait != null && maxPoolSize >= this.corePoolSize &&
+						this.threadPoolExecutor.getCorePoolSize() > maxPoolSize) {
+					// Adapted core pool size beyond new maximum
+					this.threadPoolExecutor.setCorePoolSize(maxPoolSize);
+				}
 				this.threadPoolExecutor.setMaximumPoolSize(maxPoolSize);
 			}
 			this.maxPoolSize = maxPoolSize;
@@ -201,6 +240,81 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 		return this.queueCapacity;
 	}
 
+	/**
+	 * Specify whether to create further threads up to the max pool size
+	 * before queueing tasks, as long as all existing threads are busy.
+	 * <p>Default is "false", following the {@link ThreadPoolExecutor} policy of
+	 * only creating threads beyond the core pool size once the queue is full.
+	 * This is a sensible choice for throughput-oriented work but may lead to
+	 * long queue waits for latency-sensitive work. Switch this flag to "true"
+	 * for scaling the number of threads up to the max pool size first, only
+	 * queueing tasks once the max pool size has been reached; threads beyond
+	 * the core pool size will be disposed after the keep-alive time then.
+	 * <p>Only applies to a positive {@link #setQueueCapacity queue capacity}
+	 * along with a specific {@link #setMaxPoolSize max pool size}.
+	 * @since 6.2
+	 * @see #createQueue(int)
+	 */
+	public void setGrowBeforeQueue(boolean growBeforeQueue) {
+		this.growBeforeQueue = growBeforeQueue;
+	}
+
+	/**
+	 * Specify whether to record the queue wait and execution time of each task
+	 * in the {@link #getExecutorMetrics() executor metrics}.
+	 * <p>Default is "false". Note that this wraps each task on submission, exposing
+	 * wrapper instances in the {@link ThreadPoolExecutor#getQueue() queue}; this
+	 * is not compatible with {@link ThreadPoolExecutor#remove(Runnable)} and
+	 * {@link ThreadPoolExecutor#purge()} on the native executor.
+	 * <p>Implicitly enabled for {@link #setTargetQueueWait adaptive sizing}.
+	 * @since 6.2
+	 * @see ExecutorMetrics#getAverageQueueWait()
+	 * @see ExecutorMetrics#getAverageExecutionTime()
+	 */
+	public void setRecordTaskTimings(boolean recordTaskTimings) {
+		this.recordTaskTimings = recordTaskTimings;
+	}
+
+	/**
+	 * Specify a target for the average time that tasks wait in the queue,
+	 * enabling adaptive sizing of the core pool at runtime.
+	 * <p>Default is none, keeping the core pool size as configured. If specified,
+	 * the core pool size will be recalculated every
+	 * {@link #setAdaptiveSizingInterval adaptive sizing interval} from the measured
+	 * queue wait and execution times: growing if tasks waited longer than the
+	 * target on average, and shrinking towards the number of threads needed for
+	 * the measured throughput if tasks waited less than half of the target. The
+	 * configured {@link #setCorePoolSize core pool size} serves as lower bound and
+	 * the {@link #setMaxPoolSize max pool size} as upper bound then.
+	 * <p>The number of threads needed is estimated from the tasks started within
+	 * each interval and the average execution time of all completed tasks so far.
+	 * A few long-running tasks therefore raise the estimate only gradually, while
+	 * a change in the typical execution time takes a while to be reflected.
+	 * <p>Recalculation happens on task submission, without a separate thread.
+	 * As a consequence, the core pool does not shrink once submissions stop;
+	 * consider {@link #setAllowCoreThreadTimeOut "allowCoreThreadTimeOut"} for
+	 * releasing idle threads in such a scenario.
+	 * @since 6.2
+	 * @see #setAdaptiveSizingInterval
+	 * @see #setRecordTaskTimings
+	 */
+	public void setTargetQueueWait(@Nullable Duration targetQueueWait) {
+		this.targetQueueWait = targetQueueWait;
+	}
+
+	/**
+	 * Specify the interval for recalculating the core pool size
+	 * in case of a {@link #setTargetQueueWait target queue wait}.
+	 * <p>Default is 1 second.
+	 * @since 6.2
+	 * @see #setTargetQueueWait
+	 */
+	public void setAdaptiveSizingInterval(Duration adaptiveSizingInterval) {
+		Assert.isTrue(!adaptiveSizingInterval.isNegative() && !adaptiveSizingInterval.isZero(),
+				"Adaptive sizing interval must be positive");
+		this.adaptiveSizingInterval = adaptiveSizingInterval;
+	}
+
 	/**
 	 * Specify whether to allow core threads to time out. This enables dynamic
 	 * growing and shrinking even in combination with a non-zero queue (since
@@ -279,10 +393,19 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 			ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler) {
 
 		BlockingQueue<Runnable> queue = createQueue(this.queueCapacity);
+		boolean timed = (this.recordTaskTimings || this.targetQueueWait != null);
+
+		RejectedExecutionHandler rejectionPolicy = rejectedExecutionHandler;
+		if (queue instanceof GrowBeforeQueue growBeforeQueue) {
+			RejectedExecutionHandler delegate = (rejectedExecutionHandler instanceof
+					ExecutorMetrics.CountingRejectedExecutionHandler countingHandler ?
+					countingHandler.getDelegate() : rejectedExecutionHandler);
+			rejectionPolicy = new GrowBeforeQueueRejectionHandler(growBeforeQueue, getExecutorMetrics(), delegate);
+		}
 
 		ThreadPoolExecutor executor = new ThreadPoolExecutor(
 					this.corePoolSize, this.maxPoolSize, this.keepAliveSeconds, TimeUnit.SECONDS,
-					queue, threadFactory, rejectedExecutionHandler) {
+					queue, threadFactory, rejectionPolicy) {
 			@Override
 			public void execute(Runnable command) {
 				Runnable decorated = command;
@@ -292,24 +415,37 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 						decoratedTaskMap.put(decorated, command);
 					}
 				}
+				if (timed) {
+					decorated = getExecutorMetrics().timed(decorated);
+				}
 				super.execute(decorated);
+				if (targetQueueWait != null) {
+					adaptPoolSizeIfNecessary(this);
+				}
 			}
 			@Override
 			protected void beforeExecute(Thread thread, Runnable task) {
-				ThreadPoolTaskExecutor.this.beforeExecute(thread, task);
+				ThreadPoolTaskExecutor.this.beforeExecute(thread, ExecutorMetrics.unwrap(task));
 			}
 			@Override
 			protected void afterExecute(Runnable task, Throwable ex) {
-				ThreadPoolTaskExecutor.this.afterExecute(task, ex);
+				ThreadPoolTaskExecutor.this.afterExecute(ExecutorMetrics.unwrap(task), ex);
 			}
 		};
 
+		if (queue instanceof GrowBeforeQueue growBeforeQueue) {
+			growBeforeQueue.executor = executor;
+		}
 		if (this.allowCoreThreadTimeOut) {
 			executor.allowCoreThreadTimeOut(true);
 		}
 		if (this.prestartAllCoreThreads) {
 			executor.prestartAllCoreThreads();
 		}
+		if (this.targetQueueWait != null) {
+			this.lastAdaptiveSizingTime = System.nanoTime();
+			this.nextAdaptiveSizingTime = this.lastAdaptiveSizingTime + this.adaptiveSizingInterval.toNanos();
+		}
 
 		this.threadPoolExecutor = executor;
 		return executor;
@@ -318,7 +454,8 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 	/**
 	 * Create the BlockingQueue to use for the ThreadPoolExecutor.
 	 * <p>A LinkedBlockingQueue instance will be created for a positive
-	 * capacity value; a SynchronousQueue otherwise.
+	 * capacity value (as of 6.2, with a {@link #setGrowBeforeQueue grow-before-queue}
+	 * policy if requested); a SynchronousQueue otherwise.
 	 * @param queueCapacity the specified queue capacity
 	 * @return the BlockingQueue instance
 	 * @see java.util.concurrent.LinkedBlockingQueue
@@ -326,7 +463,8 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 	 */
 	protected BlockingQueue<Runnable> createQueue(int queueCapacity) {
 		if (queueCapacity > 0) {
-			return new LinkedBlockingQueue<>(queueCapacity);
+			return (this.growBeforeQueue ? new GrowBeforeQueue(queueCapacity, getExecutorMetrics()) :
+					new LinkedBlockingQueue<>(queueCapacity));
 		}
 		else {
 			return new SynchronousQueue<>();
@@ -381,6 +519,79 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 	}
 
 
+	/**
+	 * Recalculate the core pool size if the adaptive sizing interval has elapsed.
+	 * @see #setTargetQueueWait
+	 */
+	private void adaptPoolSizeIfNecessary(ThreadPoolExecutor executor) {
+		if (System.nanoTime() - this.nextAdaptiveSizingTime >= 0 && this.adaptiveSizingLock.tryLock()) {
+			try {
+				long now = System.nanoTime();
+				if (now - this.nextAdaptiveSizingTime >= 0) {
+					this.nextAdaptiveSizingTime = now + this.adaptiveSizingInterval.toNanos();
+					adaptPoolSize(executor, now);
+				}
+			}
+			finally {
+				this.adaptiveSizingLock.unlock();
+			}
+		}
+	}
+
+	private void adaptPoolSize(ThreadPoolExecutor executor, long now) {
+		Duration targetQueueWait = this.targetQueueWait;
+		if (targetQueueWait == null) {
+			return;
+		}
+		ExecutorMetrics metrics = getExecutorMetrics();
+		long startedTaskCount = metrics.getStartedTaskCount();
+		long queueWaitNanos = metrics.getTotalQueueWait().toNanos();
+		long startedTasks = startedTaskCount - this.lastStartedTaskCount;
+		long queueWait = queueWaitNanos - this.lastQueueWaitNanos;
+		long averageExecutionTime = metrics.getAverageExecutionTime().toNanos();
+		long elapsed = Math.max(now - this.lastAdaptiveSizingTime, 1);
+		this.lastStartedTaskCount = startedTaskCount;
+		this.lastQueueWaitNanos = queueWaitNanos;
+		this.lastAdaptiveSizingTime = now;
+
+		int currentSize = executor.getCorePoolSize();
+		int newSize;
+		if (startedTasks > 0) {
+			long averageQueueWait = queueWait / startedTasks;
+			// Little's law: number of threads kept busy by the tasks started in this interval,
+			// rather than by the execution time of tasks which happened to complete in it
+			int busyThreads = (int) Math.min(
+					Math.ceil((double) startedTasks * averageExecutionTime / elapsed), Integer.MAX_VALUE);
+			if (averageQueueWait > targetQueueWait.toNanos()) {
+				newSize = Math.max(currentSize + 1, busyThreads + 1);
+			}
+			else if (averageQueueWait < targetQueueWait.toNanos() / 2) {
+				newSize = Math.max(currentSize - 1, busyThreads);
+			}
+			else {
+				newSize = currentSize;
+			}
+		}
+		else {
+			// No task started: either stuck with queued tasks or idle
+			newSize = (executor.getQueue().isEmpty() ? currentSize - 1 : currentSize + 1);
+		}
+
+		synchronized (this.poolSizeMonitor) {
+			newSize = Math.min(Math.max(newSize, this.corePoolSize), this.maxPoolSize);
+			if (newSize != currentSize && !executor.isShutdown()) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Adapting core pool size from " + currentSize + " to " + newSize +
+							" after " + startedTasks + " started tasks with total queue wait of " +
+							Duration.ofNanos(queueWait) + " and average execution time of " +
+							Duration.ofNanos(averageExecutionTime));
+				}
+				executor.setCorePoolSize(newSize);
+			}
+		}
+	}
+
+
 	@Override
 	public void execute(Runnable task) {
 		Executor executor = getThreadPoolExecutor();
@@ -442,6 +653,7 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 
 	@Override
 	protected void cancelRemainingTask(Runnable task) {
+		task = ExecutorMetrics.unwrap(task);
 		super.cancelRemainingTask(task);
 		// Cancel associated user-level Future handle as well
 		Object original = this.decoratedTaskMap.get(task);
@@ -457,4 +669,65 @@ public class ThreadPoolTaskExecutor extends ExecutorConfigurationSupport
 		}
 	}
 
+
+	/**
+	 * LinkedBlockingQueue variant which declines to accept a task as long as
+	 * all threads are busy and the pool may still grow, letting the
+	 * ThreadPoolExecutor create a new thread instead.
+	 * @see #setGrowBeforeQueue
+	 */
+	private static class GrowBeforeQueue extends LinkedBlockingQueue<Runnable> {
+
+		private final ExecutorMetrics metrics;
+
+		@Nullable
+		volatile ThreadPoolExecutor executor;
+
+		GrowBeforeQueue(int capacity, ExecutorMetrics metrics) {
+			super(capacity);
+			this.metrics = metrics;
+		}
+
+		@Override
+		public boolean offer(Runnable task) {
+			ThreadPoolExecutor executor = this.executor;
+			if (executor != null) {
+				int poolSize = executor.getPoolSize();
+				if (poolSize < executor.getMaximumPoolSize() && this.metrics.getActiveCount() + size() >= poolSize) {
+					return false;
+				}
+			}
+			return super.offer(task);
+		}
+
+		boolean forceOffer(Runnable task) {
+			return super.offer(task);
+		}
+	}
+
+
+	/**
+	 * Rejection handler for a {@link GrowBeforeQueue}, queueing tasks which were
+	 * not accepted due to a concurrently reached max pool size and only counting
+	 * and delegating actually rejected tasks.
+	 */
+	private static class GrowBeforeQueueRejectionHandler extends ExecutorMetrics.CountingRejectedExecutionHandler {
+
+		private final GrowBeforeQueue queue;
+
+		GrowBeforeQueueRejectionHandler(GrowBeforeQueue queue, ExecutorMetrics metrics,
+				RejectedExecutionHandler delegate) {
+
+			super(metrics, delegate);
+			this.queue = queue;
+		}
+
+		@Override
+		public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+			if (executor.isShutdown() || !this.queue.forceOffer(task)) {
+				super.rejectedExecution(task, executor);
+			}
+		}
+	}
+
 }
@@ -0,0 +1,587 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ScheduledExecutorService} implementation based on a hierarchical
+ * hashed timing wheel, scheduling and cancelling timers in constant time
+ * rather than through a heap-based delay queue.
+ *
+ * <p>Scheduling a timer links it into the wheel bucket for its expiration tick,
+ * and cancelling a timer unlinks it from its bucket right away, both within the
+ * calling thread. A single lock guards the wheel, similar to the delay queue of a
+ * {@link java.util.concurrent.ScheduledThreadPoolExecutor}, but it is only held
+ * for constant-time list operations rather than for sifting through a heap.
+ * A single wheel thread advances the wheel once per tick, cascading timers
+ * from coarser-grained wheel levels down to the finest one and handing expired
+ * timers to the given task executor. It is never woken up for scheduling or
+ * cancelling a timer. Timers therefore fire with tick precision: never early,
+ * but up to one tick late.
+ *
+ * <p>On {@link #shutdown()}, pending periodic timers are cancelled, whereas
+ * pending one-shot timers still fire when due (as with the default policy of a
+ * {@link java.util.concurrent.ScheduledThreadPoolExecutor}) unless
+ * {@link #setExecuteExistingDelayedTasksAfterShutdown} has been switched off.
+ * On {@link #shutdownNow()}, all pending timers are returned.
+ *
+ * @author agent
+ * @since 6.2
+ * @see TimingWheelTaskScheduler
+ */
+final class TimingWheelScheduledExecutor extends AbstractExecutorService implements ScheduledExecutorService {
+
+	private static final long MAX_DELAY_NANOS = Long.MAX_VALUE >> 2;
+
+	private static final int RUNNING = 0;
+
+	private static final int SHUTDOWN = 1;
+
+	private static final int STOP = 2;
+
+
+	private final long tickNanos;
+
+	private final int wheelBits;
+
+	private final int wheelMask;
+
+	private final Bucket[][] wheels;
+
+	private final ExecutorService taskExecutor;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final long startTime;
+
+	private final Thread wheelThread;
+
+	private volatile boolean executeExistingDelayedTasksAfterShutdown = true;
+
+	private volatile int runState = RUNNING;
+
+	@Nullable
+	private volatile List<Runnable> remainingTimers;
+
+	// Guarded by the lock
+	private long nextTick = 1;
+
+	private long timerCount;
+
+	private boolean terminated;
+
+
+	/**
+	 * Create a new TimingWheelScheduledExecutor, immediately starting its wheel thread.
+	 * @param tickDuration the duration of a single tick (at least 1 millisecond)
+	 * @param ticksPerWheel the number of buckets per wheel level (a power of two)
+	 * @param threadFactory the factory for the wheel thread
+	 * @param taskExecutor the executor to run expired timers with
+	 */
+	TimingWheelScheduledExecutor(Duration tickDuration, int ticksPerWheel,
+			ThreadFactory threadFactory, ExecutorService taskExecutor) {
+
+		Assert.isTrue(tickDuration.toMillis() >= 1, "Tick duration must be at least 1 millisecond");
+		Assert.isTrue(ticksPerWheel > 1 && Integer.bitCount(ticksPerWheel) == 1,
+				"Ticks per wheel must be a power of two");
+		this.tickNanos = tickDuration.toNanos();
+		this.wheelBits = Integer.numberOfTrailingZeros(ticksPerWheel);
+		this.wheelMask = ticksPerWheel - 1;
+		// Enough levels for covering the entire range of expiration ticks
+		this.wheels = new Bucket[(Long.SIZE - 2 + this.wheelBits) / this.wheelBits][];
+		this.taskExecutor = taskExecutor;
+		this.startTime = System.nanoTime();
+		this.wheelThread = threadFactory.newThread(this::runWheel);
+		this.wheelThread.start();
+	}
+
+
+	/**
+	 * Set whether to execute pending one-shot timers when due even after
+	 * {@link #shutdown()} has been called. Default is {@code true}.
+	 * @see java.util.concurrent.ScheduledThreadPoolExecutor#setExecuteExistingDelayedTasksAfterShutdownPolicy
+	 */
+	void setExecuteExistingDelayedTasksAfterShutdown(boolean executeExistingDelayedTasksAfterShutdown) {
+		this.executeExistingDelayedTasksAfterShutdown = executeExistingDelayedTasksAfterShutdown;
+		LockSupport.unpark(this.wheelThread);
+	}
+
+
+	// ScheduledExecutorService implementation
+
+	@Override
+	public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+		return enqueue(new TimerTask<>(command, null, unit.toNanos(delay), 0));
+	}
+
+	@Override
+	public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+		return enqueue(new TimerTask<>(callable, unit.toNanos(delay)));
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+		Assert.isTrue(period > 0, "Period must be positive");
+		return enqueue(new TimerTask<>(command, null, unit.toNanos(initialDelay), unit.toNanos(period)));
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+		Assert.isTrue(delay > 0, "Delay must be positive");
+		return enqueue(new TimerTask<>(command, null, unit.toNanos(initialDelay), -unit.toNanos(delay)));
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		if (isShutdown()) {
+			throw new RejectedExecutionException("Executor has been shut down: " + command);
+		}
+		this.taskExecutor.execute(command);
+	}
+
+	@Override
+	public void shutdown() {
+		if (this.runState == RUNNING) {
+			this.runState = SHUTDOWN;
+			LockSupport.unpark(this.wheelThread);
+		}
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		this.runState = STOP;
+		LockSupport.unpark(this.wheelThread);
+		if (Thread.currentThread() != this.wheelThread) {
+			try {
+				this.wheelThread.join();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		List<Runnable> remaining = new ArrayList<>();
+		List<Runnable> timers = this.remainingTimers;
+		if (timers != null) {
+			remaining.addAll(timers);
+			this.remainingTimers = null;
+		}
+		remaining.addAll(this.taskExecutor.shutdownNow());
+		return remaining;
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return (this.runState != RUNNING);
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return (!this.wheelThread.isAlive() && this.taskExecutor.isTerminated());
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		this.wheelThread.join(Math.max(unit.toMillis(timeout), 1));
+		if (this.wheelThread.isAlive()) {
+			return false;
+		}
+		return this.taskExecutor.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+	}
+
+
+	// Timer insertion and removal from arbitrary threads
+
+	private <V> TimerTask<V> enqueue(TimerTask<V> timer) {
+		if (isShutdown()) {
+			throw new RejectedExecutionException("Executor has been shut down: " + timer);
+		}
+		add(timer);
+		return timer;
+	}
+
+	private void add(TimerTask<?> timer) {
+		long elapsed = Math.max(timer.deadline - this.startTime, 0);
+		long expirationTick = (elapsed + this.tickNanos - 1) / this.tickNanos;
+		boolean added = false;
+		this.lock.lock();
+		try {
+			// Checked under the lock, so that neither the sweep of periodic timers
+			// on shutdown nor the final sweep on termination can miss this timer
+			if (!this.terminated && !timer.isCancelled() && !(timer.isPeriodic() && isShutdown())) {
+				insert(timer, expirationTick, this.nextTick);
+				this.timerCount++;
+				added = true;
+			}
+		}
+		finally {
+			this.lock.unlock();
+		}
+		if (!added) {
+			timer.cancel(false);
+		}
+	}
+
+	private void remove(TimerTask<?> timer) {
+		this.lock.lock();
+		try {
+			Bucket bucket = timer.bucket;
+			if (bucket != null) {
+				bucket.remove(timer);
+				this.timerCount--;
+			}
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+
+	// Wheel thread
+
+	private void runWheel() {
+		try {
+			boolean draining = false;
+			long tick = 1;
+			while (true) {
+				int runState = this.runState;
+				if (runState != RUNNING) {
+					if (runState == STOP || !this.executeExistingDelayedTasksAfterShutdown) {
+						break;
+					}
+					if (!draining) {
+						// Keep one-shot timers, dropping periodic timers right away
+						cancelPeriodicTimers();
+						draining = true;
+					}
+					if (getTimerCount() == 0) {
+						break;
+					}
+				}
+				long sleepNanos = this.startTime + tick * this.tickNanos - System.nanoTime();
+				if (sleepNanos > 0) {
+					LockSupport.parkNanos(this, sleepNanos);
+					Thread.interrupted();
+				}
+				else {
+					expire(advance(tick));
+					tick++;
+				}
+			}
+		}
+		finally {
+			terminate();
+		}
+	}
+
+	/**
+	 * Advance the wheel to the given tick, returning the chain of timers
+	 * expiring with it.
+	 */
+	@Nullable
+	private TimerTask<?> advance(long tick) {
+		this.lock.lock();
+		try {
+			// Cascade coarser-grained buckets starting their period with this tick
+			for (int level = this.wheels.length - 1; level > 0; level--) {
+				int shift = level * this.wheelBits;
+				Bucket[] wheel = this.wheels[level];
+				if (wheel != null && (tick & ((1L << shift) - 1)) == 0) {
+					TimerTask<?> timer = wheel[(int) (tick >>> shift) & this.wheelMask].detach();
+					while (timer != null) {
+						TimerTask<?> next = timer.next;
+						timer.next = null;
+						insert(timer, timer.expirationTick, tick);
+						timer = next;
+					}
+				}
+			}
+			this.nextTick = tick + 1;
+			TimerTask<?> expired = (this.wheels[0] != null ? this.wheels[0][(int) tick & this.wheelMask].detach() : null);
+			for (TimerTask<?> timer = expired; timer != null; timer = timer.next) {
+				this.timerCount--;
+			}
+			return expired;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	private long getTimerCount() {
+		this.lock.lock();
+		try {
+			return this.timerCount;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	private void insert(TimerTask<?> timer, long expirationTick, long tick) {
+		timer.expirationTick = expirationTick;
+		expirationTick = Math.max(expirationTick, tick);
+		for (int level = 0; level < this.wheels.length; level++) {
+			int shift = level * this.wheelBits;
+			if ((expirationTick >>> shift) - (tick >>> shift) <= this.wheelMask || level == this.wheels.length - 1) {
+				Bucket[] wheel = this.wheels[level];
+				if (wheel == null) {
+					wheel = new Bucket[this.wheelMask + 1];
+					for (int i = 0; i < wheel.length; i++) {
+						wheel[i] = new Bucket();
+					}
+					this.wheels[level] = wheel;
+				}
+				wheel[(int) (expirationTick >>> shift) & this.wheelMask].add(timer);
+				return;
+			}
+		}
+	}
+
+	private void expire(@Nullable TimerTask<?> timer) {
+		while (timer != null) {
+			TimerTask<?> next = timer.next;
+			timer.next = null;
+			if (!timer.isCancelled()) {
+				try {
+					this.taskExecutor.execute(timer);
+				}
+				catch (RejectedExecutionException ex) {
+					timer.cancel(false);
+				}
+			}
+			timer = next;
+		}
+	}
+
+	private void cancelPeriodicTimers() {
+		List<TimerTask<?>> periodicTimers = new ArrayList<>();
+		this.lock.lock();
+		try {
+			for (Bucket[] wheel : this.wheels) {
+				if (wheel != null) {
+					for (Bucket bucket : wheel) {
+						for (TimerTask<?> timer = bucket.head; timer != null; timer = timer.next) {
+							if (timer.isPeriodic()) {
+								periodicTimers.add(timer);
+							}
+						}
+					}
+				}
+			}
+		}
+		finally {
+			this.lock.unlock();
+		}
+		// Removes each timer from the wheel
+		periodicTimers.forEach(timer -> timer.cancel(false));
+	}
+
+	private void terminate() {
+		List<Runnable> remaining = new ArrayList<>();
+		this.lock.lock();
+		try {
+			this.terminated = true;
+			for (Bucket[] wheel : this.wheels) {
+				if (wheel != null) {
+					for (Bucket bucket : wheel) {
+						for (TimerTask<?> timer = bucket.detach(); timer != null; timer = timer.next) {
+							remaining.add(timer);
+						}
+					}
+				}
+			}
+			this.timerCount = 0;
+		}
+		finally {
+			this.lock.unlock();
+		}
+		remaining.removeIf(timer -> ((TimerTask<?>) timer).isCancelled());
+		if (this.runState == STOP) {
+			this.remainingTimers = Collections.unmodifiableList(remaining);
+		}
+		else {
+			for (Runnable timer : remaining) {
+				((TimerTask<?>) timer).cancel(false);
+			}
+		}
+		this.taskExecutor.shutdown();
+	}
+
+	private static long deadlineFor(long delayNanos) {
+		return System.nanoTime() + Math.min(Math.max(delayNanos, 0), MAX_DELAY_NANOS);
+	}
+
+
+	/**
+	 * Doubly-linked list of timers expiring within the same wheel bucket.
+	 */
+	private static final class Bucket {
+
+		@Nullable
+		private TimerTask<?> head;
+
+		@Nullable
+		private TimerTask<?> tail;
+
+		void add(TimerTask<?> timer) {
+			timer.bucket = this;
+			timer.prev = this.tail;
+			if (this.tail != null) {
+				this.tail.next = timer;
+			}
+			else {
+				this.head = timer;
+			}
+			this.tail = timer;
+		}
+
+		void remove(TimerTask<?> timer) {
+			if (timer.prev != null) {
+				timer.prev.next = timer.next;
+			}
+			else {
+				this.head = timer.next;
+			}
+			if (timer.next != null) {
+				timer.next.prev = timer.prev;
+			}
+			else {
+				this.tail = timer.prev;
+			}
+			timer.bucket = null;
+			timer.prev = null;
+			timer.next = null;
+		}
+
+		/**
+		 * Remove all timers from this bucket, returning them as a chain
+		 * linked through their {@code next} references.
+		 */
+		@Nullable
+		TimerTask<?> detach() {
+			TimerTask<?> timer = this.head;
+			for (TimerTask<?> current = timer; current != null; current = current.next) {
+				current.bucket = null;
+				current.prev = null;
+			}
+			this.head = null;
+			this.tail = null;
+			return timer;
+		}
+	}
+
+
+	/**
+	 * A timer in the wheel, serving as the {@link ScheduledFuture} handle for it.
+	 */
+	private final class TimerTask<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+
+		/**
+		 * Positive for a fixed rate, negative for a fixed delay, 0 for a one-shot timer.
+		 */
+		private final long period;
+
+		private volatile long deadline;
+
+		// Guarded by the executor's lock
+		private long expirationTick;
+
+		@Nullable
+		private Bucket bucket;
+
+		@Nullable
+		private TimerTask<?> prev;
+
+		@Nullable
+		private TimerTask<?> next;
+
+		TimerTask(Runnable runnable, @Nullable V result, long delayNanos, long period) {
+			super(runnable, result);
+			this.period = period;
+			this.deadline = deadlineFor(delayNanos);
+		}
+
+		TimerTask(Callable<V> callable, long delayNanos) {
+			super(callable);
+			this.period = 0;
+			this.deadline = deadlineFor(delayNanos);
+		}
+
+		@Override
+		public boolean isPeriodic() {
+			return (this.period != 0);
+		}
+
+		@Override
+		public void run() {
+			if (!isPeriodic()) {
+				super.run();
+			}
+			else if (runAndReset()) {
+				this.deadline = (this.period > 0 ? this.deadline + this.period : deadlineFor(-this.period));
+				add(this);
+			}
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			boolean cancelled = super.cancel(mayInterruptIfRunning);
+			if (cancelled) {
+				remove(this);
+			}
+			return cancelled;
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return unit.convert(this.deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+			if (other == this) {
+				return 0;
+			}
+			if (other instanceof TimerTask<?> otherTimer) {
+				return Long.compare(this.deadline - otherTimer.deadline, 0);
+			}
+			return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+		}
+	}
+
+}
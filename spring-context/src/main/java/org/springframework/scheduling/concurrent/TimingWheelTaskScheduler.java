@@ -0,0 +1,286 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.TaskUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ErrorHandler;
+
+/**
+ * An implementation of Spring's {@link TaskScheduler} interface based on a
+ * hierarchical hashed timing wheel, scheduling and cancelling tasks in constant
+ * time. Designed for very large numbers of pending timers, most of which get
+ * cancelled before they expire: e.g. session expiration, request timeouts or
+ * heartbeats, where the heap-based delay queue of a
+ * {@link java.util.concurrent.ScheduledThreadPoolExecutor} (as used by
+ * {@link ThreadPoolTaskScheduler} and {@link SimpleAsyncTaskScheduler})
+ * spends O(log n) on every schedule and cancel operation.
+ *
+ * <p>A single wheel thread advances the wheel at the configured
+ * {@link #setTickDuration tick duration}, handing expired tasks to a pool of
+ * execution threads (1 by default; see {@link #setPoolSize}). Tasks fire with
+ * tick precision: never early, but up to one tick late. Fixed-rate, fixed-delay
+ * and {@link Trigger}-based tasks (including
+ * {@link org.springframework.scheduling.support.CronTrigger}) are supported,
+ * with each execution being rescheduled in the wheel.
+ *
+ * <p>On a graceful shutdown (e.g. with {@link #setWaitForTasksToCompleteOnShutdown
+ * "waitForTasksToCompleteOnShutdown"}), pending one-time tasks still get executed
+ * when due, as with the default policy of a {@code ScheduledThreadPoolExecutor},
+ * unless {@link #setExecuteExistingDelayedTasksAfterShutdownPolicy} has been
+ * switched off. Pending periodic tasks get cancelled in any case. An immediate
+ * shutdown, as by default, cancels all pending tasks.
+ *
+ * @author agent
+ * @since 6.2
+ * @see #setTickDuration
+ * @see #setTicksPerWheel
+ * @see #setPoolSize
+ * @see #setExecuteExistingDelayedTasksAfterShutdownPolicy
+ * @see ThreadPoolTaskScheduler
+ */
+@SuppressWarnings("serial")
+public class TimingWheelTaskScheduler extends ExecutorConfigurationSupport implements TaskScheduler {
+
+	private static final TimeUnit NANO = TimeUnit.NANOSECONDS;
+
+
+	private Duration tickDuration = Duration.ofMillis(10);
+
+	private int ticksPerWheel = 512;
+
+	private int poolSize = 1;
+
+	private volatile boolean executeExistingDelayedTasksAfterShutdownPolicy = true;
+
+	@Nullable
+	private volatile ErrorHandler errorHandler;
+
+	private Clock clock = Clock.systemDefaultZone();
+
+	@Nullable
+	private TimingWheelScheduledExecutor scheduledExecutor;
+
+
+	/**
+	 * Set the duration of a single tick of the timing wheel, i.e. the
+	 * precision that tasks are triggered with.
+	 * <p>Default is 10 milliseconds. A shorter duration provides higher precision
+	 * at the expense of more frequent wakeups of the wheel thread.
+	 */
+	public void setTickDuration(Duration tickDuration) {
+		Assert.isTrue(tickDuration.toMillis() >= 1, "'tickDuration' must be at least 1 millisecond");
+		this.tickDuration = tickDuration;
+	}
+
+	/**
+	 * Set the number of buckets per level of the timing wheel, with each level
+	 * covering a multiple of this number of ticks of the level below.
+	 * <p>Default is 512, covering delays of about 5 seconds in the finest level
+	 * and about 43 minutes in the next level with the default tick duration.
+	 * Must be a power of two.
+	 */
+	public void setTicksPerWheel(int ticksPerWheel) {
+		Assert.isTrue(ticksPerWheel > 1 && Integer.bitCount(ticksPerWheel) == 1,
+				"'ticksPerWheel' must be a power of two");
+		this.ticksPerWheel = ticksPerWheel;
+	}
+
+	/**
+	 * Set the number of threads for executing expired tasks.
+	 * Default is 1.
+	 */
+	public void setPoolSize(int poolSize) {
+		Assert.isTrue(poolSize > 0, "'poolSize' must be 1 or higher");
+		this.poolSize = poolSize;
+	}
+
+	/**
+	 * Set whether to execute existing one-time tasks when due even when this
+	 * scheduler has been shut down.
+	 * <p>Default is {@code true}, in line with {@link ThreadPoolTaskScheduler}.
+	 * If set to {@code false}, pending one-time tasks get cancelled on shutdown.
+	 * <p><b>This setting can be modified at runtime, for example through JMX.</b>
+	 * @see ThreadPoolTaskScheduler#setExecuteExistingDelayedTasksAfterShutdownPolicy
+	 */
+	public void setExecuteExistingDelayedTasksAfterShutdownPolicy(boolean flag) {
+		if (this.scheduledExecutor != null) {
+			this.scheduledExecutor.setExecuteExistingDelayedTasksAfterShutdown(flag);
+		}
+		this.executeExistingDelayedTasksAfterShutdownPolicy = flag;
+	}
+
+	/**
+	 * Set a custom {@link ErrorHandler} strategy.
+	 */
+	public void setErrorHandler(ErrorHandler errorHandler) {
+		this.errorHandler = errorHandler;
+	}
+
+	/**
+	 * Set the clock to use for scheduling purposes.
+	 * <p>The default clock is the system clock for the default time zone.
+	 * @see Clock#systemDefaultZone()
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "Clock must not be null");
+		this.clock = clock;
+	}
+
+	@Override
+	public Clock getClock() {
+		return this.clock;
+	}
+
+
+	@Override
+	protected ExecutorService initializeExecutor(
+			ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler) {
+
+		ThreadPoolExecutor taskExecutor = new ThreadPoolExecutor(this.poolSize, this.poolSize,
+				0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), threadFactory, rejectedExecutionHandler) {
+			@Override
+			protected void beforeExecute(Thread thread, Runnable task) {
+				TimingWheelTaskScheduler.this.beforeExecute(thread, task);
+			}
+			@Override
+			protected void afterExecute(Runnable task, Throwable ex) {
+				TimingWheelTaskScheduler.this.afterExecute(task, ex);
+			}
+		};
+		TimingWheelScheduledExecutor scheduledExecutor = new TimingWheelScheduledExecutor(
+				this.tickDuration, this.ticksPerWheel, threadFactory, taskExecutor);
+		scheduledExecutor.setExecuteExistingDelayedTasksAfterShutdown(
+				this.executeExistingDelayedTasksAfterShutdownPolicy);
+		this.scheduledExecutor = scheduledExecutor;
+		return scheduledExecutor;
+	}
+
+	/**
+	 * Return the underlying ScheduledExecutorService for native access.
+	 * @return the underlying ScheduledExecutorService (never {@code null})
+	 * @throws IllegalStateException if the TimingWheelTaskScheduler hasn't been initialized yet
+	 */
+	public ScheduledExecutorService getScheduledExecutor() throws IllegalStateException {
+		Assert.state(this.scheduledExecutor != null, "TimingWheelTaskScheduler not initialized");
+		return this.scheduledExecutor;
+	}
+
+
+	// TaskScheduler implementation
+
+	@Override
+	@Nullable
+	public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+		ScheduledExecutorService executor = getScheduledExecutor();
+		try {
+			ErrorHandler errorHandler = this.errorHandler;
+			if (errorHandler == null) {
+				errorHandler = TaskUtils.getDefaultErrorHandler(true);
+			}
+			return new ReschedulingRunnable(task, trigger, this.clock, executor, errorHandler).schedule();
+		}
+		catch (RejectedExecutionException ex) {
+			throw new TaskRejectedException(executor, task, ex);
+		}
+	}
+
+	@Override
+	public ScheduledFuture<?> schedule(Runnable task, Instant startTime) {
+		ScheduledExecutorService executor = getScheduledExecutor();
+		Duration delay = Duration.between(this.clock.instant(), startTime);
+		try {
+			return executor.schedule(errorHandlingTask(task, false), NANO.convert(delay), NANO);
+		}
+		catch (RejectedExecutionException ex) {
+			throw new TaskRejectedException(executor, task, ex);
+		}
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Instant startTime, Duration period) {
+		ScheduledExecutorService executor = getScheduledExecutor();
+		Duration initialDelay = Duration.between(this.clock.instant(), startTime);
+		try {
+			return executor.scheduleAtFixedRate(errorHandlingTask(task, true),
+					NANO.convert(initialDelay), NANO.convert(period), NANO);
+		}
+		catch (RejectedExecutionException ex) {
+			throw new TaskRejectedException(executor, task, ex);
+		}
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Duration period) {
+		ScheduledExecutorService executor = getScheduledExecutor();
+		try {
+			return executor.scheduleAtFixedRate(errorHandlingTask(task, true),
+					0, NANO.convert(period), NANO);
+		}
+		catch (RejectedExecutionException ex) {
+			throw new TaskRejectedException(executor, task, ex);
+		}
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Instant startTime, Duration delay) {
+		ScheduledExecutorService executor = getScheduledExecutor();
+		Duration initialDelay = Duration.between(this.clock.instant(), startTime);
+		try {
+			return executor.scheduleWithFixedDelay(errorHandlingTask(task, true),
+					NANO.convert(initialDelay), NANO.convert(delay), NANO);
+		}
+		catch (RejectedExecutionException ex) {
+			throw new TaskRejectedException(executor, task, ex);
+		}
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Duration delay) {
+		ScheduledExecutorService executor = getScheduledExecutor();
+		try {
+			return executor.scheduleWithFixedDelay(errorHandlingTask(task, true),
+					0, NANO.convert(delay), NANO);
+		}
+		catch (RejectedExecutionException ex) {
+			throw new TaskRejectedException(executor, task, ex);
+		}
+	}
+
+
+	private Runnable errorHandlingTask(Runnable task, boolean isRepeatingTask) {
+		return TaskUtils.decorateTaskWithErrorHandler(task, this.errorHandler, isRepeatingTask);
+	}
+
+}
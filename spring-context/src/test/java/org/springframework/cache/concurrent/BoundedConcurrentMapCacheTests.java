@@ -0,0 +1,226 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.context.testfixture.cache.AbstractValueAdaptingCacheTests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Tests for {@link ConcurrentMapCache} with a size bound, expiration and refresh.
+ *
+ * @author agent
+ */
+class BoundedConcurrentMapCacheTests extends AbstractValueAdaptingCacheTests<ConcurrentMapCache> {
+
+	protected ConcurrentMap<Object, Object> nativeCache;
+
+	protected ConcurrentMapCache cache;
+
+	protected ConcurrentMapCache cacheNoNull;
+
+
+	@BeforeEach
+	void setup() {
+		this.nativeCache = new ConcurrentHashMap<>();
+		this.cache = createCache(CACHE_NAME, this.nativeCache, true, 1000, Duration.ofMinutes(1), null);
+		this.cacheNoNull = createCache(CACHE_NAME_NO_NULL, new ConcurrentHashMap<>(), false,
+				1000, Duration.ofMinutes(1), null);
+	}
+
+	@Override
+	protected ConcurrentMapCache getCache() {
+		return getCache(true);
+	}
+
+	@Override
+	protected ConcurrentMapCache getCache(boolean allowNull) {
+		return (allowNull ? this.cache : this.cacheNoNull);
+	}
+
+	@Override
+	protected ConcurrentMap<Object, Object> getNativeCache() {
+		return this.nativeCache;
+	}
+
+
+	@Test
+	void maximumSize() {
+		ConcurrentMapCache cache = createCache(CACHE_NAME, new ConcurrentHashMap<>(), true, 10, null, null);
+		for (int i = 0; i < 100; i++) {
+			cache.put(i, "value" + i);
+		}
+		assertThat(cache.getNativeCache()).hasSize(10);
+		assertThat(cache.get(99).get()).isEqualTo("value99");
+		assertThat(cache.get(0)).isNull();
+		assertThat(cache.evictionCount()).isEqualTo(90);
+	}
+
+	@Test
+	void maximumSizeWithSecondChanceForAccessedEntries() {
+		ConcurrentMapCache cache = createCache(CACHE_NAME, new ConcurrentHashMap<>(), true, 10, null, null);
+		for (int i = 0; i < 100; i++) {
+			cache.put(i, "value" + i);
+			assertThat(cache.get(0)).isNotNull();
+		}
+		assertThat(cache.getNativeCache()).hasSize(10);
+		assertThat(cache.get(0).get()).isEqualTo("value0");
+	}
+
+	@Test
+	void timeToLive() throws InterruptedException {
+		ConcurrentMapCache cache = createCache(CACHE_NAME, new ConcurrentHashMap<>(), true,
+				0, Duration.ofMillis(50), null);
+		cache.put("key", "value");
+		assertThat(cache.get("key").get()).isEqualTo("value");
+		Thread.sleep(100);
+		assertThat(cache.get("key")).isNull();
+		assertThat(cache.putIfAbsent("key", "value2")).isNull();
+		assertThat(cache.putIfAbsent("key", "value3").get()).isEqualTo("value2");
+		assertThat(cache.evictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	void timeToLivePurgesUnusedEntriesOnWrite() throws InterruptedException {
+		ConcurrentMapCache cache = createCache(CACHE_NAME, new ConcurrentHashMap<>(), true,
+				0, Duration.ofMillis(50), null);
+		for (int i = 0; i < 10; i++) {
+			cache.put(i, "value" + i);
+		}
+		Thread.sleep(100);
+		cache.put("key", "value");
+		assertThat(cache.getNativeCache()).containsOnlyKeys("key");
+		assertThat(cache.evictionCount()).isEqualTo(10);
+	}
+
+	@Test
+	void timeToIdle() throws InterruptedException {
+		ConcurrentMapCache cache = createCache(CACHE_NAME, new ConcurrentHashMap<>(), true,
+				0, null, Duration.ofMillis(200));
+		cache.put("key", "value");
+		for (int i = 0; i < 4; i++) {
+			Thread.sleep(100);
+			assertThat(cache.get("key")).isNotNull();
+		}
+		Thread.sleep(300);
+		assertThat(cache.get("key")).isNull();
+	}
+
+	@Test
+	void refreshAfterWrite() throws InterruptedException {
+		ConcurrentMapCache cache = createRefreshingCache(Duration.ofMillis(50));
+		AtomicInteger counter = new AtomicInteger();
+		assertThat(cache.get("key", counter::incrementAndGet)).isEqualTo(1);
+		assertThat(cache.get("key", counter::incrementAndGet)).isEqualTo(1);
+		Thread.sleep(100);
+		assertThat(cache.get("key", counter::incrementAndGet)).isEqualTo(1);
+		assertThat(cache.get("key", counter::incrementAndGet)).isEqualTo(2);
+		assertThat(cache.get("key").get()).isEqualTo(2);
+		assertThat(counter.get()).isEqualTo(2);
+	}
+
+	@Test
+	void refreshAfterWriteWithFailure() throws InterruptedException {
+		ConcurrentMapCache cache = createRefreshingCache(Duration.ofMillis(50));
+		cache.put("key", "value");
+		Thread.sleep(100);
+		assertThat(cache.get("key", () -> {
+			throw new IllegalStateException("Expected failure");
+		})).isEqualTo("value");
+		assertThat(cache.get("key", () -> "value2")).isEqualTo("value");
+		assertThat(cache.get("key").get()).isEqualTo("value2");
+	}
+
+	@Test
+	void refreshAfterWriteWithRetrieve() throws Exception {
+		ConcurrentMapCache cache = createRefreshingCache(Duration.ofMillis(50));
+		cache.put("key", "value");
+		Thread.sleep(100);
+		CompletableFuture<String> refresh = new CompletableFuture<>();
+		assertThat(cache.retrieve("key", () -> refresh).get()).isEqualTo("value");
+		assertThat(cache.retrieve("key", () -> CompletableFuture.completedFuture("other")).get()).isEqualTo("value");
+		refresh.complete("value2");
+		await().until(() -> "value2".equals(cache.get("key").get()));
+		assertThat(cache.retrieve("key", () -> CompletableFuture.completedFuture("other")).get()).isEqualTo("value2");
+	}
+
+	@Test
+	void refreshAfterWriteWithoutExecutor() {
+		ConcurrentMapCache cache = new ConcurrentMapCache(CACHE_NAME, new ConcurrentHashMap<>(), true, null,
+				0, Duration.ofMinutes(1), null, Duration.ofMillis(50), false);
+		assertThatIllegalStateException().isThrownBy(() -> cache.get("key", () -> "value"));
+	}
+
+	@Test
+	void statistics() {
+		ConcurrentMapCache cache = createCache(CACHE_NAME, new ConcurrentHashMap<>(), true, 0, null, null);
+		cache.put("key", "value");
+		cache.get("key");
+		cache.get("key", () -> "other");
+		cache.get("other", () -> "value");
+		cache.get("none");
+		assertThat(cache.hitCount()).isEqualTo(2);
+		assertThat(cache.missCount()).isEqualTo(2);
+		assertThat(cache.evictionCount()).isZero();
+		assertThat(cache.getNativeCache().get("key")).isEqualTo("value");
+	}
+
+	@Test
+	void noStatisticsByDefault() {
+		ConcurrentMapCache cache = new ConcurrentMapCache(CACHE_NAME);
+		cache.put("key", "value");
+		cache.get("key");
+		assertThat(cache.hitCount()).isZero();
+		assertThat(cache.missCount()).isZero();
+	}
+
+	@Test
+	void prePopulatedStore() {
+		ConcurrentMap<Object, Object> store = new ConcurrentHashMap<>();
+		store.put("key", "value");
+		assertThatIllegalArgumentException().isThrownBy(() ->
+				createCache(CACHE_NAME, store, true, 10, null, null));
+	}
+
+
+	private static ConcurrentMapCache createCache(String name, ConcurrentMap<Object, Object> store,
+			boolean allowNullValues, int maximumSize, Duration timeToLive, Duration timeToIdle) {
+
+		return new ConcurrentMapCache(name, store, allowNullValues, null,
+				maximumSize, timeToLive, timeToIdle, null, true);
+	}
+
+	private static ConcurrentMapCache createRefreshingCache(Duration refreshAfterWrite) {
+		ConcurrentMapCache cache = new ConcurrentMapCache(CACHE_NAME, new ConcurrentHashMap<>(), true, null,
+				0, Duration.ofMinutes(1), null, refreshAfterWrite, false);
+		cache.setRefreshExecutor(Runnable::run);
+		return cache;
+	}
+
+}
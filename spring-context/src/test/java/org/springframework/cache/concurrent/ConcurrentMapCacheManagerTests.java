@@ -16,6 +16,8 @@
 
 package org.springframework.cache.concurrent;
 
+import java.time.Duration;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.cache.Cache;
@@ -131,4 +133,42 @@ class ConcurrentMapCacheManagerTests {
 		assertThat(cache1x.get("key")).isNull();
 	}
 
+	@Test
+	void testBoundedAndExpiringCaches() {
+		ConcurrentMapCacheManager cm = new ConcurrentMapCacheManager("c1");
+		Cache cache1 = cm.getCache("c1");
+		cache1.put("key", "value");
+
+		cm.setMaximumSize(2);
+		cm.setTimeToLive(Duration.ofMinutes(1));
+		cm.setRecordStatistics(true);
+		ConcurrentMapCache cache1x = (ConcurrentMapCache) cm.getCache("c1");
+		assertThat(cache1x).isNotSameAs(cache1);
+		assertThat(cache1x.get("key")).isNull();
+		cache1x.put("key1", "value1");
+		cache1x.put("key2", "value2");
+		cache1x.put("key3", "value3");
+		assertThat(cache1x.getNativeCache()).hasSize(2);
+		assertThat(cache1x.get("key3").get()).isEqualTo("value3");
+		assertThat(cache1x.hitCount()).isEqualTo(1);
+		assertThat(cache1x.missCount()).isEqualTo(1);
+		assertThat(cache1x.evictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	void testRefreshingCaches() throws InterruptedException {
+		ConcurrentMapCacheManager cm = new ConcurrentMapCacheManager("c1");
+		Cache cache1 = cm.getCache("c1");
+
+		cm.setRefreshAfterWrite(Duration.ofMillis(50));
+		cm.setRefreshExecutor(Runnable::run);
+		assertThat(cm.getRefreshAfterWrite()).isEqualTo(Duration.ofMillis(50));
+		Cache cache1x = cm.getCache("c1");
+		assertThat(cache1x).isNotSameAs(cache1);
+		cache1x.put("key", "value");
+		Thread.sleep(100);
+		assertThat(cache1x.get("key", () -> "value2")).isEqualTo("value");
+		assertThat(cache1x.get("key").get()).isEqualTo("value2");
+	}
+
 }
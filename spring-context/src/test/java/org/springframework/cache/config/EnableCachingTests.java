@@ -19,6 +19,7 @@ package org.springframework.cache.config;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.jupiter.api.Test;
 
@@ -28,6 +29,7 @@ import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.cache.interceptor.CacheErrorHandler;
 import org.springframework.cache.interceptor.CacheInterceptor;
 import org.springframework.cache.interceptor.CacheResolver;
@@ -47,6 +49,7 @@ import org.springframework.context.testfixture.cache.SomeKeyGenerator;
 import org.springframework.context.testfixture.cache.beans.AnnotatedClassCacheableService;
 import org.springframework.context.testfixture.cache.beans.CacheableService;
 import org.springframework.context.testfixture.cache.beans.DefaultCacheableService;
+import org.springframework.expression.spel.SpelCompilerMode;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
@@ -156,6 +159,23 @@ class EnableCachingTests extends AbstractCacheAnnotationTests {
 		ctx.close();
 	}
 
+	@Test
+	void expressionCompilerMode() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
+		ctx.register(CompilerModeConfig.class, ServiceWithConditionVariable.class);
+		ctx.refresh();
+
+		ServiceWithConditionVariable service = ctx.getBean(ServiceWithConditionVariable.class);
+		// Beyond the interpreted warm-up phase of the compiled expressions
+		for (long i = 0; i < 300; i++) {
+			long result = service.find(i);
+			assertThat(service.find(i)).isEqualTo(result);
+		}
+		// A variable assigned by the condition must not leak into the key expression
+		assertThat(service.find(1L)).isNotEqualTo(service.find(2L));
+		ctx.close();
+	}
+
 
 	@Configuration
 	@EnableCaching
@@ -260,6 +280,23 @@ class EnableCachingTests extends AbstractCacheAnnotationTests {
 	}
 
 
+	@Configuration
+	@EnableCaching
+	static class CompilerModeConfig implements CachingConfigurer {
+
+		@Override
+		@Bean
+		public CacheManager cacheManager() {
+			return new ConcurrentMapCacheManager();
+		}
+
+		@Override
+		public SpelCompilerMode expressionCompilerMode() {
+			return SpelCompilerMode.MIXED;
+		}
+	}
+
+
 	@Configuration
 	@EnableCaching
 	static class EmptyConfigSupportConfig implements CachingConfigurer {
@@ -304,4 +341,15 @@ class EnableCachingTests extends AbstractCacheAnnotationTests {
 		}
 	}
 
+
+	static class ServiceWithConditionVariable {
+
+		private final AtomicLong counter = new AtomicLong();
+
+		@Cacheable(cacheNames = "testCache", condition = "(#leaked = 'leaked') != null", key = "#leaked ?: #id")
+		public long find(Long id) {
+			return this.counter.incrementAndGet();
+		}
+	}
+
 }
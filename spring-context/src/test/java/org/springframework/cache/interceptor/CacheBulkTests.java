@@ -0,0 +1,227 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.testfixture.cache.CacheTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link Cacheable#bulk()}.
+ *
+ * @author agent
+ */
+class CacheBulkTests {
+
+	private ConfigurableApplicationContext context;
+
+	private SimpleService simpleService;
+
+
+	@BeforeEach
+	void setup() {
+		this.context = new AnnotationConfigApplicationContext(Config.class);
+		this.simpleService = this.context.getBean(SimpleService.class);
+	}
+
+	@AfterEach
+	void closeContext() {
+		if (this.context != null) {
+			this.context.close();
+		}
+	}
+
+
+	@Test
+	void invokesMethodForMissingElementsOnly() {
+		assertThat(this.simpleService.find(List.of(1L, 2L, 3L)))
+				.containsExactly(Map.entry(1L, "v1"), Map.entry(2L, "v2"), Map.entry(3L, "v3"));
+		assertThat(this.simpleService.find(List.of(3L, 4L, 1L)))
+				.containsExactly(Map.entry(3L, "v3"), Map.entry(4L, "v4"), Map.entry(1L, "v1"));
+		assertThat(this.simpleService.find(List.of(2L, 4L))).containsExactly(Map.entry(2L, "v2"), Map.entry(4L, "v4"));
+		assertThat(this.simpleService.invocations).containsExactly(List.of(1L, 2L, 3L), List.of(4L));
+	}
+
+	@Test
+	void doesNotCacheMissingEntries() {
+		assertThat(this.simpleService.find(List.of(1L, 13L))).containsOnlyKeys(1L);
+		assertThat(this.simpleService.find(List.of(1L, 13L))).containsOnlyKeys(1L);
+		assertThat(this.simpleService.invocations).containsExactly(List.of(1L, 13L), List.of(13L));
+	}
+
+	@Test
+	void sharesEntriesWithSingleElementMethod() {
+		assertThat(this.simpleService.findOne(1L)).isEqualTo("one1");
+		assertThat(this.simpleService.find(List.of(1L, 2L))).containsExactly(Map.entry(1L, "one1"), Map.entry(2L, "v2"));
+		assertThat(this.simpleService.findOne(2L)).isEqualTo("v2");
+		assertThat(this.simpleService.invocations).containsExactly(1L, List.of(2L));
+	}
+
+	@Test
+	void keyExpressionWithFurtherParameter() {
+		assertThat(this.simpleService.findLocalized(new TreeSet<>(Set.of(1L, 2L)), "de")).containsOnlyKeys(1L, 2L);
+		assertThat(this.simpleService.findLocalized(new TreeSet<>(Set.of(2L, 3L)), "de")).containsOnlyKeys(2L, 3L);
+		assertThat(this.simpleService.findLocalized(Set.of(2L), "fr")).containsExactly(Map.entry(2L, "fr2"));
+		assertThat(this.simpleService.invocations).containsExactly(Set.of(1L, 2L), Set.of(3L), Set.of(2L));
+		assertThat(this.simpleService.invocations.get(1)).isInstanceOf(TreeSet.class);
+		assertThat(this.context.getBean(CacheManager.class).getCache("testCache").get("de:3").get()).isEqualTo("de3");
+	}
+
+	@Test
+	void conditionAppliesToEntireInvocation() {
+		this.simpleService.findIfSmall(List.of(1L, 2L, 3L));
+		this.simpleService.findIfSmall(List.of(1L, 2L, 3L));
+		this.simpleService.findIfSmall(List.of(1L));
+		this.simpleService.findIfSmall(List.of(1L));
+		assertThat(this.simpleService.invocations).containsExactly(List.of(1L, 2L, 3L), List.of(1L, 2L, 3L), List.of(1L));
+	}
+
+	@Test
+	void emptyCollection() {
+		assertThat(this.simpleService.find(List.of())).isEmpty();
+		assertThat(this.simpleService.invocations).containsExactly(List.of());
+	}
+
+	@Test
+	void unlessBulk() {
+		assertThatIllegalStateException()
+				.isThrownBy(() -> this.simpleService.unlessBulk(List.of(1L)))
+				.withMessageContaining("A bulk=true operation does not support the unless attribute");
+	}
+
+	@Test
+	void bulkWithoutMapReturnType() {
+		assertThatIllegalStateException()
+				.isThrownBy(() -> this.simpleService.bulkWithoutMapReturnType(List.of(1L)))
+				.withMessageContaining("A bulk=true operation requires a Map return type");
+	}
+
+	@Test
+	void bulkWithoutCollectionParameter() {
+		assertThatIllegalStateException()
+				.isThrownBy(() -> this.simpleService.bulkWithoutCollectionParameter(1L))
+				.withMessageContaining("A bulk=true operation requires exactly one Collection parameter");
+	}
+
+	@Test
+	void bulkWithAnotherOperation() {
+		assertThatIllegalStateException()
+				.isThrownBy(() -> this.simpleService.bulkWithAnotherOperation(List.of(1L)))
+				.withMessageContaining("A bulk=true operation cannot be combined with other cache operations");
+	}
+
+
+	static class SimpleService {
+
+		final List<Object> invocations = new ArrayList<>();
+
+		@Cacheable(cacheNames = "testCache", bulk = true)
+		public Map<Long, String> find(List<Long> ids) {
+			this.invocations.add(ids);
+			Map<Long, String> result = new HashMap<>();
+			for (Long id : ids) {
+				if (id != 13) {
+					result.put(id, "v" + id);
+				}
+			}
+			return result;
+		}
+
+		@Cacheable("testCache")
+		public String findOne(Long id) {
+			this.invocations.add(id);
+			return "one" + id;
+		}
+
+		@Cacheable(cacheNames = "testCache", bulk = true, key = "#p1 + ':' + #p0")
+		public Map<Long, String> findLocalized(Set<Long> ids, String lang) {
+			this.invocations.add(ids);
+			Map<Long, String> result = new HashMap<>();
+			for (Long id : ids) {
+				result.put(id, lang + id);
+			}
+			return result;
+		}
+
+		@Cacheable(cacheNames = "testCache", bulk = true, condition = "#p0.size() < 2")
+		public Map<Long, String> findIfSmall(Collection<Long> ids) {
+			this.invocations.add(new ArrayList<>(ids));
+			return new HashMap<>();
+		}
+
+		@Cacheable(cacheNames = "testCache", bulk = true, unless = "#result.isEmpty()")
+		public Map<Long, String> unlessBulk(List<Long> ids) {
+			return new HashMap<>();
+		}
+
+		@Cacheable(cacheNames = "testCache", bulk = true)
+		public List<String> bulkWithoutMapReturnType(List<Long> ids) {
+			return new ArrayList<>();
+		}
+
+		@Cacheable(cacheNames = "testCache", bulk = true)
+		public Map<Long, String> bulkWithoutCollectionParameter(Long id) {
+			return new HashMap<>();
+		}
+
+		@Cacheable(cacheNames = "testCache", bulk = true)
+		@CacheEvict(cacheNames = "anotherTestCache", allEntries = true)
+		public Map<Long, String> bulkWithAnotherOperation(List<Long> ids) {
+			return new HashMap<>();
+		}
+	}
+
+
+	@Configuration
+	@EnableCaching
+	static class Config implements CachingConfigurer {
+
+		@Override
+		@Bean
+		public CacheManager cacheManager() {
+			return CacheTestUtils.createSimpleCacheManager("testCache", "anotherTestCache");
+		}
+
+		@Bean
+		public SimpleService simpleService() {
+			return new SimpleService();
+		}
+	}
+
+}
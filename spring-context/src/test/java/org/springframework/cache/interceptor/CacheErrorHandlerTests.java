@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,9 @@
 package org.springframework.cache.interceptor;
 
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.jupiter.api.AfterEach;
@@ -39,10 +42,13 @@ import org.springframework.context.annotation.Configuration;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willReturn;
 import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -136,6 +142,35 @@ class CacheErrorHandlerTests {
 				.withMessage("Test exception on put");
 	}
 
+	@Test
+	void getAllFailFallsBackToIndividualKeys() {
+		UnsupportedOperationException exception = new UnsupportedOperationException("Test exception on getAll");
+		UnsupportedOperationException getException = new UnsupportedOperationException("Test exception on get");
+		willThrow(exception).given(this.cache).getAll(any());
+		willThrow(getException).given(this.cache).get(0L);
+		willReturn(new SimpleValueWrapper(5L)).given(this.cache).get(1L);
+
+		Map<Long, Object> result = this.simpleService.getAll(List.of(0L, 1L));
+		assertThat(result).containsOnlyKeys(0L, 1L).containsEntry(1L, 5L);
+		verify(this.errorHandler).handleCacheGetError(getException, this.cache, 0L);
+		verify(this.errorHandler, never()).handleCacheGetError(eq(exception), any(), any());
+		verify(this.cache).putAll(Map.of(0L, result.get(0L)));
+	}
+
+	@Test
+	void putAllFailFallsBackToIndividualEntries() {
+		UnsupportedOperationException exception = new UnsupportedOperationException("Test exception on putAll");
+		UnsupportedOperationException putException = new UnsupportedOperationException("Test exception on put");
+		willThrow(exception).given(this.cache).putAll(any());
+		willThrow(putException).given(this.cache).put(0L, 0L);
+
+		this.simpleService.getAll(List.of(0L, 1L));
+		verify(this.cache).put(0L, 0L);
+		verify(this.cache).put(1L, 1L);
+		verify(this.errorHandler).handleCachePutError(putException, this.cache, 0L, 0L);
+		verify(this.errorHandler, never()).handleCachePutError(eq(exception), any(), any(), any());
+	}
+
 	@Test
 	void evictFail() {
 		UnsupportedOperationException exception = new UnsupportedOperationException("Test exception on evict");
@@ -220,6 +255,15 @@ class CacheErrorHandlerTests {
 			return this.counter.getAndIncrement();
 		}
 
+		@Cacheable(bulk = true)
+		public Map<Long, Object> getAll(List<Long> ids) {
+			Map<Long, Object> result = new HashMap<>();
+			for (Long id : ids) {
+				result.put(id, this.counter.getAndIncrement());
+			}
+			return result;
+		}
+
 		@CachePut
 		public Object put(long id) {
 			return this.counter.getAndIncrement();
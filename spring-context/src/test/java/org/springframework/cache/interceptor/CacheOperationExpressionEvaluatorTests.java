@@ -34,6 +34,8 @@ import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.context.expression.BeanFactoryResolver;
 import org.springframework.context.support.StaticApplicationContext;
 import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.lang.Nullable;
@@ -144,6 +146,27 @@ class CacheOperationExpressionEvaluatorTests {
 		assertThat(value).isEqualTo(String.class.getName());
 	}
 
+	@Test
+	void compiledExpressionsInMixedMode() {
+		CacheOperationExpressionEvaluator eval = new CacheOperationExpressionEvaluator(
+				new CacheEvaluationContextFactory(this.originalEvaluationContext),
+				new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.MIXED, null)));
+		AnnotatedClass target = new AnnotatedClass();
+		Method method = ReflectionUtils.findMethod(
+				AnnotatedClass.class, "multipleCaching", Object.class, Object.class);
+		AnnotatedElementKey key = new AnnotatedElementKey(method, AnnotatedClass.class);
+		Collection<ConcurrentMapCache> caches = Collections.singleton(new ConcurrentMapCache("test"));
+
+		// Beyond the interpreted warm-up phase, then switching argument types for the compiled expressions
+		for (int i = 0; i < 300; i++) {
+			Object[] args = (i < 250 ? new Object[] {"a" + i, i} : new Object[] {i, null});
+			EvaluationContext evalCtx = eval.createEvaluationContext(caches, method, args,
+					target, target.getClass(), method, CacheOperationExpressionEvaluator.NO_RESULT);
+			assertThat(eval.key("#a", key, evalCtx)).isEqualTo(args[0]);
+			assertThat(eval.condition("#b != null", key, evalCtx)).isEqualTo(i < 250);
+		}
+	}
+
 	private EvaluationContext createEvaluationContext(Object result) {
 		return createEvaluationContext(result, null);
 	}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.testfixture.io.SerializationTestUtils;
+import org.springframework.util.ReflectionUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link CompactKeyGenerator}.
+ *
+ * @author agent
+ */
+class CompactKeyGeneratorTests {
+
+	private final CompactKeyGenerator generator = new CompactKeyGenerator();
+
+
+	@Test
+	void noValues() {
+		assertThat(generateKey(new Object[] {})).isSameAs(SimpleKey.EMPTY);
+	}
+
+	@Test
+	void singleValue() {
+		assertThat(generateKey(new Object[] { "a" })).isEqualTo("a");
+		assertThat(generateKey(new Object[] { null })).isInstanceOf(SimpleKey.class);
+	}
+
+	@Test
+	void twoValues() {
+		Object k1 = generateKey(new Object[] { "a", 1 });
+		Object k2 = generateKey(new Object[] { "a", 1 });
+		Object k3 = generateKey(new Object[] { 1, "a" });
+		Object k4 = generateKey(new Object[] { "a", 1L });
+		assertThat(k1.hashCode()).isEqualTo(k2.hashCode());
+		assertThat(k1.hashCode()).isNotEqualTo(k3.hashCode());
+		assertThat(k1).isEqualTo(k2);
+		assertThat(k1).isNotEqualTo(k3);
+		assertThat(k1).isNotEqualTo(k4);
+		assertThat(k1).isNotInstanceOf(SimpleKey.class);
+	}
+
+	@Test
+	void threeValues() {
+		Object k1 = generateKey(new Object[] { "a", 1, "b" });
+		Object k2 = generateKey(new Object[] { "a", 1, "b" });
+		Object k3 = generateKey(new Object[] { "b", 1, "a" });
+		Object k4 = generateKey(new Object[] { "a", 1 });
+		assertThat(k1.hashCode()).isEqualTo(k2.hashCode());
+		assertThat(k1.hashCode()).isNotEqualTo(k3.hashCode());
+		assertThat(k1).isEqualTo(k2);
+		assertThat(k1).isNotEqualTo(k3);
+		assertThat(k1).isNotEqualTo(k4);
+		assertThat(k1).isNotInstanceOf(SimpleKey.class);
+	}
+
+	@Test
+	void nullValues() {
+		Object k1 = generateKey(new Object[] { "a", null, null });
+		Object k2 = generateKey(new Object[] { "a", null, null });
+		Object k3 = generateKey(new Object[] { null, "a", null });
+		assertThat(k1.hashCode()).isEqualTo(k2.hashCode());
+		assertThat(k1).isEqualTo(k2);
+		assertThat(k1).isNotEqualTo(k3);
+	}
+
+	@Test
+	void arrayWithExtraParameter() {
+		Object k1 = generateKey(new Object[] { new String[]{"a", "b"}, "c" });
+		Object k2 = generateKey(new Object[] { new String[]{"a", "b"}, "c" });
+		Object k3 = generateKey(new Object[] { new String[]{"b", "a"}, "c" });
+		assertThat(k1).isInstanceOf(SimpleKey.class);
+		assertThat(k1.hashCode()).isEqualTo(k2.hashCode());
+		assertThat(k1).isEqualTo(k2);
+		assertThat(k1).isNotEqualTo(k3);
+	}
+
+	@Test
+	void manyValues() {
+		Object k1 = generateKey(new Object[] { "a", 1, "b", 2 });
+		Object k2 = generateKey(new Object[] { "a", 1, "b", 2 });
+		assertThat(k1).isInstanceOf(SimpleKey.class);
+		assertThat(k1).isEqualTo(k2);
+	}
+
+	@Test
+	void serializedKeys() throws Exception {
+		Object k1 = SerializationTestUtils.serializeAndDeserialize(generateKey(new Object[] { "a", 1, "b" }));
+		Object k2 = SerializationTestUtils.serializeAndDeserialize(generateKey(new Object[] { "a", 1, "b" }));
+		Object k3 = SerializationTestUtils.serializeAndDeserialize(generateKey(new Object[] { "a", 1 }));
+		assertThat(k1.hashCode()).isEqualTo(k2.hashCode());
+		assertThat(k1).isEqualTo(k2);
+		assertThat(k1).isNotEqualTo(k3);
+		assertThat(k3).isEqualTo(generateKey(new Object[] { "a", 1 }));
+	}
+
+
+	private Object generateKey(Object[] arguments) {
+		Method method = ReflectionUtils.findMethod(this.getClass(), "generateKey", Object[].class);
+		return this.generator.generate(this, method, arguments);
+	}
+
+}
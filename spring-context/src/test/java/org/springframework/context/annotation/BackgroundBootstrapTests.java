@@ -19,11 +19,13 @@ package org.springframework.context.annotation;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.testfixture.beans.TestBean;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.testfixture.EnabledForTestGroups;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.context.annotation.Bean.Bootstrap.BACKGROUND;
 import static org.springframework.core.testfixture.TestGroup.LONG_RUNNING;
 
@@ -44,6 +46,20 @@ class BackgroundBootstrapTests {
 		ctx.close();
 	}
 
+	@Test
+	@Timeout(5)
+	@EnabledForTestGroups(LONG_RUNNING)
+	void bootstrapWithParallelPreInstantiation() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
+		ctx.getDefaultListableBeanFactory().setParallelPreInstantiation(true);
+		ctx.register(ParallelBeanConfig.class);
+		ctx.refresh();
+		TestBean testBean3 = ctx.getBean("testBean3", TestBean.class);
+		assertThat(testBean3.getSpouse()).isSameAs(ctx.getBean("testBean1"));
+		assertThat(testBean3.getFriends()).containsExactly(ctx.getBean("testBean2"));
+		ctx.close();
+	}
+
 
 	@Configuration
 	static class CustomExecutorBeanConfig {
@@ -80,4 +96,37 @@ class BackgroundBootstrapTests {
 		}
 	}
 
+
+	@Configuration
+	static class ParallelBeanConfig {
+
+		@Bean
+		public ThreadPoolTaskExecutor bootstrapExecutor() {
+			ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+			executor.setThreadNamePrefix("Custom-");
+			executor.setCorePoolSize(2);
+			executor.initialize();
+			return executor;
+		}
+
+		@Bean
+		public TestBean testBean1() throws InterruptedException {
+			Thread.sleep(3000);
+			return new TestBean();
+		}
+
+		@Bean
+		public TestBean testBean2() throws InterruptedException {
+			Thread.sleep(3000);
+			return new TestBean();
+		}
+
+		@Bean
+		public TestBean testBean3(@Qualifier("testBean1") TestBean testBean1, @Qualifier("testBean2") TestBean testBean2) {
+			TestBean testBean = new TestBean(testBean1);
+			testBean.getFriends().add(testBean2);
+			return testBean;
+		}
+	}
+
 }
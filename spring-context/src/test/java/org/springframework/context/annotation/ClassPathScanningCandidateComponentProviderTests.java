@@ -172,6 +172,40 @@ class ClassPathScanningCandidateComponentProviderTests {
 		assertBeanTypes(candidates, BarComponent.class);
 	}
 
+	@Test
+	void defaultsWithParallelScan() {
+		ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(true);
+		provider.setResourceLoader(new DefaultResourceLoader(
+				CandidateComponentsTestClassLoader.disableIndex(getClass().getClassLoader())));
+		provider.setParallelScanning(true);
+		testDefault(provider, TEST_BASE_PACKAGE, true, true, false);
+	}
+
+	@Test
+	void antStylePackageWithParallelScan() {
+		ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(true);
+		provider.setResourceLoader(new DefaultResourceLoader(
+				CandidateComponentsTestClassLoader.disableIndex(getClass().getClassLoader())));
+		provider.setParallelScanning(true);
+		testAntStyle(provider);
+	}
+
+	@Test
+	void parallelScanRetainsSequentialOrder() {
+		ClassLoader classLoader = CandidateComponentsTestClassLoader.disableIndex(getClass().getClassLoader());
+		ClassPathScanningCandidateComponentProvider sequential = new ClassPathScanningCandidateComponentProvider(true);
+		sequential.setResourceLoader(new DefaultResourceLoader(classLoader));
+		ClassPathScanningCandidateComponentProvider parallel = new ClassPathScanningCandidateComponentProvider(true);
+		parallel.setResourceLoader(new DefaultResourceLoader(classLoader));
+		parallel.setParallelScanning(true);
+
+		List<String> expected = sequential.findCandidateComponents("example").stream()
+				.map(BeanDefinition::getBeanClassName).toList();
+		List<String> actual = parallel.findCandidateComponents("example").stream()
+				.map(BeanDefinition::getBeanClassName).toList();
+		assertThat(actual).isNotEmpty().isEqualTo(expected);
+	}
+
 	@Test
 	void bogusPackageWithScan() {
 		ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(true);
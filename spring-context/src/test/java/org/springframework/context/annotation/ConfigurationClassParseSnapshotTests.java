@@ -0,0 +1,360 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.annotation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.annotation.AnnotatedGenericBeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.beans.testfixture.beans.TestBean;
+import org.springframework.context.annotation.ComponentScan.Filter;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.stereotype.Component;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for configuration class processing with a
+ * {@link ConfigurationClassPostProcessor#setConfigSnapshotFile snapshot file}.
+ *
+ * @author agent
+ * @since 6.2
+ */
+class ConfigurationClassParseSnapshotTests {
+
+	@TempDir
+	Path tempDir;
+
+	private Path snapshotFile;
+
+
+	@BeforeEach
+	void setup() {
+		this.snapshotFile = this.tempDir.resolve("config.snapshot");
+		CountingImportSelector.count.set(0);
+		InstanceSupplierRegistrar.count.set(0);
+	}
+
+
+	@Test
+	void replayOnUnchangedClasspath() {
+		AnnotationConfigApplicationContext ctx = createContext(SnapshotConfig.class, "dev");
+		assertSnapshotConfig(ctx, true);
+		ctx.close();
+		assertThat(snapshotFiles()).hasSize(1);
+		assertThat(CountingImportSelector.count).hasValue(1);
+
+		ctx = createContext(SnapshotConfig.class, "dev");
+		assertSnapshotConfig(ctx, true);
+		ctx.close();
+		assertThat(CountingImportSelector.count).hasValue(1);
+	}
+
+	@Test
+	void fullParseOnProfileChange() {
+		createContext(SnapshotConfig.class, "dev").close();
+		assertThat(CountingImportSelector.count).hasValue(1);
+
+		AnnotationConfigApplicationContext ctx = createContext(SnapshotConfig.class, "prod");
+		assertSnapshotConfig(ctx, false);
+		ctx.close();
+		assertThat(CountingImportSelector.count).hasValue(2);
+
+		createContext(SnapshotConfig.class, "prod").close();
+		assertThat(CountingImportSelector.count).hasValue(2);
+	}
+
+	@Test
+	void fullParseOnInvalidSnapshot() throws IOException {
+		createContext(SnapshotConfig.class, "dev").close();
+		Path file = snapshotFiles().get(0);
+		Files.writeString(file, "invalid");
+
+		AnnotationConfigApplicationContext ctx = createContext(SnapshotConfig.class, "dev");
+		assertSnapshotConfig(ctx, true);
+		ctx.close();
+		assertThat(CountingImportSelector.count).hasValue(2);
+		assertThat(Files.readString(file)).isNotEqualTo("invalid");
+	}
+
+	@Test
+	void separateSnapshotPerContext() {
+		createContext(SnapshotConfig.class, "dev").close();
+		AnnotationConfigApplicationContext ctx = createContext(OtherConfig.class, "dev");
+		assertThat(ctx.getBean("otherBean")).isEqualTo("other");
+		ctx.close();
+		assertThat(snapshotFiles()).hasSize(2);
+
+		ctx = createContext(SnapshotConfig.class, "dev");
+		assertSnapshotConfig(ctx, true);
+		ctx.close();
+		assertThat(CountingImportSelector.count).hasValue(1);
+	}
+
+	@Test
+	void annotatedBeanDefinitionsOnReplay() {
+		createContext(AnnotatedConfig.class, "dev").close();
+
+		AnnotationConfigApplicationContext ctx = createContext(AnnotatedConfig.class, "dev");
+		assertThat(CountingImportSelector.count).hasValue(1);
+		assertThat(ctx.getBeanDefinition("configurationClassParseSnapshotTests.SnapshotComponent"))
+				.isInstanceOfSatisfying(ScannedGenericBeanDefinition.class, bd ->
+						assertThat(bd.getMetadata().hasAnnotation(Component.class.getName())).isTrue());
+		assertThat(ctx.getBeanDefinition(SelectedConfig.class.getName()))
+				.isInstanceOfSatisfying(AnnotatedGenericBeanDefinition.class, bd ->
+						assertThat(bd.getMetadata().hasAnnotation(Configuration.class.getName())).isTrue());
+		assertThat(ctx.getBeanDefinition("annotatedBean"))
+				.isInstanceOfSatisfying(AnnotatedBeanDefinition.class, bd -> {
+					assertThat(bd.getMetadata().getClassName()).isEqualTo(AnnotatedConfig.class.getName());
+					assertThat(bd.getFactoryMethodMetadata().isAnnotated(Description.class.getName())).isTrue();
+				});
+		assertThat(ctx.getBean("annotatedBean")).isEqualTo("annotated");
+		assertThat(ctx.getBean(SnapshotComponent.class)).isNotNull();
+		ctx.close();
+	}
+
+	@Test
+	void snapshotWithRegistrarForInstanceSupplier() {
+		AnnotationConfigApplicationContext ctx = createContext(InstanceSupplierConfig.class, "dev");
+		assertThat(ctx.getBean("supplied")).isEqualTo("value");
+		ctx.close();
+		assertThat(snapshotFiles()).hasSize(1);
+		assertThat(InstanceSupplierRegistrar.count).hasValue(1);
+
+		ctx = createContext(InstanceSupplierConfig.class, "dev");
+		assertThat(ctx.getBean("supplied")).isEqualTo("value");
+		assertThat(ctx.getBean(RegisteredConfig.class).registeredBean()).isSameAs(ctx.getBean("registeredBean"));
+		ctx.close();
+		assertThat(CountingImportSelector.count).hasValue(1);
+		assertThat(InstanceSupplierRegistrar.count).hasValue(2);
+	}
+
+
+	@Test
+	void fullParseOnConditionOutcomeChange() {
+		AnnotationConfigApplicationContext ctx = createContext(ConditionalConfig.class, "dev", true);
+		assertThat(ctx.containsBean("featureBean")).isTrue();
+		assertThat(ctx.containsBean("featureConfigBean")).isTrue();
+		ctx.close();
+
+		ctx = createContext(ConditionalConfig.class, "dev", true);
+		assertThat(ctx.containsBean("featureBean")).isTrue();
+		assertThat(ctx.containsBean("featureConfigBean")).isTrue();
+		ctx.close();
+		assertThat(CountingImportSelector.count).hasValue(1);
+
+		ctx = createContext(ConditionalConfig.class, "dev", false);
+		assertThat(ctx.containsBean("featureBean")).isFalse();
+		assertThat(ctx.containsBean("featureConfigBean")).isFalse();
+		ctx.close();
+		assertThat(CountingImportSelector.count).hasValue(2);
+
+		createContext(ConditionalConfig.class, "dev", false).close();
+		assertThat(CountingImportSelector.count).hasValue(2);
+	}
+
+
+	private AnnotationConfigApplicationContext createContext(Class<?> configClass, String profile) {
+		return createContext(configClass, profile, false);
+	}
+
+	private AnnotationConfigApplicationContext createContext(Class<?> configClass, String profile, boolean feature) {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext();
+		ctx.getEnvironment().setActiveProfiles(profile);
+		ctx.getEnvironment().getPropertySources().addFirst(
+				new MapPropertySource("feature", Map.of("feature.enabled", String.valueOf(feature))));
+		ctx.getBeanDefinition(AnnotationConfigUtils.CONFIGURATION_ANNOTATION_PROCESSOR_BEAN_NAME)
+				.getPropertyValues().add("configSnapshotFile", this.snapshotFile);
+		ctx.register(configClass);
+		ctx.refresh();
+		return ctx;
+	}
+
+	private List<Path> snapshotFiles() {
+		try (Stream<Path> files = Files.list(this.tempDir)) {
+			return files.filter(file -> file.getFileName().toString().startsWith("config.snapshot-")).toList();
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static void assertSnapshotConfig(AnnotationConfigApplicationContext ctx, boolean dev) {
+		assertThat(ctx.getBean("testBean", TestBean.class).getName()).isEqualTo("p1TestBean");
+		assertThat(ctx.getAliases("testBean")).containsExactly("myTestBean");
+		assertThat(ctx.getBean(SelectedConfig.class).name).isEqualTo("selected");
+		assertThat(ctx.getBean(ImportAwareConfig.class).importMetadata.getClassName())
+				.isEqualTo(SnapshotConfig.class.getName());
+		assertThat(ctx.getEnvironment().getProperty("from.p1")).isEqualTo("p1Value");
+		assertThat(ctx.containsBean("devBean")).isEqualTo(dev);
+	}
+
+
+	@Configuration
+	@Import({CountingImportSelector.class, ImportAwareConfig.class})
+	@PropertySource("classpath:org/springframework/context/annotation/p1.properties")
+	static class SnapshotConfig {
+
+		@Bean({"testBean", "myTestBean"})
+		TestBean testBean(Environment environment) {
+			return new TestBean(environment.getProperty("testbean.name"));
+		}
+
+		@Bean
+		@Profile("dev")
+		String devBean() {
+			return "dev";
+		}
+	}
+
+
+	@Configuration(proxyBeanMethods = false)
+	static class OtherConfig {
+
+		@Bean
+		String otherBean() {
+			return "other";
+		}
+	}
+
+
+	@Configuration(proxyBeanMethods = false)
+	@Import(CountingImportSelector.class)
+	@ComponentScan(basePackageClasses = SnapshotComponent.class, useDefaultFilters = false,
+			includeFilters = @Filter(type = FilterType.ASSIGNABLE_TYPE, classes = SnapshotComponent.class))
+	static class AnnotatedConfig {
+
+		@Bean
+		@Description("annotated")
+		String annotatedBean() {
+			return "annotated";
+		}
+	}
+
+
+	@Component
+	static class SnapshotComponent {
+	}
+
+
+	@Configuration(proxyBeanMethods = false)
+	@Import({CountingImportSelector.class, FeatureConfig.class})
+	static class ConditionalConfig {
+
+		@Bean
+		@Conditional(FeatureCondition.class)
+		String featureBean() {
+			return "feature";
+		}
+	}
+
+
+	@Configuration(proxyBeanMethods = false)
+	@Conditional(FeatureCondition.class)
+	static class FeatureConfig {
+
+		@Bean
+		String featureConfigBean() {
+			return "featureConfig";
+		}
+	}
+
+
+	static class FeatureCondition implements Condition {
+
+		@Override
+		public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+			return context.getEnvironment().getProperty("feature.enabled", Boolean.class, false);
+		}
+	}
+
+
+	static class CountingImportSelector implements ImportSelector {
+
+		static final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public String[] selectImports(AnnotationMetadata importingClassMetadata) {
+			count.incrementAndGet();
+			return new String[] {SelectedConfig.class.getName()};
+		}
+	}
+
+
+	@Configuration(proxyBeanMethods = false)
+	static class SelectedConfig {
+
+		String name = "selected";
+	}
+
+
+	@Configuration(proxyBeanMethods = false)
+	static class ImportAwareConfig implements ImportAware {
+
+		AnnotationMetadata importMetadata;
+
+		@Override
+		public void setImportMetadata(AnnotationMetadata importMetadata) {
+			this.importMetadata = importMetadata;
+		}
+	}
+
+
+	@Configuration(proxyBeanMethods = false)
+	@Import({CountingImportSelector.class, InstanceSupplierRegistrar.class})
+	static class InstanceSupplierConfig {
+	}
+
+
+	static class InstanceSupplierRegistrar implements ImportBeanDefinitionRegistrar {
+
+		static final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public void registerBeanDefinitions(AnnotationMetadata importingClassMetadata, BeanDefinitionRegistry registry) {
+			count.incrementAndGet();
+			registry.registerBeanDefinition("supplied", new RootBeanDefinition(String.class, () -> "value"));
+			registry.registerBeanDefinition("registeredConfig", new RootBeanDefinition(RegisteredConfig.class));
+		}
+	}
+
+
+	@Configuration
+	static class RegisteredConfig {
+
+		@Bean
+		TestBean registeredBean() {
+			return new TestBean();
+		}
+	}
+
+}
@@ -59,6 +59,7 @@ import org.springframework.scheduling.support.TaskUtils;
 import org.springframework.util.ReflectionUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.assertj.core.api.Assertions.assertThatRuntimeException;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.BDDMockito.given;
@@ -215,6 +216,68 @@ class ApplicationContextEventTests extends AbstractApplicationEventListenerTests
 		smc.multicastEvent(evt);
 	}
 
+	@Test
+	void simpleApplicationEventMulticasterWithOrderedAsyncExecution() {
+		MyOrderedListener1 listener1 = new MyOrderedListener1();
+		MyOrderedListener1 listener2 = new MyOrderedListener1();
+		List<Runnable> tasks = new ArrayList<>();
+
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.setTaskExecutor(tasks::add);
+		smc.setOrderedAsyncExecution(true);
+		smc.addApplicationListener(listener1);
+		smc.addApplicationListener(listener2);
+
+		MyEvent event1 = new MyEvent(this);
+		MyOtherEvent event2 = new MyOtherEvent(this);
+		MyEvent event3 = new MyEvent(this);
+		smc.multicastEvent(event1);
+		smc.multicastEvent(event2);
+		smc.multicastEvent(event3);
+		assertThat(tasks).hasSize(2);
+		assertThat(listener1.seenEvents).isEmpty();
+
+		tasks.forEach(Runnable::run);
+		assertThat(listener1.seenEvents).containsExactly(event1, event2, event3);
+		assertThat(listener2.seenEvents).containsExactly(event1, event2, event3);
+
+		tasks.clear();
+		smc.multicastEvent(event1);
+		assertThat(tasks).hasSize(2);
+		tasks.forEach(Runnable::run);
+		assertThat(listener1.seenEvents).containsExactly(event1, event2, event3, event1);
+	}
+
+	@Test
+	void simpleApplicationEventMulticasterWithOrderedAsyncExecutionAndException() {
+		MyOrderedListener1 listener = new MyOrderedListener1();
+		List<Runnable> tasks = new ArrayList<>();
+
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.setTaskExecutor(tasks::add);
+		smc.setOrderedAsyncExecution(true);
+		smc.addApplicationListener(listener);
+		ApplicationListener<MyEvent> failingListener = event -> {
+			throw new IllegalStateException();
+		};
+		smc.addApplicationListener(failingListener);
+
+		MyEvent event1 = new MyEvent(this);
+		MyEvent event2 = new MyEvent(this);
+		smc.multicastEvent(event1);
+		smc.multicastEvent(event2);
+		assertThat(tasks).hasSize(2);
+
+		// Failing listener resubmits itself for the remaining event
+		assertThatIllegalStateException().isThrownBy(() -> tasks.get(1).run());
+		assertThat(tasks).hasSize(3);
+		assertThatIllegalStateException().isThrownBy(() -> tasks.get(2).run());
+		assertThat(tasks).hasSize(4);
+		tasks.get(3).run();
+		tasks.get(0).run();
+		assertThat(listener.seenEvents).containsExactly(event1, event2);
+	}
+
 	@Test
 	void orderedListeners() {
 		MyOrderedListener1 listener1 = new MyOrderedListener1();
@@ -425,6 +488,45 @@ class ApplicationContextEventTests extends AbstractApplicationEventListenerTests
 		context.close();
 	}
 
+	@Test
+	void listenersInApplicationContextWithFrozenDispatch() {
+		StaticApplicationContext context = new StaticApplicationContext();
+		RootBeanDefinition multicasterDef = new RootBeanDefinition(SimpleApplicationEventMulticaster.class);
+		multicasterDef.getPropertyValues().add("freezeAfterRefresh", true);
+		context.registerBeanDefinition(APPLICATION_EVENT_MULTICASTER_BEAN_NAME, multicasterDef);
+		context.registerBeanDefinition("listener1", new RootBeanDefinition(MyOrderedListener1.class));
+		RootBeanDefinition listener2Def = new RootBeanDefinition(MyNonSingletonListener.class);
+		listener2Def.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		context.registerBeanDefinition("listener2", listener2Def);
+
+		context.refresh();
+
+		SimpleApplicationEventMulticaster multicaster = context.getBean(SimpleApplicationEventMulticaster.class);
+		assertThat(multicaster.isDispatchFrozen()).isTrue();
+
+		MyOrderedListener1 listener1 = context.getBean("listener1", MyOrderedListener1.class);
+		listener1.seenEvents.clear();
+		MyEvent event1 = new MyEvent(context);
+		MyEvent event2 = new MyEvent(context);
+		context.publishEvent(event1);
+		context.publishEvent(event2);
+		assertThat(listener1.seenEvents).containsExactly(event1, event2);
+		assertThat(MyNonSingletonListener.seenEvents).contains(event1, event2);
+		MyNonSingletonListener.seenEvents.clear();
+
+		MyOrderedListener1 listener3 = new MyOrderedListener1();
+		context.addApplicationListener(listener3);
+		MyOtherEvent event3 = new MyOtherEvent(context);
+		context.publishEvent(event3);
+		context.publishEvent(event3);
+		assertThat(listener1.seenEvents).containsExactly(event1, event2, event3, event3);
+		assertThat(listener3.seenEvents).containsExactly(event3, event3);
+		assertThat(MyNonSingletonListener.seenEvents).contains(event3);
+		MyNonSingletonListener.seenEvents.clear();
+
+		context.close();
+	}
+
 	@Test
 	void listenerAndBroadcasterWithCircularReference() {
 		StaticApplicationContext context = new StaticApplicationContext();
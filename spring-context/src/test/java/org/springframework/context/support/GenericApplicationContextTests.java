@@ -19,6 +19,7 @@ package org.springframework.context.support;
 import java.lang.reflect.Proxy;
 import java.nio.file.InvalidPathException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.AfterEach;
@@ -58,6 +59,8 @@ import org.springframework.core.io.ProtocolResolver;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.metrics.jfr.FlightRecorderApplicationStartup;
+import org.springframework.core.metrics.profiling.ProfilingApplicationStartup;
+import org.springframework.core.metrics.profiling.StartupProfile;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -255,6 +258,50 @@ class GenericApplicationContextTests {
 		assertThat(context.getBeanFactory().getApplicationStartup()).isEqualTo(applicationStartup);
 	}
 
+	@Test
+	void profileApplicationStartup() {
+		ProfilingApplicationStartup applicationStartup = new ProfilingApplicationStartup();
+		context.setApplicationStartup(applicationStartup);
+		context.registerBean("a", BeanA.class);
+		context.registerBean("b", BeanB.class);
+		context.registerBean("c", BeanC.class);
+		context.refresh();
+
+		StartupProfile profile = applicationStartup.getProfile();
+		assertThat(profile.getBeanTimings()).extracting(StartupProfile.BeanTiming::beanName).contains("a", "b", "c");
+		StartupProfile.BeanTiming timingA = profile.getBeanTimings().stream()
+				.filter(timing -> timing.beanName().equals("a")).findFirst().orElseThrow();
+		assertThat(timingA.count()).isEqualTo(1);
+		assertThat(timingA.selfTime()).isLessThanOrEqualTo(timingA.totalTime());
+		assertThat(profile.getSlowestBeans(2)).hasSize(2);
+		assertThat(profile.getPhaseTimings()).extracting(StartupProfile.PhaseTiming::name)
+				.contains("spring.context.refresh", "spring.beans.instantiate", "spring.beans.initialize");
+
+		List<StartupProfile.Step> criticalPath = profile.getCriticalPath();
+		assertThat(criticalPath.get(0).getName()).isEqualTo("spring.context.refresh");
+		StartupProfile.Step instantiateA = findStep(profile.getRootSteps(), "spring.beans.instantiate", "a");
+		assertThat(instantiateA.getChildren()).extracting(StartupProfile.Step::getName)
+				.contains("spring.beans.instantiate", "spring.beans.initialize");
+		assertThat(findStep(instantiateA.getChildren(), "spring.beans.instantiate", "b")).isNotNull();
+		assertThat(findStep(instantiateA.getChildren(), "spring.beans.instantiate", "c")).isNotNull();
+
+		assertThat(profile.toJson()).startsWith("{\"steps\":[{\"id\":")
+				.contains("{\"beanName\":\"a\",\"count\":1,").contains("\"criticalPath\":[");
+	}
+
+	private static StartupProfile.Step findStep(List<StartupProfile.Step> steps, String name, String beanName) {
+		for (StartupProfile.Step step : steps) {
+			if (step.getName().equals(name) && beanName.equals(step.getTags().get(StartupProfile.BEAN_NAME_TAG))) {
+				return step;
+			}
+			StartupProfile.Step found = findStep(step.getChildren(), name, beanName);
+			if (found != null) {
+				return found;
+			}
+		}
+		return null;
+	}
+
 	@Test
 	void getResourceWithDefaultResourceLoader() {
 		assertGetResourceSemantics(null, ClassPathResource.class);
@@ -16,17 +16,26 @@
 
 package org.springframework.scheduling.concurrent;
 
+import java.time.Duration;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.Test;
 
+import org.springframework.core.task.TaskRejectedException;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.assertj.core.api.InstanceOfAssertFactories.type;
+import static org.awaitility.Awaitility.await;
 
 /**
  * Tests for {@link ThreadPoolTaskExecutor}.
@@ -149,4 +158,146 @@ class ThreadPoolTaskExecutorTests extends AbstractSchedulingTaskExecutorTests {
 		assertThat(executor.getQueueSize()).isZero();
 	}
 
+	@Test
+	void queueBeforeGrowByDefault() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setMaxPoolSize(4);
+		executor.setQueueCapacity(10);
+		executor.afterPropertiesSet();
+		CountDownLatch latch = new CountDownLatch(1);
+		try {
+			for (int i = 0; i < 4; i++) {
+				executor.execute(() -> awaitQuietly(latch));
+			}
+			await().until(() -> executor.getExecutorMetrics().getActiveCount() == 1);
+			assertThat(executor.getPoolSize()).isEqualTo(1);
+			assertThat(executor.getQueueSize()).isEqualTo(3);
+		}
+		finally {
+			latch.countDown();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void growBeforeQueue() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setMaxPoolSize(4);
+		executor.setQueueCapacity(2);
+		executor.setGrowBeforeQueue(true);
+		executor.setRecordTaskTimings(true);
+		executor.afterPropertiesSet();
+		CountDownLatch latch = new CountDownLatch(1);
+		try {
+			for (int i = 0; i < 6; i++) {
+				executor.execute(() -> awaitQuietly(latch));
+			}
+			await().until(() -> executor.getExecutorMetrics().getActiveCount() == 4);
+			assertThat(executor.getPoolSize()).isEqualTo(4);
+			assertThat(executor.getQueueSize()).isEqualTo(2);
+			assertThatExceptionOfType(TaskRejectedException.class).isThrownBy(() -> executor.execute(() -> {}));
+			assertThat(executor.getExecutorMetrics().getRejectedTaskCount()).isEqualTo(1);
+			assertThat(executor.getThreadPoolExecutor().getRejectedExecutionHandler())
+					.asInstanceOf(type(ExecutorMetrics.CountingRejectedExecutionHandler.class))
+					.extracting(ExecutorMetrics.CountingRejectedExecutionHandler::getDelegate)
+					.isInstanceOf(ThreadPoolExecutor.AbortPolicy.class);
+		}
+		finally {
+			latch.countDown();
+		}
+		ExecutorMetrics metrics = executor.getExecutorMetrics();
+		await().until(() -> metrics.getCompletedTaskCount() == 6);
+		assertThat(metrics.getStartedTaskCount()).isEqualTo(6);
+		assertThat(metrics.getMaxQueueWait()).isPositive();
+		assertThat(metrics.getMaxExecutionTime()).isPositive();
+		assertThat(metrics.getAverageExecutionTime()).isLessThanOrEqualTo(metrics.getMaxExecutionTime());
+		executor.shutdown();
+	}
+
+	@Test
+	void rejectedExecutionHandlerExposedAndCounted() {
+		RejectedExecutionHandler policy = new ThreadPoolExecutor.CallerRunsPolicy();
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setMaxPoolSize(1);
+		executor.setQueueCapacity(0);
+		executor.setRejectedExecutionHandler(policy);
+		executor.afterPropertiesSet();
+		CountDownLatch latch = new CountDownLatch(1);
+		try {
+			assertThat(executor.getThreadPoolExecutor().getRejectedExecutionHandler())
+					.asInstanceOf(type(ExecutorMetrics.CountingRejectedExecutionHandler.class))
+					.extracting(ExecutorMetrics.CountingRejectedExecutionHandler::getDelegate)
+					.isSameAs(policy);
+			executor.execute(() -> awaitQuietly(latch));
+			AtomicReference<Thread> executingThread = new AtomicReference<>();
+			executor.execute(() -> executingThread.set(Thread.currentThread()));
+			assertThat(executingThread).hasValue(Thread.currentThread());
+			assertThat(executor.getExecutorMetrics().getRejectedTaskCount()).isEqualTo(1);
+		}
+		finally {
+			latch.countDown();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void noTaskTimingsByDefault() {
+		executor.execute(() -> {});
+		await().until(() -> executor.getThreadPoolExecutor().getCompletedTaskCount() == 1);
+		assertThat(executor.getExecutorMetrics().getCompletedTaskCount()).isZero();
+		assertThat(executor.getExecutorMetrics().getAverageQueueWait()).isZero();
+	}
+
+	@Test
+	void adaptiveSizing() throws Exception {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(1);
+		executor.setMaxPoolSize(8);
+		executor.setTargetQueueWait(Duration.ofMillis(5));
+		executor.setAdaptiveSizingInterval(Duration.ofMillis(20));
+		executor.afterPropertiesSet();
+		try {
+			await().until(() -> {
+				for (int i = 0; i < 20; i++) {
+					for (int j = 0; j < 4; j++) {
+						executor.execute(() -> sleepQuietly(10));
+					}
+					Thread.sleep(5);
+				}
+				return executor.getThreadPoolExecutor().getCorePoolSize() > 2;
+			});
+			await().until(() -> {
+				for (int i = 0; i < 20; i++) {
+					executor.submit(() -> {}).get();
+					Thread.sleep(5);
+				}
+				return executor.getThreadPoolExecutor().getCorePoolSize() == 1;
+			});
+			executor.setMaxPoolSize(2);
+			assertThat(executor.getThreadPoolExecutor().getMaximumPoolSize()).isEqualTo(2);
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void sleepQuietly(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
 }
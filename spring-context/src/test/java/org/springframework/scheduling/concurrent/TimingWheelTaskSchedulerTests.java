@@ -0,0 +1,205 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.scheduling.support.PeriodicTrigger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link TimingWheelTaskScheduler}.
+ *
+ * @author agent
+ * @since 6.2
+ */
+class TimingWheelTaskSchedulerTests {
+
+	private final TimingWheelTaskScheduler scheduler = new TimingWheelTaskScheduler();
+
+
+	@BeforeEach
+	void setup() {
+		// Small wheel for cascading timers through several levels
+		this.scheduler.setTickDuration(Duration.ofMillis(1));
+		this.scheduler.setTicksPerWheel(4);
+		this.scheduler.setPoolSize(2);
+		this.scheduler.setThreadNamePrefix("wheel-");
+		this.scheduler.afterPropertiesSet();
+	}
+
+	@AfterEach
+	void shutdown() {
+		this.scheduler.shutdown();
+	}
+
+
+	@Test
+	void scheduleOneTimeTask() throws Exception {
+		AtomicBoolean taskRun = new AtomicBoolean();
+		ScheduledFuture<?> future = this.scheduler.schedule(() -> taskRun.set(true), Instant.now());
+		assertThat(future.get(1000, TimeUnit.MILLISECONDS)).isNull();
+		assertThat(future.isDone()).isTrue();
+		assertThat(taskRun.get()).isTrue();
+	}
+
+	@Test
+	void scheduleTasksWithDifferentDelays() throws Exception {
+		int taskCount = 200;
+		CountDownLatch latch = new CountDownLatch(taskCount);
+		AtomicInteger earlyCount = new AtomicInteger();
+		for (int i = 0; i < taskCount; i++) {
+			long delay = (i * 7) % 300;
+			long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+			this.scheduler.getScheduledExecutor().schedule(() -> {
+				if (System.nanoTime() < deadline) {
+					earlyCount.incrementAndGet();
+				}
+				latch.countDown();
+			}, delay, TimeUnit.MILLISECONDS);
+		}
+		assertThat(latch.await(2000, TimeUnit.MILLISECONDS)).isTrue();
+		assertThat(earlyCount.get()).isZero();
+	}
+
+	@Test
+	void scheduleOneTimeFailingTaskWithoutErrorHandler() {
+		ScheduledFuture<?> future = this.scheduler.schedule(() -> {
+			throw new IllegalStateException("Expected exception");
+		}, Instant.now());
+		assertThatExceptionOfType(ExecutionException.class).isThrownBy(() -> future.get(1000, TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	void scheduleOneTimeFailingTaskWithErrorHandler() throws Exception {
+		CountDownLatch latch = new CountDownLatch(1);
+		this.scheduler.setErrorHandler(ex -> latch.countDown());
+		ScheduledFuture<?> future = this.scheduler.schedule(() -> {
+			throw new IllegalStateException("Expected exception");
+		}, Instant.now());
+		assertThat(future.get(1000, TimeUnit.MILLISECONDS)).isNull();
+		assertThat(latch.getCount()).isZero();
+	}
+
+	@Test
+	void cancelScheduledTask() throws Exception {
+		AtomicBoolean taskRun = new AtomicBoolean();
+		ScheduledFuture<?> future = this.scheduler.schedule(() -> taskRun.set(true), Instant.now().plusMillis(50));
+		assertThat(future.cancel(false)).isTrue();
+		Thread.sleep(100);
+		assertThat(future.isCancelled()).isTrue();
+		assertThat(taskRun.get()).isFalse();
+	}
+
+	@Test
+	void scheduleAtFixedRate() throws Exception {
+		CountDownLatch latch = new CountDownLatch(3);
+		ScheduledFuture<?> future = this.scheduler.scheduleAtFixedRate(latch::countDown, Duration.ofMillis(10));
+		assertThat(latch.await(1000, TimeUnit.MILLISECONDS)).isTrue();
+		future.cancel(false);
+		assertThat(future.isCancelled()).isTrue();
+	}
+
+	@Test
+	void scheduleWithFixedDelay() throws Exception {
+		CountDownLatch latch = new CountDownLatch(3);
+		ScheduledFuture<?> future = this.scheduler.scheduleWithFixedDelay(latch::countDown, Duration.ofMillis(10));
+		assertThat(latch.await(1000, TimeUnit.MILLISECONDS)).isTrue();
+		future.cancel(false);
+		assertThat(future.isCancelled()).isTrue();
+	}
+
+	@Test
+	void scheduleWithTrigger() throws Exception {
+		CountDownLatch latch = new CountDownLatch(3);
+		AtomicBoolean threadNameMatch = new AtomicBoolean(true);
+		ScheduledFuture<?> future = this.scheduler.schedule(() -> {
+			threadNameMatch.compareAndSet(true, Thread.currentThread().getName().startsWith("wheel-"));
+			latch.countDown();
+		}, new PeriodicTrigger(Duration.ofMillis(10)));
+		assertThat(latch.await(1000, TimeUnit.MILLISECONDS)).isTrue();
+		future.cancel(false);
+		assertThat(threadNameMatch.get()).isTrue();
+	}
+
+	@Test
+	void scheduleWithCronTrigger() throws Exception {
+		CountDownLatch latch = new CountDownLatch(2);
+		ScheduledFuture<?> future = this.scheduler.schedule(latch::countDown, new CronTrigger("* * * * * *"));
+		assertThat(latch.await(3000, TimeUnit.MILLISECONDS)).isTrue();
+		future.cancel(false);
+		assertThat(future.isCancelled()).isTrue();
+	}
+
+	@Test
+	void shutdownCancelsPendingTasks() throws Exception {
+		ScheduledFuture<?> future = this.scheduler.schedule(() -> {}, Instant.now().plusSeconds(10));
+		this.scheduler.shutdown();
+		assertThat(this.scheduler.getScheduledExecutor().awaitTermination(1000, TimeUnit.MILLISECONDS)).isTrue();
+		assertThat(future.isCancelled()).isTrue();
+		assertThatExceptionOfType(TaskRejectedException.class).isThrownBy(
+				() -> this.scheduler.schedule(() -> {}, Instant.now()));
+	}
+
+	@Test
+	void gracefulShutdownExecutesExistingDelayedTasks() throws Exception {
+		AtomicBoolean taskRun = new AtomicBoolean();
+		ScheduledFuture<?> future = this.scheduler.schedule(() -> taskRun.set(true), Instant.now().plusMillis(50));
+		ScheduledFuture<?> periodicFuture = this.scheduler.scheduleAtFixedRate(() -> {},
+				Instant.now().plusSeconds(10), Duration.ofSeconds(10));
+		this.scheduler.getScheduledExecutor().shutdown();
+		assertThat(this.scheduler.getScheduledExecutor().awaitTermination(1000, TimeUnit.MILLISECONDS)).isTrue();
+		assertThat(future.isDone()).isTrue();
+		assertThat(future.isCancelled()).isFalse();
+		assertThat(taskRun.get()).isTrue();
+		assertThat(periodicFuture.isCancelled()).isTrue();
+	}
+
+	@Test
+	void gracefulShutdownWithoutExecutingExistingDelayedTasks() throws Exception {
+		this.scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+		ScheduledFuture<?> future = this.scheduler.schedule(() -> {}, Instant.now().plusSeconds(10));
+		this.scheduler.getScheduledExecutor().shutdown();
+		assertThat(this.scheduler.getScheduledExecutor().awaitTermination(1000, TimeUnit.MILLISECONDS)).isTrue();
+		assertThat(future.isCancelled()).isTrue();
+	}
+
+	@Test
+	void shutdownNowReturnsPendingTasks() throws Exception {
+		ScheduledFuture<?> future = this.scheduler.schedule(() -> {}, Instant.now().plusSeconds(10));
+		Thread.sleep(20);
+		List<Runnable> remaining = this.scheduler.getScheduledExecutor().shutdownNow();
+		assertThat(remaining).containsExactly((Runnable) future);
+	}
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for {@link ResolvableType} assignability checks, as performed
+ * for autowiring and converter lookups.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ResolvableTypeBenchmark {
+
+	@Benchmark
+	public void forClass(Blackhole bh) {
+		bh.consume(ResolvableType.forClass(String.class));
+		bh.consume(ResolvableType.forClass(ArrayList.class));
+	}
+
+	@Benchmark
+	public boolean assignableFromClass(TypesState state) {
+		return state.listOfIntegers.isAssignableFrom(ArrayList.class);
+	}
+
+	@Benchmark
+	public boolean assignableFromNestedGenerics(TypesState state) {
+		return state.mapOfLists.isAssignableFrom(state.resolvedMapOfLists);
+	}
+
+	@Benchmark
+	public boolean assignableFromWildcard(TypesState state) {
+		return state.listOfNumbers.isAssignableFrom(state.listOfIntegers);
+	}
+
+	@Benchmark
+	public boolean assignableFromBoundedVariable(TypesState state) {
+		return state.listOfNumbers.isAssignableFrom(state.boundedVariableList);
+	}
+
+	@Benchmark
+	public boolean assignableFromResolvedPart(TypesState state) {
+		return state.listOfIntegers.isAssignableFromResolvedPart(state.unresolvedVariableList);
+	}
+
+	/**
+	 * Assignability checks on freshly created types, as performed for each
+	 * injection point without any memoized results in the types themselves.
+	 */
+	@Benchmark
+	public boolean assignableFromFreshTypes() throws NoSuchFieldException {
+		ResolvableType target = ResolvableType.forField(Holder.class.getField("mapOfLists"));
+		ResolvableType source = ResolvableType.forField(Repository.class.getField("mapOfLists"), IntegerRepository.class);
+		return target.isAssignableFrom(source);
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class TypesState {
+
+		ResolvableType listOfIntegers;
+
+		ResolvableType listOfNumbers;
+
+		ResolvableType mapOfLists;
+
+		ResolvableType resolvedMapOfLists;
+
+		ResolvableType boundedVariableList;
+
+		ResolvableType unresolvedVariableList;
+
+		@Setup(Level.Trial)
+		public void setup() throws NoSuchFieldException {
+			this.listOfIntegers = ResolvableType.forField(Holder.class.getField("listOfIntegers"));
+			this.listOfNumbers = ResolvableType.forField(Holder.class.getField("listOfNumbers"));
+			this.mapOfLists = ResolvableType.forField(Holder.class.getField("mapOfLists"));
+			this.resolvedMapOfLists = ResolvableType.forField(
+					Repository.class.getField("mapOfLists"), IntegerRepository.class);
+			this.boundedVariableList = ResolvableType.forField(
+					Repository.class.getField("items"), IntegerRepository.class);
+			this.unresolvedVariableList = ResolvableType.forField(Repository.class.getField("items"));
+		}
+	}
+
+
+	public static class Holder {
+
+		public List<Integer> listOfIntegers;
+
+		public List<? extends Number> listOfNumbers;
+
+		public Map<String, List<? extends Number>> mapOfLists;
+	}
+
+
+	public static class Repository<T extends Number> {
+
+		public List<T> items;
+
+		public Map<String, List<T>> mapOfLists;
+	}
+
+
+	public static class IntegerRepository extends Repository<Integer> {
+	}
+
+}
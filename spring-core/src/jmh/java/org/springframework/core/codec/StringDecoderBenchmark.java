@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.springframework.core.codec;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -53,6 +54,11 @@ public class StringDecoderBenchmark {
 		blackhole.consume(state.parseLines().blockLast());
 	}
 
+	@Benchmark
+	public void parseNdjsonLines(NdjsonLinesState state, Blackhole blackhole) {
+		blackhole.consume(state.parseLines().blockLast());
+	}
+
 
 	@State(Scope.Benchmark)
 	@SuppressWarnings({"NotNullFieldNotInitialized", "ConstantConditions"})
@@ -111,4 +117,58 @@ public class StringDecoderBenchmark {
 		}
 	}
 
+
+	/**
+	 * Newline-delimited JSON with long lines spanning multiple chunks,
+	 * split on a single-byte delimiter.
+	 */
+	@State(Scope.Benchmark)
+	@SuppressWarnings({"NotNullFieldNotInitialized", "ConstantConditions"})
+	public static class NdjsonLinesState {
+
+		private static final Charset CHARSET = StandardCharsets.UTF_8;
+
+		private static final ResolvableType ELEMENT_TYPE = ResolvableType.forClass(String.class);
+
+
+		@Param("1048576")
+		int totalSize;
+
+		@Param("8192")
+		int chunkSize;
+
+		@Param({"512", "16384"})
+		int lineLength;
+
+		List<DataBuffer> chunks;
+
+		StringDecoder decoder = StringDecoder.textPlainOnly(List.of("\n"), true);
+
+		MimeType mimeType = new MimeType("application", "x-ndjson", CHARSET);
+
+
+		@Setup(Level.Trial)
+		public void setup() {
+			String padding = "x".repeat(Math.max(this.lineLength - 32, 0));
+			StringBuilder content = new StringBuilder(this.totalSize + this.lineLength);
+			for (int index = 0; content.length() < this.totalSize; index++) {
+				content.append("{\"id\":").append(index).append(",\"data\":\"").append(padding).append("\"}\n");
+			}
+			byte[] bytes = content.toString().getBytes(CHARSET);
+			DataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+			this.chunks = new ArrayList<>();
+			for (int offset = 0; offset < bytes.length; offset += this.chunkSize) {
+				int length = Math.min(this.chunkSize, bytes.length - offset);
+				DataBuffer buffer = bufferFactory.allocateBuffer(length);
+				buffer.write(bytes, offset, length);
+				this.chunks.add(buffer);
+			}
+		}
+
+		public Flux<String> parseLines() {
+			Flux<DataBuffer> input = Flux.fromIterable(this.chunks).doOnNext(DataBufferUtils::retain);
+			return this.decoder.decode(input, ELEMENT_TYPE, this.mimeType, Collections.emptyMap());
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -102,12 +102,79 @@ public class GenericConversionServiceBenchmark {
 	}
 
 
+	@Benchmark
+	public void convertTypedListOfStringToListOfInteger(ElementConversionBenchmarkState state, Blackhole bh) {
+		bh.consume(state.conversionService.convert(state.stringList, state.stringListType, state.integerListType));
+	}
+
+	@Benchmark
+	public void convertStringArrayToIntArray(ElementConversionBenchmarkState state, Blackhole bh) {
+		bh.consume(state.conversionService.convert(state.stringArray, state.stringArrayType, state.intArrayType));
+	}
+
+	@Benchmark
+	public void convertIntArrayToLongArray(ElementConversionBenchmarkState state, Blackhole bh) {
+		bh.consume(state.conversionService.convert(state.intArray, state.intArrayType, state.longArrayType));
+	}
+
+	@Benchmark
+	public void convertTypedMapOfStringToMapOfInteger(ElementConversionBenchmarkState state, Blackhole bh) {
+		bh.consume(state.conversionService.convert(state.stringMap, state.stringMapType, state.integerMapType));
+	}
+
+
+	/**
+	 * Element conversions with a {@link DefaultConversionService} and fully typed
+	 * descriptors, as for binding request parameters or configuration lists.
+	 */
+	@State(Scope.Benchmark)
+	public static class ElementConversionBenchmarkState {
+
+		DefaultConversionService conversionService = new DefaultConversionService();
+
+		@Param({"10", "10000"})
+		int collectionSize;
+
+		List<String> stringList;
+
+		String[] stringArray;
+
+		int[] intArray;
+
+		Map<String, String> stringMap;
+
+		TypeDescriptor stringListType = TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(String.class));
+
+		TypeDescriptor integerListType = TypeDescriptor.collection(List.class, TypeDescriptor.valueOf(Integer.class));
+
+		TypeDescriptor stringArrayType = TypeDescriptor.valueOf(String[].class);
+
+		TypeDescriptor intArrayType = TypeDescriptor.valueOf(int[].class);
+
+		TypeDescriptor longArrayType = TypeDescriptor.valueOf(long[].class);
+
+		TypeDescriptor stringMapType = TypeDescriptor.map(Map.class,
+				TypeDescriptor.valueOf(String.class), TypeDescriptor.valueOf(String.class));
+
+		TypeDescriptor integerMapType = TypeDescriptor.map(Map.class,
+				TypeDescriptor.valueOf(Integer.class), TypeDescriptor.valueOf(Integer.class));
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.stringList = IntStream.rangeClosed(1, this.collectionSize).mapToObj(String::valueOf).toList();
+			this.stringArray = this.stringList.toArray(new String[0]);
+			this.intArray = IntStream.rangeClosed(1, this.collectionSize).toArray();
+			this.stringMap = this.stringList.stream().collect(Collectors.toMap(String::valueOf, String::valueOf));
+		}
+	}
+
+
 	@State(Scope.Benchmark)
 	public static class BenchmarkState {
 
 		GenericConversionService conversionService = new GenericConversionService();
 
-		@Param({"10"})
+		@Param({"10", "10000"})
 		int collectionSize;
 
 		TypeDescriptor targetTypeDesc;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -52,6 +52,23 @@ public class CompositePropertySourceBenchmark {
 		blackhole.consume(state.composite.getPropertyNames());
 	}
 
+	@Benchmark
+	public void getPropertyWithPlaceholders(ResolverState state, Blackhole blackhole) {
+		for (String key : state.keys) {
+			blackhole.consume(state.resolver.getProperty(key));
+		}
+	}
+
+	@Benchmark
+	public void getPropertyAsInteger(ResolverState state, Blackhole blackhole) {
+		blackhole.consume(state.resolver.getProperty("server.port", Integer.class));
+	}
+
+	@Benchmark
+	public void resolvePlaceholders(ResolverState state, Blackhole blackhole) {
+		blackhole.consume(state.resolver.resolvePlaceholders(state.template));
+	}
+
 	@State(Scope.Benchmark)
 	public static class BenchmarkState {
 
@@ -82,4 +99,41 @@ public class CompositePropertySourceBenchmark {
 
 	}
 
+
+	/**
+	 * Property lookups through a {@link PropertySourcesPropertyResolver} with
+	 * values found in the last of several property sources, each containing
+	 * nested placeholders.
+	 */
+	@State(Scope.Benchmark)
+	public static class ResolverState {
+
+		PropertySourcesPropertyResolver resolver;
+
+		String[] keys;
+
+		String template = "http://${server.host}:${server.port}/${app.name:demo}/api";
+
+		@Param({ "false", "true" })
+		boolean cacheResolvedProperties;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			MutablePropertySources propertySources = new MutablePropertySources();
+			for (int i = 0; i < 10; i++) {
+				propertySources.addLast(new MapPropertySource("empty" + i, Map.of("unrelated" + i, "value")));
+			}
+			Map<String, Object> map = new HashMap<>();
+			map.put("server.host", "localhost");
+			map.put("server.port", "8080");
+			map.put("server.url", "http://${server.host}:${server.port}");
+			map.put("app.endpoint", "${server.url}/${app.name:demo}/api");
+			map.put("app.greeting", "Hello from ${app.endpoint}");
+			propertySources.addLast(new MapPropertySource("application", map));
+			this.keys = map.keySet().toArray(new String[0]);
+			this.resolver = new PropertySourcesPropertyResolver(propertySources);
+			this.resolver.setCacheResolvedProperties(this.cacheResolvedProperties);
+		}
+	}
+
 }
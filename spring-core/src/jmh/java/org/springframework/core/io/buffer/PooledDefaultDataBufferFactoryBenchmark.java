@@ -0,0 +1,104 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.CharSequenceEncoder;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Benchmarks comparing {@link DefaultDataBufferFactory} with
+ * {@link PooledDefaultDataBufferFactory} on encoding and decoding paths.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class PooledDefaultDataBufferFactoryBenchmark {
+
+	@Benchmark
+	public void allocateAndRelease(BenchmarkData data, Blackhole bh) {
+		DataBuffer buffer = data.bufferFactory.allocateBuffer(data.size);
+		buffer.write(data.bytes);
+		bh.consume(buffer.readableByteCount());
+		DataBufferUtils.release(buffer);
+	}
+
+	@Benchmark
+	public void encode(BenchmarkData data, Blackhole bh) {
+		DataBuffer buffer = data.encoder.encodeValue(data.text, data.bufferFactory,
+				BenchmarkData.ELEMENT_TYPE, MimeTypeUtils.TEXT_PLAIN, Collections.emptyMap());
+		bh.consume(buffer.readableByteCount());
+		DataBufferUtils.release(buffer);
+	}
+
+	@Benchmark
+	public void decode(BenchmarkData data, Blackhole bh) {
+		DataBuffer buffer = data.bufferFactory.allocateBuffer(data.size);
+		buffer.write(data.bytes);
+		bh.consume(data.decoder.decode(buffer, BenchmarkData.ELEMENT_TYPE,
+				MimeTypeUtils.TEXT_PLAIN, Collections.emptyMap()));
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		static final ResolvableType ELEMENT_TYPE = ResolvableType.forClass(String.class);
+
+		@Param({"default", "pooled"})
+		public String factory;
+
+		@Param({"false", "true"})
+		public boolean direct;
+
+		@Param({"256", "8192"})
+		public int size;
+
+		DataBufferFactory bufferFactory;
+
+		CharSequenceEncoder encoder = CharSequenceEncoder.textPlainOnly();
+
+		StringDecoder decoder = StringDecoder.textPlainOnly();
+
+		String text;
+
+		byte[] bytes;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.bufferFactory = (this.factory.equals("pooled") ?
+					new PooledDefaultDataBufferFactory(this.direct) : new DefaultDataBufferFactory(this.direct));
+			this.text = "a".repeat(this.size);
+			this.bytes = this.text.getBytes(StandardCharsets.UTF_8);
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,10 +17,12 @@
 package org.springframework.util;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 import java.util.function.Function;
 
+import org.openjdk.jmh.annotations.AuxCounters;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Level;
@@ -33,6 +35,11 @@ import org.openjdk.jmh.infra.Blackhole;
 
 /**
  * Benchmarks for {@link ConcurrentLruCache}.
+ * <p>The {@code workload} parameter selects the key distribution: uniformly
+ * distributed keys, a skewed (Zipfian) distribution, or a skewed distribution
+ * interleaved with scans of one-off keys. The resulting hit rate is reported
+ * as an auxiliary counter, to compare plain LRU eviction with frequency-based
+ * admission.
  * @author Brian Clozel
  */
 @BenchmarkMode(Mode.Throughput)
@@ -57,6 +64,12 @@ public class ConcurrentLruCacheBenchmark {
 		@Param({"0.1"})
 		public float cacheMissRate;
 
+		@Param({"uniform", "zipfian", "scan"})
+		public String workload;
+
+		@Param({"false", "true"})
+		public boolean frequencyBasedAdmission;
+
 		public List<String> elements;
 
 		public Function<String, String> generator;
@@ -64,13 +77,69 @@ public class ConcurrentLruCacheBenchmark {
 		@Setup(Level.Iteration)
 		public void setup() {
 			this.generator = key -> key + "value";
-			this.lruCache = new ConcurrentLruCache<>(this.capacity, this.generator);
+			this.lruCache = new ConcurrentLruCache<>(this.capacity, this.generator, this.frequencyBasedAdmission);
 			Assert.isTrue(this.cacheMissRate < 1, "cache miss rate should be < 1");
 			Random random = new Random();
-			int elementsCount = Math.round(this.capacity * (1 + this.cacheMissRate));
-			this.elements = new ArrayList<>(elementsCount);
-			random.ints(elementsCount).forEach(value -> this.elements.add(String.valueOf(value)));
-			this.elements.sort(String::compareTo);
+			switch (this.workload) {
+				case "uniform" -> {
+					int elementsCount = Math.round(this.capacity * (1 + this.cacheMissRate));
+					this.elements = new ArrayList<>(elementsCount);
+					random.ints(elementsCount).forEach(value -> this.elements.add(String.valueOf(value)));
+					this.elements.sort(String::compareTo);
+				}
+				case "zipfian" -> this.elements = zipfianKeys(random, this.capacity * 10, this.capacity * 20, 0);
+				case "scan" -> this.elements = zipfianKeys(random, this.capacity * 10, this.capacity * 20, 3);
+				default -> throw new IllegalArgumentException("Unknown workload: " + this.workload);
+			}
+		}
+
+		/**
+		 * Generate keys following a Zipfian distribution over the given number of
+		 * distinct keys, optionally replacing every n-th key with a one-off key.
+		 */
+		private static List<String> zipfianKeys(Random random, int distinctKeys, int count, int scanInterval) {
+			double[] cumulative = new double[distinctKeys];
+			double sum = 0;
+			for (int i = 0; i < distinctKeys; i++) {
+				sum += 1.0d / (i + 1);
+				cumulative[i] = sum;
+			}
+			List<String> keys = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				if (scanInterval > 0 && i % scanInterval == 0) {
+					keys.add("scan" + random.nextLong());
+				}
+				else {
+					int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+					keys.add("key" + (index < 0 ? -index - 1 : index));
+				}
+			}
+			return keys;
 		}
 	}
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class HitRate {
+
+		public long hits;
+
+		public long misses;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			this.hits = 0;
+			this.misses = 0;
+		}
+	}
+
+	@Benchmark
+	public void lruCacheHitRate(BenchmarkData data, HitRate hitRate, Blackhole bh) {
+		long hits = data.lruCache.hitCount();
+		long misses = data.lruCache.missCount();
+		lruCache(data, bh);
+		hitRate.hits += data.lruCache.hitCount() - hits;
+		hitRate.misses += data.lruCache.missCount() - misses;
+	}
+
 }
@@ -97,6 +97,12 @@ public class ResolvableType implements Serializable {
 	private static final ConcurrentReferenceHashMap<ResolvableType, ResolvableType> cache =
 			new ConcurrentReferenceHashMap<>(256);
 
+	private static final ConcurrentReferenceHashMap<Class<?>, ResolvableType> classCache =
+			new ConcurrentReferenceHashMap<>(256);
+
+	private static final ConcurrentReferenceHashMap<AssignabilityKey, Boolean> assignabilityCache =
+			new ConcurrentReferenceHashMap<>(256);
+
 
 	/**
 	 * The underlying Java type being managed.
@@ -267,7 +273,7 @@ public class ResolvableType implements Serializable {
 	public boolean isAssignableFrom(Class<?> other) {
 		// As of 6.1: shortcut assignability check for top-level Class references
 		return (this.type instanceof Class<?> clazz ? ClassUtils.isAssignable(clazz, other) :
-				isAssignableFrom(forClass(other), false, null, false));
+				isAssignableFromCached(forClass(other), false));
 	}
 
 	/**
@@ -282,7 +288,7 @@ public class ResolvableType implements Serializable {
 	 * {@code ResolvableType}; {@code false} otherwise
 	 */
 	public boolean isAssignableFrom(ResolvableType other) {
-		return isAssignableFrom(other, false, null, false);
+		return isAssignableFromCached(other, false);
 	}
 
 	/**
@@ -294,7 +300,44 @@ public class ResolvableType implements Serializable {
 	 * @since 6.2
 	 */
 	public boolean isAssignableFromResolvedPart(ResolvableType other) {
-		return isAssignableFrom(other, false, null, true);
+		return isAssignableFromCached(other, true);
+	}
+
+	/**
+	 * Top-level assignability check, memoizing the outcome for pairs of types
+	 * that require generics resolution and whose variable resolution cannot change.
+	 * @since 6.2
+	 */
+	private boolean isAssignableFromCached(ResolvableType other, boolean upUntilUnresolvable) {
+		Assert.notNull(other, "ResolvableType must not be null");
+		if ((this.type instanceof Class && other.type instanceof Class) ||
+				!isAssignabilityCacheable() || !other.isAssignabilityCacheable()) {
+			return isAssignableFrom(other, false, null, upUntilUnresolvable);
+		}
+		AssignabilityKey key = new AssignabilityKey(this, other, upUntilUnresolvable);
+		Boolean assignable = assignabilityCache.get(key);
+		if (assignable == null) {
+			assignable = isAssignableFrom(other, false, null, upUntilUnresolvable);
+			assignabilityCache.put(key, assignable);
+		}
+		return assignable;
+	}
+
+	/**
+	 * Determine whether assignability results for this type can be cached,
+	 * i.e. whether it is a plain {@code ResolvableType} with no variable
+	 * resolution backed by externally provided (potentially mutable) state.
+	 */
+	private boolean isAssignabilityCacheable() {
+		if (this == NONE || getClass() != ResolvableType.class) {
+			return false;
+		}
+		if (this.componentType != null && !this.componentType.isAssignabilityCacheable()) {
+			return false;
+		}
+		return (this.variableResolver == null ||
+				(this.variableResolver instanceof DefaultVariableResolver resolver &&
+						resolver.source.isAssignabilityCacheable()));
 	}
 
 	private boolean isAssignableFrom(ResolvableType other, boolean strict,
@@ -1089,6 +1132,8 @@ public class ResolvableType implements Serializable {
 	 * Return a {@code ResolvableType} for the specified {@link Class},
 	 * using the full generic type information for assignability checks.
 	 * <p>For example: {@code ResolvableType.forClass(MyArrayList.class)}.
+	 * <p>As of 6.2, this returns a canonical instance per class, sharing its
+	 * lazily resolved supertypes, interfaces and generics between callers.
 	 * @param clazz the class to introspect ({@code null} is semantically
 	 * equivalent to {@code Object.class} for typical use cases here)
 	 * @return a {@code ResolvableType} for the specified class
@@ -1096,7 +1141,16 @@ public class ResolvableType implements Serializable {
 	 * @see #forClassWithGenerics(Class, Class...)
 	 */
 	public static ResolvableType forClass(@Nullable Class<?> clazz) {
-		return new ResolvableType(clazz);
+		Class<?> classToUse = (clazz != null ? clazz : Object.class);
+		ResolvableType resolvableType = classCache.get(classToUse);
+		if (resolvableType == null) {
+			resolvableType = new ResolvableType(classToUse);
+			ResolvableType existing = classCache.putIfAbsent(classToUse, resolvableType);
+			if (existing != null) {
+				resolvableType = existing;
+			}
+		}
+		return resolvableType;
 	}
 
 	/**
@@ -1515,8 +1569,9 @@ public class ResolvableType implements Serializable {
 
 		// For simple Class references, build the wrapper right away -
 		// no expensive resolution necessary, so not worth caching...
-		if (type instanceof Class) {
-			return new ResolvableType(type, null, typeProvider, variableResolver);
+		if (type instanceof Class<?> clazz) {
+			return (typeProvider == null && variableResolver == null ? forClass(clazz) :
+					new ResolvableType(type, null, typeProvider, variableResolver));
 		}
 
 		// Purge empty entries on access since we don't have a clean-up thread or the like.
@@ -1534,11 +1589,14 @@ public class ResolvableType implements Serializable {
 	}
 
 	/**
-	 * Clear the internal {@code ResolvableType}/{@code SerializableTypeWrapper} cache.
+	 * Clear the internal {@code ResolvableType}/{@code SerializableTypeWrapper} cache,
+	 * including canonical {@code Class}-based instances and memoized assignability results.
 	 * @since 4.2
 	 */
 	public static void clearCache() {
 		cache.clear();
+		classCache.clear();
+		assignabilityCache.clear();
 		SerializableTypeWrapper.cache.clear();
 	}
 
@@ -1617,6 +1675,13 @@ public class ResolvableType implements Serializable {
 	}
 
 
+	/**
+	 * Cache key for a top-level assignability check.
+	 */
+	private record AssignabilityKey(ResolvableType target, ResolvableType source, boolean upUntilUnresolvable) {
+	}
+
+
 	private static final class SyntheticParameterizedType implements ParameterizedType, Serializable {
 
 		private final Type rawType;
@@ -1347,6 +1347,20 @@ public abstract class AnnotationUtils {
 		AttributeMethods.cache.clear();
 		RepeatableContainers.cache.clear();
 		OrderUtils.orderCache.clear();
+		MergedAnnotationsIndex.clear();
+	}
+
+	/**
+	 * Clear the internal index of merged annotations for all annotated elements
+	 * declared in classes loaded by the given ClassLoader or any of its descendants,
+	 * e.g. when an application with its own ClassLoader is being shut down.
+	 * <p>In contrast to {@link #clearCache()}, annotation metadata for classes
+	 * from other ClassLoaders remains cached.
+	 * @param classLoader the ClassLoader to clear the index for
+	 * @since 6.2
+	 */
+	public static void clearCache(@Nullable ClassLoader classLoader) {
+		MergedAnnotationsIndex.clear(classLoader);
 	}
 
 
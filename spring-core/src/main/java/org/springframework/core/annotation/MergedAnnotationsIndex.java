@@ -0,0 +1,299 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Member;
+import java.lang.reflect.Parameter;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.core.SpringProperties;
+import org.springframework.core.annotation.MergedAnnotations.Search;
+import org.springframework.core.annotation.MergedAnnotations.SearchStrategy;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Shared index of {@link MergedAnnotations} views per {@link AnnotatedElement},
+ * avoiding repeated hierarchy traversal and alias resolution for elements that
+ * are introspected many times, e.g. by {@link AnnotatedElementUtils} lookups
+ * for request mappings, transaction attributes, caching operations, validation
+ * and event listeners during application startup.
+ *
+ * <p>Indexed views memoize the results of {@code get}, {@code isPresent} and
+ * {@code isDirectlyPresent} queries without predicate and with one of the
+ * {@linkplain MergedAnnotationSelectors shared selectors}, as well as
+ * the aggregated annotations used for streaming. Since {@link MergedAnnotation}
+ * instances are immutable, they can be safely shared between callers; this
+ * includes their synthesized annotation.
+ *
+ * <p>Only reflective elements (classes, methods, fields, constructors and
+ * parameters) searched with the {@linkplain AnnotationFilter#PLAIN plain}
+ * annotation filter, without enclosing class search, and with either no or the
+ * standard {@linkplain RepeatableContainers repeatable containers} are indexed.
+ * The index holds its entries through soft references and stops accepting new
+ * elements once its capacity is reached: 4096 by default, configurable through
+ * the {@value #CAPACITY_PROPERTY_NAME} property, with 0 disabling the index.
+ *
+ * @author agent
+ * @since 6.2
+ * @see AnnotationUtils#clearCache()
+ * @see AnnotationUtils#clearCache(ClassLoader)
+ */
+abstract class MergedAnnotationsIndex {
+
+	/**
+	 * System property for the maximum number of indexed elements.
+	 */
+	static final String CAPACITY_PROPERTY_NAME = "spring.annotations.index.capacity";
+
+	private static final int DEFAULT_CAPACITY = 4096;
+
+	private static final int capacity = getCapacity();
+
+	private static final Map<Key, MergedAnnotations> index = new ConcurrentReferenceHashMap<>(256);
+
+
+	/**
+	 * Determine whether a search with the given settings can be indexed.
+	 */
+	static boolean isIndexable(AnnotatedElement element, Predicate<Class<?>> searchEnclosingClass,
+			RepeatableContainers repeatableContainers, AnnotationFilter annotationFilter) {
+
+		return (capacity > 0 && annotationFilter == AnnotationFilter.PLAIN && searchEnclosingClass == Search.never &&
+				(repeatableContainers == RepeatableContainers.standardRepeatables() ||
+						repeatableContainers == RepeatableContainers.none()) &&
+				(element instanceof Class || element instanceof Member || element instanceof Parameter));
+	}
+
+	/**
+	 * Obtain the indexed view for the given element and search settings,
+	 * creating it through the given factory if necessary.
+	 */
+	static MergedAnnotations get(AnnotatedElement element, SearchStrategy searchStrategy,
+			RepeatableContainers repeatableContainers, Supplier<MergedAnnotations> factory) {
+
+		Key key = new Key(element, searchStrategy, repeatableContainers == RepeatableContainers.none());
+		MergedAnnotations annotations = index.get(key);
+		if (annotations == null) {
+			annotations = new IndexedMergedAnnotations(factory.get());
+			if (index.size() < capacity) {
+				MergedAnnotations existing = index.putIfAbsent(key, annotations);
+				if (existing != null) {
+					annotations = existing;
+				}
+			}
+		}
+		return annotations;
+	}
+
+	/**
+	 * Return the number of currently indexed views.
+	 */
+	static int size() {
+		return index.size();
+	}
+
+	/**
+	 * Remove all indexed views.
+	 */
+	static void clear() {
+		index.clear();
+	}
+
+	/**
+	 * Remove the indexed views for all elements declared in classes that have
+	 * been loaded by the given ClassLoader or by any of its descendants.
+	 */
+	static void clear(@Nullable ClassLoader classLoader) {
+		index.keySet().removeIf(key -> isLoadedBy(key.element(), classLoader));
+	}
+
+	private static boolean isLoadedBy(AnnotatedElement element, @Nullable ClassLoader classLoader) {
+		Class<?> declaringClass;
+		if (element instanceof Class<?> clazz) {
+			declaringClass = clazz;
+		}
+		else if (element instanceof Member member) {
+			declaringClass = member.getDeclaringClass();
+		}
+		else if (element instanceof Parameter parameter) {
+			declaringClass = parameter.getDeclaringExecutable().getDeclaringClass();
+		}
+		else {
+			return false;
+		}
+		ClassLoader candidate = declaringClass.getClassLoader();
+		if (classLoader == null) {
+			return (candidate == null);
+		}
+		while (candidate != null) {
+			if (candidate == classLoader) {
+				return true;
+			}
+			candidate = candidate.getParent();
+		}
+		return false;
+	}
+
+	private static int getCapacity() {
+		String value = SpringProperties.getProperty(CAPACITY_PROPERTY_NAME);
+		return (value != null ? Integer.parseInt(value.trim()) : DEFAULT_CAPACITY);
+	}
+
+
+	private record Key(AnnotatedElement element, SearchStrategy searchStrategy, boolean noRepeatables) {
+	}
+
+
+	/**
+	 * {@link MergedAnnotations} decorator that memoizes query results.
+	 */
+	private static final class IndexedMergedAnnotations implements MergedAnnotations {
+
+		private final MergedAnnotations delegate;
+
+		private final Map<Object, MergedAnnotation<?>> annotations = new ConcurrentHashMap<>(4);
+
+		private final Map<Object, Boolean> present = new ConcurrentHashMap<>(4);
+
+		private final Map<Object, Boolean> directlyPresent = new ConcurrentHashMap<>(4);
+
+		IndexedMergedAnnotations(MergedAnnotations delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public <A extends Annotation> boolean isPresent(Class<A> annotationType) {
+			return this.present.computeIfAbsent(annotationType, key -> this.delegate.isPresent(annotationType));
+		}
+
+		@Override
+		public boolean isPresent(String annotationType) {
+			return this.present.computeIfAbsent(annotationType, key -> this.delegate.isPresent(annotationType));
+		}
+
+		@Override
+		public <A extends Annotation> boolean isDirectlyPresent(Class<A> annotationType) {
+			return this.directlyPresent.computeIfAbsent(annotationType,
+					key -> this.delegate.isDirectlyPresent(annotationType));
+		}
+
+		@Override
+		public boolean isDirectlyPresent(String annotationType) {
+			return this.directlyPresent.computeIfAbsent(annotationType,
+					key -> this.delegate.isDirectlyPresent(annotationType));
+		}
+
+		@Override
+		public <A extends Annotation> MergedAnnotation<A> get(Class<A> annotationType) {
+			return get(annotationType, null, null);
+		}
+
+		@Override
+		public <A extends Annotation> MergedAnnotation<A> get(Class<A> annotationType,
+				@Nullable Predicate<? super MergedAnnotation<A>> predicate) {
+
+			return get(annotationType, predicate, null);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <A extends Annotation> MergedAnnotation<A> get(Class<A> annotationType,
+				@Nullable Predicate<? super MergedAnnotation<A>> predicate,
+				@Nullable MergedAnnotationSelector<A> selector) {
+
+			if (predicate != null || !isSharedSelector(selector)) {
+				return this.delegate.get(annotationType, predicate, selector);
+			}
+			return (MergedAnnotation<A>) this.annotations.computeIfAbsent(getQueryKey(annotationType, selector),
+					key -> this.delegate.get(annotationType, null, selector));
+		}
+
+		@Override
+		public <A extends Annotation> MergedAnnotation<A> get(String annotationType) {
+			return get(annotationType, null, null);
+		}
+
+		@Override
+		public <A extends Annotation> MergedAnnotation<A> get(String annotationType,
+				@Nullable Predicate<? super MergedAnnotation<A>> predicate) {
+
+			return get(annotationType, predicate, null);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <A extends Annotation> MergedAnnotation<A> get(String annotationType,
+				@Nullable Predicate<? super MergedAnnotation<A>> predicate,
+				@Nullable MergedAnnotationSelector<A> selector) {
+
+			if (predicate != null || !isSharedSelector(selector)) {
+				return this.delegate.get(annotationType, predicate, selector);
+			}
+			return (MergedAnnotation<A>) this.annotations.computeIfAbsent(getQueryKey(annotationType, selector),
+					key -> this.delegate.get(annotationType, null, selector));
+		}
+
+		@Override
+		public <A extends Annotation> Stream<MergedAnnotation<A>> stream(Class<A> annotationType) {
+			return this.delegate.stream(annotationType);
+		}
+
+		@Override
+		public <A extends Annotation> Stream<MergedAnnotation<A>> stream(String annotationType) {
+			return this.delegate.stream(annotationType);
+		}
+
+		@Override
+		public Stream<MergedAnnotation<Annotation>> stream() {
+			return this.delegate.stream();
+		}
+
+		@Override
+		public Iterator<MergedAnnotation<Annotation>> iterator() {
+			return this.delegate.iterator();
+		}
+
+		@Override
+		public Spliterator<MergedAnnotation<Annotation>> spliterator() {
+			return this.delegate.spliterator();
+		}
+
+		private static boolean isSharedSelector(@Nullable MergedAnnotationSelector<?> selector) {
+			return (selector == null || selector == MergedAnnotationSelectors.nearest() ||
+					selector == MergedAnnotationSelectors.firstDirectlyDeclared());
+		}
+
+		private static Object getQueryKey(Object annotationType, @Nullable MergedAnnotationSelector<?> selector) {
+			return (selector == null || selector == MergedAnnotationSelectors.nearest() ?
+					annotationType : new FirstDirectlyDeclaredQuery(annotationType));
+		}
+	}
+
+
+	private record FirstDirectlyDeclaredQuery(Object annotationType) {
+	}
+
+}
@@ -259,6 +259,10 @@ final class TypeMappedAnnotations implements MergedAnnotations {
 		if (AnnotationsScanner.isKnownEmpty(element, searchStrategy, searchEnclosingClass)) {
 			return NONE;
 		}
+		if (MergedAnnotationsIndex.isIndexable(element, searchEnclosingClass, repeatableContainers, annotationFilter)) {
+			return MergedAnnotationsIndex.get(element, searchStrategy, repeatableContainers, () ->
+					new TypeMappedAnnotations(element, searchStrategy, searchEnclosingClass, repeatableContainers, annotationFilter));
+		}
 		return new TypeMappedAnnotations(element, searchStrategy, searchEnclosingClass, repeatableContainers, annotationFilter);
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -108,7 +108,7 @@ public abstract class AbstractCharSequenceDecoder<T extends CharSequence> extend
 					if (chunks.isEmpty()) {
 						return Mono.empty();
 					}
-					DataBuffer lastBuffer = chunks.get(0).factory().join(chunks);
+					DataBuffer lastBuffer = (chunks.size() == 1 ? chunks.get(0) : chunks.get(0).factory().join(chunks));
 					chunks.clear();
 					return Mono.just(lastBuffer);
 				}))
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -44,8 +44,17 @@ public class ResourceEncoder extends AbstractSingleValueEncoder<Resource> {
 	 */
 	public static final int DEFAULT_BUFFER_SIZE = StreamUtils.BUFFER_SIZE;
 
+	/**
+	 * The size of the regions in which files are mapped into memory.
+	 * @since 6.2
+	 * @see #setMemoryMappingThreshold(long)
+	 */
+	public static final int MAPPED_REGION_SIZE = 4 * 1024 * 1024;
+
 	private final int bufferSize;
 
+	private long memoryMappingThreshold = -1;
+
 
 	public ResourceEncoder() {
 		this(DEFAULT_BUFFER_SIZE);
@@ -58,6 +67,30 @@ public class ResourceEncoder extends AbstractSingleValueEncoder<Resource> {
 	}
 
 
+	/**
+	 * Set the minimum content length of file-based resources which are to be
+	 * memory-mapped through {@link DataBufferUtils#readMapped} rather than
+	 * copied into newly allocated buffers.
+	 * <p>By default, this is set to -1, meaning that memory mapping is not used.
+	 * @param memoryMappingThreshold the threshold in bytes, or -1 to disable
+	 * memory mapping
+	 * @since 6.2
+	 * @see DataBufferUtils#read(Resource, long, DataBufferFactory, int, long, int)
+	 */
+	public void setMemoryMappingThreshold(long memoryMappingThreshold) {
+		this.memoryMappingThreshold = memoryMappingThreshold;
+	}
+
+	/**
+	 * Return the configured {@linkplain #setMemoryMappingThreshold memory
+	 * mapping threshold}.
+	 * @since 6.2
+	 */
+	public long getMemoryMappingThreshold() {
+		return this.memoryMappingThreshold;
+	}
+
+
 	@Override
 	public boolean canEncode(ResolvableType elementType, @Nullable MimeType mimeType) {
 		Class<?> clazz = elementType.toClass();
@@ -72,7 +105,8 @@ public class ResourceEncoder extends AbstractSingleValueEncoder<Resource> {
 			String logPrefix = Hints.getLogPrefix(hints);
 			logger.debug(logPrefix + "Writing [" + resource + "]");
 		}
-		return DataBufferUtils.read(resource, bufferFactory, this.bufferSize);
+		return DataBufferUtils.read(resource, 0, bufferFactory, this.bufferSize,
+				this.memoryMappingThreshold, MAPPED_REGION_SIZE);
 	}
 
 }
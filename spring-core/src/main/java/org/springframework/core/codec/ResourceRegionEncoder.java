@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -58,6 +58,8 @@ public class ResourceRegionEncoder extends AbstractEncoder<ResourceRegion> {
 
 	private final int bufferSize;
 
+	private long memoryMappingThreshold = -1;
+
 
 	public ResourceRegionEncoder() {
 		this(DEFAULT_BUFFER_SIZE);
@@ -69,6 +71,29 @@ public class ResourceRegionEncoder extends AbstractEncoder<ResourceRegion> {
 		this.bufferSize = bufferSize;
 	}
 
+
+	/**
+	 * Set the minimum content length of file-based resources whose regions are
+	 * to be memory-mapped, with the same semantics as for
+	 * {@link ResourceEncoder#setMemoryMappingThreshold(long)}.
+	 * @param memoryMappingThreshold the threshold in bytes, or -1 to disable
+	 * memory mapping
+	 * @since 6.2
+	 */
+	public void setMemoryMappingThreshold(long memoryMappingThreshold) {
+		this.memoryMappingThreshold = memoryMappingThreshold;
+	}
+
+	/**
+	 * Return the configured {@linkplain #setMemoryMappingThreshold memory
+	 * mapping threshold}.
+	 * @since 6.2
+	 */
+	public long getMemoryMappingThreshold() {
+		return this.memoryMappingThreshold;
+	}
+
+
 	@Override
 	public boolean canEncode(ResolvableType elementType, @Nullable MimeType mimeType) {
 		return super.canEncode(elementType, mimeType)
@@ -129,7 +154,8 @@ public class ResourceRegionEncoder extends AbstractEncoder<ResourceRegion> {
 					"Writing region " + position + "-" + (position + count) + " of [" + resource + "]");
 		}
 
-		Flux<DataBuffer> in = DataBufferUtils.read(resource, position, bufferFactory, this.bufferSize);
+		Flux<DataBuffer> in = DataBufferUtils.read(resource, position, bufferFactory, this.bufferSize,
+				this.memoryMappingThreshold, ResourceEncoder.MAPPED_REGION_SIZE);
 		if (logger.isDebugEnabled()) {
 			in = in.doOnNext(buffer -> Hints.touchDataBuffer(buffer, hints, logger));
 		}
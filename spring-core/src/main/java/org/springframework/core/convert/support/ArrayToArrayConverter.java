@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,21 +16,20 @@
 
 package org.springframework.core.convert.support;
 
-import java.util.Arrays;
+import java.lang.reflect.Array;
 import java.util.Collections;
-import java.util.List;
 import java.util.Set;
 
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.convert.converter.ConditionalGenericConverter;
 import org.springframework.lang.Nullable;
-import org.springframework.util.ObjectUtils;
+import org.springframework.util.Assert;
 
 /**
- * Converts an array to another array. First adapts the source array to a List,
- * then delegates to {@link CollectionToArrayConverter} to perform the target
- * array conversion.
+ * Converts an array to another array, converting each element into a new array
+ * of the target component type. Matching rules are shared with
+ * {@link CollectionToArrayConverter}.
  *
  * @author Keith Donald
  * @author Phillip Webb
@@ -69,8 +68,21 @@ final class ArrayToArrayConverter implements ConditionalGenericConverter {
 				return source;
 			}
 		}
-		List<Object> sourceList = Arrays.asList(ObjectUtils.toObjectArray(source));
-		return this.helperConverter.convert(sourceList, sourceType, targetType);
+
+		// Convert straight into the target array: no intermediate boxed copy of the
+		// source array, with a primitive target component type remaining primitive.
+		TypeDescriptor targetElementType = targetType.getElementTypeDescriptor();
+		Assert.state(targetElementType != null, "No target element type");
+		int length = (source != null ? Array.getLength(source) : 0);
+		Object array = Array.newInstance(targetElementType.getType(), length);
+		if (length > 0) {
+			ElementConverter elementConverter = new ElementConverter(
+					this.conversionService, sourceType, sourceType.getElementTypeDescriptor(), targetElementType);
+			for (int i = 0; i < length; i++) {
+				Array.set(array, i, elementConverter.convert(Array.get(source, i)));
+			}
+		}
+		return array;
 	}
 
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -80,11 +80,11 @@ final class ArrayToCollectionConverter implements ConditionalGenericConverter {
 			}
 		}
 		else {
+			ElementConverter elementConverter = new ElementConverter(
+					this.conversionService, sourceType, sourceType.getElementTypeDescriptor(), elementDesc);
 			for (int i = 0; i < length; i++) {
 				Object sourceElement = Array.get(source, i);
-				Object targetElement = this.conversionService.convert(sourceElement,
-						sourceType.elementTypeDescriptor(sourceElement), elementDesc);
-				target.add(targetElement);
+				target.add(elementConverter.convert(sourceElement));
 			}
 		}
 		return target;
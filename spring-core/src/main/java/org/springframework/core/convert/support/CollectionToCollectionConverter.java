@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2014 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -85,9 +85,10 @@ final class CollectionToCollectionConverter implements ConditionalGenericConvert
 			target.addAll(sourceCollection);
 		}
 		else {
+			ElementConverter elementConverter = new ElementConverter(
+					this.conversionService, sourceType, sourceType.getElementTypeDescriptor(), elementDesc);
 			for (Object sourceElement : sourceCollection) {
-				Object targetElement = this.conversionService.convert(sourceElement,
-						sourceType.elementTypeDescriptor(sourceElement), elementDesc);
+				Object targetElement = elementConverter.convert(sourceElement);
 				target.add(targetElement);
 				if (sourceElement != targetElement) {
 					copyRequired = true;
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.convert.support;
+
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.GenericConverter;
+import org.springframework.lang.Nullable;
+
+/**
+ * Converts the elements of a single collection, array or map to a common
+ * target element type.
+ *
+ * <p>The narrowed source element {@link TypeDescriptor} and, for a
+ * {@link GenericConversionService}, the {@link GenericConverter} are resolved
+ * once per distinct element class rather than once per element, which is
+ * typically once per conversion for homogeneous collections. A subclass
+ * overriding {@link ConversionService#convert(Object, TypeDescriptor, TypeDescriptor)}
+ * gets every element passed to its overridden method instead.
+ *
+ * <p>Instances are stateful and not thread-safe: to be created for
+ * each container conversion.
+ *
+ * @author agent
+ * @since 6.2
+ */
+final class ElementConverter {
+
+	private final ConversionService conversionService;
+
+	@Nullable
+	private final GenericConversionService genericConversionService;
+
+	@Nullable
+	private final TypeDescriptor sourceElementType;
+
+	private final TypeDescriptor narrowingType;
+
+	private final TypeDescriptor targetElementType;
+
+	@Nullable
+	private Class<?> elementClass;
+
+	@Nullable
+	private TypeDescriptor elementType;
+
+	@Nullable
+	private GenericConverter converter;
+
+
+	/**
+	 * Create a new {@code ElementConverter}.
+	 * @param conversionService the conversion service to delegate to
+	 * @param sourceType the descriptor of the source container
+	 * @param sourceElementType the declared source element descriptor, if any
+	 * @param targetElementType the target element descriptor
+	 */
+	ElementConverter(ConversionService conversionService, TypeDescriptor sourceType,
+			@Nullable TypeDescriptor sourceElementType, TypeDescriptor targetElementType) {
+
+		this.conversionService = conversionService;
+		this.genericConversionService = (conversionService instanceof GenericConversionService gcs &&
+				gcs.supportsPreResolvedConverters() ? gcs : null);
+		this.sourceElementType = sourceElementType;
+		this.narrowingType = (sourceElementType != null ? sourceElementType : sourceType);
+		this.targetElementType = targetElementType;
+	}
+
+
+	/**
+	 * Convert the given element, equivalent to a {@link ConversionService#convert}
+	 * call with the source element descriptor narrowed to the element's class.
+	 * @param element the source element (may be {@code null})
+	 * @return the converted element
+	 */
+	@Nullable
+	public Object convert(@Nullable Object element) {
+		if (element == null) {
+			return this.conversionService.convert(null, this.sourceElementType, this.targetElementType);
+		}
+		TypeDescriptor elementType = getElementType(element);
+		if (this.genericConversionService != null) {
+			return this.genericConversionService.convert(element, elementType, this.targetElementType, this.converter);
+		}
+		return this.conversionService.convert(element, elementType, this.targetElementType);
+	}
+
+	private TypeDescriptor getElementType(Object element) {
+		TypeDescriptor elementType = this.elementType;
+		if (elementType == null || element.getClass() != this.elementClass) {
+			elementType = this.narrowingType.narrow(element);
+			if (this.genericConversionService != null) {
+				this.converter = this.genericConversionService.getConverter(elementType, this.targetElementType);
+			}
+			this.elementType = elementType;
+			this.elementClass = element.getClass();
+		}
+		return elementType;
+	}
+
+}
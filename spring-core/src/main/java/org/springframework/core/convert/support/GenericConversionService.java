@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -77,6 +77,13 @@ public class GenericConversionService implements ConfigurableConversionService {
 
 	private final Map<ConverterCacheKey, GenericConverter> converterCache = new ConcurrentReferenceHashMap<>(64);
 
+	/**
+	 * Whether {@link #convert(Object, TypeDescriptor, TypeDescriptor)} is the
+	 * original implementation, not overridden in a subclass.
+	 */
+	private final boolean standardConvertMethod = (ClassUtils.getMethod(getClass(), "convert",
+			Object.class, TypeDescriptor.class, TypeDescriptor.class).getDeclaringClass() == GenericConversionService.class);
+
 
 	// ConverterRegistry implementation
 
@@ -177,7 +184,28 @@ public class GenericConversionService implements ConfigurableConversionService {
 			throw new IllegalArgumentException("Source to convert from must be an instance of [" +
 					sourceType + "]; instead it was a [" + source.getClass().getName() + "]");
 		}
-		GenericConverter converter = getConverter(sourceType, targetType);
+		return convert(source, sourceType, targetType, getConverter(sourceType, targetType));
+	}
+
+	/**
+	 * Convert the given source object through a converter that has been obtained
+	 * from {@link #getConverter} for the given types before, e.g. once for all
+	 * elements of the same type within a collection.
+	 * <p>Only to be used if {@link #supportsPreResolvedConverters()} returns
+	 * {@code true}: this method bypasses the public
+	 * {@link #convert(Object, TypeDescriptor, TypeDescriptor)} method.
+	 * @param source the source object to convert (may be {@code null})
+	 * @param sourceType the type descriptor for the source object
+	 * @param targetType the target type descriptor
+	 * @param converter the pre-resolved converter, or {@code null} if none found
+	 * @return the converted object
+	 * @since 6.2
+	 * @see ElementConverter
+	 */
+	@Nullable
+	Object convert(@Nullable Object source, TypeDescriptor sourceType, TypeDescriptor targetType,
+			@Nullable GenericConverter converter) {
+
 		if (converter != null) {
 			Object result = ConversionUtils.invokeConverter(converter, source, sourceType, targetType);
 			return handleResult(sourceType, targetType, result);
@@ -185,6 +213,17 @@ public class GenericConversionService implements ConfigurableConversionService {
 		return handleConverterNotFound(source, sourceType, targetType);
 	}
 
+	/**
+	 * Determine whether elements may be converted through pre-resolved converters,
+	 * i.e. whether {@link #convert(Object, TypeDescriptor, TypeDescriptor)} has not
+	 * been overridden. Otherwise, every element goes through the overridden method.
+	 * @since 6.2
+	 * @see ElementConverter
+	 */
+	boolean supportsPreResolvedConverters() {
+		return this.standardConvertMethod;
+	}
+
 	@Override
 	public String toString() {
 		return this.converters.toString();
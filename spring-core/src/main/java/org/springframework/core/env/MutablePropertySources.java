@@ -42,6 +42,8 @@ public class MutablePropertySources implements PropertySources {
 
 	private final List<PropertySource<?>> propertySourceList = new CopyOnWriteArrayList<>();
 
+	private volatile long version;
+
 
 	/**
 	 * Create a new {@link MutablePropertySources} object.
@@ -105,6 +107,7 @@ public class MutablePropertySources implements PropertySources {
 		synchronized (this.propertySourceList) {
 			removeIfPresent(propertySource);
 			this.propertySourceList.add(0, propertySource);
+			this.version++;
 		}
 	}
 
@@ -115,6 +118,7 @@ public class MutablePropertySources implements PropertySources {
 		synchronized (this.propertySourceList) {
 			removeIfPresent(propertySource);
 			this.propertySourceList.add(propertySource);
+			this.version++;
 		}
 	}
 
@@ -128,6 +132,7 @@ public class MutablePropertySources implements PropertySources {
 			removeIfPresent(propertySource);
 			int index = assertPresentAndGetIndex(relativePropertySourceName);
 			addAtIndex(index, propertySource);
+			this.version++;
 		}
 	}
 
@@ -141,6 +146,7 @@ public class MutablePropertySources implements PropertySources {
 			removeIfPresent(propertySource);
 			int index = assertPresentAndGetIndex(relativePropertySourceName);
 			addAtIndex(index + 1, propertySource);
+			this.version++;
 		}
 	}
 
@@ -159,7 +165,11 @@ public class MutablePropertySources implements PropertySources {
 	public PropertySource<?> remove(String name) {
 		synchronized (this.propertySourceList) {
 			int index = this.propertySourceList.indexOf(PropertySource.named(name));
-			return (index != -1 ? this.propertySourceList.remove(index) : null);
+			if (index == -1) {
+				return null;
+			}
+			this.version++;
+			return this.propertySourceList.remove(index);
 		}
 	}
 
@@ -174,6 +184,24 @@ public class MutablePropertySources implements PropertySources {
 		synchronized (this.propertySourceList) {
 			int index = assertPresentAndGetIndex(name);
 			this.propertySourceList.set(index, propertySource);
+			this.version++;
+		}
+	}
+
+	/**
+	 * Signal that the content of the property source with the given name has
+	 * changed, e.g. after reloading the underlying configuration, invalidating
+	 * any property values that {@link PropertySourcesPropertyResolver} instances
+	 * have cached for this set of property sources.
+	 * @param name the name of the changed property source
+	 * @throws IllegalArgumentException if no property source with the given name is present
+	 * @since 6.2
+	 * @see PropertySourcesPropertyResolver#setCacheResolvedProperties
+	 */
+	public void markChanged(String name) {
+		synchronized (this.propertySourceList) {
+			assertPresentAndGetIndex(name);
+			this.version++;
 		}
 	}
 
@@ -184,6 +212,15 @@ public class MutablePropertySources implements PropertySources {
 		return this.propertySourceList.size();
 	}
 
+	/**
+	 * Return a counter that changes on every modification of this set of
+	 * property sources as well as on every {@link #markChanged} signal.
+	 * @since 6.2
+	 */
+	long getVersion() {
+		return this.version;
+	}
+
 	@Override
 	public String toString() {
 		return this.propertySourceList.toString();
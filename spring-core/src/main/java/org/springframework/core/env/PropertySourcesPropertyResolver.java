@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,17 @@
 
 package org.springframework.core.env;
 
+import org.springframework.core.SpringProperties;
 import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentLruCache;
 
 /**
  * {@link PropertyResolver} implementation that resolves property values against
  * an underlying set of {@link PropertySources}.
  *
+ * <p>Resolved property values may optionally be cached for
+ * {@link MutablePropertySources}: see {@link #setCacheResolvedProperties}.
+ *
  * @author Chris Beams
  * @author Juergen Hoeller
  * @since 3.1
@@ -31,9 +36,27 @@ import org.springframework.lang.Nullable;
  */
 public class PropertySourcesPropertyResolver extends AbstractPropertyResolver {
 
+	/**
+	 * System property that instructs Spring to cache resolved property values
+	 * in {@code PropertySourcesPropertyResolver} instances by default:
+	 * "spring.env.cache". Only to be enabled for effectively immutable
+	 * property sources or in combination with {@link MutablePropertySources#markChanged}.
+	 * @since 6.2
+	 * @see #setCacheResolvedProperties
+	 */
+	public static final String CACHE_PROPERTY_NAME = "spring.env.cache";
+
+	private static final int CACHE_CAPACITY = 4096;
+
+
 	@Nullable
 	private final PropertySources propertySources;
 
+	@Nullable
+	private volatile ConcurrentLruCache<PropertyCacheKey, CachedProperty> propertyCache;
+
+	private volatile long cachedVersion;
+
 
 	/**
 	 * Create a new resolver against the given property sources.
@@ -41,6 +64,42 @@ public class PropertySourcesPropertyResolver extends AbstractPropertyResolver {
 	 */
 	public PropertySourcesPropertyResolver(@Nullable PropertySources propertySources) {
 		this.propertySources = propertySources;
+		if (SpringProperties.getFlag(CACHE_PROPERTY_NAME)) {
+			this.propertyCache = createPropertyCache();
+		}
+	}
+
+
+	/**
+	 * Specify whether to cache resolved property values, including nested
+	 * placeholder resolution and type conversion, per key and target type.
+	 * <p>Default is "false", or "true" if the {@value #CACHE_PROPERTY_NAME}
+	 * system property is set. Only applies to {@link MutablePropertySources}:
+	 * cached values are invalidated whenever property sources are added,
+	 * removed or replaced, and whenever a property source is reported as
+	 * changed through {@link MutablePropertySources#markChanged}. Changes
+	 * within property sources, e.g. system properties, go unnoticed otherwise.
+	 * <p>Switch this flag on once this resolver is fully configured: changes to
+	 * its placeholder settings or its conversion service do not invalidate the cache.
+	 * Setting it again discards all previously cached values.
+	 * @since 6.2
+	 * @see MutablePropertySources#markChanged
+	 */
+	public void setCacheResolvedProperties(boolean cacheResolvedProperties) {
+		this.propertyCache = (cacheResolvedProperties ? createPropertyCache() : null);
+	}
+
+	/**
+	 * Return whether resolved property values are cached.
+	 * @since 6.2
+	 */
+	public boolean isCacheResolvedProperties() {
+		return (this.propertyCache != null);
+	}
+
+	private ConcurrentLruCache<PropertyCacheKey, CachedProperty> createPropertyCache() {
+		return new ConcurrentLruCache<>(CACHE_CAPACITY, cacheKey -> new CachedProperty(
+				doGetProperty(cacheKey.key(), cacheKey.targetValueType(), cacheKey.resolveNestedPlaceholders())));
 	}
 
 
@@ -75,7 +134,24 @@ public class PropertySourcesPropertyResolver extends AbstractPropertyResolver {
 	}
 
 	@Nullable
+	@SuppressWarnings("unchecked")
 	protected <T> T getProperty(String key, Class<T> targetValueType, boolean resolveNestedPlaceholders) {
+		ConcurrentLruCache<PropertyCacheKey, CachedProperty> propertyCache = this.propertyCache;
+		if (propertyCache != null && this.propertySources instanceof MutablePropertySources mutablePropertySources) {
+			long version = mutablePropertySources.getVersion();
+			if (version != this.cachedVersion) {
+				// Property sources changed: early release of outdated entries
+				propertyCache.clear();
+				this.cachedVersion = version;
+			}
+			return (T) propertyCache.get(
+					new PropertyCacheKey(key, targetValueType, resolveNestedPlaceholders, version)).value();
+		}
+		return doGetProperty(key, targetValueType, resolveNestedPlaceholders);
+	}
+
+	@Nullable
+	private <T> T doGetProperty(String key, Class<T> targetValueType, boolean resolveNestedPlaceholders) {
 		if (this.propertySources != null) {
 			for (PropertySource<?> propertySource : this.propertySources) {
 				if (logger.isTraceEnabled()) {
@@ -117,4 +193,20 @@ public class PropertySourcesPropertyResolver extends AbstractPropertyResolver {
 		}
 	}
 
+
+	/**
+	 * Cache key for a resolved property value, including the version of the
+	 * property sources that the value has been resolved against.
+	 */
+	private record PropertyCacheKey(
+			String key, Class<?> targetValueType, boolean resolveNestedPlaceholders, long version) {
+	}
+
+
+	/**
+	 * Cached outcome of a property resolution, possibly {@code null}.
+	 */
+	private record CachedProperty(@Nullable Object value) {
+	}
+
 }
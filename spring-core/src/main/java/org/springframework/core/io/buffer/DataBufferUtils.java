@@ -21,15 +21,19 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.channels.AsynchronousFileChannel;
 import java.nio.channels.Channel;
 import java.nio.channels.Channels;
 import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Executor;
@@ -70,6 +74,15 @@ public abstract class DataBufferUtils {
 
 	private static final int DEFAULT_CHUNK_SIZE = 1024;
 
+	/**
+	 * Minimum number of bytes to scan for word-at-a-time byte search to pay off.
+	 */
+	private static final int WORD_SCAN_THRESHOLD = 32;
+
+	private static final long LOW_BITS = 0x0101010101010101L;
+
+	private static final long HIGH_BITS = 0x8080808080808080L;
+
 
 	//---------------------------------------------------------------------
 	// Reading
@@ -189,6 +202,60 @@ public abstract class DataBufferUtils {
 				bufferFactory, bufferSize);
 	}
 
+	/**
+	 * Map the file at the given {@code Path} into memory and expose it as a
+	 * {@code Flux} of read-only {@code DataBuffer}s, each wrapping a mapped
+	 * region of at most {@code regionSize} bytes.
+	 * <p>In contrast to {@link #read(Path, DataBufferFactory, int, OpenOption...)},
+	 * file contents are not copied into newly allocated buffers: regions are
+	 * mapped lazily as they are requested, and passed to
+	 * {@link DataBufferFactory#wrap(ByteBuffer)}. Whether the resulting buffers
+	 * remain zero-copy depends on the factory; {@link DefaultDataBufferFactory}
+	 * and {@link NettyDataBufferFactory} wrap the mapped memory directly.
+	 * <p>The file channel is closed when the flux is terminated. The mapped
+	 * memory is unmapped once the returned buffers become unreachable, so buffers
+	 * should not be retained beyond their use. Memory mapping pays off for large
+	 * files; smaller files are usually read more efficiently through
+	 * {@link #read(Path, DataBufferFactory, int, OpenOption...)}.
+	 * @param path the path of the file to map
+	 * @param bufferFactory the factory to wrap the mapped regions with
+	 * @param regionSize the maximum size of each mapped region
+	 * @return a Flux of read-only data buffers backed by the mapped file
+	 * @since 6.2
+	 */
+	public static Flux<DataBuffer> readMapped(Path path, DataBufferFactory bufferFactory, int regionSize) {
+		return readMapped(path, 0, Long.MAX_VALUE, bufferFactory, regionSize);
+	}
+
+	/**
+	 * Map a range of the file at the given {@code Path} into memory and expose it
+	 * as a {@code Flux} of read-only {@code DataBuffer}s, each wrapping a mapped
+	 * region of at most {@code regionSize} bytes.
+	 * <p>See {@link #readMapped(Path, DataBufferFactory, int)} for details.
+	 * @param path the path of the file to map
+	 * @param position the position in the file to start mapping from
+	 * @param count the maximum number of bytes to map, capped by the size of the file
+	 * @param bufferFactory the factory to wrap the mapped regions with
+	 * @param regionSize the maximum size of each mapped region
+	 * @return a Flux of read-only data buffers backed by the mapped file
+	 * @since 6.2
+	 */
+	public static Flux<DataBuffer> readMapped(
+			Path path, long position, long count, DataBufferFactory bufferFactory, int regionSize) {
+
+		Assert.notNull(path, "Path must not be null");
+		Assert.notNull(bufferFactory, "DataBufferFactory must not be null");
+		Assert.isTrue(position >= 0, "'position' must be >= 0");
+		Assert.isTrue(count >= 0, "'count' must be >= 0");
+		Assert.isTrue(regionSize > 0, "'regionSize' must be > 0");
+
+		return Flux.using(() -> FileChannel.open(path, StandardOpenOption.READ),
+				channel -> Flux.generate(new MappedFileChannelGenerator(channel, position, count, bufferFactory, regionSize)),
+				DataBufferUtils::closeChannel);
+
+		// No doOnDiscard as operators used do not cache
+	}
+
 	/**
 	 * Read the given {@code Resource} into a {@code Flux} of {@code DataBuffer}s.
 	 * <p>If the resource is a file, it is read into an
@@ -237,6 +304,41 @@ public abstract class DataBufferUtils {
 		return position == 0 ? result : skipUntilByteCount(result, position);
 	}
 
+	/**
+	 * Read the given {@code Resource} into a {@code Flux} of {@code DataBuffer}s
+	 * starting at the given position, memory-mapping it if it is a file whose
+	 * content length reaches the given threshold.
+	 * <p>Memory-mapped files are read through
+	 * {@link #readMapped(Path, long, long, DataBufferFactory, int)}. Any other
+	 * resource, or a file whose content length or {@code File} handle cannot be
+	 * determined, falls back to {@link #read(Resource, long, DataBufferFactory, int)}.
+	 * @param resource the resource to read from
+	 * @param position the position to start reading from
+	 * @param bufferFactory the factory to create data buffers with
+	 * @param bufferSize the maximum size of the data buffers when not mapped
+	 * @param memoryMappingThreshold the minimum content length in bytes for
+	 * memory mapping, or a negative value to never map
+	 * @param mappedRegionSize the maximum size of each mapped region
+	 * @return a Flux of data buffers read from the given resource
+	 * @since 6.2
+	 */
+	public static Flux<DataBuffer> read(Resource resource, long position, DataBufferFactory bufferFactory,
+			int bufferSize, long memoryMappingThreshold, int mappedRegionSize) {
+
+		if (memoryMappingThreshold >= 0 && resource.isFile()) {
+			try {
+				if (resource.contentLength() >= memoryMappingThreshold) {
+					return readMapped(resource.getFile().toPath(), position, Long.MAX_VALUE,
+							bufferFactory, mappedRegionSize);
+				}
+			}
+			catch (IOException ignore) {
+				// fallback to regular reading, below
+			}
+		}
+		return read(resource, position, bufferFactory, bufferSize);
+	}
+
 
 	//---------------------------------------------------------------------
 	// Writing
@@ -706,7 +808,11 @@ public abstract class DataBufferUtils {
 	 */
 	public static Matcher matcher(byte[]... delimiters) {
 		Assert.isTrue(delimiters.length > 0, "Delimiters must not be empty");
-		return (delimiters.length == 1 ? createMatcher(delimiters[0]) : new CompositeMatcher(delimiters));
+		if (delimiters.length == 1) {
+			return createMatcher(delimiters[0]);
+		}
+		return (SharedLastByteMatcher.supports(delimiters) ?
+				new SharedLastByteMatcher(delimiters) : new CompositeMatcher(delimiters));
 	}
 
 	private static NestedMatcher createMatcher(byte[] delimiter) {
@@ -720,6 +826,66 @@ public abstract class DataBufferUtils {
 		};
 	}
 
+	/**
+	 * Find the first occurrence of the given byte in the given buffer, starting
+	 * at the given index and ending at the buffer's write position. Larger ranges
+	 * are scanned eight bytes at a time across the buffer's readable byte buffers.
+	 * @return the index of the byte, or {@code -1} if not found
+	 */
+	private static int indexOf(DataBuffer dataBuffer, int fromIndex, byte target) {
+		int end = dataBuffer.writePosition();
+		if (end - fromIndex < WORD_SCAN_THRESHOLD) {
+			for (int pos = fromIndex; pos < end; pos++) {
+				if (dataBuffer.getByte(pos) == target) {
+					return pos;
+				}
+			}
+			return -1;
+		}
+		int offset = dataBuffer.readPosition();
+		try (DataBuffer.ByteBufferIterator iterator = dataBuffer.readableByteBuffers()) {
+			while (iterator.hasNext()) {
+				ByteBuffer byteBuffer = iterator.next();
+				int length = byteBuffer.remaining();
+				if (offset + length > fromIndex) {
+					int start = byteBuffer.position() + Math.max(fromIndex - offset, 0);
+					int index = indexOf(byteBuffer.order(ByteOrder.LITTLE_ENDIAN), start, target);
+					if (index != -1) {
+						return offset + index - byteBuffer.position();
+					}
+				}
+				offset += length;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * SWAR (SIMD within a register) search for the given byte, comparing eight
+	 * bytes per step: the lowest high bit set in {@code (x - 0x01..) & ~x & 0x80..}
+	 * marks the first zero byte in {@code x}, i.e. the first byte equal to the target.
+	 * @param byteBuffer a little-endian buffer to search in
+	 * @param start the absolute index to start from
+	 */
+	private static int indexOf(ByteBuffer byteBuffer, int start, byte target) {
+		int end = byteBuffer.limit();
+		long pattern = (target & 0xFFL) * LOW_BITS;
+		int pos = start;
+		for (; pos + Long.BYTES <= end; pos += Long.BYTES) {
+			long word = byteBuffer.getLong(pos) ^ pattern;
+			long found = (word - LOW_BITS) & ~word & HIGH_BITS;
+			if (found != 0) {
+				return pos + (Long.numberOfTrailingZeros(found) >>> 3);
+			}
+		}
+		for (; pos < end; pos++) {
+			if (byteBuffer.get(pos) == target) {
+				return pos;
+			}
+		}
+		return -1;
+	}
+
 
 	/**
 	 * Contract to find delimiter(s) against one or more data buffers that can
@@ -839,13 +1005,7 @@ public abstract class DataBufferUtils {
 
 		@Override
 		public int match(DataBuffer dataBuffer) {
-			for (int pos = dataBuffer.readPosition(); pos < dataBuffer.writePosition(); pos++) {
-				byte b = dataBuffer.getByte(pos);
-				if (match(b)) {
-					return pos;
-				}
-			}
-			return -1;
+			return indexOf(dataBuffer, dataBuffer.readPosition(), this.delimiter[0]);
 		}
 
 		@Override
@@ -864,6 +1024,113 @@ public abstract class DataBufferUtils {
 	}
 
 
+	/**
+	 * Matcher for multiple delimiters of one or two bytes that all end with the
+	 * same byte, such as the default {@code "\r\n"} and {@code "\n"} line
+	 * delimiters: scans for the common last byte with {@link #indexOf(DataBuffer, int, byte)},
+	 * then selects the longest delimiter by the preceding byte, if any.
+	 */
+	private static class SharedLastByteMatcher implements Matcher {
+
+		private final byte lastByte;
+
+		@Nullable
+		private final byte[] singleByteDelimiter;
+
+		private final byte[][] twoByteDelimiters;
+
+		@Nullable
+		private byte[] matchedDelimiter;
+
+		private boolean hasPreviousByte;
+
+		private byte previousByte;
+
+		SharedLastByteMatcher(byte[][] delimiters) {
+			this.lastByte = delimiters[0][delimiters[0].length - 1];
+			byte[] singleByteDelimiter = null;
+			List<byte[]> twoByteDelimiters = new ArrayList<>(delimiters.length);
+			for (byte[] delimiter : delimiters) {
+				if (delimiter.length == 1) {
+					singleByteDelimiter = delimiter;
+				}
+				else {
+					twoByteDelimiters.add(delimiter);
+				}
+			}
+			this.singleByteDelimiter = singleByteDelimiter;
+			this.twoByteDelimiters = twoByteDelimiters.toArray(new byte[0][]);
+		}
+
+		static boolean supports(byte[][] delimiters) {
+			byte lastByte = 0;
+			for (int i = 0; i < delimiters.length; i++) {
+				byte[] delimiter = delimiters[i];
+				if (delimiter.length == 0 || delimiter.length > 2) {
+					return false;
+				}
+				byte candidate = delimiter[delimiter.length - 1];
+				if (i > 0 && candidate != lastByte) {
+					return false;
+				}
+				lastByte = candidate;
+			}
+			return true;
+		}
+
+		@Override
+		public int match(DataBuffer dataBuffer) {
+			this.matchedDelimiter = null;
+			int start = dataBuffer.readPosition();
+			int end = dataBuffer.writePosition();
+			int pos = start;
+			while (pos < end) {
+				int index = indexOf(dataBuffer, pos, this.lastByte);
+				if (index == -1) {
+					break;
+				}
+				byte[] delimiter = (index > start ? selectDelimiter(true, dataBuffer.getByte(index - 1)) :
+						selectDelimiter(this.hasPreviousByte, this.previousByte));
+				if (delimiter != null) {
+					reset();
+					this.matchedDelimiter = delimiter;
+					return index;
+				}
+				pos = index + 1;
+			}
+			if (end > start) {
+				this.hasPreviousByte = true;
+				this.previousByte = dataBuffer.getByte(end - 1);
+			}
+			return -1;
+		}
+
+		@Nullable
+		private byte[] selectDelimiter(boolean hasPreviousByte, byte previousByte) {
+			if (hasPreviousByte) {
+				for (byte[] delimiter : this.twoByteDelimiters) {
+					if (delimiter[0] == previousByte) {
+						return delimiter;
+					}
+				}
+			}
+			return this.singleByteDelimiter;
+		}
+
+		@Override
+		public byte[] delimiter() {
+			Assert.state(this.matchedDelimiter != null, "'delimiter' not set");
+			return this.matchedDelimiter;
+		}
+
+		@Override
+		public void reset() {
+			this.hasPreviousByte = false;
+			this.matchedDelimiter = null;
+		}
+	}
+
+
 	/**
 	 * Base class for a {@link NestedMatcher}.
 	 */
@@ -1017,6 +1284,54 @@ public abstract class DataBufferUtils {
 	}
 
 
+	private static class MappedFileChannelGenerator implements Consumer<SynchronousSink<DataBuffer>> {
+
+		private final FileChannel channel;
+
+		private final DataBufferFactory dataBufferFactory;
+
+		private final int regionSize;
+
+		private long position;
+
+		private long remaining;
+
+		private boolean initialized;
+
+		public MappedFileChannelGenerator(FileChannel channel, long position, long count,
+				DataBufferFactory dataBufferFactory, int regionSize) {
+
+			this.channel = channel;
+			this.position = position;
+			this.remaining = count;
+			this.dataBufferFactory = dataBufferFactory;
+			this.regionSize = regionSize;
+		}
+
+		@Override
+		public void accept(SynchronousSink<DataBuffer> sink) {
+			try {
+				if (!this.initialized) {
+					this.remaining = Math.min(this.remaining, Math.max(0, this.channel.size() - this.position));
+					this.initialized = true;
+				}
+				if (this.remaining <= 0) {
+					sink.complete();
+					return;
+				}
+				int length = (int) Math.min(this.regionSize, this.remaining);
+				ByteBuffer region = this.channel.map(FileChannel.MapMode.READ_ONLY, this.position, length);
+				this.position += length;
+				this.remaining -= length;
+				sink.next(this.dataBufferFactory.wrap(region));
+			}
+			catch (IOException ex) {
+				sink.error(ex);
+			}
+		}
+	}
+
+
 	private static class ReadCompletionHandler implements CompletionHandler<Integer, ReadCompletionHandler.Attachment> {
 
 		private final AsynchronousFileChannel channel;
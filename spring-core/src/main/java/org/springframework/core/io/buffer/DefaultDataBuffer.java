@@ -58,7 +58,7 @@ public class DefaultDataBuffer implements DataBuffer {
 	private int writePosition;
 
 
-	private DefaultDataBuffer(DefaultDataBufferFactory dataBufferFactory, ByteBuffer byteBuffer) {
+	DefaultDataBuffer(DefaultDataBufferFactory dataBufferFactory, ByteBuffer byteBuffer) {
 		Assert.notNull(dataBufferFactory, "DefaultDataBufferFactory must not be null");
 		Assert.notNull(byteBuffer, "ByteBuffer must not be null");
 		this.dataBufferFactory = dataBufferFactory;
@@ -363,7 +363,7 @@ public class DefaultDataBuffer implements DataBuffer {
 			.limit(index)
 			.slice();
 
-		DefaultDataBuffer result = new DefaultDataBuffer(this.dataBufferFactory, split);
+		DefaultDataBuffer result = createSplitBuffer(split);
 		result.writePosition = Math.min(this.writePosition, index);
 		result.readPosition = Math.min(this.readPosition, index);
 
@@ -378,6 +378,15 @@ public class DefaultDataBuffer implements DataBuffer {
 		return result;
 	}
 
+	/**
+	 * Create the buffer returned from {@link #split(int)}, sharing the given
+	 * region of this buffer's memory.
+	 * @since 6.2
+	 */
+	DefaultDataBuffer createSplitBuffer(ByteBuffer byteBuffer) {
+		return new DefaultDataBuffer(this.dataBufferFactory, byteBuffer);
+	}
+
 	@Override
 	@Deprecated
 	public ByteBuffer asByteBuffer() {
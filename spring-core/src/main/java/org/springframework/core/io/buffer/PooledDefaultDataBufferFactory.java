@@ -0,0 +1,456 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Variant of {@link DefaultDataBufferFactory} that recycles the memory of
+ * released buffers, for runtimes that do not provide a pooling allocator
+ * of their own (e.g. Servlet containers, as opposed to Netty).
+ *
+ * <p>Requested capacities are rounded up to a power-of-two size class. Memory
+ * for each size class is allocated in larger slabs that are carved into buffers
+ * of that size, and buffers are returned to the free list of their size class
+ * once their reference count drops to zero. Capacities larger than the
+ * {@linkplain #PooledDefaultDataBufferFactory(boolean, int, int) maximum pooled
+ * capacity} are allocated individually and left to the garbage collector.
+ *
+ * <p>Buffers allocated by this factory implement {@link PooledDataBuffer} and
+ * therefore must be released through {@link DataBufferUtils#release(DataBuffer)}
+ * once they are no longer needed. {@link DataBuffer#split(int)} and
+ * {@link DataBuffer#retainedSlice(int, int)} share the reference count of the
+ * original buffer, and both parts need to be released. Buffers that grow beyond
+ * their initial capacity move to memory that is not pooled, but still need to be
+ * released in order to return their original memory to the pool.
+ *
+ * <p>If {@linkplain #setTrackLeaks leak tracking} is enabled, buffers that are
+ * garbage collected without having been released are logged, along with the hints
+ * passed to {@link TouchableDataBuffer#touch(Object)}.
+ *
+ * @author agent
+ * @since 6.2
+ */
+public class PooledDefaultDataBufferFactory extends DefaultDataBufferFactory {
+
+	/**
+	 * The default maximum capacity of pooled buffers: 64 KiB.
+	 */
+	public static final int DEFAULT_MAX_POOLED_CAPACITY = 64 * 1024;
+
+	private static final int MIN_SIZE_CLASS_SHIFT = 6;
+
+	private static final int SLAB_SIZE = 256 * 1024;
+
+	private static final int MAX_BUFFERS_PER_SLAB = 64;
+
+	private static final int MAX_RETAINED_BYTES_PER_SIZE_CLASS = 4 * 1024 * 1024;
+
+	private static final int MAX_TRACKED_HINTS = 8;
+
+	private static final Log logger = LogFactory.getLog(PooledDefaultDataBufferFactory.class);
+
+	@Nullable
+	private static volatile Cleaner cleaner;
+
+
+	private final boolean preferDirect;
+
+	private final int maxPooledCapacity;
+
+	private final SizeClass[] sizeClasses;
+
+	private final AtomicInteger activeAllocations = new AtomicInteger();
+
+	private volatile boolean trackLeaks;
+
+
+	/**
+	 * Create a new {@code PooledDefaultDataBufferFactory} with default settings.
+	 */
+	public PooledDefaultDataBufferFactory() {
+		this(false);
+	}
+
+	/**
+	 * Create a new {@code PooledDefaultDataBufferFactory}, indicating whether
+	 * direct buffers should be pooled.
+	 * @param preferDirect {@code true} if direct buffers are to be preferred;
+	 * {@code false} otherwise
+	 */
+	public PooledDefaultDataBufferFactory(boolean preferDirect) {
+		this(preferDirect, DEFAULT_INITIAL_CAPACITY, DEFAULT_MAX_POOLED_CAPACITY);
+	}
+
+	/**
+	 * Create a new {@code PooledDefaultDataBufferFactory}, indicating whether
+	 * direct buffers should be pooled, what the capacity is to be used for
+	 * {@link #allocateBuffer()}, and up to which capacity buffers are pooled.
+	 * @param preferDirect {@code true} if direct buffers are to be preferred;
+	 * {@code false} otherwise
+	 * @param defaultInitialCapacity the capacity to use for {@link #allocateBuffer()}
+	 * @param maxPooledCapacity the largest capacity that is served from the pool;
+	 * larger buffers are allocated individually
+	 */
+	public PooledDefaultDataBufferFactory(boolean preferDirect, int defaultInitialCapacity, int maxPooledCapacity) {
+		super(preferDirect, defaultInitialCapacity);
+		Assert.isTrue(maxPooledCapacity > 0, "'maxPooledCapacity' should be larger than 0");
+		this.preferDirect = preferDirect;
+		this.maxPooledCapacity = Math.max(1 << MIN_SIZE_CLASS_SHIFT, roundToPowerOfTwo(maxPooledCapacity));
+		int count = Integer.numberOfTrailingZeros(this.maxPooledCapacity) - MIN_SIZE_CLASS_SHIFT + 1;
+		this.sizeClasses = new SizeClass[count];
+		for (int i = 0; i < count; i++) {
+			this.sizeClasses[i] = new SizeClass(1 << (i + MIN_SIZE_CLASS_SHIFT));
+		}
+	}
+
+
+	/**
+	 * Specify whether to detect buffers that are garbage collected without
+	 * having been released, logging their allocation site and touch hints.
+	 * <p>Default is {@code false}. Enabling leak tracking adds a noticeable
+	 * overhead to each allocation and is intended for development and testing.
+	 */
+	public void setTrackLeaks(boolean trackLeaks) {
+		this.trackLeaks = trackLeaks;
+	}
+
+	/**
+	 * Return whether leak tracking is enabled.
+	 */
+	public boolean isTrackLeaks() {
+		return this.trackLeaks;
+	}
+
+	/**
+	 * Return the largest capacity that is served from the pool.
+	 */
+	public int getMaxPooledCapacity() {
+		return this.maxPooledCapacity;
+	}
+
+	/**
+	 * Return the number of buffers allocated by this factory that have not
+	 * been released yet.
+	 */
+	public int getActiveAllocations() {
+		return this.activeAllocations.get();
+	}
+
+	/**
+	 * Return the number of released buffers currently retained for reuse.
+	 */
+	public int getPooledBufferCount() {
+		int count = 0;
+		for (SizeClass sizeClass : this.sizeClasses) {
+			count += sizeClass.pooledCount.get();
+		}
+		return count;
+	}
+
+
+	@Override
+	public DefaultDataBuffer allocateBuffer(int initialCapacity) {
+		Assert.isTrue(initialCapacity >= 0, "'initialCapacity' must be >= 0");
+		SizeClass sizeClass = getSizeClass(initialCapacity);
+		Allocation allocation;
+		ByteBuffer byteBuffer;
+		if (sizeClass != null) {
+			ByteBuffer slot = sizeClass.acquire();
+			allocation = new Allocation(sizeClass, slot);
+			byteBuffer = slot.slice(0, initialCapacity);
+		}
+		else {
+			allocation = new Allocation(null, null);
+			byteBuffer = allocate(initialCapacity);
+		}
+		this.activeAllocations.incrementAndGet();
+		return new PooledBuffer(this, byteBuffer, allocation);
+	}
+
+	@Nullable
+	private SizeClass getSizeClass(int capacity) {
+		if (capacity > this.maxPooledCapacity) {
+			return null;
+		}
+		int size = Math.max(1 << MIN_SIZE_CLASS_SHIFT, roundToPowerOfTwo(capacity));
+		return this.sizeClasses[Integer.numberOfTrailingZeros(size) - MIN_SIZE_CLASS_SHIFT];
+	}
+
+	private ByteBuffer allocate(int capacity) {
+		return (this.preferDirect ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity));
+	}
+
+	private static int roundToPowerOfTwo(int value) {
+		return (value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1);
+	}
+
+	private static Cleaner getCleaner() {
+		Cleaner cleaner = PooledDefaultDataBufferFactory.cleaner;
+		if (cleaner == null) {
+			synchronized (PooledDefaultDataBufferFactory.class) {
+				cleaner = PooledDefaultDataBufferFactory.cleaner;
+				if (cleaner == null) {
+					cleaner = Cleaner.create();
+					PooledDefaultDataBufferFactory.cleaner = cleaner;
+				}
+			}
+		}
+		return cleaner;
+	}
+
+	@Override
+	public String toString() {
+		return "PooledDefaultDataBufferFactory (preferDirect=" + this.preferDirect +
+				", maxPooledCapacity=" + this.maxPooledCapacity + ")";
+	}
+
+
+	/**
+	 * Free list for buffers of a single power-of-two size.
+	 */
+	private final class SizeClass {
+
+		private final int size;
+
+		private final int buffersPerSlab;
+
+		private final int maxPooledCount;
+
+		private final Queue<ByteBuffer> freeList = new ConcurrentLinkedQueue<>();
+
+		private final AtomicInteger pooledCount = new AtomicInteger();
+
+		SizeClass(int size) {
+			this.size = size;
+			this.buffersPerSlab = Math.max(1, Math.min(MAX_BUFFERS_PER_SLAB, SLAB_SIZE / size));
+			this.maxPooledCount = Math.max(this.buffersPerSlab, MAX_RETAINED_BYTES_PER_SIZE_CLASS / size);
+		}
+
+		ByteBuffer acquire() {
+			ByteBuffer byteBuffer = this.freeList.poll();
+			if (byteBuffer != null) {
+				this.pooledCount.decrementAndGet();
+				return byteBuffer;
+			}
+			ByteBuffer slab = allocate(this.size * this.buffersPerSlab);
+			for (int i = 1; i < this.buffersPerSlab; i++) {
+				release(slab.slice(i * this.size, this.size));
+			}
+			return slab.slice(0, this.size);
+		}
+
+		void release(ByteBuffer byteBuffer) {
+			if (this.pooledCount.incrementAndGet() <= this.maxPooledCount) {
+				this.freeList.offer(byteBuffer);
+			}
+			else {
+				this.pooledCount.decrementAndGet();
+			}
+		}
+	}
+
+
+	/**
+	 * Reference-counted memory shared by a buffer and its splits and slices.
+	 */
+	private final class Allocation {
+
+		@Nullable
+		private final SizeClass sizeClass;
+
+		@Nullable
+		private final ByteBuffer slot;
+
+		private final AtomicInteger refCount = new AtomicInteger(1);
+
+		@Nullable
+		private final LeakRecord leakRecord;
+
+		@Nullable
+		private final Cleaner.Cleanable cleanable;
+
+		Allocation(@Nullable SizeClass sizeClass, @Nullable ByteBuffer slot) {
+			this.sizeClass = sizeClass;
+			this.slot = slot;
+			if (trackLeaks) {
+				this.leakRecord = new LeakRecord();
+				this.cleanable = getCleaner().register(this, this.leakRecord);
+			}
+			else {
+				this.leakRecord = null;
+				this.cleanable = null;
+			}
+		}
+
+		boolean isAllocated() {
+			return (this.refCount.get() > 0);
+		}
+
+		void retain() {
+			for (;;) {
+				int count = this.refCount.get();
+				if (count <= 0) {
+					throw new IllegalStateException("Buffer has already been released");
+				}
+				if (this.refCount.compareAndSet(count, count + 1)) {
+					return;
+				}
+			}
+		}
+
+		boolean release() {
+			for (;;) {
+				int count = this.refCount.get();
+				if (count <= 0) {
+					throw new IllegalStateException("Buffer has already been released");
+				}
+				if (this.refCount.compareAndSet(count, count - 1)) {
+					if (count == 1) {
+						deallocate();
+						return true;
+					}
+					return false;
+				}
+			}
+		}
+
+		void touch(Object hint) {
+			if (this.leakRecord != null) {
+				this.leakRecord.addHint(hint);
+			}
+		}
+
+		private void deallocate() {
+			activeAllocations.decrementAndGet();
+			if (this.leakRecord != null && this.cleanable != null) {
+				this.leakRecord.released = true;
+				this.cleanable.clean();
+			}
+			if (this.sizeClass != null && this.slot != null) {
+				this.sizeClass.release(this.slot);
+			}
+		}
+	}
+
+
+	/**
+	 * Cleaner action that reports buffers which became unreachable before
+	 * being released. Must not hold a reference to the tracked allocation.
+	 */
+	private static final class LeakRecord implements Runnable {
+
+		private final Throwable allocationSite = new Throwable("Allocation site");
+
+		private final Deque<String> hints = new ArrayDeque<>(MAX_TRACKED_HINTS);
+
+		volatile boolean released;
+
+		void addHint(Object hint) {
+			synchronized (this.hints) {
+				if (this.hints.size() == MAX_TRACKED_HINTS) {
+					this.hints.removeFirst();
+				}
+				this.hints.addLast(String.valueOf(hint));
+			}
+		}
+
+		@Override
+		public void run() {
+			if (!this.released && logger.isErrorEnabled()) {
+				String hints;
+				synchronized (this.hints) {
+					hints = this.hints.toString();
+				}
+				logger.error("DataBuffer was garbage collected without having been released " +
+						"(recent touch hints: " + hints + "). Make sure to release buffers through " +
+						"DataBufferUtils.release(DataBuffer).", this.allocationSite);
+			}
+		}
+	}
+
+
+	/**
+	 * {@link DefaultDataBuffer} backed by pooled memory.
+	 */
+	private static final class PooledBuffer extends DefaultDataBuffer implements PooledDataBuffer {
+
+		private final Allocation allocation;
+
+		PooledBuffer(PooledDefaultDataBufferFactory factory, ByteBuffer byteBuffer, Allocation allocation) {
+			super(factory, byteBuffer);
+			this.allocation = allocation;
+		}
+
+		@Override
+		public boolean isAllocated() {
+			return this.allocation.isAllocated();
+		}
+
+		@Override
+		public PooledDataBuffer retain() {
+			this.allocation.retain();
+			return this;
+		}
+
+		@Override
+		public PooledDataBuffer touch(Object hint) {
+			this.allocation.touch(hint);
+			return this;
+		}
+
+		@Override
+		public boolean release() {
+			return this.allocation.release();
+		}
+
+		@Override
+		DefaultDataBuffer createSplitBuffer(ByteBuffer byteBuffer) {
+			this.allocation.retain();
+			return new PooledBuffer((PooledDefaultDataBufferFactory) factory(), byteBuffer, this.allocation);
+		}
+
+		@Override
+		@SuppressWarnings("deprecation")
+		public DataBuffer retainedSlice(int index, int length) {
+			ByteBuffer slice = slice(index, length).getNativeBuffer();
+			this.allocation.retain();
+			PooledBuffer result = new PooledBuffer((PooledDefaultDataBufferFactory) factory(), slice, this.allocation);
+			result.writePosition(length);
+			return result;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("PooledDefaultDataBuffer (r: %d, w: %d, c: %d)",
+					readPosition(), writePosition(), capacity());
+		}
+	}
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics.profiling;
+
+import java.util.ArrayList;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+/**
+ * {@link ApplicationStartup} implementation which records the timing of all
+ * {@link StartupStep steps} and aggregates them into a {@link StartupProfile}:
+ * a timing tree with per-bean and per-phase summaries, the slowest beans
+ * and the critical path through the startup phase.
+ *
+ * <p>The parent of each step is the step most recently started and not yet
+ * ended on the same thread, so steps recorded during parallel bean creation
+ * get attributed correctly. Steps started on other threads without any
+ * enclosing step show up as additional root steps.
+ *
+ * <p>Typical usage:
+ * <pre class="code">
+ * ProfilingApplicationStartup startup = new ProfilingApplicationStartup();
+ * context.setApplicationStartup(startup);
+ * context.refresh();
+ * StartupProfile profile = startup.getProfile();
+ * profile.getSlowestBeans(10).forEach(System.out::println);
+ * String json = profile.toJson();
+ * </pre>
+ *
+ * <p>All steps are kept in memory until {@link #reset()} is called, so this
+ * variant is meant for diagnosing the startup phase rather than for permanent
+ * use in production.
+ *
+ * @author agent
+ * @since 6.2
+ * @see StartupProfile
+ * @see org.springframework.core.metrics.jfr.FlightRecorderApplicationStartup
+ */
+public class ProfilingApplicationStartup implements ApplicationStartup {
+
+	private final AtomicLong idGenerator = new AtomicLong();
+
+	private final ThreadLocal<ProfilingStartupStep> currentStep =
+			new NamedThreadLocal<>("Current startup step");
+
+	private final Queue<ProfilingStartupStep> recordedSteps = new ConcurrentLinkedQueue<>();
+
+
+	@Override
+	public StartupStep start(String name) {
+		ProfilingStartupStep parent = this.currentStep.get();
+		ProfilingStartupStep step = new ProfilingStartupStep(
+				this.idGenerator.incrementAndGet(), name, parent, this::record);
+		this.currentStep.set(step);
+		return step;
+	}
+
+	private void record(ProfilingStartupStep step) {
+		if (this.currentStep.get() == step) {
+			ProfilingStartupStep parent = step.getParent();
+			if (parent != null) {
+				this.currentStep.set(parent);
+			}
+			else {
+				this.currentStep.remove();
+			}
+		}
+		this.recordedSteps.add(step);
+	}
+
+	/**
+	 * Build a profile from all steps ended so far.
+	 * <p>Steps which have not ended yet are not part of the profile;
+	 * their recorded children show up as root steps instead.
+	 */
+	public StartupProfile getProfile() {
+		return StartupProfile.of(new ArrayList<>(this.recordedSteps));
+	}
+
+	/**
+	 * Discard all steps recorded so far.
+	 */
+	public void reset() {
+		this.recordedSteps.clear();
+	}
+
+}
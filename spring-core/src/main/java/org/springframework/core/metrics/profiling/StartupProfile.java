@@ -0,0 +1,456 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics.profiling;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.lang.Nullable;
+
+/**
+ * Snapshot of the steps recorded by a {@link ProfilingApplicationStartup},
+ * aggregated into a timing tree along with summaries per bean and per phase.
+ *
+ * <p>Per-bean timings are derived from the {@value #BEAN_INSTANTIATION_STEP}
+ * steps of the bean factory, with the "self" time of a bean excluding the time
+ * spent on instantiating other beans that it depends on. This includes nested
+ * steps for post-processing and proxy creation which the core container records
+ * as part of the instantiation of a bean. Per-phase timings aggregate all steps
+ * of the same name, e.g. {@code "spring.context.config-classes.parse"}.
+ *
+ * @author agent
+ * @since 6.2
+ * @see ProfilingApplicationStartup#getProfile()
+ */
+public final class StartupProfile {
+
+	/**
+	 * The name of the step recorded for the instantiation of a bean.
+	 */
+	public static final String BEAN_INSTANTIATION_STEP = "spring.beans.instantiate";
+
+	/**
+	 * The name of the tag which identifies the bean that a step refers to.
+	 */
+	public static final String BEAN_NAME_TAG = "beanName";
+
+
+	private final List<Step> rootSteps;
+
+	private final int stepCount;
+
+
+	private StartupProfile(List<Step> rootSteps, int stepCount) {
+		this.rootSteps = rootSteps;
+		this.stepCount = stepCount;
+	}
+
+
+	/**
+	 * Return the root steps of the timing tree, in the order of their start time.
+	 */
+	public List<Step> getRootSteps() {
+		return this.rootSteps;
+	}
+
+	/**
+	 * Return the total number of steps in the timing tree.
+	 */
+	public int getStepCount() {
+		return this.stepCount;
+	}
+
+	/**
+	 * Return the timings for all instantiated beans,
+	 * ordered by their self time (longest first).
+	 */
+	public List<BeanTiming> getBeanTimings() {
+		Map<String, long[]> timings = new LinkedHashMap<>();
+		for (Step step : this.rootSteps) {
+			collectBeanTimings(step, timings);
+		}
+		List<BeanTiming> result = new ArrayList<>(timings.size());
+		timings.forEach((beanName, values) -> result.add(
+				new BeanTiming(beanName, (int) values[0], Duration.ofNanos(values[1]), Duration.ofNanos(values[2]))));
+		result.sort(Comparator.comparing(BeanTiming::selfTime).reversed());
+		return result;
+	}
+
+	/**
+	 * Return the timings for the given number of slowest beans,
+	 * in terms of their self time.
+	 * @param max the maximum number of beans to return
+	 * @see #getBeanTimings()
+	 */
+	public List<BeanTiming> getSlowestBeans(int max) {
+		List<BeanTiming> timings = getBeanTimings();
+		return (timings.size() > max ? timings.subList(0, max) : timings);
+	}
+
+	/**
+	 * Return the timings per step name, ordered by their total time (longest first).
+	 * <p>The total time of a phase only counts the outermost steps of that name,
+	 * so nested bean instantiations are not accounted for more than once.
+	 */
+	public List<PhaseTiming> getPhaseTimings() {
+		Map<String, long[]> timings = new LinkedHashMap<>();
+		for (Step step : this.rootSteps) {
+			collectPhaseTimings(step, timings, Collections.emptyList());
+		}
+		List<PhaseTiming> result = new ArrayList<>(timings.size());
+		timings.forEach((name, values) -> result.add(
+				new PhaseTiming(name, (int) values[0], Duration.ofNanos(values[1]), Duration.ofNanos(values[2]))));
+		result.sort(Comparator.comparing(PhaseTiming::totalTime).reversed());
+		return result;
+	}
+
+	/**
+	 * Return the critical path through the timing tree: starting with the
+	 * longest root step, the longest child step of each step along the path.
+	 */
+	public List<Step> getCriticalPath() {
+		List<Step> path = new ArrayList<>();
+		Step current = longest(this.rootSteps);
+		while (current != null) {
+			path.add(current);
+			current = longest(current.getChildren());
+		}
+		return path;
+	}
+
+	/**
+	 * Export this profile as a JSON document, containing the timing tree
+	 * ({@code "steps"}), the bean timings ({@code "beans"}), the phase
+	 * timings ({@code "phases"}) and the ids of the steps along the critical
+	 * path ({@code "criticalPath"}). All times are given in nanoseconds.
+	 */
+	public String toJson() {
+		StringBuilder json = new StringBuilder(256 + this.stepCount * 128);
+		json.append("{\"steps\":[");
+		for (int i = 0; i < this.rootSteps.size(); i++) {
+			if (i > 0) {
+				json.append(',');
+			}
+			appendStep(json, this.rootSteps.get(i));
+		}
+		json.append("],\"beans\":[");
+		List<BeanTiming> beanTimings = getBeanTimings();
+		for (int i = 0; i < beanTimings.size(); i++) {
+			BeanTiming timing = beanTimings.get(i);
+			json.append(i > 0 ? ",{" : "{").append("\"beanName\":");
+			appendString(json, timing.beanName());
+			json.append(",\"count\":").append(timing.count());
+			json.append(",\"totalNanos\":").append(timing.totalTime().toNanos());
+			json.append(",\"selfNanos\":").append(timing.selfTime().toNanos()).append('}');
+		}
+		json.append("],\"phases\":[");
+		List<PhaseTiming> phaseTimings = getPhaseTimings();
+		for (int i = 0; i < phaseTimings.size(); i++) {
+			PhaseTiming timing = phaseTimings.get(i);
+			json.append(i > 0 ? ",{" : "{").append("\"name\":");
+			appendString(json, timing.name());
+			json.append(",\"count\":").append(timing.count());
+			json.append(",\"totalNanos\":").append(timing.totalTime().toNanos());
+			json.append(",\"selfNanos\":").append(timing.selfTime().toNanos()).append('}');
+		}
+		json.append("],\"criticalPath\":[");
+		List<Step> criticalPath = getCriticalPath();
+		for (int i = 0; i < criticalPath.size(); i++) {
+			if (i > 0) {
+				json.append(',');
+			}
+			json.append(criticalPath.get(i).getId());
+		}
+		return json.append("]}").toString();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("StartupProfile with ").append(this.stepCount).append(" steps");
+		for (BeanTiming timing : getSlowestBeans(10)) {
+			sb.append("\n  ").append(timing.beanName()).append(": ").append(timing.selfTime().toMillis())
+					.append(" ms self, ").append(timing.totalTime().toMillis()).append(" ms total");
+		}
+		return sb.toString();
+	}
+
+
+	/**
+	 * Build a profile from the given recorded steps.
+	 */
+	static StartupProfile of(List<ProfilingStartupStep> recordedSteps) {
+		recordedSteps.sort(Comparator.comparingLong(ProfilingStartupStep::getStartTime));
+		long baseTime = (!recordedSteps.isEmpty() ? recordedSteps.get(0).getStartTime() : 0);
+		Map<Long, Step> stepsById = new LinkedHashMap<>(recordedSteps.size() * 2);
+		for (ProfilingStartupStep recordedStep : recordedSteps) {
+			stepsById.put(recordedStep.getId(), new Step(recordedStep, baseTime));
+		}
+		List<Step> rootSteps = new ArrayList<>();
+		for (Step step : stepsById.values()) {
+			Long parentId = step.getParentId();
+			Step parent = (parentId != null ? stepsById.get(parentId) : null);
+			if (parent != null) {
+				parent.children.add(step);
+			}
+			else {
+				rootSteps.add(step);
+			}
+		}
+		return new StartupProfile(Collections.unmodifiableList(rootSteps), stepsById.size());
+	}
+
+	private static void collectBeanTimings(Step step, Map<String, long[]> timings) {
+		if (BEAN_INSTANTIATION_STEP.equals(step.getName())) {
+			String beanName = step.getTags().get(BEAN_NAME_TAG);
+			if (beanName != null) {
+				long totalTime = step.getDuration().toNanos();
+				long[] values = timings.computeIfAbsent(beanName, key -> new long[3]);
+				values[0]++;
+				values[1] += totalTime;
+				values[2] += Math.max(totalTime - nestedBeanTime(step), 0);
+			}
+		}
+		for (Step child : step.getChildren()) {
+			collectBeanTimings(child, timings);
+		}
+	}
+
+	private static long nestedBeanTime(Step step) {
+		long nestedTime = 0;
+		for (Step child : step.getChildren()) {
+			nestedTime += (BEAN_INSTANTIATION_STEP.equals(child.getName()) ?
+					child.getDuration().toNanos() : nestedBeanTime(child));
+		}
+		return nestedTime;
+	}
+
+	private static void collectPhaseTimings(Step step, Map<String, long[]> timings, List<String> enclosingNames) {
+		long[] values = timings.computeIfAbsent(step.getName(), key -> new long[3]);
+		values[0]++;
+		if (!enclosingNames.contains(step.getName())) {
+			values[1] += step.getDuration().toNanos();
+		}
+		values[2] += step.getSelfDuration().toNanos();
+		if (!step.getChildren().isEmpty()) {
+			List<String> names = new ArrayList<>(enclosingNames.size() + 1);
+			names.addAll(enclosingNames);
+			names.add(step.getName());
+			for (Step child : step.getChildren()) {
+				collectPhaseTimings(child, timings, names);
+			}
+		}
+	}
+
+	@Nullable
+	private static Step longest(List<Step> steps) {
+		Step longest = null;
+		for (Step step : steps) {
+			if (longest == null || step.getDuration().compareTo(longest.getDuration()) > 0) {
+				longest = step;
+			}
+		}
+		return longest;
+	}
+
+	private static void appendStep(StringBuilder json, Step step) {
+		json.append("{\"id\":").append(step.getId()).append(",\"name\":");
+		appendString(json, step.getName());
+		if (!step.getTags().isEmpty()) {
+			json.append(",\"tags\":{");
+			boolean first = true;
+			for (Map.Entry<String, String> tag : step.getTags().entrySet()) {
+				if (!first) {
+					json.append(',');
+				}
+				appendString(json, tag.getKey());
+				json.append(':');
+				appendString(json, tag.getValue());
+				first = false;
+			}
+			json.append('}');
+		}
+		json.append(",\"startNanos\":").append(step.getStartOffset().toNanos());
+		json.append(",\"durationNanos\":").append(step.getDuration().toNanos());
+		json.append(",\"selfNanos\":").append(step.getSelfDuration().toNanos());
+		if (!step.getChildren().isEmpty()) {
+			json.append(",\"children\":[");
+			for (int i = 0; i < step.getChildren().size(); i++) {
+				if (i > 0) {
+					json.append(',');
+				}
+				appendStep(json, step.getChildren().get(i));
+			}
+			json.append(']');
+		}
+		json.append('}');
+	}
+
+	private static void appendString(StringBuilder json, String value) {
+		json.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char ch = value.charAt(i);
+			switch (ch) {
+				case '"' -> json.append("\\\"");
+				case '\\' -> json.append("\\\\");
+				case '\n' -> json.append("\\n");
+				case '\r' -> json.append("\\r");
+				case '\t' -> json.append("\\t");
+				default -> {
+					if (ch < 0x20) {
+						json.append(String.format("\\u%04x", (int) ch));
+					}
+					else {
+						json.append(ch);
+					}
+				}
+			}
+		}
+		json.append('"');
+	}
+
+
+	/**
+	 * A single step in the timing tree.
+	 */
+	public static final class Step {
+
+		private final long id;
+
+		private final String name;
+
+		@Nullable
+		private final Long parentId;
+
+		private final Map<String, String> tags;
+
+		private final Duration startOffset;
+
+		private final Duration duration;
+
+		private final List<Step> children = new ArrayList<>();
+
+		Step(ProfilingStartupStep recordedStep, long baseTime) {
+			this.id = recordedStep.getId();
+			this.name = recordedStep.getName();
+			this.parentId = recordedStep.getParentId();
+			Map<String, String> tags = new LinkedHashMap<>();
+			for (StartupStep.Tag tag : recordedStep.getTags()) {
+				tags.put(tag.getKey(), tag.getValue());
+			}
+			this.tags = Collections.unmodifiableMap(tags);
+			this.startOffset = Duration.ofNanos(recordedStep.getStartTime() - baseTime);
+			this.duration = Duration.ofNanos(recordedStep.getEndTime() - recordedStep.getStartTime());
+		}
+
+		/**
+		 * Return the unique id of the step.
+		 */
+		public long getId() {
+			return this.id;
+		}
+
+		/**
+		 * Return the name of the step.
+		 */
+		public String getName() {
+			return this.name;
+		}
+
+		/**
+		 * Return the id of the parent step, if any.
+		 */
+		@Nullable
+		public Long getParentId() {
+			return this.parentId;
+		}
+
+		/**
+		 * Return the tags of the step, in the order of their addition.
+		 */
+		public Map<String, String> getTags() {
+			return this.tags;
+		}
+
+		/**
+		 * Return the start time of the step, relative to the start of the first step in the profile.
+		 */
+		public Duration getStartOffset() {
+			return this.startOffset;
+		}
+
+		/**
+		 * Return the duration of the step, including its child steps.
+		 */
+		public Duration getDuration() {
+			return this.duration;
+		}
+
+		/**
+		 * Return the duration of the step, excluding its child steps.
+		 */
+		public Duration getSelfDuration() {
+			Duration selfDuration = this.duration;
+			for (Step child : this.children) {
+				selfDuration = selfDuration.minus(child.getDuration());
+			}
+			return (selfDuration.isNegative() ? Duration.ZERO : selfDuration);
+		}
+
+		/**
+		 * Return the child steps, in the order of their start time.
+		 */
+		public List<Step> getChildren() {
+			return Collections.unmodifiableList(this.children);
+		}
+
+		@Override
+		public String toString() {
+			return this.name + this.tags + " (" + this.duration.toMillis() + " ms)";
+		}
+	}
+
+
+	/**
+	 * Aggregated timing for a bean.
+	 * @param beanName the name of the bean
+	 * @param count the number of instantiations (more than one for non-singleton beans)
+	 * @param totalTime the total time spent on instantiating the bean,
+	 * including the instantiation of other beans that it depends on
+	 * @param selfTime the time spent on instantiating the bean itself,
+	 * excluding the instantiation of other beans that it depends on
+	 */
+	public record BeanTiming(String beanName, int count, Duration totalTime, Duration selfTime) {
+	}
+
+
+	/**
+	 * Aggregated timing for all steps of the same name.
+	 * @param name the name of the steps
+	 * @param count the number of steps
+	 * @param totalTime the total time spent in the outermost steps of that name
+	 * @param selfTime the time spent in the steps of that name, excluding their child steps
+	 */
+	public record PhaseTiming(String name, int count, Duration totalTime, Duration selfTime) {
+	}
+
+}
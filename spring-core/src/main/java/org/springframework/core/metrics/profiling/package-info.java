@@ -0,0 +1,10 @@
+/**
+ * Support package for profiling the application startup,
+ * aggregating recorded steps into a timing tree per bean and per phase.
+ */
+@NonNullApi
+@NonNullFields
+package org.springframework.core.metrics.profiling;
+
+import org.springframework.lang.NonNullApi;
+import org.springframework.lang.NonNullFields;
@@ -17,20 +17,30 @@
 package org.springframework.core.type.classreading;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
 
+import org.springframework.core.SpringProperties;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
 
 /**
  * Caching implementation of the {@link MetadataReaderFactory} interface,
  * caching a {@link MetadataReader} instance per Spring {@link Resource} handle
  * (i.e. per ".class" file).
  *
+ * <p>As of 6.2, parsed class metadata can additionally be persisted in a
+ * local directory, allowing subsequent JVM runs to skip reading and parsing
+ * unchanged class files: see {@link #setPersistentCacheDirectory} and
+ * {@link #PERSISTENT_CACHE_DIRECTORY_PROPERTY_NAME}.
+ *
  * @author Juergen Hoeller
  * @author Costin Leau
  * @since 2.5
@@ -40,10 +50,26 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 	/** Default maximum number of entries for a local MetadataReader cache: 256. */
 	public static final int DEFAULT_CACHE_LIMIT = 256;
 
+	/**
+	 * System property that specifies a directory for persisting parsed class
+	 * metadata across JVM runs, e.g. {@code -Dspring.metadata.cache.dir=build/spring-cache}.
+	 * <p>Applies to every CachingMetadataReaderFactory that has not been given an
+	 * explicit {@linkplain #setPersistentCacheDirectory directory}, including the
+	 * default factories used for component scanning and configuration class parsing.
+	 * @since 6.2
+	 * @see #setPersistentCacheDirectory
+	 */
+	public static final String PERSISTENT_CACHE_DIRECTORY_PROPERTY_NAME = "spring.metadata.cache.dir";
+
+
 	/** MetadataReader cache: either local or shared at the ResourceLoader level. */
 	@Nullable
 	private Map<Resource, MetadataReader> metadataReaderCache;
 
+	/** On-disk metadata store, if any. */
+	@Nullable
+	private PersistentMetadataCache persistentCache = getDefaultPersistentCache();
+
 
 	/**
 	 * Create a new CachingMetadataReaderFactory for the default class loader,
@@ -113,36 +139,87 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 	}
 
 
+	/**
+	 * Specify a directory for persisting parsed class metadata across JVM runs.
+	 * <p>Class metadata is stored in a compact binary format, keyed by the class
+	 * resource and a fingerprint of its content, and written to disk whenever
+	 * {@link #clearCache()} is called (which happens at the end of configuration
+	 * class processing). Unchanged classes are then served from the persistent
+	 * cache on subsequent runs instead of being read and parsed again.
+	 * <p>Default is the directory specified by the
+	 * {@value #PERSISTENT_CACHE_DIRECTORY_PROPERTY_NAME} system property, if any.
+	 * @param directory the cache directory, or {@code null} to disable persistence
+	 * @since 6.2
+	 */
+	public void setPersistentCacheDirectory(@Nullable Path directory) {
+		this.persistentCache = (directory != null ? PersistentMetadataCache.forDirectory(directory) : null);
+	}
+
+	/**
+	 * Return the directory for persisting parsed class metadata, if any.
+	 * @since 6.2
+	 */
+	@Nullable
+	public Path getPersistentCacheDirectory() {
+		return (this.persistentCache != null ? this.persistentCache.getDirectory() : null);
+	}
+
+
 	@Override
 	public MetadataReader getMetadataReader(Resource resource) throws IOException {
 		if (this.metadataReaderCache instanceof ConcurrentMap) {
 			// No synchronization necessary...
 			MetadataReader metadataReader = this.metadataReaderCache.get(resource);
 			if (metadataReader == null) {
-				metadataReader = super.getMetadataReader(resource);
+				metadataReader = loadMetadataReader(resource);
 				this.metadataReaderCache.put(resource, metadataReader);
 			}
 			return metadataReader;
 		}
 		else if (this.metadataReaderCache != null) {
-			synchronized (this.metadataReaderCache) {
-				MetadataReader metadataReader = this.metadataReaderCache.get(resource);
-				if (metadataReader == null) {
-					metadataReader = super.getMetadataReader(resource);
-					this.metadataReaderCache.put(resource, metadataReader);
+			Map<Resource, MetadataReader> metadataReaderCache = this.metadataReaderCache;
+			synchronized (metadataReaderCache) {
+				MetadataReader metadataReader = metadataReaderCache.get(resource);
+				if (metadataReader != null) {
+					return metadataReader;
 				}
-				return metadataReader;
+			}
+			// Read outside of the lock, allowing for concurrent reading of different classes...
+			MetadataReader metadataReader = loadMetadataReader(resource);
+			synchronized (metadataReaderCache) {
+				MetadataReader existing = metadataReaderCache.putIfAbsent(resource, metadataReader);
+				return (existing != null ? existing : metadataReader);
 			}
 		}
 		else {
+			return loadMetadataReader(resource);
+		}
+	}
+
+	private MetadataReader loadMetadataReader(Resource resource) throws IOException {
+		PersistentMetadataCache persistentCache = this.persistentCache;
+		String key = (persistentCache != null ? PersistentMetadataCache.getCacheKey(resource) : null);
+		if (persistentCache == null || key == null) {
 			return super.getMetadataReader(resource);
 		}
+		AnnotationMetadata metadata = persistentCache.get(key, getResourceLoader().getClassLoader());
+		if (metadata != null) {
+			return new SimpleMetadataReader(resource, metadata);
+		}
+		MetadataReader metadataReader = super.getMetadataReader(resource);
+		persistentCache.put(key, metadataReader.getAnnotationMetadata());
+		return metadataReader;
 	}
 
 	/**
 	 * Clear the local MetadataReader cache, if any, removing all cached class metadata.
+	 * <p>If a {@linkplain #setPersistentCacheDirectory persistent cache directory}
+	 * has been specified, the class metadata parsed so far is written to disk first.
 	 */
 	public void clearCache() {
+		if (this.persistentCache != null) {
+			this.persistentCache.save();
+		}
 		if (this.metadataReaderCache instanceof LocalResourceCache) {
 			synchronized (this.metadataReaderCache) {
 				this.metadataReaderCache.clear();
@@ -155,6 +232,13 @@ public class CachingMetadataReaderFactory extends SimpleMetadataReaderFactory {
 	}
 
 
+	@Nullable
+	private static PersistentMetadataCache getDefaultPersistentCache() {
+		String directory = SpringProperties.getProperty(PERSISTENT_CACHE_DIRECTORY_PROPERTY_NAME);
+		return (StringUtils.hasText(directory) ? PersistentMetadataCache.forDirectory(Paths.get(directory)) : null);
+	}
+
+
 	@SuppressWarnings("serial")
 	private static class LocalResourceCache extends LinkedHashMap<Resource, MetadataReader> {
 
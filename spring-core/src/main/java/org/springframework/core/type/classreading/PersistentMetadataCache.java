@@ -0,0 +1,618 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.annotation.MergedAnnotation;
+import org.springframework.core.annotation.MergedAnnotation.Adapt;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.io.Resource;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ResourceUtils;
+
+/**
+ * On-disk store for {@link SimpleAnnotationMetadata} instances, allowing class
+ * metadata to be reused across JVM restarts without reading and parsing the
+ * corresponding class files again.
+ *
+ * <p>Entries are keyed by the URL of the class resource combined with a
+ * fingerprint of its content: the CRC-32 and size recorded in the jar's
+ * central directory for jar entries, or the size and last-modified timestamp
+ * for class files on the file system. A modified class therefore results in
+ * a cache miss rather than in stale metadata.
+ *
+ * <p>Metadata is stored in a compact binary format containing the class
+ * structure, declared methods and the attribute values of directly declared
+ * annotations. Annotation and enum types are resolved against the requesting
+ * {@link ClassLoader} when an entry is read, just like they are when parsing
+ * the class file. Entries that were not accessed during the current run are
+ * dropped when the store is {@linkplain #save() saved}, so the cache follows
+ * the evolution of the application classpath.
+ *
+ * @author agent
+ * @since 6.2
+ * @see CachingMetadataReaderFactory#setPersistentCacheDirectory
+ */
+final class PersistentMetadataCache {
+
+	private static final String CACHE_FILE_NAME = "spring-class-metadata.bin";
+
+	private static final int MAGIC = 0x53434d44;
+
+	private static final int VERSION = 1;
+
+	private static final byte TYPE_STRING = 0;
+
+	private static final byte TYPE_BOOLEAN = 1;
+
+	private static final byte TYPE_BYTE = 2;
+
+	private static final byte TYPE_CHAR = 3;
+
+	private static final byte TYPE_SHORT = 4;
+
+	private static final byte TYPE_INT = 5;
+
+	private static final byte TYPE_LONG = 6;
+
+	private static final byte TYPE_FLOAT = 7;
+
+	private static final byte TYPE_DOUBLE = 8;
+
+	private static final byte TYPE_ENUM = 9;
+
+	private static final byte TYPE_ANNOTATION = 10;
+
+	private static final byte TYPE_ARRAY = 11;
+
+	private static final Map<Path, PersistentMetadataCache> caches = new ConcurrentHashMap<>();
+
+	private static final Log logger = LogFactory.getLog(PersistentMetadataCache.class);
+
+
+	private final Path directory;
+
+	@Nullable
+	private volatile Map<String, byte[]> storedEntries;
+
+	private final Map<String, byte[]> usedEntries = new ConcurrentHashMap<>();
+
+	private volatile boolean modified;
+
+
+	PersistentMetadataCache(Path directory) {
+		this.directory = directory;
+	}
+
+
+	/**
+	 * Return the shared store for the given directory, making sure that
+	 * all factories pointing to the same directory see the same entries.
+	 */
+	static PersistentMetadataCache forDirectory(Path directory) {
+		return caches.computeIfAbsent(directory.toAbsolutePath().normalize(), PersistentMetadataCache::new);
+	}
+
+	/**
+	 * Return the directory that this store writes to.
+	 */
+	Path getDirectory() {
+		return this.directory;
+	}
+
+	/**
+	 * Determine the cache key for the given class resource.
+	 * @param resource the class file resource
+	 * @return the cache key, or {@code null} if the resource cannot be
+	 * fingerprinted and should therefore always be parsed
+	 */
+	@Nullable
+	static String getCacheKey(Resource resource) {
+		try {
+			URL url = resource.getURL();
+			if (ResourceUtils.isJarURL(url)) {
+				URLConnection con = url.openConnection();
+				if (con instanceof JarURLConnection jarCon) {
+					ResourceUtils.useCachesIfNecessary(jarCon);
+					JarEntry entry = jarCon.getJarEntry();
+					if (entry != null && entry.getCrc() != -1) {
+						return url + "#" + Long.toHexString(entry.getCrc()) + ":" + entry.getSize();
+					}
+				}
+				return null;
+			}
+			if (resource.isFile()) {
+				return url + "#" + resource.lastModified() + ":" + resource.contentLength();
+			}
+			return null;
+		}
+		catch (IOException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * Obtain the stored metadata for the given key, if any.
+	 * @param key the cache key, as determined by {@link #getCacheKey}
+	 * @param classLoader the ClassLoader to resolve annotation types against
+	 * @return the metadata, or {@code null} if not stored or not readable
+	 */
+	@Nullable
+	AnnotationMetadata get(String key, @Nullable ClassLoader classLoader) {
+		byte[] bytes = this.usedEntries.get(key);
+		if (bytes == null) {
+			bytes = getStoredEntries().get(key);
+			if (bytes == null) {
+				return null;
+			}
+			this.usedEntries.put(key, bytes);
+		}
+		try {
+			return readMetadata(new DataInputStream(new ByteArrayInputStream(bytes)), classLoader);
+		}
+		catch (IOException | RuntimeException | LinkageError ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Ignoring unreadable class metadata cache entry for " + key, ex);
+			}
+			this.usedEntries.remove(key);
+			this.modified = true;
+			return null;
+		}
+	}
+
+	/**
+	 * Store the given metadata under the given key. Only metadata created by
+	 * parsing a class file is supported; other metadata is silently ignored.
+	 * @param key the cache key, as determined by {@link #getCacheKey}
+	 * @param metadata the metadata to store
+	 */
+	void put(String key, AnnotationMetadata metadata) {
+		if (!(metadata instanceof SimpleAnnotationMetadata simpleMetadata)) {
+			return;
+		}
+		try {
+			ByteArrayOutputStream bos = new ByteArrayOutputStream(256);
+			writeMetadata(new DataOutputStream(bos), simpleMetadata);
+			this.usedEntries.put(key, bos.toByteArray());
+			this.modified = true;
+		}
+		catch (IOException | RuntimeException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Not caching class metadata for " + key, ex);
+			}
+		}
+	}
+
+	/**
+	 * Write all entries used during this run to disk, replacing the previous
+	 * cache file atomically. Failures are logged and otherwise ignored.
+	 */
+	void save() {
+		Map<String, byte[]> storedEntries = getStoredEntries();
+		if (!this.modified && this.usedEntries.size() == storedEntries.size()) {
+			return;
+		}
+		synchronized (this) {
+			Map<String, byte[]> entries = new HashMap<>(this.usedEntries);
+			this.modified = false;
+			try {
+				Files.createDirectories(this.directory);
+				Path tempFile = Files.createTempFile(this.directory, CACHE_FILE_NAME, ".tmp");
+				try {
+					try (DataOutputStream out = new DataOutputStream(
+							new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+						out.writeInt(MAGIC);
+						out.writeInt(VERSION);
+						out.writeInt(entries.size());
+						for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+							writeString(out, entry.getKey());
+							out.writeInt(entry.getValue().length);
+							out.write(entry.getValue());
+						}
+					}
+					Files.move(tempFile, this.directory.resolve(CACHE_FILE_NAME),
+							StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				}
+				finally {
+					Files.deleteIfExists(tempFile);
+				}
+				this.storedEntries = entries;
+			}
+			catch (IOException ex) {
+				this.modified = true;
+				if (logger.isDebugEnabled()) {
+					logger.debug("Failed to write class metadata cache to " + this.directory, ex);
+				}
+			}
+		}
+	}
+
+	private Map<String, byte[]> getStoredEntries() {
+		Map<String, byte[]> storedEntries = this.storedEntries;
+		if (storedEntries == null) {
+			synchronized (this) {
+				storedEntries = this.storedEntries;
+				if (storedEntries == null) {
+					storedEntries = load();
+					this.storedEntries = storedEntries;
+				}
+			}
+		}
+		return storedEntries;
+	}
+
+	private Map<String, byte[]> load() {
+		Path file = this.directory.resolve(CACHE_FILE_NAME);
+		if (!Files.isReadable(file)) {
+			return Collections.emptyMap();
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				return Collections.emptyMap();
+			}
+			int size = in.readInt();
+			Map<String, byte[]> entries = new HashMap<>((int) (size / 0.75f) + 1);
+			for (int i = 0; i < size; i++) {
+				String key = readString(in);
+				byte[] bytes = new byte[in.readInt()];
+				in.readFully(bytes);
+				entries.put(key, bytes);
+			}
+			return entries;
+		}
+		catch (IOException | RuntimeException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Ignoring unreadable class metadata cache " + file, ex);
+			}
+			return Collections.emptyMap();
+		}
+	}
+
+
+	private static void writeMetadata(DataOutput out, SimpleAnnotationMetadata metadata) throws IOException {
+		writeString(out, metadata.getClassName());
+		out.writeInt(metadata.getAccess());
+		writeNullableString(out, metadata.getEnclosingClassName());
+		writeNullableString(out, metadata.getSuperClassName());
+		out.writeBoolean(metadata.isIndependentInnerClass());
+		writeStrings(out, metadata.getInterfaceNames());
+		writeStrings(out, metadata.getMemberClassNames());
+		writeAnnotations(out, metadata.getAnnotations());
+		Set<MethodMetadata> methods = metadata.getDeclaredMethods();
+		out.writeInt(methods.size());
+		for (MethodMetadata method : methods) {
+			SimpleMethodMetadata simpleMethod = (SimpleMethodMetadata) method;
+			SimpleMethodMetadataReadingVisitor.Source source =
+					(SimpleMethodMetadataReadingVisitor.Source) simpleMethod.getSource();
+			writeString(out, simpleMethod.getMethodName());
+			out.writeInt(simpleMethod.getAccess());
+			writeString(out, simpleMethod.getReturnTypeName());
+			writeString(out, source.getDescriptor());
+			writeAnnotations(out, simpleMethod.getAnnotations());
+		}
+	}
+
+	private static SimpleAnnotationMetadata readMetadata(DataInput in, @Nullable ClassLoader classLoader)
+			throws IOException {
+
+		String className = readString(in);
+		int access = in.readInt();
+		String enclosingClassName = readNullableString(in);
+		String superClassName = readNullableString(in);
+		boolean independentInnerClass = in.readBoolean();
+		Set<String> interfaceNames = readStrings(in);
+		Set<String> memberClassNames = readStrings(in);
+		MergedAnnotations annotations = readAnnotations(in, classLoader,
+				new SimpleAnnotationMetadataReadingVisitor.Source(className));
+		int methodCount = in.readInt();
+		Set<MethodMetadata> declaredMethods = new LinkedHashSet<>(Math.max(4, methodCount));
+		for (int i = 0; i < methodCount; i++) {
+			String methodName = readString(in);
+			int methodAccess = in.readInt();
+			String returnTypeName = readString(in);
+			String descriptor = readString(in);
+			Object source = new SimpleMethodMetadataReadingVisitor.Source(className, methodName, descriptor);
+			MergedAnnotations methodAnnotations = readAnnotations(in, classLoader, source);
+			declaredMethods.add(new SimpleMethodMetadata(methodName, methodAccess, className,
+					returnTypeName, source, methodAnnotations));
+		}
+		return new SimpleAnnotationMetadata(className, access, enclosingClassName, superClassName,
+				independentInnerClass, interfaceNames, memberClassNames, declaredMethods, annotations);
+	}
+
+	private static void writeAnnotations(DataOutput out, MergedAnnotations annotations) throws IOException {
+		List<MergedAnnotation<Annotation>> declared = annotations.stream()
+				.filter(MergedAnnotation::isDirectlyPresent).toList();
+		out.writeInt(declared.size());
+		for (MergedAnnotation<Annotation> annotation : declared) {
+			writeString(out, annotation.getType().getName());
+			writeAttributes(out, annotation.asMap(Adapt.CLASS_TO_STRING, Adapt.ANNOTATION_TO_MAP));
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static MergedAnnotations readAnnotations(DataInput in, @Nullable ClassLoader classLoader,
+			Object source) throws IOException {
+
+		int count = in.readInt();
+		List<MergedAnnotation<?>> annotations = new ArrayList<>(Math.max(4, count));
+		for (int i = 0; i < count; i++) {
+			String typeName = readString(in);
+			Map<String, Object> attributes = readAttributes(in, classLoader);
+			try {
+				Class<Annotation> annotationType = (Class<Annotation>) ClassUtils.forName(typeName, classLoader);
+				annotations.add(MergedAnnotation.of(classLoader, source, annotationType, attributes));
+			}
+			catch (ClassNotFoundException | LinkageError ex) {
+				// Skip annotations that are not resolvable, like the class file visitor does
+			}
+		}
+		return MergedAnnotations.of(annotations);
+	}
+
+	private static void writeAttributes(DataOutput out, Map<String, Object> attributes) throws IOException {
+		out.writeInt(attributes.size());
+		for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+			writeString(out, entry.getKey());
+			writeValue(out, entry.getValue());
+		}
+	}
+
+	private static Map<String, Object> readAttributes(DataInput in, @Nullable ClassLoader classLoader)
+			throws IOException {
+
+		int size = in.readInt();
+		if (size == 0) {
+			return Collections.emptyMap();
+		}
+		Map<String, Object> attributes = new LinkedHashMap<>((int) (size / 0.75f) + 1);
+		for (int i = 0; i < size; i++) {
+			String name = readString(in);
+			attributes.put(name, readValue(in, classLoader));
+		}
+		return attributes;
+	}
+
+	private static void writeValue(DataOutput out, Object value) throws IOException {
+		Class<?> type = value.getClass();
+		if (type.isArray()) {
+			Class<?> componentType = type.componentType();
+			out.writeByte(TYPE_ARRAY);
+			out.writeByte(getTypeTag(componentType));
+			if (componentType.isEnum()) {
+				writeString(out, componentType.getName());
+			}
+			int length = Array.getLength(value);
+			out.writeInt(length);
+			for (int i = 0; i < length; i++) {
+				writeElement(out, Array.get(value, i));
+			}
+		}
+		else {
+			out.writeByte(getTypeTag(type));
+			if (value instanceof Enum<?> enumValue) {
+				writeString(out, enumValue.getDeclaringClass().getName());
+			}
+			writeElement(out, value);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void writeElement(DataOutput out, Object value) throws IOException {
+		if (value instanceof String str) {
+			writeString(out, str);
+		}
+		else if (value instanceof Boolean bool) {
+			out.writeBoolean(bool);
+		}
+		else if (value instanceof Byte b) {
+			out.writeByte(b);
+		}
+		else if (value instanceof Character ch) {
+			out.writeChar(ch);
+		}
+		else if (value instanceof Short s) {
+			out.writeShort(s);
+		}
+		else if (value instanceof Integer i) {
+			out.writeInt(i);
+		}
+		else if (value instanceof Long l) {
+			out.writeLong(l);
+		}
+		else if (value instanceof Float f) {
+			out.writeFloat(f);
+		}
+		else if (value instanceof Double d) {
+			out.writeDouble(d);
+		}
+		else if (value instanceof Enum<?> enumValue) {
+			writeString(out, enumValue.name());
+		}
+		else if (value instanceof Map<?, ?> map) {
+			writeAttributes(out, (Map<String, Object>) map);
+		}
+		else {
+			throw new IOException("Unsupported annotation attribute value: " + value);
+		}
+	}
+
+	private static byte getTypeTag(Class<?> type) throws IOException {
+		if (type == String.class) {
+			return TYPE_STRING;
+		}
+		if (type == boolean.class || type == Boolean.class) {
+			return TYPE_BOOLEAN;
+		}
+		if (type == byte.class || type == Byte.class) {
+			return TYPE_BYTE;
+		}
+		if (type == char.class || type == Character.class) {
+			return TYPE_CHAR;
+		}
+		if (type == short.class || type == Short.class) {
+			return TYPE_SHORT;
+		}
+		if (type == int.class || type == Integer.class) {
+			return TYPE_INT;
+		}
+		if (type == long.class || type == Long.class) {
+			return TYPE_LONG;
+		}
+		if (type == float.class || type == Float.class) {
+			return TYPE_FLOAT;
+		}
+		if (type == double.class || type == Double.class) {
+			return TYPE_DOUBLE;
+		}
+		if (type.isEnum() || Enum.class.isAssignableFrom(type)) {
+			return TYPE_ENUM;
+		}
+		if (Map.class.isAssignableFrom(type)) {
+			return TYPE_ANNOTATION;
+		}
+		throw new IOException("Unsupported annotation attribute type: " + type.getName());
+	}
+
+	private static Object readValue(DataInput in, @Nullable ClassLoader classLoader) throws IOException {
+		byte tag = in.readByte();
+		if (tag == TYPE_ARRAY) {
+			byte componentTag = in.readByte();
+			Class<?> componentType = (componentTag == TYPE_ENUM ?
+					ClassUtils.resolveClassName(readString(in), classLoader) : getComponentType(componentTag));
+			int length = in.readInt();
+			Object array = Array.newInstance(componentType, length);
+			for (int i = 0; i < length; i++) {
+				Array.set(array, i, readElement(in, componentTag, componentType, classLoader));
+			}
+			return array;
+		}
+		Class<?> enumType = (tag == TYPE_ENUM ? ClassUtils.resolveClassName(readString(in), classLoader) : null);
+		return readElement(in, tag, enumType, classLoader);
+	}
+
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private static Object readElement(DataInput in, byte tag, @Nullable Class<?> enumType,
+			@Nullable ClassLoader classLoader) throws IOException {
+
+		return switch (tag) {
+			case TYPE_STRING -> readString(in);
+			case TYPE_BOOLEAN -> in.readBoolean();
+			case TYPE_BYTE -> in.readByte();
+			case TYPE_CHAR -> in.readChar();
+			case TYPE_SHORT -> in.readShort();
+			case TYPE_INT -> in.readInt();
+			case TYPE_LONG -> in.readLong();
+			case TYPE_FLOAT -> in.readFloat();
+			case TYPE_DOUBLE -> in.readDouble();
+			case TYPE_ENUM -> Enum.valueOf((Class<? extends Enum>) enumType, readString(in));
+			case TYPE_ANNOTATION -> readAttributes(in, classLoader);
+			default -> throw new IOException("Corrupt class metadata cache entry: unknown type " + tag);
+		};
+	}
+
+	private static Class<?> getComponentType(byte tag) throws IOException {
+		return switch (tag) {
+			case TYPE_STRING -> String.class;
+			case TYPE_BOOLEAN -> boolean.class;
+			case TYPE_BYTE -> byte.class;
+			case TYPE_CHAR -> char.class;
+			case TYPE_SHORT -> short.class;
+			case TYPE_INT -> int.class;
+			case TYPE_LONG -> long.class;
+			case TYPE_FLOAT -> float.class;
+			case TYPE_DOUBLE -> double.class;
+			case TYPE_ANNOTATION -> Map.class;
+			default -> throw new IOException("Corrupt class metadata cache entry: unknown type " + tag);
+		};
+	}
+
+	private static void writeStrings(DataOutput out, String[] values) throws IOException {
+		out.writeInt(values.length);
+		for (String value : values) {
+			writeString(out, value);
+		}
+	}
+
+	private static Set<String> readStrings(DataInput in) throws IOException {
+		int size = in.readInt();
+		Set<String> values = new LinkedHashSet<>(Math.max(4, size));
+		for (int i = 0; i < size; i++) {
+			values.add(readString(in));
+		}
+		return values;
+	}
+
+	private static void writeNullableString(DataOutput out, @Nullable String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			writeString(out, value);
+		}
+	}
+
+	@Nullable
+	private static String readNullableString(DataInput in) throws IOException {
+		return (in.readBoolean() ? readString(in) : null);
+	}
+
+	private static void writeString(DataOutput out, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInput in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+}
@@ -162,6 +162,15 @@ final class SimpleAnnotationMetadata implements AnnotationMetadata {
 	}
 
 
+	int getAccess() {
+		return this.access;
+	}
+
+	boolean isIndependentInnerClass() {
+		return this.independentInnerClass;
+	}
+
+
 	@Override
 	public boolean equals(@Nullable Object other) {
 		return (this == other || (other instanceof SimpleAnnotationMetadata that && this.className.equals(that.className)));
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,8 +24,10 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.springframework.lang.Nullable;
@@ -37,6 +39,16 @@ import org.springframework.lang.Nullable;
  * <a href="https://github.com/ben-manes/concurrentlinkedhashmap">ConcurrentLinkedHashMap</a>.
  * <p>Read and write operations are internally recorded in dedicated buffers,
  * then drained at chosen times to avoid contention.
+ * <p>As of 6.2, this cache can optionally apply a frequency-based admission
+ * policy inspired by W-TinyLFU: new entries enter a small LRU "window" segment,
+ * and an entry leaving the window is only admitted into the main segment if it
+ * has been accessed more often than the main segment's eviction victim. Access
+ * frequencies are tracked in a compact count-min sketch which is only updated
+ * when the read and write buffers are drained, keeping reads lock-free.
+ * This protects frequently used entries from being flushed by a burst of
+ * one-off keys. See {@link #ConcurrentLruCache(int, Function, boolean)}.
+ * <p>Hit, miss and eviction counts are available through {@link #hitCount()},
+ * {@link #missCount()} and {@link #evictionCount()}.
  *
  * @author Brian Clozel
  * @author Ben Manes
@@ -52,6 +64,12 @@ public final class ConcurrentLruCache<K, V> {
 
 	private final AtomicInteger currentSize = new AtomicInteger();
 
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder evictionCount = new LongAdder();
+
 	private final ConcurrentMap<K, Node<K, V>> cache;
 
 	private final Function<K, V> generator;
@@ -68,6 +86,26 @@ public final class ConcurrentLruCache<K, V> {
 	 */
 	private final EvictionQueue<K, V> evictionQueue = new EvictionQueue<>();
 
+	/*
+	 * Queue that contains the cache entries of the admission window, ordered with least
+	 * recently used entries first. Only used with frequency-based admission.
+	 */
+	private final EvictionQueue<K, V> windowQueue = new EvictionQueue<>();
+
+	/*
+	 * Frequency sketch for admission decisions, or {@code null} for plain LRU eviction.
+	 * Only accessed while holding the eviction lock.
+	 */
+	@Nullable
+	private final FrequencySketch sketch;
+
+	private final int windowCapacity;
+
+	/*
+	 * Number of entries currently in the admission window, guarded by the eviction lock.
+	 */
+	private int windowSize;
+
 	private final AtomicReference<DrainStatus> drainStatus = new AtomicReference<>(DrainStatus.IDLE);
 
 	/**
@@ -77,16 +115,39 @@ public final class ConcurrentLruCache<K, V> {
 	 * @param generator a function to generate a new value for a given key
 	 */
 	public ConcurrentLruCache(int capacity, Function<K, V> generator) {
-		this(capacity, generator, 16);
+		this(capacity, generator, false);
+	}
+
+	/**
+	 * Create a new cache instance with the given capacity and generator function,
+	 * optionally applying a frequency-based admission policy.
+	 * <p>With frequency-based admission, newly generated entries first enter a
+	 * small admission window (1% of the capacity). Entries overflowing from that
+	 * window only replace an existing entry if they are estimated to be used more
+	 * frequently, which keeps the hit rate stable for skewed workloads that are
+	 * interleaved with scans of one-off keys.
+	 * @param capacity the maximum number of entries in the cache
+	 * (0 indicates no caching, always generating a new value)
+	 * @param generator a function to generate a new value for a given key
+	 * @param frequencyBasedAdmission whether to admit new entries based on
+	 * their estimated access frequency rather than plain recency
+	 * @since 6.2
+	 */
+	public ConcurrentLruCache(int capacity, Function<K, V> generator, boolean frequencyBasedAdmission) {
+		this(capacity, generator, 16, frequencyBasedAdmission);
 	}
 
-	private ConcurrentLruCache(int capacity, Function<K, V> generator, int concurrencyLevel) {
+	private ConcurrentLruCache(int capacity, Function<K, V> generator, int concurrencyLevel,
+			boolean frequencyBasedAdmission) {
+
 		Assert.isTrue(capacity >= 0, "Capacity must be >= 0");
 		this.capacity = capacity;
 		this.cache = new ConcurrentHashMap<>(16, 0.75f, concurrencyLevel);
 		this.generator = generator;
-		this.readOperations = new ReadOperations<>(this.evictionQueue);
+		this.readOperations = new ReadOperations<>(this::onAccess);
 		this.writeOperations = new WriteOperations();
+		this.sketch = (frequencyBasedAdmission && capacity > 0 ? new FrequencySketch(capacity) : null);
+		this.windowCapacity = Math.max(1, capacity / 100);
 	}
 
 	/**
@@ -96,14 +157,17 @@ public final class ConcurrentLruCache<K, V> {
 	 */
 	public V get(K key) {
 		if (this.capacity == 0) {
+			this.missCount.increment();
 			return this.generator.apply(key);
 		}
 		final Node<K, V> node = this.cache.get(key);
 		if (node == null) {
+			this.missCount.increment();
 			V value = this.generator.apply(key);
 			put(key, value);
 			return value;
 		}
+		this.hitCount.increment();
 		processRead(node);
 		return node.getValue();
 	}
@@ -175,6 +239,41 @@ public final class ConcurrentLruCache<K, V> {
 		return this.cache.size();
 	}
 
+	/**
+	 * Return whether this cache applies a frequency-based admission policy.
+	 * @since 6.2
+	 * @see #ConcurrentLruCache(int, Function, boolean)
+	 */
+	public boolean isFrequencyBasedAdmission() {
+		return (this.sketch != null);
+	}
+
+	/**
+	 * Return the number of {@link #get} calls that were served from the cache.
+	 * @since 6.2
+	 */
+	public long hitCount() {
+		return this.hitCount.sum();
+	}
+
+	/**
+	 * Return the number of {@link #get} calls that required the generation of a value.
+	 * @since 6.2
+	 */
+	public long missCount() {
+		return this.missCount.sum();
+	}
+
+	/**
+	 * Return the number of entries that have been evicted because of the capacity
+	 * limit, or rejected by the admission policy.
+	 * <p>Entries removed through {@link #remove} or {@link #clear()} are not included.
+	 * @since 6.2
+	 */
+	public long evictionCount() {
+		return this.evictionCount.sum();
+	}
+
 	/**
 	 * Immediately remove all entries from this cache.
 	 */
@@ -186,6 +285,12 @@ public final class ConcurrentLruCache<K, V> {
 				this.cache.remove(node.key, node);
 				markAsRemoved(node);
 			}
+			while ((node = this.windowQueue.poll()) != null) {
+				node.inWindow = false;
+				this.cache.remove(node.key, node);
+				markAsRemoved(node);
+			}
+			this.windowSize = 0;
 			this.readOperations.clear();
 			this.writeOperations.drainAll();
 		}
@@ -194,6 +299,70 @@ public final class ConcurrentLruCache<K, V> {
 		}
 	}
 
+	/*
+	 * Record an access to the given node, reordering the queue it belongs to.
+	 * Called while holding the eviction lock.
+	 */
+	private void onAccess(Node<K, V> node) {
+		if (this.sketch != null) {
+			this.sketch.increment(node.key);
+		}
+		queueFor(node).moveToBack(node);
+	}
+
+	private EvictionQueue<K, V> queueFor(Node<K, V> node) {
+		return (node.inWindow ? this.windowQueue : this.evictionQueue);
+	}
+
+	/*
+	 * Evict entries until the cache fits its capacity, applying the admission
+	 * policy to entries overflowing from the window if necessary.
+	 * Called while holding the eviction lock.
+	 */
+	private void evictEntries() {
+		if (this.sketch != null) {
+			while (this.windowSize > this.windowCapacity) {
+				final Node<K, V> candidate = this.windowQueue.poll();
+				if (candidate == null) {
+					break;
+				}
+				this.windowSize--;
+				candidate.inWindow = false;
+				if (this.currentSize.get() <= this.capacity) {
+					this.evictionQueue.add(candidate);
+					continue;
+				}
+				final Node<K, V> victim = this.evictionQueue.peek();
+				if (victim != null && this.sketch.frequency(candidate.key) > this.sketch.frequency(victim.key)) {
+					this.evictionQueue.remove(victim);
+					evict(victim);
+					this.evictionQueue.add(candidate);
+				}
+				else {
+					evict(candidate);
+				}
+			}
+		}
+		while (this.currentSize.get() > this.capacity) {
+			Node<K, V> node = this.evictionQueue.poll();
+			if (node == null) {
+				node = this.windowQueue.poll();
+				if (node == null) {
+					return;
+				}
+				node.inWindow = false;
+				this.windowSize--;
+			}
+			evict(node);
+		}
+	}
+
+	private void evict(Node<K, V> node) {
+		this.cache.remove(node.key, node);
+		markAsRemoved(node);
+		this.evictionCount.increment();
+	}
+
 	/*
 	 * Transition the node to the {@code removed} state and decrement the current size of the cache.
 	 */
@@ -265,19 +434,16 @@ public final class ConcurrentLruCache<K, V> {
 		public void run() {
 			currentSize.lazySet(currentSize.get() + 1);
 			if (this.node.get().isActive()) {
-				evictionQueue.add(this.node);
-				evictEntries();
-			}
-		}
-
-		private void evictEntries() {
-			while (currentSize.get() > capacity) {
-				final Node<K, V> node = evictionQueue.poll();
-				if (node == null) {
-					return;
+				if (sketch != null) {
+					sketch.increment(this.node.key);
+					this.node.inWindow = true;
+					windowQueue.add(this.node);
+					windowSize++;
 				}
-				cache.remove(node.key, node);
-				markAsRemoved(node);
+				else {
+					evictionQueue.add(this.node);
+				}
+				evictEntries();
 			}
 		}
 
@@ -296,7 +462,14 @@ public final class ConcurrentLruCache<K, V> {
 
 		@Override
 		public void run() {
-			evictionQueue.remove(this.node);
+			if (this.node.inWindow) {
+				windowQueue.remove(this.node);
+				this.node.inWindow = false;
+				windowSize--;
+			}
+			else {
+				evictionQueue.remove(this.node);
+			}
 			markAsRemoved(this.node);
 		}
 	}
@@ -394,10 +567,10 @@ public final class ConcurrentLruCache<K, V> {
 		@SuppressWarnings("rawtypes")
 		private final AtomicReferenceArray<Node<K, V>>[] buffers = new AtomicReferenceArray[BUFFER_COUNT];
 
-		private final EvictionQueue<K, V> evictionQueue;
+		private final Consumer<Node<K, V>> accessHandler;
 
-		ReadOperations(EvictionQueue<K, V> evictionQueue) {
-			this.evictionQueue = evictionQueue;
+		ReadOperations(Consumer<Node<K, V>> accessHandler) {
+			this.accessHandler = accessHandler;
 			for (int i = 0; i < BUFFER_COUNT; i++) {
 				this.buffers[i] = new AtomicReferenceArray<>(BUFFER_SIZE);
 			}
@@ -446,7 +619,7 @@ public final class ConcurrentLruCache<K, V> {
 					break;
 				}
 				buffer.lazySet(index, null);
-				this.evictionQueue.moveToBack(node);
+				this.accessHandler.accept(node);
 				this.readCount[bufferIndex]++;
 			}
 			this.processedCount.lazySet(bufferIndex, writeCount);
@@ -492,6 +665,11 @@ public final class ConcurrentLruCache<K, V> {
 		@Nullable
 		Node<K, V> next;
 
+		/*
+		 * Whether this node is in the admission window, guarded by the eviction lock.
+		 */
+		boolean inWindow;
+
 		Node(K key, CacheEntry<V> cacheEntry) {
 			super(cacheEntry);
 			this.key = key;
@@ -530,6 +708,11 @@ public final class ConcurrentLruCache<K, V> {
 		Node<K, V> last;
 
 
+		@Nullable
+		Node<K, V> peek() {
+			return this.first;
+		}
+
 		@Nullable
 		Node<K, V> poll() {
 			if (this.first == null) {
@@ -609,4 +792,88 @@ public final class ConcurrentLruCache<K, V> {
 
 	}
 
+
+	/*
+	 * Count-min sketch with 4-bit counters, estimating the access frequency of keys
+	 * over a recent period of time. Counters are halved periodically so that the
+	 * estimates age. Only accessed while holding the eviction lock.
+	 */
+	private static final class FrequencySketch {
+
+		private static final long[] SEEDS = {
+				0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+		private static final long RESET_MASK = 0x7777777777777777L;
+
+		private static final int MAX_FREQUENCY = 15;
+
+		private final long[] table;
+
+		private final int tableMask;
+
+		private final int sampleSize;
+
+		private int additions;
+
+		FrequencySketch(int capacity) {
+			int length = Math.max(8, 1 << (Integer.SIZE - Integer.numberOfLeadingZeros(
+					Math.min(capacity, 1 << 29) - 1)));
+			this.table = new long[length];
+			this.tableMask = length - 1;
+			this.sampleSize = (capacity > Integer.MAX_VALUE / 10 ? Integer.MAX_VALUE : capacity * 10);
+		}
+
+		int frequency(Object key) {
+			int hash = spread(key.hashCode());
+			int start = (hash & 3) << 2;
+			int frequency = MAX_FREQUENCY;
+			for (int i = 0; i < SEEDS.length; i++) {
+				int index = indexOf(hash, i);
+				int count = (int) ((this.table[index] >>> ((start + i) << 2)) & 0xfL);
+				frequency = Math.min(frequency, count);
+			}
+			return frequency;
+		}
+
+		void increment(Object key) {
+			int hash = spread(key.hashCode());
+			int start = (hash & 3) << 2;
+			boolean added = false;
+			for (int i = 0; i < SEEDS.length; i++) {
+				added |= incrementAt(indexOf(hash, i), start + i);
+			}
+			if (added && ++this.additions >= this.sampleSize) {
+				reset();
+			}
+		}
+
+		private boolean incrementAt(int index, int counter) {
+			int offset = counter << 2;
+			long mask = (0xfL << offset);
+			if ((this.table[index] & mask) != mask) {
+				this.table[index] += (1L << offset);
+				return true;
+			}
+			return false;
+		}
+
+		private void reset() {
+			for (int i = 0; i < this.table.length; i++) {
+				this.table[i] = (this.table[i] >>> 1) & RESET_MASK;
+			}
+			this.additions >>>= 1;
+		}
+
+		private int indexOf(int hash, int depth) {
+			long h = (hash + SEEDS[depth]) * SEEDS[depth];
+			h += (h >>> 32);
+			return ((int) h) & this.tableMask;
+		}
+
+		private static int spread(int hash) {
+			int h = hash * 0x9e3779b9;
+			return h ^ (h >>> 16);
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -174,7 +174,7 @@ public abstract class MimeTypeUtils {
 
 
 	private static final ConcurrentLruCache<String, MimeType> cachedMimeTypes =
-			new ConcurrentLruCache<>(64, MimeTypeUtils::parseMimeTypeInternal);
+			new ConcurrentLruCache<>(64, MimeTypeUtils::parseMimeTypeInternal, true);
 
 	@Nullable
 	private static volatile Random random;
@@ -69,6 +69,8 @@ final class PlaceholderParser {
 			")", "("
 		);
 
+	private static final int PARSED_VALUE_CACHE_CAPACITY = 256;
+
 
 	private final String prefix;
 
@@ -84,6 +86,9 @@ final class PlaceholderParser {
 	@Nullable
 	private final Character escape;
 
+	private final ConcurrentLruCache<String, List<Part>> parsedValueCache =
+			new ConcurrentLruCache<>(PARSED_VALUE_CACHE_CAPACITY, value -> List.copyOf(parse(value, false)));
+
 
 	/**
 	 * Create an instance using the specified input for the parser.
@@ -121,10 +126,13 @@ final class PlaceholderParser {
 	 */
 	public String replacePlaceholders(String value, PlaceholderResolver placeholderResolver) {
 		Assert.notNull(value, "'value' must not be null");
+		if (!value.contains(this.prefix)) {
+			// Plain text: nothing to parse or resolve
+			return value;
+		}
 		ParsedValue parsedValue = parse(value);
 		PartResolutionContext resolutionContext = new PartResolutionContext(placeholderResolver,
-				this.prefix, this.suffix, this.ignoreUnresolvablePlaceholders,
-				candidate -> parse(candidate, false));
+				this.prefix, this.suffix, this.ignoreUnresolvablePlaceholders, this::parseParts);
 		return parsedValue.resolve(resolutionContext);
 	}
 
@@ -134,8 +142,21 @@ final class PlaceholderParser {
 	 * @return the different parts that have been identified
 	 */
 	ParsedValue parse(String value) {
-		List<Part> parts = parse(value, false);
-		return new ParsedValue(value, parts);
+		return new ParsedValue(value, parseParts(value));
+	}
+
+	/**
+	 * Parse the specified value into its parts, reusing the outcome of previous
+	 * parsing of the same value: parts are immutable and independent of the
+	 * resolution context, so that they can be safely shared.
+	 * @param value the value to parse
+	 * @return the different parts that have been identified
+	 */
+	private List<Part> parseParts(String value) {
+		if (!value.contains(this.prefix)) {
+			return List.of(new TextPart(value));
+		}
+		return this.parsedValueCache.get(value);
 	}
 
 	private List<Part> parse(String value, boolean inPlaceholder) {
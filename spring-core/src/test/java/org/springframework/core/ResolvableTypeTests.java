@@ -117,6 +117,28 @@ class ResolvableTypeTests {
 		assertThat(type.isAssignableFrom(String.class)).isTrue();
 	}
 
+	@Test
+	void forClassReturnsCanonicalInstance() {
+		ResolvableType type = ResolvableType.forClass(ExtendsList.class);
+		assertThat(ResolvableType.forClass(ExtendsList.class)).isSameAs(type);
+		assertThat(ResolvableType.forType(ExtendsList.class)).isSameAs(type);
+		assertThat(ResolvableType.forClass(null)).isSameAs(ResolvableType.forClass(Object.class));
+	}
+
+	@Test
+	void isAssignableFromWithCachedResult() throws Exception {
+		ResolvableType wildcard = ResolvableType.forField(Fields.class.getField("wildcardType"));
+		ResolvableType listOfString = ResolvableType.forField(Fields.class.getField("stringList"));
+		ResolvableType listOfCharSequence = ResolvableType.forField(Fields.class.getField("charSequenceList"));
+		for (int i = 0; i < 2; i++) {
+			assertThat(wildcard.isAssignableFrom(listOfString)).isFalse();
+			assertThat(listOfCharSequence.isAssignableFrom(listOfString)).isFalse();
+			assertThat(listOfString.isAssignableFrom(listOfString)).isTrue();
+			assertThat(listOfString.isAssignableFromResolvedPart(listOfString)).isTrue();
+			ResolvableType.clearCache();
+		}
+	}
+
 	@Test
 	void forRawClass() {
 		ResolvableType type = ResolvableType.forRawClass(ExtendsList.class);
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.annotation.MergedAnnotations.SearchStrategy;
+import org.springframework.util.ReflectionUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link MergedAnnotationsIndex}.
+ *
+ * @author agent
+ */
+class MergedAnnotationsIndexTests {
+
+	@Test
+	void fromReturnsIndexedInstance() {
+		MergedAnnotations annotations = MergedAnnotations.from(Indexed.class, SearchStrategy.TYPE_HIERARCHY);
+		assertThat(MergedAnnotations.from(Indexed.class, SearchStrategy.TYPE_HIERARCHY)).isSameAs(annotations);
+		assertThat(MergedAnnotations.from(Indexed.class, SearchStrategy.DIRECT)).isNotSameAs(annotations);
+	}
+
+	@Test
+	void enclosingClassSearchIsNotIndexed() {
+		MergedAnnotations annotations = MergedAnnotations.search(SearchStrategy.TYPE_HIERARCHY)
+				.withEnclosingClasses(clazz -> true).from(Indexed.class);
+		assertThat(MergedAnnotations.search(SearchStrategy.TYPE_HIERARCHY)
+				.withEnclosingClasses(clazz -> true).from(Indexed.class)).isNotSameAs(annotations);
+	}
+
+	@Test
+	void findMergedAnnotationReturnsSameSynthesizedAnnotation() {
+		Method method = ReflectionUtils.findMethod(Indexed.class, "handle");
+		Mapping mapping = AnnotatedElementUtils.findMergedAnnotation(method, Mapping.class);
+		assertThat(mapping).isNotNull();
+		assertThat(mapping.path()).isEqualTo("/indexed");
+		assertThat(AnnotatedElementUtils.findMergedAnnotation(method, Mapping.class)).isSameAs(mapping);
+	}
+
+	@Test
+	void indexedResultsMatchUnindexedResults() {
+		Method method = ReflectionUtils.findMethod(Indexed.class, "handle");
+		MergedAnnotations indexed = MergedAnnotations.from(method, SearchStrategy.TYPE_HIERARCHY);
+		MergedAnnotations unindexed = MergedAnnotations.search(SearchStrategy.TYPE_HIERARCHY)
+				.withAnnotationFilter(AnnotationFilter.packages("java.lang")).from(method);
+		assertThat(indexed).isNotSameAs(unindexed);
+		assertThat(indexed.get(Mapping.class).synthesize()).isEqualTo(unindexed.get(Mapping.class).synthesize());
+		assertThat(indexed.isPresent(Mapping.class)).isEqualTo(unindexed.isPresent(Mapping.class));
+		assertThat(indexed.isDirectlyPresent(Mapping.class)).isEqualTo(unindexed.isDirectlyPresent(Mapping.class));
+		assertThat(indexed.isPresent(Retention.class)).isFalse();
+		assertThat(indexed.stream().map(MergedAnnotation::getType))
+				.containsExactlyElementsOf(unindexed.stream().map(MergedAnnotation::getType).toList());
+	}
+
+	@Test
+	void queriesWithPredicateAreNotMemoized() {
+		MergedAnnotations annotations = MergedAnnotations.from(Indexed.class, SearchStrategy.TYPE_HIERARCHY);
+		assertThat(annotations.get(Mapping.class, mapping -> mapping.getString("path").isEmpty()).isPresent()).isFalse();
+		assertThat(annotations.get(Mapping.class, mapping -> mapping.getString("path").equals("/base"))
+				.isPresent()).isTrue();
+		assertThat(annotations.get(Mapping.class).getString("path")).isEqualTo("/base");
+	}
+
+	@Test
+	void clearCacheRemovesIndexedInstances() {
+		MergedAnnotations annotations = MergedAnnotations.from(Indexed.class, SearchStrategy.TYPE_HIERARCHY);
+		AnnotationUtils.clearCache();
+		assertThat(MergedAnnotations.from(Indexed.class, SearchStrategy.TYPE_HIERARCHY)).isNotSameAs(annotations);
+	}
+
+	@Test
+	void clearCacheForClassLoaderRemovesOnlyMatchingInstances() throws Exception {
+		MergedAnnotations annotations = MergedAnnotations.from(Indexed.class, SearchStrategy.TYPE_HIERARCHY);
+		try (URLClassLoader unrelated = new URLClassLoader(new URL[0], null)) {
+			AnnotationUtils.clearCache(unrelated);
+		}
+		assertThat(MergedAnnotations.from(Indexed.class, SearchStrategy.TYPE_HIERARCHY)).isSameAs(annotations);
+
+		AnnotationUtils.clearCache(Indexed.class.getClassLoader());
+		assertThat(MergedAnnotations.from(Indexed.class, SearchStrategy.TYPE_HIERARCHY)).isNotSameAs(annotations);
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@interface Mapping {
+
+		@AliasFor("path")
+		String value() default "";
+
+		@AliasFor("value")
+		String path() default "";
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Mapping
+	@interface GetMapping {
+
+		@AliasFor(annotation = Mapping.class)
+		String path() default "";
+	}
+
+
+	interface Handler {
+
+		@GetMapping(path = "/indexed")
+		void handle();
+	}
+
+
+	@Mapping("/base")
+	static class Indexed implements Handler {
+
+		@Override
+		public void handle() {
+		}
+	}
+
+}
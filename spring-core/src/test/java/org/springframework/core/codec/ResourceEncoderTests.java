@@ -16,15 +16,21 @@
 
 package org.springframework.core.codec;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import org.springframework.core.ResolvableType;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.buffer.DataBuffer;
@@ -74,6 +80,21 @@ class ResourceEncoderTests extends AbstractEncoderTests<ResourceEncoder> {
 				.verifyComplete());
 	}
 
+	@Test
+	void encodeMemoryMapped(@TempDir Path tempDir) throws IOException {
+		Path file = tempDir.resolve("foo.txt");
+		Files.write(file, this.bytes);
+		ResourceEncoder encoder = new ResourceEncoder();
+		encoder.setMemoryMappingThreshold(0);
+
+		Flux<DataBuffer> result = encoder.encode(Mono.just(new FileSystemResource(file)), this.bufferFactory,
+				ResolvableType.forClass(Resource.class), null, null);
+
+		StepVerifier.create(result)
+				.consumeNextWith(expectBytes(this.bytes))
+				.verifyComplete();
+	}
+
 	@Override
 	protected void testEncodeError(Publisher<?> input, ResolvableType outputType,
 			@Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
@@ -27,16 +27,20 @@ import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Vector;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.core.convert.ConversionFailedException;
 import org.springframework.core.convert.ConverterNotFoundException;
 import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.GenericConverter;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -255,6 +259,48 @@ class CollectionToCollectionConverterTests {
 		assertThat(conversionService.convert(list, new TypeDescriptor(getClass().getField("enumSet")))).isEqualTo(EnumSet.of(MyEnum.A, MyEnum.C));
 	}
 
+	@Test
+	void elementConverterResolvedOncePerElementType() throws Exception {
+		AtomicInteger elementLookups = new AtomicInteger();
+		GenericConversionService conversionService = new GenericConversionService() {
+			@Override
+			protected GenericConverter getConverter(TypeDescriptor sourceType, TypeDescriptor targetType) {
+				if (!sourceType.isCollection()) {
+					elementLookups.incrementAndGet();
+				}
+				return super.getConverter(sourceType, targetType);
+			}
+		};
+		conversionService.addConverter(new CollectionToCollectionConverter(conversionService));
+		conversionService.addConverterFactory(new StringToNumberConverterFactory());
+		conversionService.addConverterFactory(new NumberToNumberConverterFactory());
+		List<Object> list = new ArrayList<>(List.of("1", "2", "3", 4L, 5L));
+		list.add(null);
+		TypeDescriptor targetType = new TypeDescriptor(getClass().getField("scalarListTarget"));
+		assertThat(conversionService.convert(list, TypeDescriptor.forObject(list), targetType))
+				.asInstanceOf(InstanceOfAssertFactories.LIST).containsExactly(1, 2, 3, 4, 5, null);
+		assertThat(elementLookups).hasValue(2);
+	}
+
+	@Test
+	void elementConversionThroughOverriddenConvertMethod() throws Exception {
+		List<Object> convertedSources = new ArrayList<>();
+		GenericConversionService conversionService = new GenericConversionService() {
+			@Override
+			public Object convert(@Nullable Object source, @Nullable TypeDescriptor sourceType, TypeDescriptor targetType) {
+				convertedSources.add(source);
+				return super.convert(source, sourceType, targetType);
+			}
+		};
+		conversionService.addConverter(new CollectionToCollectionConverter(conversionService));
+		conversionService.addConverterFactory(new StringToNumberConverterFactory());
+		List<String> list = List.of("1", "2");
+		TypeDescriptor targetType = new TypeDescriptor(getClass().getField("scalarListTarget"));
+		assertThat(conversionService.convert(list, TypeDescriptor.forObject(list), targetType))
+				.asInstanceOf(InstanceOfAssertFactories.LIST).containsExactly(1, 2);
+		assertThat(convertedSources).containsExactly(list, "1", "2");
+	}
+
 
 	public ArrayList<Integer> scalarListTarget;
 
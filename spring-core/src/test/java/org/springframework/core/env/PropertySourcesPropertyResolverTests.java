@@ -333,4 +333,40 @@ class PropertySourcesPropertyResolverTests {
 			.withMessageContaining("Could not resolve placeholder 'bogus' in value \"${p1}:${p2}:${bogus}\"");
 	}
 
+	@Test
+	void cacheResolvedPropertiesIsInvalidatedOnPropertySourcesChange() {
+		testProperties.put("host", "localhost");
+		testProperties.put("url", "http://${host}");
+		PropertySourcesPropertyResolver resolver = new PropertySourcesPropertyResolver(propertySources);
+		resolver.setCacheResolvedProperties(true);
+		assertThat(resolver.isCacheResolvedProperties()).isTrue();
+		assertThat(resolver.getProperty("url")).isEqualTo("http://localhost");
+		assertThat(resolver.getProperty("port", Integer.class)).isNull();
+
+		propertySources.addFirst(new MockPropertySource().withProperty("host", "example.org").withProperty("port", "8080"));
+		assertThat(resolver.getProperty("url")).isEqualTo("http://example.org");
+		assertThat(resolver.getProperty("port", Integer.class)).isEqualTo(8080);
+
+		propertySources.remove(MockPropertySource.MOCK_PROPERTIES_PROPERTY_SOURCE_NAME);
+		assertThat(resolver.getProperty("url")).isEqualTo("http://localhost");
+	}
+
+	@Test
+	void cacheResolvedPropertiesIsInvalidatedOnMarkChanged() {
+		testProperties.put("foo", "bar");
+		PropertySourcesPropertyResolver resolver = new PropertySourcesPropertyResolver(propertySources);
+		resolver.setCacheResolvedProperties(true);
+		assertThat(resolver.getProperty("foo")).isEqualTo("bar");
+
+		testProperties.put("foo", "baz");
+		assertThat(resolver.getProperty("foo")).isEqualTo("bar");
+		propertySources.markChanged("testProperties");
+		assertThat(resolver.getProperty("foo")).isEqualTo("baz");
+
+		resolver.setCacheResolvedProperties(false);
+		testProperties.put("foo", "qux");
+		assertThat(resolver.getProperty("foo")).isEqualTo("qux");
+		assertThatIllegalArgumentException().isThrownBy(() -> propertySources.markChanged("bogus"));
+	}
+
 }
@@ -236,6 +236,44 @@ class DataBufferUtilsTests extends AbstractDataBufferAllocatingTests {
 		verifyReadData(flux);
 	}
 
+	@ParameterizedDataBufferAllocatingTest
+	void readMapped(DataBufferFactory bufferFactory) throws Exception {
+		super.bufferFactory = bufferFactory;
+
+		Flux<DataBuffer> flux = DataBufferUtils.readMapped(this.resource.getFile().toPath(), super.bufferFactory, 3);
+
+		verifyReadData(flux);
+	}
+
+	@ParameterizedDataBufferAllocatingTest
+	void readMappedPositionAndCount(DataBufferFactory bufferFactory) throws Exception {
+		super.bufferFactory = bufferFactory;
+
+		Flux<DataBuffer> flux = DataBufferUtils.readMapped(this.resource.getFile().toPath(), 3, 4, super.bufferFactory, 3);
+
+		StepVerifier.create(flux)
+				.consumeNextWith(stringConsumer("bar"))
+				.consumeNextWith(stringConsumer("b"))
+				.expectComplete()
+				.verify(Duration.ofSeconds(5));
+	}
+
+	@ParameterizedDataBufferAllocatingTest
+	void readResourceWithMemoryMappingThreshold(DataBufferFactory bufferFactory) {
+		super.bufferFactory = bufferFactory;
+
+		for (long threshold : new long[] {0, -1, Long.MAX_VALUE}) {
+			Flux<DataBuffer> flux = DataBufferUtils.read(this.resource, 3, super.bufferFactory, 3, threshold, 3);
+
+			StepVerifier.create(flux)
+					.consumeNextWith(stringConsumer("bar"))
+					.consumeNextWith(stringConsumer("baz"))
+					.consumeNextWith(stringConsumer("qux"))
+					.expectComplete()
+					.verify(Duration.ofSeconds(5));
+		}
+	}
+
 	@ParameterizedDataBufferAllocatingTest
 	void readResource(DataBufferFactory bufferFactory) {
 		super.bufferFactory = bufferFactory;
@@ -1082,6 +1120,55 @@ class DataBufferUtilsTests extends AbstractDataBufferAllocatingTests {
 		release(foo);
 	}
 
+	@ParameterizedDataBufferAllocatingTest
+	void matcherWithSingleByteDelimiterInLongBuffer(DataBufferFactory bufferFactory) {
+		super.bufferFactory = bufferFactory;
+
+		String line = "a".repeat(45);
+		DataBuffer foo = stringBuffer(line + "\n" + line + "\n" + line);
+
+		DataBufferUtils.Matcher matcher = DataBufferUtils.matcher("\n".getBytes(StandardCharsets.UTF_8));
+		int endIndex = matcher.match(foo);
+		assertThat(endIndex).isEqualTo(45);
+		foo.readPosition(endIndex + 1);
+		endIndex = matcher.match(foo);
+		assertThat(endIndex).isEqualTo(91);
+		foo.readPosition(endIndex + 1);
+		endIndex = matcher.match(foo);
+		assertThat(endIndex).isEqualTo(-1);
+
+		release(foo);
+	}
+
+	@ParameterizedDataBufferAllocatingTest
+	void matcherWithLineDelimiters(DataBufferFactory bufferFactory) {
+		super.bufferFactory = bufferFactory;
+
+		DataBuffer foo = stringBuffer("a".repeat(40) + "\r");
+		DataBuffer bar = stringBuffer("\nb\rc\n" + "d".repeat(40) + "\r\n");
+
+		DataBufferUtils.Matcher matcher = DataBufferUtils.matcher(
+				"\r\n".getBytes(StandardCharsets.UTF_8), "\n".getBytes(StandardCharsets.UTF_8));
+		int endIndex = matcher.match(foo);
+		assertThat(endIndex).isEqualTo(-1);
+		endIndex = matcher.match(bar);
+		assertThat(endIndex).isEqualTo(0);
+		assertThat(matcher.delimiter()).isEqualTo("\r\n".getBytes(StandardCharsets.UTF_8));
+		bar.readPosition(endIndex + 1);
+		endIndex = matcher.match(bar);
+		assertThat(endIndex).isEqualTo(4);
+		assertThat(matcher.delimiter()).isEqualTo("\n".getBytes(StandardCharsets.UTF_8));
+		bar.readPosition(endIndex + 1);
+		endIndex = matcher.match(bar);
+		assertThat(endIndex).isEqualTo(46);
+		assertThat(matcher.delimiter()).isEqualTo("\r\n".getBytes(StandardCharsets.UTF_8));
+		bar.readPosition(endIndex + 1);
+		endIndex = matcher.match(bar);
+		assertThat(endIndex).isEqualTo(-1);
+
+		release(foo, bar);
+	}
+
 	@ParameterizedDataBufferAllocatingTest
 	void propagateContextByteChannel(DataBufferFactory bufferFactory) throws IOException {
 		Path path = Paths.get(this.resource.getURI());
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link PooledDefaultDataBufferFactory}.
+ *
+ * @author agent
+ */
+class PooledDefaultDataBufferFactoryTests {
+
+	private final PooledDefaultDataBufferFactory bufferFactory = new PooledDefaultDataBufferFactory();
+
+
+	@Test
+	void allocatedBuffersArePooled() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(100);
+
+		assertThat(buffer).isInstanceOf(PooledDataBuffer.class);
+		assertThat(buffer.capacity()).isEqualTo(100);
+		assertThat(this.bufferFactory.getActiveAllocations()).isEqualTo(1);
+
+		int pooled = this.bufferFactory.getPooledBufferCount();
+		assertThat(DataBufferUtils.release(buffer)).isTrue();
+		assertThat(this.bufferFactory.getActiveAllocations()).isZero();
+		assertThat(this.bufferFactory.getPooledBufferCount()).isEqualTo(pooled + 1);
+
+		DataBuffer reused = this.bufferFactory.allocateBuffer(120);
+		assertThat(this.bufferFactory.getPooledBufferCount()).isEqualTo(pooled);
+		DataBufferUtils.release(reused);
+	}
+
+	@Test
+	void largeBuffersAreNotPooled() {
+		int pooled = this.bufferFactory.getPooledBufferCount();
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(this.bufferFactory.getMaxPooledCapacity() + 1);
+
+		assertThat(this.bufferFactory.getPooledBufferCount()).isEqualTo(pooled);
+		assertThat(DataBufferUtils.release(buffer)).isTrue();
+		assertThat(this.bufferFactory.getPooledBufferCount()).isEqualTo(pooled);
+		assertThat(this.bufferFactory.getActiveAllocations()).isZero();
+	}
+
+	@Test
+	void splitSharesReferenceCount() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(16);
+		buffer.write("foobar", UTF_8);
+
+		DataBuffer split = buffer.split(3);
+		assertThat(split.toString(UTF_8)).isEqualTo("foo");
+		assertThat(buffer.toString(UTF_8)).isEqualTo("bar");
+
+		assertThat(DataBufferUtils.release(buffer)).isFalse();
+		assertThat(((PooledDataBuffer) split).isAllocated()).isTrue();
+		assertThat(DataBufferUtils.release(split)).isTrue();
+		assertThat(((PooledDataBuffer) buffer).isAllocated()).isFalse();
+	}
+
+	@Test
+	void retainedSliceSharesReferenceCount() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(16);
+		buffer.write("foobar", UTF_8);
+
+		DataBuffer slice = buffer.retainedSlice(1, 3);
+		assertThat(slice.toString(UTF_8)).isEqualTo("oob");
+
+		assertThat(DataBufferUtils.release(buffer)).isFalse();
+		assertThat(DataBufferUtils.release(slice)).isTrue();
+		assertThatIllegalStateException().isThrownBy(((PooledDataBuffer) slice)::release);
+	}
+
+	@Test
+	void growBeyondInitialCapacity() {
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(4);
+		buffer.write(new byte[1024]);
+
+		assertThat(buffer.readableByteCount()).isEqualTo(1024);
+		assertThat(DataBufferUtils.release(buffer)).isTrue();
+		assertThat(this.bufferFactory.getActiveAllocations()).isZero();
+	}
+
+	@Test
+	void join() {
+		DataBuffer foo = this.bufferFactory.allocateBuffer(3).write("foo", UTF_8);
+		DataBuffer bar = this.bufferFactory.allocateBuffer(3).write("bar", UTF_8);
+
+		DataBuffer result = this.bufferFactory.join(List.of(foo, bar));
+		assertThat(result.toString(UTF_8)).isEqualTo("foobar");
+		assertThat(this.bufferFactory.getActiveAllocations()).isEqualTo(1);
+		DataBufferUtils.release(result);
+		assertThat(this.bufferFactory.getActiveAllocations()).isZero();
+	}
+
+	@Test
+	void touchWithLeakTracking() {
+		this.bufferFactory.setTrackLeaks(true);
+		DataBuffer buffer = this.bufferFactory.allocateBuffer(8);
+
+		assertThat(DataBufferUtils.touch(buffer, "hint")).isSameAs(buffer);
+		assertThat(DataBufferUtils.release(buffer)).isTrue();
+	}
+
+}
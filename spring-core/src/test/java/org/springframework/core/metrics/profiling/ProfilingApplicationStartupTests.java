@@ -0,0 +1,164 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics.profiling;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.metrics.StartupStep;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link ProfilingApplicationStartup} and {@link StartupProfile}.
+ *
+ * @author agent
+ * @since 6.2
+ */
+class ProfilingApplicationStartupTests {
+
+	private final ProfilingApplicationStartup applicationStartup = new ProfilingApplicationStartup();
+
+
+	@Test
+	void nestedSteps() {
+		StartupStep refresh = this.applicationStartup.start("spring.context.refresh");
+		StartupStep beanA = startBean("a");
+		StartupStep beanB = startBean("b");
+		assertThat(beanB.getParentId()).isEqualTo(beanA.getId());
+		beanB.end();
+		StartupStep initializeA = this.applicationStartup.start("spring.beans.initialize").tag("beanName", "a");
+		assertThat(initializeA.getParentId()).isEqualTo(beanA.getId());
+		initializeA.end();
+		beanA.end();
+		StartupStep beanC = startBean("c");
+		assertThat(beanC.getParentId()).isEqualTo(refresh.getId());
+		beanC.end();
+		refresh.end();
+
+		StartupProfile profile = this.applicationStartup.getProfile();
+		assertThat(profile.getStepCount()).isEqualTo(5);
+		assertThat(profile.getRootSteps()).singleElement().satisfies(step -> {
+			assertThat(step.getName()).isEqualTo("spring.context.refresh");
+			assertThat(step.getParentId()).isNull();
+			assertThat(step.getChildren()).extracting(StartupProfile.Step::getId)
+					.containsExactly(beanA.getId(), beanC.getId());
+			assertThat(step.getChildren().get(0).getChildren()).extracting(StartupProfile.Step::getId)
+					.containsExactly(beanB.getId(), initializeA.getId());
+		});
+		assertThat(profile.getCriticalPath().get(0).getId()).isEqualTo(refresh.getId());
+	}
+
+	@Test
+	void beanTimingsExcludeNestedBeans() {
+		StartupStep beanA = startBean("a");
+		StartupStep beanB = startBean("b");
+		beanB.end();
+		beanA.end();
+		StartupStep secondB = startBean("b");
+		secondB.end();
+
+		StartupProfile profile = this.applicationStartup.getProfile();
+		List<StartupProfile.BeanTiming> timings = profile.getBeanTimings();
+		assertThat(timings).extracting(StartupProfile.BeanTiming::beanName).containsExactlyInAnyOrder("a", "b");
+		StartupProfile.Step stepA = profile.getRootSteps().get(0);
+		StartupProfile.Step stepB = stepA.getChildren().get(0);
+		StartupProfile.BeanTiming timingA = timings.stream()
+				.filter(timing -> timing.beanName().equals("a")).findFirst().orElseThrow();
+		assertThat(timingA.count()).isEqualTo(1);
+		assertThat(timingA.totalTime()).isEqualTo(stepA.getDuration());
+		assertThat(timingA.selfTime()).isEqualTo(stepA.getDuration().minus(stepB.getDuration()));
+		StartupProfile.BeanTiming timingB = timings.stream()
+				.filter(timing -> timing.beanName().equals("b")).findFirst().orElseThrow();
+		assertThat(timingB.count()).isEqualTo(2);
+		assertThat(profile.getSlowestBeans(1)).hasSize(1);
+	}
+
+	@Test
+	void phaseTimingsCountOutermostStepsOnly() {
+		StartupStep beanA = startBean("a");
+		StartupStep beanB = startBean("b");
+		beanB.end();
+		beanA.end();
+
+		StartupProfile profile = this.applicationStartup.getProfile();
+		assertThat(profile.getPhaseTimings()).singleElement().satisfies(timing -> {
+			assertThat(timing.name()).isEqualTo(StartupProfile.BEAN_INSTANTIATION_STEP);
+			assertThat(timing.count()).isEqualTo(2);
+			assertThat(timing.totalTime()).isEqualTo(profile.getRootSteps().get(0).getDuration());
+		});
+	}
+
+	@Test
+	void stepsOnSeparateThreads() throws InterruptedException {
+		StartupStep refresh = this.applicationStartup.start("spring.context.refresh");
+		StartupStep[] background = new StartupStep[1];
+		Thread thread = new Thread(() -> {
+			background[0] = startBean("background");
+			background[0].end();
+		});
+		thread.start();
+		thread.join();
+		refresh.end();
+
+		assertThat(background[0].getParentId()).isNull();
+		assertThat(this.applicationStartup.getProfile().getRootSteps()).hasSize(2);
+	}
+
+	@Test
+	void unfinishedStepsAreNotIncluded() {
+		StartupStep refresh = this.applicationStartup.start("spring.context.refresh");
+		startBean("a").end();
+
+		StartupProfile profile = this.applicationStartup.getProfile();
+		assertThat(profile.getStepCount()).isEqualTo(1);
+		assertThat(profile.getRootSteps().get(0).getParentId()).isEqualTo(refresh.getId());
+
+		this.applicationStartup.reset();
+		assertThat(this.applicationStartup.getProfile().getStepCount()).isZero();
+	}
+
+	@Test
+	void noChangesAfterEnd() {
+		StartupStep step = startBean("a");
+		step.end();
+		assertThatIllegalStateException().isThrownBy(() -> step.tag("key", "value"));
+		assertThatIllegalStateException().isThrownBy(step::end);
+	}
+
+	@Test
+	void toJson() {
+		StartupStep beanA = startBean("a\"b");
+		beanA.end();
+
+		String json = this.applicationStartup.getProfile().toJson();
+		assertThat(json).startsWith("{\"steps\":[{\"id\":" + beanA.getId() +
+				",\"name\":\"spring.beans.instantiate\",\"tags\":{\"beanName\":\"a\\\"b\"},\"startNanos\":0,");
+		assertThat(json).contains("\"beans\":[{\"beanName\":\"a\\\"b\",\"count\":1,");
+		assertThat(json).contains("\"phases\":[{\"name\":\"spring.beans.instantiate\",\"count\":1,");
+		assertThat(json).endsWith("\"criticalPath\":[" + beanA.getId() + "]}");
+	}
+
+
+	private StartupStep startBean(String beanName) {
+		return this.applicationStartup.start(StartupProfile.BEAN_INSTANTIATION_STEP)
+				.tag(StartupProfile.BEAN_NAME_TAG, beanName);
+	}
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.IOException;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.type.AbstractAnnotationMetadataTests;
+import org.springframework.core.type.AnnotationMetadata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PersistentMetadataCache}, running the common
+ * {@link AnnotationMetadata} tests against metadata read back from disk.
+ *
+ * @author agent
+ */
+class PersistentMetadataCacheTests extends AbstractAnnotationMetadataTests {
+
+	@TempDir
+	Path cacheDirectory;
+
+
+	@Override
+	protected AnnotationMetadata get(Class<?> source) {
+		try {
+			AnnotationMetadata metadata = new SimpleMetadataReaderFactory(source.getClassLoader())
+					.getMetadataReader(source.getName()).getAnnotationMetadata();
+			PersistentMetadataCache cache = new PersistentMetadataCache(this.cacheDirectory);
+			cache.put(source.getName(), metadata);
+			cache.save();
+			AnnotationMetadata restored = new PersistentMetadataCache(this.cacheDirectory)
+					.get(source.getName(), source.getClassLoader());
+			assertThat(restored).isNotNull();
+			return restored;
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	@Test
+	void complexAttributesAreRestored() throws IOException {
+		AnnotationMetadata parsed = new SimpleMetadataReaderFactory()
+				.getMetadataReader(AnnotatedClass.class.getName()).getAnnotationMetadata();
+		AnnotationMetadata restored = get(AnnotatedClass.class);
+		String annotationName = ComplexAnnotation.class.getName();
+		AnnotationAttributes parsedAttributes = AnnotationAttributes.fromMap(
+				parsed.getAnnotationAttributes(annotationName, true));
+		AnnotationAttributes restoredAttributes = AnnotationAttributes.fromMap(
+				restored.getAnnotationAttributes(annotationName, true));
+		assertThat(restoredAttributes).usingRecursiveComparison().isEqualTo(parsedAttributes);
+		assertThat(restoredAttributes.getEnum("unit")).isEqualTo(TimeUnit.SECONDS);
+		assertThat(restoredAttributes.getStringArray("types")).containsExactly(String.class.getName());
+		assertThat(restoredAttributes.get("numbers")).isEqualTo(new int[] {1, 2});
+		assertThat(restoredAttributes.getAnnotationArray("nested")).hasSize(2);
+		assertThat(restored.getDeclaredMethods()).isEqualTo(parsed.getDeclaredMethods());
+	}
+
+	@Test
+	void unusedEntriesAreDroppedOnSave() {
+		AnnotationMetadata metadata = get(AnnotatedClass.class);
+		ClassLoader classLoader = getClass().getClassLoader();
+		PersistentMetadataCache cache = new PersistentMetadataCache(this.cacheDirectory);
+		cache.put("used", metadata);
+		cache.put("unused", metadata);
+		cache.save();
+
+		PersistentMetadataCache nextRun = new PersistentMetadataCache(this.cacheDirectory);
+		assertThat(nextRun.get("used", classLoader)).isNotNull();
+		nextRun.save();
+
+		PersistentMetadataCache lastRun = new PersistentMetadataCache(this.cacheDirectory);
+		assertThat(lastRun.get("used", classLoader)).isNotNull();
+		assertThat(lastRun.get("unused", classLoader)).isNull();
+	}
+
+	@Test
+	void corruptCacheFileIsIgnored() throws IOException {
+		Files.writeString(this.cacheDirectory.resolve("spring-class-metadata.bin"), "not a cache");
+		PersistentMetadataCache cache = new PersistentMetadataCache(this.cacheDirectory);
+		assertThat(cache.get(AnnotatedClass.class.getName(), getClass().getClassLoader())).isNull();
+	}
+
+	@Test
+	void cacheKeyReflectsContent() throws IOException {
+		Path classFile = this.cacheDirectory.resolve("Test.class");
+		Files.writeString(classFile, "content");
+		Resource resource = new FileSystemResource(classFile);
+		String key = PersistentMetadataCache.getCacheKey(resource);
+		assertThat(key).isNotNull();
+		Files.writeString(classFile, "modified content");
+		assertThat(PersistentMetadataCache.getCacheKey(resource)).isNotEqualTo(key);
+	}
+
+	@Test
+	void cachingMetadataReaderFactoryUsesPersistentCache() throws IOException {
+		Resource resource = new ClassPathResource(
+				AnnotatedClass.class.getName().replace('.', '/') + ".class");
+		CachingMetadataReaderFactory factory = new CachingMetadataReaderFactory();
+		factory.setPersistentCacheDirectory(this.cacheDirectory);
+		MetadataReader parsed = factory.getMetadataReader(resource);
+		factory.clearCache();
+		assertThat(this.cacheDirectory.resolve("spring-class-metadata.bin")).isRegularFile();
+
+		String key = PersistentMetadataCache.getCacheKey(resource);
+		assertThat(key).isNotNull();
+		AnnotationMetadata restored = new PersistentMetadataCache(this.cacheDirectory)
+				.get(key, getClass().getClassLoader());
+		assertThat(restored).isNotNull();
+		assertThat(restored.getClassName()).isEqualTo(parsed.getClassMetadata().getClassName());
+		assertThat(restored.getAnnotationTypes()).isEqualTo(parsed.getAnnotationMetadata().getAnnotationTypes());
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@interface NestedAnnotation {
+
+		String value();
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@interface ComplexAnnotation {
+
+		TimeUnit unit() default TimeUnit.MILLISECONDS;
+
+		Class<?>[] types() default {};
+
+		int[] numbers() default {};
+
+		NestedAnnotation[] nested() default {};
+
+		char separator() default ',';
+	}
+
+
+	@ComplexAnnotation(unit = TimeUnit.SECONDS, types = String.class, numbers = {1, 2},
+			nested = {@NestedAnnotation("a"), @NestedAnnotation("b")})
+	static class AnnotatedClass {
+
+		@ComplexAnnotation
+		public void annotatedMethod() {
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -108,4 +108,67 @@ class ConcurrentLruCacheTests {
 		assertThat(this.cache.contains("k3")).isTrue();
 	}
 
+	@Test
+	void hitMissAndEvictionCounts() {
+		assertThat(this.cache.get("k1")).isEqualTo("k1value");
+		assertThat(this.cache.get("k1")).isEqualTo("k1value");
+		assertThat(this.cache.get("k2")).isEqualTo("k2value");
+		assertThat(this.cache.get("k3")).isEqualTo("k3value");
+		assertThat(this.cache.hitCount()).isEqualTo(1);
+		assertThat(this.cache.missCount()).isEqualTo(3);
+		assertThat(this.cache.evictionCount()).isEqualTo(1);
+		this.cache.remove("k3");
+		this.cache.clear();
+		assertThat(this.cache.evictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	void frequencyBasedAdmissionGetAndSize() {
+		ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(2, key -> key + "value", true);
+
+		assertThat(cache.isFrequencyBasedAdmission()).isTrue();
+		assertThat(cache.get("k1")).isEqualTo("k1value");
+		assertThat(cache.get("k2")).isEqualTo("k2value");
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.get("k3")).isEqualTo("k3value");
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.contains("k3")).isTrue();
+		assertThat(cache.evictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	void frequencyBasedAdmissionRetainsFrequentlyUsedEntries() {
+		ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(10, key -> key + "value", true);
+		for (int i = 0; i < 10; i++) {
+			for (int j = 0; j < 5; j++) {
+				cache.get("hot" + i);
+			}
+		}
+		for (int i = 0; i < 100; i++) {
+			cache.get("scan" + i);
+		}
+		assertThat(cache.size()).isEqualTo(10);
+		int retained = 0;
+		for (int i = 0; i < 10; i++) {
+			if (cache.contains("hot" + i)) {
+				retained++;
+			}
+		}
+		assertThat(retained).isGreaterThanOrEqualTo(9);
+	}
+
+	@Test
+	void frequencyBasedAdmissionRemoveAndClear() {
+		ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(2, key -> key + "value", true);
+		cache.get("k1");
+		cache.get("k2");
+		cache.remove("k2");
+		assertThat(cache.size()).isEqualTo(1);
+		assertThat(cache.contains("k2")).isFalse();
+		cache.clear();
+		assertThat(cache.size()).isZero();
+		cache.get("k3");
+		assertThat(cache.contains("k3")).isTrue();
+	}
+
 }
@@ -164,6 +164,17 @@ class PlaceholderParserTests {
 					TextPart.class, textPart -> assertThat(textPart.text()).isEqualTo(text));
 		}
 
+		@Test
+		void parsedPartsAreReused() {
+			String text = "${first}-${second}";
+			ParsedValue parsedValue = this.parser.parse(text);
+			assertThat(parsedValue.parts()).hasSize(3);
+			assertThat(this.parser.parse(text).parts()).isSameAs(parsedValue.parts());
+			PlaceholderResolver resolver = mockPlaceholderResolver("first", "1", "second", "2");
+			assertThat(this.parser.replacePlaceholders(text, resolver)).isEqualTo("1-2");
+			assertThat(this.parser.replacePlaceholders(text, resolver)).isEqualTo("1-2");
+		}
+
 	}
 
 	@Nested // Tests with the use of a separator